@@ -63,6 +63,7 @@ dependencies {
     testImplementation(testlib.junit.test.ktx)
 
     testImplementation(testlib.bundles.unit.test)
+    testImplementation(lib.coroutines.test)
 
     testImplementation(testlib.compose.junit)
     testImplementation(testlib.mockito)
@@ -6,6 +6,8 @@ import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.components.SingletonComponent
 import mega.privacy.android.analytics.EventSenderImpl
+import mega.privacy.android.analytics.dispatcher.AnalyticsEventSpool
+import mega.privacy.android.analytics.dispatcher.FileAnalyticsEventSpool
 import mega.privacy.android.analytics.ViewIdProviderImpl
 import mega.privacy.android.analytics.tracker.AnalyticsTracker
 import mega.privacy.android.analytics.tracker.AnalyticsTrackerImpl
@@ -18,6 +20,9 @@ internal abstract class AnalyticsModule {
     @Binds
     abstract fun bindAnalyticsTracker(implementation: AnalyticsTrackerImpl): AnalyticsTracker
 
+    @Binds
+    abstract fun bindAnalyticsEventSpool(implementation: FileAnalyticsEventSpool): AnalyticsEventSpool
+
     companion object {
         @Provides
         fun provideTracker(
@@ -0,0 +1,14 @@
+package mega.privacy.android.analytics.dispatcher
+
+/**
+ * Analytics event waiting to be sent
+ *
+ * @property eventId
+ * @property message
+ * @property viewId
+ */
+internal data class AnalyticsEvent(
+    val eventId: Int,
+    val message: String,
+    val viewId: String?,
+)
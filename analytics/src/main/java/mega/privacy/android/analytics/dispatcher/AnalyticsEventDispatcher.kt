@@ -0,0 +1,189 @@
+package mega.privacy.android.analytics.dispatcher
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import mega.privacy.android.domain.usecase.analytics.SendUserJourneyEventUseCase
+import mega.privacy.android.domain.usecase.network.IsConnectedToInternetUseCase
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Sends the analytics events in batches
+ *
+ * The events are kept in a bounded queue, dropping the oldest ones when it is full. A single
+ * worker, started when the dispatcher is created, restores the events spooled on disk by a
+ * previous process and then sends the queued events once [BATCH_SIZE] are queued or
+ * [BATCH_WINDOW] has elapsed since the first one, so a burst of screen views costs one wake up
+ * instead of one coroutine per event. The queue is written to the spool at most once per
+ * [SPOOL_DELAY] while events are being queued, and again once they are sent, so they are not lost
+ * if the process is killed. While offline, or if sending fails, the events are retried with an
+ * exponential backoff.
+ */
+@Singleton
+internal class AnalyticsEventDispatcher @Inject constructor(
+    private val sendUserJourneyEventUseCase: SendUserJourneyEventUseCase,
+    private val isConnectedToInternetUseCase: IsConnectedToInternetUseCase,
+    private val spool: AnalyticsEventSpool,
+    @ApplicationScope private val scope: CoroutineScope,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) {
+    private val queue = ArrayDeque<AnalyticsEvent>()
+
+    // Position of the first queued event among all the events ever queued, guarded by queue
+    private var headPosition = 0L
+    // Number of changes of the queue, guarded by queue
+    private var queueVersion = 0L
+    private val newEvents = Channel<Unit>(Channel.CONFLATED)
+
+    // Version of the queue contained in the spool, only accessed by the worker
+    private var spooledVersion = 0L
+
+    init {
+        scope.launch(ioDispatcher) { dispatch() }
+    }
+
+    /**
+     * Queues an event to be sent with the next batch
+     *
+     * @param event
+     */
+    fun enqueue(event: AnalyticsEvent) {
+        synchronized(queue) {
+            if (queue.size >= MAX_QUEUED_EVENTS) {
+                queue.removeFirst()
+                headPosition++
+            }
+            queue.addLast(event)
+            queueVersion++
+        }
+        newEvents.trySend(Unit)
+    }
+
+    private suspend fun dispatch() {
+        restoreSpool()
+        while (true) {
+            newEvents.receive()
+            withTimeoutOrNull(BATCH_WINDOW) {
+                spoolNewEvents(until = { pendingCount() >= BATCH_SIZE })
+            }
+            var backoff = INITIAL_BACKOFF
+            while (!sendPending()) {
+                withTimeoutOrNull(backoff) { spoolNewEvents() }
+                backoff = (backoff * 2).coerceAtMost(MAX_BACKOFF)
+            }
+        }
+    }
+
+    /**
+     * Spools the events as they are queued, writing the ones queued within [SPOOL_DELAY] at once,
+     * until [until] returns true or it is cancelled
+     */
+    private suspend fun spoolNewEvents(until: () -> Boolean = { false }) {
+        while (!until()) {
+            delay(SPOOL_DELAY)
+            syncSpool()
+            if (until()) return
+            newEvents.receive()
+        }
+    }
+
+    /**
+     * Sends the queued events, removing them from the queue and the spool once sent
+     *
+     * @return true if all the events were sent
+     */
+    private suspend fun sendPending(): Boolean {
+        while (true) {
+            if (!isConnectedToInternetUseCase()) return false
+            val (batch, batchPosition) = synchronized(queue) {
+                queue.take(BATCH_SIZE) to headPosition
+            }
+            if (batch.isEmpty()) return true
+            batch.forEachIndexed { index, event ->
+                runCatching {
+                    sendUserJourneyEventUseCase(
+                        eventId = event.eventId,
+                        message = event.message,
+                        viewId = event.viewId,
+                    )
+                }.onFailure {
+                    Timber.w(it, "Error sending the analytics events")
+                    removeSent(batchPosition + index)
+                    return false
+                }
+            }
+            removeSent(batchPosition + batch.size)
+        }
+    }
+
+    /**
+     * Removes the sent events from the queue and the spool
+     *
+     * @param sentTo position after the last sent event
+     */
+    private fun removeSent(sentTo: Long) {
+        synchronized(queue) {
+            // The events dropped from a full queue while sending are already removed
+            repeat((sentTo - headPosition).coerceIn(0, queue.size.toLong()).toInt()) {
+                queue.removeFirst()
+                headPosition++
+                queueVersion++
+            }
+        }
+        syncSpool()
+    }
+
+    private fun restoreSpool() {
+        val events = runCatching { spool.read() }.onFailure { Timber.e(it) }.getOrNull()
+        if (events.isNullOrEmpty()) return
+        synchronized(queue) {
+            // The spooled events are older than the queued ones
+            events.asReversed().forEach {
+                if (queue.size < MAX_QUEUED_EVENTS) {
+                    queue.addFirst(it)
+                    headPosition--
+                }
+            }
+            queueVersion++
+        }
+        // The spool is rewritten with the queue the next time it is synced
+        spooledVersion = -1
+        newEvents.trySend(Unit)
+    }
+
+    /**
+     * Makes the spool contain the queued events, rewriting it if the queue changed since the last
+     * time it was spooled. A failed write is retried the next time.
+     */
+    private fun syncSpool() {
+        val (events, version) = synchronized(queue) { queue.toList() to queueVersion }
+        if (version == spooledVersion) return
+        runCatching {
+            if (events.isEmpty()) spool.clear() else spool.write(events)
+        }.onSuccess {
+            spooledVersion = version
+        }.onFailure {
+            Timber.e(it, "Error spooling the analytics events")
+        }
+    }
+
+    private fun pendingCount() = synchronized(queue) { queue.size }
+
+    companion object {
+        internal const val BATCH_SIZE = 20
+        internal const val MAX_QUEUED_EVENTS = 500
+        internal val BATCH_WINDOW = 5.seconds
+        internal val SPOOL_DELAY = 1.seconds
+        private val INITIAL_BACKOFF = 5.seconds
+        private val MAX_BACKOFF = 5.minutes
+    }
+}
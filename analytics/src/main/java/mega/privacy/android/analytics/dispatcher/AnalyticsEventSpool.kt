@@ -0,0 +1,30 @@
+package mega.privacy.android.analytics.dispatcher
+
+import java.io.IOException
+
+/**
+ * Persistent storage of the analytics events that could not be sent yet
+ */
+internal interface AnalyticsEventSpool {
+
+    /**
+     * Reads the spooled events
+     *
+     * @return the spooled events, in the order they were tracked
+     */
+    fun read(): List<AnalyticsEvent>
+
+    /**
+     * Replaces the spooled events
+     *
+     * @param events the events to spool, in the order they were tracked
+     * @throws IOException if the events could not be written
+     */
+    @Throws(IOException::class)
+    fun write(events: List<AnalyticsEvent>)
+
+    /**
+     * Removes all the spooled events
+     */
+    fun clear()
+}
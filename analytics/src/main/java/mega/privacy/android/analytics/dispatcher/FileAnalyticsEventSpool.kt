@@ -0,0 +1,77 @@
+package mega.privacy.android.analytics.dispatcher
+
+import android.content.Context
+import android.util.AtomicFile
+import dagger.hilt.android.qualifiers.ApplicationContext
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.IOException
+import javax.inject.Inject
+
+/**
+ * [AnalyticsEventSpool] kept in a binary file of the app files folder
+ *
+ * The file has a version followed by the events. It is always replaced as a whole through
+ * [AtomicFile], so a write interrupted by the process being killed leaves the previous spool.
+ */
+internal class FileAnalyticsEventSpool @Inject constructor(
+    @ApplicationContext private val context: Context,
+) : AnalyticsEventSpool {
+
+    private val file by lazy { AtomicFile(File(context.filesDir, SPOOL_FILE_NAME)) }
+
+    override fun read(): List<AnalyticsEvent> = try {
+        DataInputStream(file.openRead().buffered()).use { input ->
+            if (input.readInt() != VERSION) return emptyList()
+            val events = mutableListOf<AnalyticsEvent>()
+            try {
+                while (true) events.add(input.readEvent())
+            } catch (e: EOFException) {
+                // End of the spool
+            }
+            events
+        }
+    } catch (e: IOException) {
+        // Missing or corrupted spool, the events are lost
+        emptyList()
+    }
+
+    override fun write(events: List<AnalyticsEvent>) {
+        val stream = file.startWrite()
+        try {
+            DataOutputStream(stream.buffered()).run {
+                writeInt(VERSION)
+                events.forEach { writeEvent(it) }
+                flush()
+            }
+            file.finishWrite(stream)
+        } catch (e: IOException) {
+            file.failWrite(stream)
+            throw e
+        }
+    }
+
+    override fun clear() {
+        file.delete()
+    }
+
+    private fun DataInputStream.readEvent() = AnalyticsEvent(
+        eventId = readInt(),
+        message = readUTF(),
+        viewId = if (readBoolean()) readUTF() else null,
+    )
+
+    private fun DataOutputStream.writeEvent(event: AnalyticsEvent) {
+        writeInt(event.eventId)
+        writeUTF(event.message)
+        writeBoolean(event.viewId != null)
+        event.viewId?.let { writeUTF(it) }
+    }
+
+    companion object {
+        private const val SPOOL_FILE_NAME = "analytics_events.spool"
+        private const val VERSION = 2
+    }
+}
@@ -0,0 +1,181 @@
+package mega.privacy.android.analytics.dispatcher
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.usecase.analytics.SendUserJourneyEventUseCase
+import mega.privacy.android.domain.usecase.network.IsConnectedToInternetUseCase
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [AnalyticsEventDispatcher]
+ */
+internal class AnalyticsEventDispatcherTest {
+    private val sendUserJourneyEventUseCase = mock<SendUserJourneyEventUseCase>()
+    private val isConnectedToInternetUseCase = mock<IsConnectedToInternetUseCase> {
+        on { invoke() }.thenReturn(true)
+    }
+    private val spool = FakeSpool()
+
+    private fun TestScope.createDispatcher() = AnalyticsEventDispatcher(
+        sendUserJourneyEventUseCase = sendUserJourneyEventUseCase,
+        isConnectedToInternetUseCase = isConnectedToInternetUseCase,
+        spool = spool,
+        scope = backgroundScope,
+        ioDispatcher = StandardTestDispatcher(testScheduler),
+    )
+
+    private fun event(id: Int) = AnalyticsEvent(eventId = id, message = "message", viewId = null)
+
+    @Test
+    fun `test that events are not sent before the batch window elapses`() = runTest {
+        val underTest = createDispatcher()
+
+        underTest.enqueue(event(1))
+        underTest.enqueue(event(2))
+        runCurrent()
+
+        verify(sendUserJourneyEventUseCase, never()).invoke(any(), any(), anyOrNull())
+    }
+
+    @Test
+    fun `test that events are sent in order after the batch window elapses`() = runTest {
+        val underTest = createDispatcher()
+
+        underTest.enqueue(event(1))
+        underTest.enqueue(event(2))
+        advanceTimeBy(AnalyticsEventDispatcher.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        argumentCaptor<Int> {
+            verify(sendUserJourneyEventUseCase, times(2)).invoke(capture(), any(), anyOrNull())
+            assertThat(allValues).containsExactly(1, 2).inOrder()
+        }
+    }
+
+    @Test
+    fun `test that a full batch is sent without waiting for the window`() = runTest {
+        val underTest = createDispatcher()
+
+        repeat(AnalyticsEventDispatcher.BATCH_SIZE) { underTest.enqueue(event(it)) }
+        runCurrent()
+
+        verify(sendUserJourneyEventUseCase, times(AnalyticsEventDispatcher.BATCH_SIZE))
+            .invoke(any(), any(), anyOrNull())
+    }
+
+    @Test
+    fun `test that events are spooled and not sent while offline`() = runTest {
+        whenever(isConnectedToInternetUseCase()).thenReturn(false)
+        val underTest = createDispatcher()
+
+        underTest.enqueue(event(1))
+        advanceTimeBy(AnalyticsEventDispatcher.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        verify(sendUserJourneyEventUseCase, never()).invoke(any(), any(), anyOrNull())
+        assertThat(spool.events).containsExactly(event(1))
+    }
+
+    @Test
+    fun `test that spooled events are sent first and the spool is cleared`() = runTest {
+        spool.events = listOf(event(1))
+        val underTest = createDispatcher()
+
+        underTest.enqueue(event(2))
+        advanceTimeBy(AnalyticsEventDispatcher.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        argumentCaptor<Int> {
+            verify(sendUserJourneyEventUseCase, times(2)).invoke(capture(), any(), anyOrNull())
+            assertThat(allValues).containsExactly(1, 2).inOrder()
+        }
+        assertThat(spool.events).isEmpty()
+    }
+
+    @Test
+    fun `test that spooled events are sent without new events being queued`() = runTest {
+        spool.events = listOf(event(1), event(2))
+        createDispatcher()
+
+        advanceTimeBy(AnalyticsEventDispatcher.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        argumentCaptor<Int> {
+            verify(sendUserJourneyEventUseCase, times(2)).invoke(capture(), any(), anyOrNull())
+            assertThat(allValues).containsExactly(1, 2).inOrder()
+        }
+        assertThat(spool.events).isEmpty()
+    }
+
+    @Test
+    fun `test that the events queued within the spool delay are spooled at once`() = runTest {
+        val underTest = createDispatcher()
+
+        underTest.enqueue(event(1))
+        runCurrent()
+        underTest.enqueue(event(2))
+        runCurrent()
+        assertThat(spool.writes).isEqualTo(0)
+
+        advanceTimeBy(AnalyticsEventDispatcher.SPOOL_DELAY.inWholeMilliseconds + 1)
+        assertThat(spool.events).containsExactly(event(1), event(2)).inOrder()
+        assertThat(spool.writes).isEqualTo(1)
+
+        underTest.enqueue(event(3))
+        advanceTimeBy(AnalyticsEventDispatcher.SPOOL_DELAY.inWholeMilliseconds + 1)
+        assertThat(spool.events).containsExactly(event(1), event(2), event(3)).inOrder()
+        assertThat(spool.writes).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that only the sent events are removed from the spool when sending fails`() =
+        runTest {
+            whenever(sendUserJourneyEventUseCase(eq(2), any(), anyOrNull()))
+                .thenThrow(RuntimeException())
+            val underTest = createDispatcher()
+
+            underTest.enqueue(event(1))
+            underTest.enqueue(event(2))
+            underTest.enqueue(event(3))
+            advanceTimeBy(AnalyticsEventDispatcher.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+            assertThat(spool.events).containsExactly(event(2), event(3)).inOrder()
+        }
+
+    @Test
+    fun `test that equal events are all sent`() = runTest {
+        val underTest = createDispatcher()
+
+        repeat(3) { underTest.enqueue(event(1)) }
+        advanceTimeBy(AnalyticsEventDispatcher.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        verify(sendUserJourneyEventUseCase, times(3)).invoke(eq(1), any(), anyOrNull())
+        assertThat(spool.events).isEmpty()
+    }
+
+    private class FakeSpool : AnalyticsEventSpool {
+        var events = emptyList<AnalyticsEvent>()
+        var writes = 0
+            private set
+
+        override fun read() = events
+
+        override fun write(events: List<AnalyticsEvent>) {
+            this.events = events
+            writes++
+        }
+
+        override fun clear() {
+            events = emptyList()
+        }
+    }
+}
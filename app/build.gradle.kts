@@ -70,6 +70,9 @@ android {
         resValue("string", "karere_version", "\"${getChatGitHash(megaSdkVersion, project)}\"")
 
         testInstrumentationRunner = "test.mega.privacy.android.app.HiltTestRunner"
+        // Lets the micro benchmarks run on the debuggable test build and on emulators
+        testInstrumentationRunnerArguments["androidx.benchmark.suppressErrors"] =
+            "DEBUGGABLE,EMULATOR"
 
         withGroovyBuilder {
             "firebaseCrashlytics" {
@@ -338,6 +341,7 @@ dependencies {
     androidTestImplementation(platform(androidx.compose.bom))
     androidTestImplementation(testlib.junit.test.ktx)
     androidTestImplementation(testlib.truth)
+    androidTestImplementation(testlib.benchmark.junit4)
     androidTestImplementation(testlib.espresso)
     androidTestImplementation(google.hilt.android.test)
     androidTestImplementation(testlib.mockito)
@@ -0,0 +1,88 @@
+package test.mega.privacy.android.app.components.twemoji
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import mega.privacy.android.app.components.twemoji.EmojiTrie
+import mega.privacy.android.app.components.twemoji.TwitterEmojiProvider
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.regex.Pattern
+import kotlin.random.Random
+
+/**
+ * Micro benchmark comparing [EmojiTrie] with the alternation regex it replaced, on the Twemoji set.
+ *
+ * It does not assert anything, EmojiTrieTest checks that both find the same matches.
+ */
+@RunWith(AndroidJUnit4::class)
+class EmojiTrieBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val sequences = TwitterEmojiProvider().categories
+        .flatMap { it.emojis.asList() }
+        .flatMap { listOf(it) + it.variants }
+        .map { it.unicode }
+        .distinct()
+
+    private val regex = sequences.sortedByDescending { it.length }
+        .joinToString("|") { Pattern.quote(it) }
+
+    private val texts = Random(3).let { random ->
+        List(TEXTS) { randomText(random) }
+    }
+
+    @Test
+    fun buildRegex() = benchmarkRule.measureRepeated {
+        Pattern.compile(regex)
+    }
+
+    @Test
+    fun buildTrie() = benchmarkRule.measureRepeated {
+        EmojiTrie.build(sequences.associateWith { it })
+    }
+
+    @Test
+    fun findAllWithRegex() {
+        val pattern = Pattern.compile(regex)
+        benchmarkRule.measureRepeated {
+            texts.forEach { text ->
+                val matcher = pattern.matcher(text)
+                while (matcher.find()) {
+                    text.subSequence(matcher.start(), matcher.end())
+                }
+            }
+        }
+    }
+
+    @Test
+    fun findAllWithTrie() {
+        val trie = EmojiTrie.build(sequences.associateWith { it })
+        benchmarkRule.measureRepeated {
+            texts.forEach { text -> trie.findAll(text) { _, _, _ -> } }
+        }
+    }
+
+    private fun randomText(random: Random): String {
+        val builder = StringBuilder()
+        while (builder.length < TEXT_LENGTH) {
+            when {
+                random.nextDouble() < EMOJI_RATIO ->
+                    builder.append(sequences[random.nextInt(sequences.size)])
+
+                random.nextInt(10) == 0 -> builder.append(' ')
+                else -> builder.append('a' + random.nextInt(26))
+            }
+        }
+        return builder.toString()
+    }
+
+    companion object {
+        private const val TEXTS = 20
+        private const val TEXT_LENGTH = 2_000
+        private const val EMOJI_RATIO = 0.05
+    }
+}
@@ -0,0 +1,57 @@
+package test.mega.privacy.android.app.utils
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import mega.privacy.android.app.utils.ColorHistogram
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import kotlin.random.Random
+
+/**
+ * Micro benchmark comparing [ColorHistogram] with the boxed hash map counting it replaced.
+ *
+ * It does not assert anything, ColorHistogramTest checks that both get the same color.
+ */
+@RunWith(AndroidJUnit4::class)
+class ColorHistogramBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val pixels = Random(5).let { random ->
+        // Noisy image biased to a color, like a photo with a dominant background
+        IntArray(WIDTH * HEIGHT) {
+            if (random.nextInt(3) == 0) {
+                0xFF3366CC.toInt()
+            } else {
+                0xFF000000.toInt() or random.nextInt(0x1000000)
+            }
+        }
+    }
+
+    @Test
+    fun dominantColorWithHistogram() = benchmarkRule.measureRepeated {
+        ColorHistogram().apply { addRow(pixels) }.dominantColor()
+    }
+
+    @Test
+    fun dominantColorWithHashMaps() = benchmarkRule.measureRepeated {
+        val channels = List(3) { HashMap<Int, Int>() }
+        pixels.forEach { pixel ->
+            // Same 4 bits quantization as the ARGB_4444 copy
+            channels[0].merge((pixel shr 20) and 0xF, 1, Int::plus)
+            channels[1].merge((pixel shr 12) and 0xF, 1, Int::plus)
+            channels[2].merge((pixel shr 4) and 0xF, 1, Int::plus)
+        }
+        channels.map { channel ->
+            channel.entries.sortedBy { it.key }.maxBy { it.value }.key * 17
+        }
+    }
+
+    companion object {
+        private const val WIDTH = 1_000
+        private const val HEIGHT = 1_000
+    }
+}
@@ -25,6 +25,31 @@ interface LegacyDatabaseHandler : DatabaseHandler {
     fun findbyPathAndName(path: String?, name: String?): MegaOffline?
     fun deleteOfflineFile(mOff: MegaOffline): Int
 
+    /**
+     * Removes an offline entry with all its descendants, and its ancestors left without children,
+     * in a single transaction.
+     *
+     * @param id Identifier of the offline entry.
+     * @return The number of removed offline entries.
+     */
+    fun removeOfflineSubtree(id: Int): Int
+
+    /**
+     * Gets the ids of an offline entry and all its descendants.
+     *
+     * @param id Identifier of the offline entry.
+     * @return The ids of the entry and its descendants.
+     */
+    fun getOfflineSubtreeIds(id: Int): List<Int>
+
+    /**
+     * Counts the descendants of an offline entry.
+     *
+     * @param id Identifier of the offline entry.
+     * @return The number of descendants.
+     */
+    fun countOfflineDescendants(id: Int): Int
+
     /**
      * Adds a pending message.
      *
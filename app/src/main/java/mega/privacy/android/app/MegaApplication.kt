@@ -26,6 +26,7 @@ import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.components.ChatManagement
 import mega.privacy.android.app.components.PushNotificationSettingManagement
+import mega.privacy.android.app.constants.EventConstants
 import mega.privacy.android.app.fetcher.MegaAvatarFetcher
 import mega.privacy.android.app.fetcher.MegaAvatarKeyer
 import mega.privacy.android.app.fetcher.MegaThumbnailFetcher
@@ -210,6 +211,12 @@ class MegaApplication : MultiDexApplication(), DefaultLifecycleObserver,
         themeModeState.initialise()
         callChangesObserver.init()
         LiveEventBus.config().enableLogger(false)
+        // Network quality is posted from the SDK thread on every change and only observed forever
+        // by GetNetworkChangesUseCase, which moves to the main thread itself, so the main thread
+        // only has to keep the latest value
+        LiveEventBus.config(EventConstants.EVENT_LOCAL_NETWORK_QUALITY_CHANGE)
+            .backgroundDelivery(true)
+            .mergeStickyValues(true)
 
         // Setup handler and RxJava for uncaught exceptions.
         if (!BuildConfig.DEBUG) {
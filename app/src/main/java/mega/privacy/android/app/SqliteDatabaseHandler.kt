@@ -114,13 +114,70 @@ class SqliteDatabaseHandler @Inject constructor(
             return ephemeralCredentials
         }
 
+    private val preferencesLock = Any()
+
+    /**
+     * Decrypted preferences, loaded on the first read. Writes of a single preference update it
+     * in the snapshot, other writes to [TABLE_PREFERENCES] drop it. Loads and writes hold
+     * [preferencesLock], so a snapshot never misses a write.
+     */
+    @Volatile
+    private var preferencesSnapshot: PreferencesSnapshot? = null
+
     /**
      * Gets preferences.
      *
+     * The returned instance is shared by all the callers until the next write, so it must not
+     * be modified.
+     *
      * @return Preferences.
      */
     override val preferences: MegaPreferences?
-        get() = getPreferences(writableDatabase)
+        get() = (preferencesSnapshot ?: synchronized(preferencesLock) {
+            preferencesSnapshot
+                ?: PreferencesSnapshot(getPreferences(writableDatabase))
+                    .also { preferencesSnapshot = it }
+        }).preferences
+
+    /**
+     * Writes a preference and updates it in the preferences snapshot. The snapshot is dropped
+     * if the write fails or if it cannot be updated, so the next read loads it again.
+     *
+     * @param columnName Name of the preference's column.
+     * @param value      Value to set.
+     */
+    private fun updatePreference(columnName: String, value: String?) =
+        synchronized(preferencesLock) {
+            val isWritten = writeStringValue(TABLE_PREFERENCES, columnName, value)
+            preferencesSnapshot =
+                if (isWritten) preferencesSnapshot?.withPreference(columnName, value) else null
+        }
+
+    /**
+     * Runs a write to [TABLE_PREFERENCES] and drops the preferences snapshot.
+     *
+     * @param update Write to run.
+     * @return Result of [update].
+     */
+    private inline fun <T> updatePreferences(update: () -> T): T =
+        synchronized(preferencesLock) {
+            try {
+                update()
+            } finally {
+                preferencesSnapshot = null
+            }
+        }
+
+    /**
+     * Runs a write to a table, dropping the preferences snapshot if the table is
+     * [TABLE_PREFERENCES].
+     *
+     * @param tableName Name of the database's table.
+     * @param update    Write to run.
+     * @return Result of [update].
+     */
+    private inline fun <T> updateTable(tableName: String, update: () -> T): T =
+        if (tableName == TABLE_PREFERENCES) updatePreferences(update) else update()
 
     /**
      * Gets preferences.
@@ -1078,6 +1135,15 @@ class SqliteDatabaseHandler @Inject constructor(
         return writableDatabase.delete(TABLE_OFFLINE, "$KEY_ID=$id", emptyArray())
     }
 
+    override fun removeOfflineSubtree(id: Int): Int =
+        runBlocking { megaLocalRoomGateway.removeOfflineInformationSubtree(id) }
+
+    override fun getOfflineSubtreeIds(id: Int): List<Int> =
+        runBlocking { megaLocalRoomGateway.getOfflineSubtreeIds(id) }
+
+    override fun countOfflineDescendants(id: Int): Int =
+        runBlocking { megaLocalRoomGateway.countOfflineDescendants(id) }
+
     override fun findByPath(path: String?): ArrayList<MegaOffline> {
         val listOffline = ArrayList<MegaOffline>()
         //Get the foreign key of the node
@@ -1163,41 +1229,11 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override fun setFirstTime(firstTime: Boolean) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_FIRST_LOGIN= '${encrypt(firstTime.toString())}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_FIRST_LOGIN, encrypt(firstTime.toString()))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        updatePreference(KEY_FIRST_LOGIN, firstTime.toString())
     }
 
     override fun setPreferredSortCloud(order: String?) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_PREFERRED_SORT_CLOUD= '${encrypt(order)}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_PREFERRED_SORT_CLOUD, encrypt(order))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        updatePreference(KEY_PREFERRED_SORT_CLOUD, order)
     }
 
     override fun setPreferredSortCameraUpload(order: String?) {
@@ -1206,47 +1242,12 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override fun setPreferredSortOthers(order: String?) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_PREFERRED_SORT_OTHERS= '${encrypt(order)}' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_PREFERRED_SORT_OTHERS, encrypt(order))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        updatePreference(KEY_PREFERRED_SORT_OTHERS, order)
     }
 
     override fun setLastCloudFolder(folderHandle: String) {
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_LAST_CLOUD_FOLDER_HANDLE= '${
-                            encrypt(folderHandle)
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                    Timber.d(
-                        "KEY_LAST_CLOUD_FOLDER_HANDLE UPLOAD FOLDER: %s",
-                        UPDATE_PREFERENCES_TABLE
-                    )
-                } else {
-                    values.put(KEY_LAST_CLOUD_FOLDER_HANDLE, encrypt(folderHandle))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        Timber.d("KEY_LAST_CLOUD_FOLDER_HANDLE UPLOAD FOLDER: %s", folderHandle)
+        updatePreference(KEY_LAST_CLOUD_FOLDER_HANDLE, folderHandle)
     }
 
     override fun setAccountDetailsTimeStamp() {
@@ -1399,8 +1400,24 @@ class SqliteDatabaseHandler @Inject constructor(
         if (TextUtil.isTextEmpty(value)) {
             Timber.w("Set %s with empty value!", columnName)
         }
+        if (tableName == TABLE_PREFERENCES) {
+            updatePreference(columnName, value)
+        } else {
+            writeStringValue(tableName, columnName, value)
+        }
+    }
+
+    /**
+     * Writes a String value into the first row of a table, inserting the row if needed.
+     *
+     * @param tableName  Name of the database's table.
+     * @param columnName Name of the table's column.
+     * @param value      Value to set.
+     * @return True if the value was written, false otherwise.
+     */
+    private fun writeStringValue(tableName: String, columnName: String, value: String?): Boolean {
         val selectQuery = "SELECT * FROM $tableName"
-        try {
+        return try {
             readableDatabase.query(selectQuery).use { cursor ->
                 if (cursor.moveToFirst()) {
                     val UPDATE_TABLE =
@@ -1412,8 +1429,10 @@ class SqliteDatabaseHandler @Inject constructor(
                     writableDatabase.insert(tableName, SQLiteDatabase.CONFLICT_NONE, values)
                 }
             }
+            true
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
+            false
         }
     }
 
@@ -1442,7 +1461,9 @@ class SqliteDatabaseHandler @Inject constructor(
                     Timber.w("No value found, setting default")
                     val values = ContentValues()
                     values.put(columnName, encrypt(defaultValue))
-                    writableDatabase.insert(tableName, SQLiteDatabase.CONFLICT_NONE, values)
+                    updateTable(tableName) {
+                        writableDatabase.insert(tableName, SQLiteDatabase.CONFLICT_NONE, values)
+                    }
                     Timber.d("Default value: %s", defaultValue)
                 }
             }
@@ -1471,60 +1492,13 @@ class SqliteDatabaseHandler @Inject constructor(
     override var isPasscodeLockEnabled: Boolean
         get() = getBooleanValue(TABLE_PREFERENCES, KEY_PASSCODE_LOCK_ENABLED, false)
         set(passcodeLockEnabled) {
-            val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-            val values = ContentValues()
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        val UPDATE_PREFERENCES_TABLE =
-                            "UPDATE $TABLE_PREFERENCES SET $KEY_PASSCODE_LOCK_ENABLED= '${
-                                encrypt(passcodeLockEnabled.toString())
-                            }' WHERE $KEY_ID = '1'"
-                        writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                    } else {
-                        values.put(
-                            KEY_PASSCODE_LOCK_ENABLED,
-                            encrypt(passcodeLockEnabled.toString())
-                        )
-                        writableDatabase.insert(
-                            TABLE_PREFERENCES,
-                            SQLiteDatabase.CONFLICT_NONE,
-                            values
-                        )
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
-            }
+            updatePreference(KEY_PASSCODE_LOCK_ENABLED, passcodeLockEnabled.toString())
         }
 
     override var passcodeLockCode: String
         get() = getStringValue(TABLE_PREFERENCES, KEY_PASSCODE_LOCK_CODE, "")!!
         set(passcodeLockCode: String) {
-            val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-            val values = ContentValues()
-            try {
-                readableDatabase.query(selectQuery).use { cursor ->
-                    if (cursor.moveToFirst()) {
-                        val UPDATE_PREFERENCES_TABLE =
-                            "UPDATE $TABLE_PREFERENCES SET $KEY_PASSCODE_LOCK_CODE= '${
-                                encrypt(
-                                    passcodeLockCode
-                                )
-                            }' WHERE $KEY_ID = '1'"
-                        writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                    } else {
-                        values.put(KEY_PASSCODE_LOCK_CODE, encrypt(passcodeLockCode))
-                        writableDatabase.insert(
-                            TABLE_PREFERENCES,
-                            SQLiteDatabase.CONFLICT_NONE,
-                            values
-                        )
-                    }
-                }
-            } catch (e: Exception) {
-                Timber.e(e, "Exception opening or managing DB cursor")
-            }
+            updatePreference(KEY_PASSCODE_LOCK_CODE, passcodeLockCode)
         }
 
     /**
@@ -1569,24 +1543,7 @@ class SqliteDatabaseHandler @Inject constructor(
     override fun setStorageDownloadLocation(storageDownloadLocation: String?) {
         if (storageDownloadLocation == null) return
 
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_PREFERENCES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_STORAGE_DOWNLOAD_LOCATION= '${
-                            encrypt(storageDownloadLocation)
-                        }' WHERE $KEY_ID = '1'"
-                    writableDatabase.execSQL(UPDATE_PREFERENCES_TABLE)
-                } else {
-                    values.put(KEY_STORAGE_DOWNLOAD_LOCATION, encrypt(storageDownloadLocation))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        updatePreference(KEY_STORAGE_DOWNLOAD_LOCATION, storageDownloadLocation)
     }
 
     override fun setAttrAskSizeDownload(askSizeDownload: String?) {
@@ -1894,8 +1851,10 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override fun clearPreferences() {
-        writableDatabase.execSQL("DROP TABLE IF EXISTS $TABLE_PREFERENCES")
-        legacyDatabaseMigration.onCreate(writableDatabase)
+        updatePreferences {
+            writableDatabase.execSQL("DROP TABLE IF EXISTS $TABLE_PREFERENCES")
+            legacyDatabaseMigration.onCreate(writableDatabase)
+        }
     }
 
     override fun clearAttributes() {
@@ -2232,22 +2191,7 @@ class SqliteDatabaseHandler @Inject constructor(
 
     override fun setAutoPlayEnabled(enabled: String) {
         Timber.d("setAutoPlayEnabled")
-        val selectQuery = "SELECT * FROM $TABLE_PREFERENCES"
-        val values = ContentValues()
-        try {
-            readableDatabase.query(selectQuery).use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val UPDATE_ATTRIBUTES_TABLE =
-                        "UPDATE $TABLE_PREFERENCES SET $KEY_AUTO_PLAY='${encrypt(enabled)}' WHERE $KEY_ID ='1'"
-                    writableDatabase.execSQL(UPDATE_ATTRIBUTES_TABLE)
-                } else {
-                    values.put(KEY_AUTO_PLAY, encrypt(enabled))
-                    writableDatabase.insert(TABLE_PREFERENCES, SQLiteDatabase.CONFLICT_NONE, values)
-                }
-            }
-        } catch (e: Exception) {
-            Timber.e(e, "Exception opening or managing DB cursor")
-        }
+        updatePreference(KEY_AUTO_PLAY, enabled)
     }
 
     override suspend fun getOfflineInformationList(
@@ -2377,6 +2321,43 @@ class SqliteDatabaseHandler @Inject constructor(
         return cursor.getColumnIndex(columnName)
     }
 
+    /**
+     * Result of loading the preferences, which is null if there are no preferences saved yet.
+     *
+     * @property preferences [MegaPreferences]
+     */
+    private class PreferencesSnapshot(val preferences: MegaPreferences?) {
+
+        /**
+         * Gets a copy of the snapshot with a preference changed.
+         *
+         * @param columnName Name of the preference's column.
+         * @param value      New value.
+         * @return The updated snapshot, or null if there were no preferences saved or the
+         * column is not kept in [MegaPreferences].
+         */
+        fun withPreference(columnName: String, value: String?): PreferencesSnapshot? {
+            val updated = MegaPreferences(preferences ?: return null)
+            when (columnName) {
+                KEY_FIRST_LOGIN -> updated.setFirstTime(value)
+                KEY_PREFERRED_SORT_CLOUD -> updated.setPreferredSortCloud(value)
+                KEY_PREFERRED_SORT_CAMERA_UPLOAD -> updated.setPreferredSortCameraUpload(value)
+                KEY_PREFERRED_SORT_OTHERS -> updated.setPreferredSortOthers(value)
+                KEY_LAST_CLOUD_FOLDER_HANDLE -> updated.setLastFolderCloud(value)
+                KEY_PASSCODE_LOCK_ENABLED -> updated.setPasscodeLockEnabled(value)
+                KEY_PASSCODE_LOCK_CODE -> updated.setPasscodeLockCode(value)
+                KEY_FINGERPRINT_LOCK -> updated.setFingerprintLock(value)
+                KEY_STORAGE_ASK_ALWAYS -> updated.setStorageAskAlways(value)
+                KEY_ASK_SET_DOWNLOAD_LOCATION -> updated.setAskForSetDownloadLocation(value)
+                KEY_STORAGE_DOWNLOAD_LOCATION -> updated.setStorageDownloadLocation(value)
+                KEY_SD_CARD_URI -> updated.setSdCardUri(value)
+                KEY_AUTO_PLAY -> updated.setIsAutoPlayEnabled(value)
+                else -> return null
+            }
+            return PreferencesSnapshot(updated)
+        }
+    }
+
     companion object {
         const val TABLE_PREFERENCES = "preferences"
         const val TABLE_CREDENTIALS = "credentials"
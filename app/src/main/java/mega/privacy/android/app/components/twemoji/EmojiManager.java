@@ -12,12 +12,12 @@ import androidx.annotation.Nullable;
 import androidx.emoji2.text.EmojiCompat;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import mega.privacy.android.app.components.twemoji.emoji.Emoji;
 import mega.privacy.android.app.components.twemoji.emoji.EmojiCategory;
@@ -28,10 +28,6 @@ public final class EmojiManager {
 
     private static final EmojiManager INSTANCE = new EmojiManager();
     private static final int GUESSED_UNICODE_AMOUNT = 3000;
-    private static final int GUESSED_TOTAL_PATTERN_LENGTH = GUESSED_UNICODE_AMOUNT * 4;
-    private static final Pattern SPACE_REMOVAL = Pattern.compile("\\s");
-    private static final Comparator<String> STRING_LENGTH_COMPARATOR =
-            (first, second) -> Integer.compare(second.length(), first.length());
 
     @SuppressLint("CheckResult")
     private static final EmojiReplacer DEFAULT_EMOJI_REPLACER = (context, text, emojiSize, defaultEmojiSize, fallback) -> {
@@ -83,8 +79,7 @@ public final class EmojiManager {
 
     private final Map<String, Emoji> emojiMap = new LinkedHashMap<>(GUESSED_UNICODE_AMOUNT);
     private EmojiCategory[] categories;
-    private Pattern emojiPattern;
-    private Pattern emojiRepetitivePattern;
+    private volatile FutureTask<EmojiTrie<Emoji>> emojiTrieTask;
     private EmojiReplacer emojiReplacer;
 
     private EmojiManager() {
@@ -98,51 +93,40 @@ public final class EmojiManager {
     //Installs the given EmojiProvider.
     // NOTE: That only one can be present at any time.
     //param provider the provider that should be installed.
-    public static void install(@NonNull final EmojiProvider provider) {
+    //param executor the executor building the emoji trie in background.
+    public static void install(@NonNull final EmojiProvider provider, @NonNull final Executor executor) {
         INSTANCE.categories = checkNotNull(provider.getCategories(), "categories == null");
         INSTANCE.emojiMap.clear();
         INSTANCE.emojiReplacer = provider instanceof EmojiReplacer ? (EmojiReplacer) provider : DEFAULT_EMOJI_REPLACER;
-        final List<String> unicodesForPattern = new ArrayList<>(GUESSED_UNICODE_AMOUNT);
-
 
         for (EmojiCategory category : INSTANCE.categories) {
             final Emoji[] emojis = checkNotNull(category.getEmojis(), "emojis == null");
 
             for (Emoji emoji : emojis) {
-                final String unicode = emoji.getUnicode();
-                final List<Emoji> variants = emoji.getVariants();
-                INSTANCE.emojiMap.put(unicode, emoji);
-                unicodesForPattern.add(unicode);
-
-                for (Emoji variant: variants) {
-                    final String variantUnicode = variant.getUnicode();
-                    INSTANCE.emojiMap.put(variantUnicode, variant);
-                    unicodesForPattern.add(variantUnicode);
+                INSTANCE.emojiMap.put(emoji.getUnicode(), emoji);
 
+                for (Emoji variant: emoji.getVariants()) {
+                    INSTANCE.emojiMap.put(variant.getUnicode(), variant);
                 }
             }
         }
-        if (unicodesForPattern.isEmpty()) {
+        if (INSTANCE.emojiMap.isEmpty()) {
             throw new IllegalArgumentException("Your EmojiProvider must at least have one category with at least one emoji.");
         }
-        // We need to sort the unicodes by length so the longest one gets matched first.
-        unicodesForPattern.sort(STRING_LENGTH_COMPARATOR);
-        final StringBuilder patternBuilder = new StringBuilder(GUESSED_TOTAL_PATTERN_LENGTH);
-        final int unicodesForPatternSize = unicodesForPattern.size();
-        for (int i = 0; i < unicodesForPatternSize; i++) {
-            patternBuilder.append(Pattern.quote(unicodesForPattern.get(i))).append('|');
-        }
-        final String regex = patternBuilder.deleteCharAt(patternBuilder.length() - 1).toString();
-        INSTANCE.emojiPattern = Pattern.compile(regex);
-        INSTANCE.emojiRepetitivePattern = Pattern.compile('(' + regex + ")+");
+
+        // The trie is built by the executor. If it is needed before being ready,
+        // the caller waits for the background build to finish.
+        final Map<String, Emoji> sequences = new LinkedHashMap<>(INSTANCE.emojiMap);
+        final FutureTask<EmojiTrie<Emoji>> task = new FutureTask<>(() -> EmojiTrie.build(sequences));
+        INSTANCE.emojiTrieTask = task;
+        executor.execute(task);
     }
 
     public static void destroy() {
         release();
         INSTANCE.emojiMap.clear();
         INSTANCE.categories = null;
-        INSTANCE.emojiPattern = null;
-        INSTANCE.emojiRepetitivePattern = null;
+        INSTANCE.emojiTrieTask = null;
         INSTANCE.emojiReplacer = null;
     }
 
@@ -162,8 +146,18 @@ public final class EmojiManager {
         return categories;
     }
 
-    Pattern getEmojiRepetitivePattern() {
-        return emojiRepetitivePattern;
+    @NonNull
+    EmojiTrie<Emoji> getEmojiTrie() {
+        verifyInstalled();
+        try {
+            // Never builds it in the calling thread, which may be the main one
+            return emojiTrieTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the emoji trie", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to build the emoji trie", e.getCause());
+        }
     }
 
     /**
@@ -172,11 +166,7 @@ public final class EmojiManager {
     public boolean isOnlyEmojis(@Nullable final String text) {
         try {
             if (!TextUtils.isEmpty(text)) {
-                final String inputWithoutSpaces = SPACE_REMOVAL.matcher(text).replaceAll(Matcher.quoteReplacement(""));
-                return EmojiManager.getInstance()
-                        .getEmojiRepetitivePattern()
-                        .matcher(inputWithoutSpaces)
-                        .matches();
+                return getEmojiTrie().isOnlyEmojis(text);
             }
         } catch (Exception e) {
             Timber.e(e);
@@ -186,8 +176,14 @@ public final class EmojiManager {
     }
 
     public int getNumEmojis(@Nullable final CharSequence text) {
-        List<EmojiRange> emojis = findAllEmojis(text);
-        return emojis.size();
+        try {
+            if (!TextUtils.isEmpty(text)) {
+                return getEmojiTrie().count(text);
+            }
+        } catch (Exception e) {
+            Timber.e(e);
+        }
+        return 0;
     }
 
     public @NonNull
@@ -196,13 +192,7 @@ public final class EmojiManager {
         try {
             verifyInstalled();
             if (!TextUtils.isEmpty(text)) {
-                final Matcher matcher = emojiPattern.matcher(text);
-                while (matcher.find()) {
-                    final Emoji found = findEmoji(text.subSequence(matcher.start(), matcher.end()));
-                    if (found != null) {
-                        result.add(new EmojiRange(matcher.start(), matcher.end(), found));
-                    }
-                }
+                getEmojiTrie().findAll(text, (start, end, emoji) -> result.add(new EmojiRange(start, end, emoji)));
             }
         } catch (Exception e) {
             Timber.e(e);
@@ -221,10 +211,14 @@ public final class EmojiManager {
     }
 
     public Emoji getFirstEmoji(@NonNull final CharSequence candidate) {
-        List<EmojiRange> emojis = findAllEmojis(candidate);
-        if (emojis.size() > 0) return emojis.get(0).emoji;
+        try {
+            if (!TextUtils.isEmpty(candidate)) {
+                return getEmojiTrie().findFirst(candidate);
+            }
+        } catch (Exception e) {
+            Timber.e(e);
+        }
         return null;
-
     }
 
     void verifyInstalled() {
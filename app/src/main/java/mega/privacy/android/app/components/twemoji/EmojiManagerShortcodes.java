@@ -2,6 +2,8 @@ package mega.privacy.android.app.components.twemoji;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
+
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
@@ -11,32 +13,74 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 import timber.log.Timber;
 
 public final class EmojiManagerShortcodes {
     private static final String EMOJI_SHORTCODES = "emojisshortcodes/emoji.json";
-    static List<EmojiShortcodes> emojiData;
+    private static volatile FutureTask<EmojiShortcodesIndex> emojiIndexTask;
+
+    /**
+     * Starts loading the emoji shortcodes data in background.
+     * If the data is needed before being ready, the caller loads it or waits for the load to finish.
+     *
+     * @param context  Context to read the assets.
+     * @param executor Executor loading the data in background.
+     */
+    public static synchronized void initEmojiData(Context context, Executor executor) {
+        if (emojiIndexTask != null) return;
+
+        final Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        final FutureTask<EmojiShortcodesIndex> task = new FutureTask<>(() -> EmojiShortcodesIndex.build(loadEmojiData(appContext)));
+        emojiIndexTask = task;
+        executor.execute(task);
+    }
+
+    /**
+     * Gets the index of the emoji shortcodes data.
+     *
+     * @return The index, empty if the data has not been initialised or could not be loaded.
+     */
+    @NonNull
+    static EmojiShortcodesIndex getEmojiIndex() {
+        final FutureTask<EmojiShortcodesIndex> task = emojiIndexTask;
+        if (task == null) return EmojiShortcodesIndex.EMPTY;
 
-    public static void initEmojiData(Context context) {
-        if (emojiData == null || emojiData.size() < 1) {
-            BufferedReader reader = null;
+        // Runs the load in the calling thread if the executor has not started it yet
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Timber.e(e);
+        } catch (ExecutionException e) {
+            Timber.e(e.getCause());
+        }
+        return EmojiShortcodesIndex.EMPTY;
+    }
+
+    private static List<EmojiShortcodes> loadEmojiData(Context context) {
+        List<EmojiShortcodes> emojiData = null;
+        BufferedReader reader = null;
+        try {
+            Gson gson = new GsonBuilder().enableComplexMapKeySerialization().setLenient().create();
+            reader = new BufferedReader(new InputStreamReader(context.getAssets().open(EMOJI_SHORTCODES)));
+            emojiData = gson.fromJson(reader, new TypeToken<ArrayList<EmojiShortcodes>>() {
+            }.getType());
+        } catch (IOException | NullPointerException e) {
+            Timber.e(e);
+        } finally {
             try {
-                Gson gson = new GsonBuilder().enableComplexMapKeySerialization().setLenient().create();
-                reader = new BufferedReader(new InputStreamReader(context.getAssets().open(EMOJI_SHORTCODES)));
-                emojiData = gson.fromJson(reader, new TypeToken<ArrayList<EmojiShortcodes>>() {
-                }.getType());
-            } catch (IOException | NullPointerException e) {
-                Timber.e(e);
-            } finally {
-                try {
-                    if (reader != null) {
-                        reader.close();
-                    }
-                } catch (IOException e) {
-                    Timber.e(e);
+                if (reader != null) {
+                    reader.close();
                 }
+            } catch (IOException e) {
+                Timber.e(e);
             }
         }
+        return emojiData != null ? emojiData : new ArrayList<>();
     }
 }
@@ -0,0 +1,162 @@
+package mega.privacy.android.app.components.twemoji;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the emoji shortcodes data.
+ * <p>
+ * Emojis are looked up by unicode and by alias in hash maps, and found in a text with an
+ * {@link EmojiTrie}, so every transform is a single pass over the text whatever the number of emojis.
+ * When several entries share the same unicode or alias, the first one of the data wins.
+ */
+public final class EmojiShortcodesIndex {
+
+    static final EmojiShortcodesIndex EMPTY = new EmojiShortcodesIndex(Collections.emptyList());
+
+    private static final char SHORTCODE_DELIMITER = ':';
+
+    private final Map<String, EmojiShortcodes> emojisByUnicode;
+    private final Map<String, EmojiShortcodes> emojisByAlias;
+    private final EmojiTrie<EmojiShortcodes> emojiTrie;
+
+    private EmojiShortcodesIndex(@NonNull final List<EmojiShortcodes> emojiData) {
+        final Map<String, EmojiShortcodes> byUnicode = new LinkedHashMap<>(emojiData.size() * 2);
+        final Map<String, EmojiShortcodes> byAlias = new HashMap<>(emojiData.size() * 2);
+        for (final EmojiShortcodes emoji : emojiData) {
+            if (emoji == null || emoji.getEmoji() == null || emoji.getEmoji().isEmpty()) continue;
+
+            if (!byUnicode.containsKey(emoji.getEmoji())) {
+                byUnicode.put(emoji.getEmoji(), emoji);
+            }
+            if (emoji.getAliases() != null) {
+                for (final String alias : emoji.getAliases()) {
+                    if (!byAlias.containsKey(alias)) {
+                        byAlias.put(alias, emoji);
+                    }
+                }
+            }
+        }
+        emojisByUnicode = byUnicode;
+        emojisByAlias = byAlias;
+        emojiTrie = EmojiTrie.build(byUnicode);
+    }
+
+    /**
+     * Builds the index of the given emoji data.
+     *
+     * @param emojiData List of emojis, as parsed from the shortcodes asset.
+     * @return The index.
+     */
+    @NonNull
+    public static EmojiShortcodesIndex build(@NonNull final List<EmojiShortcodes> emojiData) {
+        return new EmojiShortcodesIndex(emojiData);
+    }
+
+    /**
+     * Gets an emoji by its unicode or by one of its aliases.
+     *
+     * @param code Unicode or alias, not enclosed in colons.
+     * @return The emoji, or null if there is none.
+     */
+    @Nullable
+    public EmojiShortcodes getEmoji(@NonNull final String code) {
+        final EmojiShortcodes emoji = emojisByUnicode.get(code);
+        return emoji != null ? emoji : emojisByAlias.get(code);
+    }
+
+    /**
+     * Replaces every shortcode of the text by its emoji.
+     * Shortcodes are found from left to right as with the {@code :\w+:} regex,
+     * the unknown ones are kept as they are.
+     *
+     * @param text Text to emojify.
+     * @return Emojified text.
+     */
+    @NonNull
+    public String emojify(@NonNull final String text) {
+        int index = text.indexOf(SHORTCODE_DELIMITER);
+        if (index < 0) return text;
+
+        final int length = text.length();
+        StringBuilder result = null;
+        int copied = 0;
+        while (index >= 0 && index < length - 2) {
+            int end = index + 1;
+            while (end < length && isWordChar(text.charAt(end))) {
+                end++;
+            }
+
+            if (end == index + 1 || end == length || text.charAt(end) != SHORTCODE_DELIMITER) {
+                index = text.indexOf(SHORTCODE_DELIMITER, index + 1);
+                continue;
+            }
+
+            final EmojiShortcodes emoji = emojisByAlias.get(text.substring(index + 1, end));
+            if (emoji != null) {
+                if (result == null) {
+                    result = new StringBuilder(length);
+                }
+                result.append(text, copied, index).append(emoji.getEmoji());
+                copied = end + 1;
+            }
+            index = text.indexOf(SHORTCODE_DELIMITER, end + 1);
+        }
+
+        if (result == null) return text;
+        return result.append(text, copied, length).toString();
+    }
+
+    /**
+     * Replaces every emoji of the text by its first alias enclosed in colons.
+     * The longest emoji is taken at each position, so sequences are not split.
+     *
+     * @param text Text without shortcodes.
+     * @return Shortcodified text.
+     */
+    @NonNull
+    public String shortCodify(@NonNull final String text) {
+        final StringBuilder result = new StringBuilder(text.length());
+        final int[] copied = {0};
+        emojiTrie.findAll(text, (start, end, emoji) -> {
+            result.append(text, copied[0], start)
+                    .append(SHORTCODE_DELIMITER)
+                    .append(emoji.getAliases().get(0))
+                    .append(SHORTCODE_DELIMITER);
+            copied[0] = end;
+        });
+        if (copied[0] == 0) return text;
+        return result.append(text, copied[0], text.length()).toString();
+    }
+
+    /**
+     * Removes every emoji of the text.
+     *
+     * @param text Text to clean.
+     * @return Text without emojis.
+     */
+    @NonNull
+    public String removeAllEmojis(@NonNull final String text) {
+        final StringBuilder result = new StringBuilder(text.length());
+        final int[] copied = {0};
+        emojiTrie.findAll(text, (start, end, emoji) -> {
+            result.append(text, copied[0], start);
+            copied[0] = end;
+        });
+        if (copied[0] == 0) return text;
+        return result.append(text, copied[0], text.length()).toString();
+    }
+
+    /**
+     * Same word definition as the regex {@code \w} class.
+     */
+    private static boolean isWordChar(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
@@ -0,0 +1,242 @@
+package mega.privacy.android.app.components.twemoji;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable trie of emoji sequences used to find emojis in a text.
+ * <p>
+ * The trie is keyed by UTF-16 chars, so it matches exactly the same ranges as a regex made of the
+ * quoted sequences sorted from longest to shortest: at every position the longest sequence wins,
+ * and when nothing matches the search moves forward by one char.
+ * Lookups do not allocate, each match is reported with its bounds and value.
+ *
+ * @param <T> Type of the value associated to each sequence.
+ */
+public final class EmojiTrie<T> {
+
+    /**
+     * Receives the matches found in a text.
+     *
+     * @param <T> Type of the value associated to each sequence.
+     */
+    public interface MatchConsumer<T> {
+        /**
+         * Called for every match, in order.
+         *
+         * @param start Start index of the match, inclusive.
+         * @param end   End index of the match, exclusive.
+         * @param value Value of the matched sequence.
+         */
+        void onMatch(int start, int end, @NonNull T value);
+    }
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+
+    private EmojiTrie(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a trie containing every key of the given map.
+     *
+     * @param sequences Map of emoji sequence to its value.
+     * @param <T>       Type of the values.
+     * @return The trie.
+     */
+    @NonNull
+    public static <T> EmojiTrie<T> build(@NonNull final Map<String, T> sequences) {
+        final BuilderNode root = new BuilderNode();
+        for (final Map.Entry<String, T> entry : sequences.entrySet()) {
+            final String sequence = entry.getKey();
+            BuilderNode node = root;
+            for (int i = 0; i < sequence.length(); i++) {
+                node = node.child(sequence.charAt(i));
+            }
+            node.value = entry.getValue();
+        }
+        return new EmojiTrie<>(root.freeze());
+    }
+
+    /**
+     * Finds all the emojis in the text, from left to right, taking the longest one at each position.
+     *
+     * @param text     The text.
+     * @param consumer Receives every match.
+     */
+    public void findAll(@NonNull final CharSequence text, @NonNull final MatchConsumer<T> consumer) {
+        final int length = text.length();
+        int index = 0;
+        while (index < length) {
+            final int end = longestMatchEnd(text, index, length);
+            if (end > index) {
+                consumer.onMatch(index, end, valueOf(text, index, end));
+                index = end;
+            } else {
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Counts the emojis in the text with the same rules as {@link #findAll}.
+     *
+     * @param text The text.
+     * @return Number of emojis.
+     */
+    public int count(@NonNull final CharSequence text) {
+        final int length = text.length();
+        int count = 0;
+        int index = 0;
+        while (index < length) {
+            final int end = longestMatchEnd(text, index, length);
+            if (end > index) {
+                count++;
+                index = end;
+            } else {
+                index++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the first emoji of the text.
+     *
+     * @param text The text.
+     * @return The value of the first emoji, or null if the text does not contain any.
+     */
+    @Nullable
+    public T findFirst(@NonNull final CharSequence text) {
+        final int length = text.length();
+        for (int index = 0; index < length; index++) {
+            final int end = longestMatchEnd(text, index, length);
+            if (end > index) {
+                return valueOf(text, index, end);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the text is a non empty sequence of emojis, any whitespace being ignored.
+     * Equivalent to matching the text without whitespace against a {@code (emoji1|emoji2|...)+} regex.
+     *
+     * @param text The text.
+     * @return True if the text only contains emojis and whitespace.
+     */
+    public boolean isOnlyEmojis(@NonNull final CharSequence text) {
+        final StringBuilder compact = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (!isRegexWhitespace(c)) {
+                compact.append(c);
+            }
+        }
+
+        final int length = compact.length();
+        if (length == 0) {
+            return false;
+        }
+
+        // reachable[i] is true when the first i chars can be split into emojis
+        final boolean[] reachable = new boolean[length + 1];
+        reachable[0] = true;
+        for (int start = 0; start < length; start++) {
+            if (!reachable[start]) continue;
+
+            Node node = root;
+            for (int i = start; i < length; i++) {
+                node = node.child(compact.charAt(i));
+                if (node == null) break;
+                if (node.value != null) reachable[i + 1] = true;
+            }
+        }
+        return reachable[length];
+    }
+
+    private int longestMatchEnd(final CharSequence text, final int start, final int length) {
+        int end = start;
+        Node node = root;
+        for (int i = start; i < length; i++) {
+            node = node.child(text.charAt(i));
+            if (node == null) break;
+            if (node.value != null) end = i + 1;
+        }
+        return end;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueOf(final CharSequence text, final int start, final int end) {
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            node = node.child(text.charAt(i));
+        }
+        return (T) node.value;
+    }
+
+    /**
+     * Same whitespace definition as the regex {@code \s} class.
+     */
+    private static boolean isRegexWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final Object value;
+
+        private Node(final char[] keys, final Node[] children, final Object value) {
+            this.keys = keys;
+            this.children = children;
+            this.value = value;
+        }
+
+        @Nullable
+        private Node child(final char key) {
+            final int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class BuilderNode {
+        private final Map<Character, BuilderNode> children = new HashMap<>();
+        private Object value;
+
+        private BuilderNode child(final char key) {
+            BuilderNode child = children.get(key);
+            if (child == null) {
+                child = new BuilderNode();
+                children.put(key, child);
+            }
+            return child;
+        }
+
+        private Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(NO_KEYS, NO_CHILDREN, value);
+            }
+
+            final char[] keys = new char[children.size()];
+            int index = 0;
+            for (final Character key : children.keySet()) {
+                keys[index++] = key;
+            }
+            Arrays.sort(keys);
+
+            final Node[] frozenChildren = new Node[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                frozenChildren[i] = children.get(keys[i]).freeze();
+            }
+            return new Node(keys, frozenChildren, value);
+        }
+    }
+}
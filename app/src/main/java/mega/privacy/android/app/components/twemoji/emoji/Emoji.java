@@ -1,13 +1,9 @@
 package mega.privacy.android.app.components.twemoji.emoji;
 
-import static android.graphics.Color.WHITE;
 import static java.util.Arrays.asList;
 
 import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.Canvas;
-import android.graphics.Paint;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 
@@ -58,21 +54,15 @@ public class Emoji implements Serializable {
     return unicode;
   }
 
+  /**
+   * Gets the bitmap of the emoji. It is cached and shared, so it must not be modified or recycled.
+   */
   @NonNull public Bitmap getBitmap() {
-    return BitmapFactory.decodeResource(MegaApplication.getInstance().getBaseContext().getResources(), resource);
-
+    return EmojiBitmapCache.getBitmap(MegaApplication.getInstance().getBaseContext().getResources(), resource);
   }
 
   @NonNull public Drawable getDrawable(final Context context) {
-    Bitmap bitmapInitial = BitmapFactory.decodeResource(context.getResources(), resource);
-    Bitmap bitmapFinal = Bitmap.createBitmap(80, 80, Bitmap.Config.ARGB_8888);
-    Canvas c = new Canvas(bitmapFinal);
-    Paint paint = new Paint();
-    paint.setAntiAlias(true);
-    paint.setColor(WHITE);
-    c.drawBitmap(bitmapInitial, 3f, 3f, null);
-    Drawable drawableFinal = new BitmapDrawable(context.getResources(), bitmapFinal);
-    return drawableFinal;
+    return new BitmapDrawable(context.getResources(), EmojiBitmapCache.getPaddedBitmap(context.getResources(), resource));
   }
 
   @NonNull public List<Emoji> getVariants() {
@@ -0,0 +1,72 @@
+package mega.privacy.android.app.components.twemoji.emoji;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.util.LruCache;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+
+/**
+ * Byte bounded cache of the emoji bitmaps, so each emoji resource is decoded only once
+ * while it is in use by the emoji text views and the default avatars.
+ */
+final class EmojiBitmapCache {
+
+  private static final int MAX_SIZE_BYTES = 4 * 1024 * 1024;
+  private static final int PADDED_SIZE = 80;
+  private static final float PADDING = 3f;
+
+  private static final LruCache<Integer, Bitmap> decodedBitmaps = new BitmapLruCache();
+  private static final LruCache<Integer, Bitmap> paddedBitmaps = new BitmapLruCache();
+
+  private EmojiBitmapCache() {
+  }
+
+  /**
+   * Gets the decoded bitmap of an emoji resource.
+   *
+   * @param resources Resources to decode the bitmap.
+   * @param resource  Emoji resource.
+   * @return The decoded bitmap. It is shared, so it must not be modified or recycled.
+   */
+  @NonNull static Bitmap getBitmap(@NonNull final Resources resources, @DrawableRes final int resource) {
+    Bitmap bitmap = decodedBitmaps.get(resource);
+    if (bitmap == null || bitmap.isRecycled()) {
+      bitmap = BitmapFactory.decodeResource(resources, resource);
+      if (bitmap != null) {
+        decodedBitmaps.put(resource, bitmap);
+      }
+    }
+    return bitmap;
+  }
+
+  /**
+   * Gets the bitmap of an emoji resource drawn with padding, as shown in the emoji text views.
+   *
+   * @param resources Resources to decode the bitmap.
+   * @param resource  Emoji resource.
+   * @return The padded bitmap. It is shared, so it must not be modified or recycled.
+   */
+  @NonNull static Bitmap getPaddedBitmap(@NonNull final Resources resources, @DrawableRes final int resource) {
+    Bitmap bitmap = paddedBitmaps.get(resource);
+    if (bitmap == null || bitmap.isRecycled()) {
+      bitmap = Bitmap.createBitmap(PADDED_SIZE, PADDED_SIZE, Bitmap.Config.ARGB_8888);
+      new Canvas(bitmap).drawBitmap(getBitmap(resources, resource), PADDING, PADDING, null);
+      paddedBitmaps.put(resource, bitmap);
+    }
+    return bitmap;
+  }
+
+  private static final class BitmapLruCache extends LruCache<Integer, Bitmap> {
+    BitmapLruCache() {
+      super(MAX_SIZE_BYTES);
+    }
+
+    @Override protected int sizeOf(final Integer key, final Bitmap value) {
+      return value.getAllocationByteCount();
+    }
+  }
+}
@@ -9,6 +9,8 @@ import dagger.hilt.components.SingletonComponent
 import mega.privacy.android.app.presentation.avatar.mapper.AvatarContentMapper
 import mega.privacy.android.app.presentation.avatar.mapper.AvatarContentMapperImpl
 import mega.privacy.android.app.presentation.avatar.mapper.AvatarMapper
+import mega.privacy.android.app.presentation.avatar.mapper.DominantColorMapper
+import mega.privacy.android.app.presentation.avatar.mapper.DominantColorMapperImpl
 import mega.privacy.android.app.utils.AvatarUtil
 import mega.privacy.android.app.utils.Constants.AVATAR_SIZE
 
@@ -25,6 +27,12 @@ abstract class AvatarMapperModule {
     @Binds
     abstract fun bindAvatarContentMapper(implementation: AvatarContentMapperImpl): AvatarContentMapper
 
+    /**
+     * Provide the instance of [DominantColorMapper]
+     */
+    @Binds
+    abstract fun bindDominantColorMapper(implementation: DominantColorMapperImpl): DominantColorMapper
+
     companion object {
 
         /**
@@ -8,6 +8,7 @@ import dagger.multibindings.ElementsIntoSet
 import mega.privacy.android.app.presentation.settings.model.PreferenceResource
 import mega.privacy.android.domain.repository.LoggingRepository
 import mega.privacy.android.domain.repository.SettingsRepository
+import mega.privacy.android.domain.usecase.GetCurrentPreference
 import mega.privacy.android.domain.usecase.GetPreference
 import mega.privacy.android.domain.usecase.PutPreference
 import mega.privacy.android.domain.usecase.SetChatLogsEnabled
@@ -83,6 +84,30 @@ abstract class SettingsModule {
         @Provides
         fun provideGetBooleanPreference(settingsRepository: SettingsRepository): GetPreference<Boolean> =
             GetPreference(settingsRepository::monitorBooleanPreference)
+
+        @Provides
+        fun provideGetCurrentStringPreference(settingsRepository: SettingsRepository): GetCurrentPreference<String?> =
+            GetCurrentPreference(settingsRepository::getStringPreference)
+
+        @Provides
+        fun provideGetCurrentStringSetPreference(settingsRepository: SettingsRepository): GetCurrentPreference<MutableSet<String>?> =
+            GetCurrentPreference(settingsRepository::getStringSetPreference)
+
+        @Provides
+        fun provideGetCurrentIntPreference(settingsRepository: SettingsRepository): GetCurrentPreference<Int> =
+            GetCurrentPreference(settingsRepository::getIntPreference)
+
+        @Provides
+        fun provideGetCurrentLongPreference(settingsRepository: SettingsRepository): GetCurrentPreference<Long> =
+            GetCurrentPreference(settingsRepository::getLongPreference)
+
+        @Provides
+        fun provideGetCurrentFloatPreference(settingsRepository: SettingsRepository): GetCurrentPreference<Float> =
+            GetCurrentPreference(settingsRepository::getFloatPreference)
+
+        @Provides
+        fun provideGetCurrentBooleanPreference(settingsRepository: SettingsRepository): GetCurrentPreference<Boolean> =
+            GetCurrentPreference(settingsRepository::getBooleanPreference)
     }
 
 }
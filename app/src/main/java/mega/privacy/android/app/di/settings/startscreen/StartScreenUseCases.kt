@@ -14,6 +14,7 @@ import mega.privacy.android.domain.repository.SettingsRepository
 import mega.privacy.android.domain.usecase.DefaultMonitorStartScreenPreference
 import mega.privacy.android.domain.usecase.MonitorStartScreenPreference
 import mega.privacy.android.domain.usecase.SetStartScreenPreference
+import mega.privacy.android.domain.usecase.setting.GetPreferredStartScreenUseCase
 
 /**
  * Start screen use cases
@@ -60,18 +61,18 @@ class TempStartScreenUseCaseStaticModule {
 }
 
 /**
- * This method is to inject MonitorStartScreenPreference into static classes by Hilt
+ * This method is to inject GetPreferredStartScreenUseCase into static classes by Hilt
  */
-fun getMonitorStartScreenPreference(): MonitorStartScreenPreference =
+fun getPreferredStartScreenUseCase(): GetPreferredStartScreenUseCase =
     EntryPointAccessors.fromApplication(
         MegaApplication.getInstance(),
-        MonitorStartScreenPreferenceEntryPoint::class.java).monitorStartScreenPreference
+        GetPreferredStartScreenUseCaseEntryPoint::class.java).getPreferredStartScreenUseCase
 
 /**
- * This interface is needed to inject DatabaseHandler by Hilt
+ * This interface is needed to inject GetPreferredStartScreenUseCase by Hilt
  */
 @EntryPoint
 @InstallIn(SingletonComponent::class)
-interface MonitorStartScreenPreferenceEntryPoint {
-    var monitorStartScreenPreference: MonitorStartScreenPreference
-}
\ No newline at end of file
+interface GetPreferredStartScreenUseCaseEntryPoint {
+    var getPreferredStartScreenUseCase: GetPreferredStartScreenUseCase
+}
@@ -54,6 +54,7 @@ import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUs
 import mega.privacy.android.domain.usecase.transfers.paused.PauseAllTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.sd.DeleteSdTransferByTagUseCase
 import mega.privacy.android.domain.usecase.transfers.sd.GetAllSdTransfersUseCase
+import mega.privacy.android.domain.usecase.transfers.sd.ResumePendingSdCardMovesUseCase
 import nz.mega.sdk.MegaApiAndroid
 import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaNode
@@ -85,6 +86,7 @@ class TransfersManagement @Inject constructor(
     private val getTransferByTagUseCase: GetTransferByTagUseCase,
     private val completedTransferMapper: CompletedTransferMapper,
     private val pauseAllTransfersUseCase: PauseAllTransfersUseCase,
+    private val resumePendingSdCardMovesUseCase: ResumePendingSdCardMovesUseCase,
 ) {
 
     companion object {
@@ -322,6 +324,8 @@ class TransfersManagement @Inject constructor(
     fun checkResumedPendingTransfers() {
         if (megaApi.rootNode != null) {
             applicationScope.launch {
+                runCatching { resumePendingSdCardMovesUseCase() }
+                    .onFailure { Timber.e(it, "Error resuming pending moves to the SD card") }
                 val completedTransfers = checkSDCardCompletedTransfers()
                 addCompletedTransferIfNotExistUseCase(completedTransfers)
             }
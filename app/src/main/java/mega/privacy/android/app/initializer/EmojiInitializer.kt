@@ -5,23 +5,62 @@ import androidx.core.provider.FontRequest
 import androidx.emoji2.text.EmojiCompat
 import androidx.emoji2.text.FontRequestEmojiCompatConfig
 import androidx.startup.Initializer
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
 import mega.privacy.android.app.R
 import mega.privacy.android.app.components.twemoji.EmojiManager
 import mega.privacy.android.app.components.twemoji.EmojiManagerShortcodes
 import mega.privacy.android.app.components.twemoji.TwitterEmojiProvider
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.DefaultDispatcher
 import timber.log.Timber
+import java.util.concurrent.Executor
 
 /**
  * Emoji initializer
  *
  */
 class EmojiInitializer : Initializer<Unit> {
+
+    /**
+     * Emoji initializer entry point
+     *
+     */
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface EmojiInitializerEntryPoint {
+        /**
+         * App scope
+         *
+         */
+        @ApplicationScope
+        fun appScope(): CoroutineScope
+
+        /**
+         * Default dispatcher
+         *
+         */
+        @DefaultDispatcher
+        fun defaultDispatcher(): CoroutineDispatcher
+    }
+
     /**
      * Create
      *
      */
     override fun create(context: Context) {
-        EmojiManagerShortcodes.initEmojiData(context)
+        val entryPoint =
+            EntryPointAccessors.fromApplication(context, EmojiInitializerEntryPoint::class.java)
+        val backgroundExecutor = Executor { command ->
+            entryPoint.appScope().launch(entryPoint.defaultDispatcher()) { command.run() }
+        }
+
+        EmojiManagerShortcodes.initEmojiData(context, backgroundExecutor)
 
         Timber.d("Use downloadable font for EmojiCompat")
 
@@ -45,7 +84,7 @@ class EmojiInitializer : Initializer<Unit> {
             })
 
         EmojiCompat.init(config)
-        EmojiManager.install(TwitterEmojiProvider())
+        EmojiManager.install(TwitterEmojiProvider(), backgroundExecutor)
     }
 
     /**
@@ -0,0 +1,58 @@
+package mega.privacy.android.app.initializer
+
+import android.content.Context
+import androidx.startup.Initializer
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import mega.privacy.android.data.gateway.preferences.AppPreferencesGateway
+import mega.privacy.android.data.gateway.preferences.UIPreferencesGateway
+
+/**
+ * Preferences snapshot initializer
+ *
+ * Creates the preferences data stores that are read synchronously, so their in memory snapshots
+ * start loading in background before the first screen reads them.
+ */
+class PreferencesSnapshotInitializer : Initializer<Unit> {
+
+    /**
+     * Preferences snapshot initializer entry point
+     *
+     */
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface PreferencesSnapshotInitializerEntryPoint {
+        /**
+         * App preferences gateway
+         *
+         */
+        fun appPreferencesGateway(): AppPreferencesGateway
+
+        /**
+         * UI preferences gateway
+         *
+         */
+        fun uiPreferencesGateway(): UIPreferencesGateway
+    }
+
+    /**
+     * Create
+     *
+     */
+    override fun create(context: Context) {
+        val entryPoint = EntryPointAccessors.fromApplication(
+            context,
+            PreferencesSnapshotInitializerEntryPoint::class.java
+        )
+        entryPoint.appPreferencesGateway()
+        entryPoint.uiPreferencesGateway()
+    }
+
+    /**
+     * Dependencies
+     *
+     */
+    override fun dependencies(): List<Class<out Initializer<*>>> = emptyList()
+}
@@ -12,6 +12,9 @@ import android.os.AsyncTask;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import mega.privacy.android.app.LegacyDatabaseHandler;
 import mega.privacy.android.app.MegaOffline;
@@ -40,32 +43,44 @@ public class CheckOfflineNodesTask extends AsyncTask<String, Void, String> {
 
         if (isFileAvailable(file)) {
 
+            Set<Integer> removedIds = new HashSet<>();
             for (int i = 0; i < offlineNodes.size(); i++) {
                 MegaOffline mOff = offlineNodes.get(i);
+                if (removedIds.contains(mOff.getId())) {
+                    continue;
+                }
                 File fileToCheck = getOfflineFile(context, mOff);
                 if (!isFileAvailable(fileToCheck)) {
-                    int removed = dbH.deleteOfflineFile(mOff);
+                    //The descendants of a missing folder are missing too, remove them at once
+                    List<Integer> subtreeIds = dbH.getOfflineSubtreeIds(mOff.getId());
+                    int removed = dbH.removeOfflineSubtree(mOff.getId());
+                    removedIds.addAll(subtreeIds);
                     Timber.d("File removed: %s", removed);
                 } else {
                     Timber.d("The file exists!");
                 }
             }
             //Check no empty folders
-            offlineNodes = dbH.getOfflineFiles();
+            ArrayList<MegaOffline> remainingNodes = dbH.getOfflineFiles();
+            Set<Integer> remainingIds = new HashSet<>();
+            for (int i = 0; i < remainingNodes.size(); i++) {
+                remainingIds.add(remainingNodes.get(i).getId());
+            }
+            //Ancestors left without children were removed along with the missing entries
             for (int i = 0; i < offlineNodes.size(); i++) {
                 MegaOffline mOff = offlineNodes.get(i);
+                if (mOff.isFolder() && !removedIds.contains(mOff.getId())
+                        && !remainingIds.contains(mOff.getId())) {
+                    deleteOfflineFolder(mOff);
+                }
+            }
+            for (int i = 0; i < remainingNodes.size(); i++) {
+                MegaOffline mOff = remainingNodes.get(i);
                 //Get if its folder
                 if (mOff.isFolder()) {
-                    ArrayList<MegaOffline> children = dbH.findByParentId(mOff.getId());
-                    if (children.size() < 1) {
-                        Timber.d("Delete the empty folder: %s", mOff.getName());
+                    if (dbH.countOfflineDescendants(mOff.getId()) < 1) {
                         dbH.deleteOfflineFile(mOff);
-                        File folderToDelete = getOfflineFile(context, mOff);
-                        try {
-                            deleteFolderAndSubFolders(folderToDelete);
-                        } catch (Exception e) {
-                            Timber.e(e, "Exception deleting folder");
-                        }
+                        deleteOfflineFolder(mOff);
                     }
                 }
             }
@@ -81,4 +96,14 @@ public class CheckOfflineNodesTask extends AsyncTask<String, Void, String> {
 
         return null;
     }
+
+    private void deleteOfflineFolder(MegaOffline mOff) {
+        Timber.d("Delete the empty folder: %s", mOff.getName());
+        File folderToDelete = getOfflineFile(context, mOff);
+        try {
+            deleteFolderAndSubFolders(folderToDelete);
+        } catch (Exception e) {
+            Timber.e(e, "Exception deleting folder");
+        }
+    }
 }
@@ -3,11 +3,12 @@ package mega.privacy.android.app.meeting.listeners
 import android.graphics.Bitmap
 import android.view.TextureView
 import mega.privacy.android.app.meeting.MegaSurfaceRenderer
+import mega.privacy.android.app.meeting.video.VideoFrame
+import mega.privacy.android.app.meeting.video.VideoFramePipeline
 import mega.privacy.android.app.utils.Constants.INVALID_DIMENSION
 import mega.privacy.android.app.utils.VideoCaptureUtils
 import nz.mega.sdk.MegaChatApiJava
 import nz.mega.sdk.MegaChatVideoListenerInterface
-import java.nio.ByteBuffer
 
 class GroupVideoListener(
     textureView: TextureView,
@@ -24,6 +25,8 @@ class GroupVideoListener(
     private var isLocal = false
     var localRenderer: MegaSurfaceRenderer? = null
 
+    private val framePipeline = VideoFramePipeline(textureView, ::renderFrame)
+
     override fun onChatVideoData(
         api: MegaChatApiJava,
         chatid: Long,
@@ -36,6 +39,15 @@ class GroupVideoListener(
             return
         }
 
+        framePipeline.onFrame(byteBuffer, width, height)
+    }
+
+    /**
+     * Renders a frame of the participant, called on the render thread of [VideoFramePipeline]
+     */
+    private fun renderFrame(frame: VideoFrame) {
+        val width = frame.width
+        val height = frame.height
         if (this.width != width || this.height != height) {
             this.width = width
             this.height = height
@@ -49,7 +61,7 @@ class GroupVideoListener(
             }
         }
 
-        (bitmap ?: return).copyPixelsFromBuffer(ByteBuffer.wrap(byteBuffer))
+        (bitmap ?: return).copyPixelsFromBuffer(frame.pixels())
 
         if (!isLocal || VideoCaptureUtils.isVideoAllowed()) {
             localRenderer!!.drawBitmap(isLocal)
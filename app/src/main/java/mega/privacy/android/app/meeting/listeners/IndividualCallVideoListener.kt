@@ -4,12 +4,13 @@ import android.graphics.Bitmap
 import android.util.DisplayMetrics
 import android.view.TextureView
 import mega.privacy.android.app.meeting.MegaSurfaceRenderer
+import mega.privacy.android.app.meeting.video.VideoFrame
+import mega.privacy.android.app.meeting.video.VideoFramePipeline
 import mega.privacy.android.app.utils.Constants
 import mega.privacy.android.app.utils.VideoCaptureUtils
 import nz.mega.sdk.MegaChatApiJava
 import nz.mega.sdk.MegaChatApiJava.MEGACHAT_INVALID_HANDLE
 import nz.mega.sdk.MegaChatVideoListenerInterface
-import java.nio.ByteBuffer
 
 /**
  * A listener for metadata corresponding to video being rendered.
@@ -32,6 +33,8 @@ class IndividualCallVideoListener(
         renderer.setAlpha(alpha)
     }
 
+    private val framePipeline = VideoFramePipeline(textureView, ::renderFrame)
+
     override fun onChatVideoData(
         api: MegaChatApiJava,
         chatid: Long,
@@ -43,6 +46,15 @@ class IndividualCallVideoListener(
             return
         }
 
+        framePipeline.onFrame(byteBuffer, width, height)
+    }
+
+    /**
+     * Renders a frame, called on the render thread of [VideoFramePipeline]
+     */
+    private fun renderFrame(frame: VideoFrame) {
+        val width = frame.width
+        val height = frame.height
         if (this.width != width || this.height != height) {
             this.width = width
             this.height = height
@@ -56,7 +68,7 @@ class IndividualCallVideoListener(
             }
         }
 
-        (bitmap ?: return).copyPixelsFromBuffer(ByteBuffer.wrap(byteBuffer))
+        (bitmap ?: return).copyPixelsFromBuffer(frame.pixels())
         if (VideoCaptureUtils.isVideoAllowed()) {
             renderer.drawBitmap(isLocal)
         }
@@ -0,0 +1,50 @@
+package mega.privacy.android.app.meeting.video
+
+/**
+ * Pool of [VideoFrame] buffers, to avoid allocating a new array for every frame.
+ *
+ * Only buffers of the last requested size are kept, as the frames of a participant
+ * only change their size when the resolution changes. Not thread safe.
+ *
+ * @param maxSize maximum number of buffers kept in the pool
+ */
+class FrameBufferPool(private val maxSize: Int) {
+
+    private val frames = ArrayDeque<VideoFrame>(maxSize)
+
+    /**
+     * Number of buffers allocated by the pool
+     */
+    var allocations = 0
+        private set
+
+    /**
+     * Gets a buffer of the given size from the pool, or allocates a new one
+     *
+     * @param byteCount size of the frame in bytes
+     * @param width     width of the frame
+     * @param height    height of the frame
+     */
+    fun acquire(byteCount: Int, width: Int, height: Int): VideoFrame {
+        val frame = frames.removeLastOrNull()?.takeIf { it.data.size == byteCount }
+            ?: run {
+                frames.clear()
+                allocations++
+                VideoFrame(ByteArray(byteCount))
+            }
+        frame.width = width
+        frame.height = height
+        return frame
+    }
+
+    /**
+     * Returns a buffer to the pool
+     *
+     * @param frame [VideoFrame]
+     */
+    fun release(frame: VideoFrame) {
+        if (frames.size < maxSize && frames.none { it === frame }) {
+            frames.addLast(frame)
+        }
+    }
+}
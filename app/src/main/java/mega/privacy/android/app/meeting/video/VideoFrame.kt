@@ -0,0 +1,31 @@
+package mega.privacy.android.app.meeting.video
+
+import java.nio.ByteBuffer
+
+/**
+ * A video frame held by a [VideoFrameSlot]. The frames are reused, so they must not be kept
+ * after being recycled.
+ *
+ * @property data pixels of the frame, in the format received from the SDK
+ */
+class VideoFrame internal constructor(val data: ByteArray) {
+
+    /**
+     * Width of the frame
+     */
+    var width = 0
+        internal set
+
+    /**
+     * Height of the frame
+     */
+    var height = 0
+        internal set
+
+    private val buffer = ByteBuffer.wrap(data)
+
+    /**
+     * Gets the pixels of the frame as a buffer, rewound to be read from the start
+     */
+    fun pixels(): ByteBuffer = buffer.apply { rewind() }
+}
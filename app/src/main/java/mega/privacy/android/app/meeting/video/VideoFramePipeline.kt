@@ -0,0 +1,89 @@
+package mega.privacy.android.app.meeting.video
+
+import android.os.Handler
+import android.os.HandlerThread
+import android.os.Process
+import android.view.TextureView
+import android.view.View
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.ProcessLifecycleOwner
+
+/**
+ * Pipeline between a call video listener and the renderer of its tile.
+ *
+ * The frames received from the SDK are kept in a [VideoFrameSlot] and rendered on a shared
+ * render thread, so the SDK thread is not blocked drawing and slow tiles only draw the latest
+ * frame. The tile visibility and size are tracked from its [TextureView].
+ * Must be created on the main thread.
+ *
+ * @param textureView   view where the frames are rendered
+ * @param render        renders a frame, called on the render thread
+ */
+class VideoFramePipeline(
+    private val textureView: TextureView,
+    private val render: (VideoFrame) -> Unit,
+) {
+    private val slot = VideoFrameSlot()
+
+    @Volatile
+    private var isMinimised = false
+
+    private val renderTask = Runnable {
+        val frame = slot.take() ?: return@Runnable
+        try {
+            render(frame)
+        } finally {
+            slot.recycle(frame)
+        }
+    }
+
+    init {
+        textureView.addOnLayoutChangeListener { _, _, _, _, _, _, _, _, _ -> updateTile() }
+        textureView.addOnAttachStateChangeListener(object : View.OnAttachStateChangeListener {
+            override fun onViewAttachedToWindow(view: View) = updateTile()
+
+            override fun onViewDetachedFromWindow(view: View) = slot.updateTile(0, 0, false)
+        })
+        if (textureView.isLaidOut) updateTile()
+    }
+
+    /**
+     * Offers a frame received from the call, scheduling its rendering if needed
+     *
+     * @param data      pixels of the frame
+     * @param width     width of the frame
+     * @param height    height of the frame
+     */
+    fun onFrame(data: ByteArray, width: Int, height: Int) {
+        val minimised =
+            !ProcessLifecycleOwner.get().lifecycle.currentState.isAtLeast(Lifecycle.State.STARTED)
+        if (minimised != isMinimised) {
+            isMinimised = minimised
+            slot.setMinimised(minimised)
+        }
+        if (slot.offer(data, width, height, System.nanoTime())) {
+            renderHandler.post(renderTask)
+        }
+    }
+
+    /**
+     * Gets the accounting of the frames of the tile
+     */
+    fun stats() = slot.stats()
+
+    private fun updateTile() {
+        slot.updateTile(
+            width = textureView.width,
+            height = textureView.height,
+            visible = textureView.isAttachedToWindow
+        )
+    }
+
+    companion object {
+        private val renderHandler by lazy {
+            val thread = HandlerThread("MeetingVideoRender", Process.THREAD_PRIORITY_DISPLAY)
+            thread.start()
+            Handler(thread.looper)
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package mega.privacy.android.app.meeting.video
+
+import java.util.concurrent.TimeUnit
+
+/**
+ * Holds the latest video frame of a participant tile until the renderer takes it.
+ *
+ * Frames are dropped while the tile is hidden or the app minimised, and limited to a frame rate
+ * depending on the size of the tile on screen. If the renderer is slower than the call, only the
+ * latest frame is kept. Buffers are reused from a [FrameBufferPool].
+ *
+ * Thread safe: frames are offered from the SDK thread, taken from the render thread and the tile
+ * is updated from the main thread.
+ *
+ * @param pool [FrameBufferPool]
+ */
+class VideoFrameSlot(private val pool: FrameBufferPool = FrameBufferPool(MAX_POOLED_FRAMES)) {
+
+    private val lock = Any()
+    private var pending: VideoFrame? = null
+    private var isTileVisible = true
+    private var isMinimised = false
+    private var minFrameIntervalNanos = 0L
+    private var lastAcceptedNanos = NO_FRAME
+
+    private var received = 0L
+    private var rendered = 0L
+    private var droppedHidden = 0L
+    private var droppedRate = 0L
+    private var droppedSuperseded = 0L
+
+    /**
+     * Updates the tile where the frames are rendered
+     *
+     * @param width     width of the tile in pixels
+     * @param height    height of the tile in pixels
+     * @param visible   true if the tile is attached and shown, false otherwise
+     */
+    fun updateTile(width: Int, height: Int, visible: Boolean) = synchronized(lock) {
+        isTileVisible = visible && width > 0 && height > 0
+        minFrameIntervalNanos = minFrameIntervalNanos(width, height)
+        dropPendingIfHidden()
+    }
+
+    /**
+     * Sets if the app is minimised, so no tile is seen
+     *
+     * @param minimised
+     */
+    fun setMinimised(minimised: Boolean) = synchronized(lock) {
+        isMinimised = minimised
+        dropPendingIfHidden()
+    }
+
+    /**
+     * Offers a frame received from the call. The data is copied, so the array can be reused.
+     *
+     * @param data      pixels of the frame
+     * @param width     width of the frame
+     * @param height    height of the frame
+     * @param nowNanos  current monotonic time in nanoseconds
+     * @return true if the renderer has to be scheduled, false if the frame was dropped or
+     * a previous frame is already waiting to be rendered
+     */
+    fun offer(data: ByteArray, width: Int, height: Int, nowNanos: Long): Boolean {
+        val frame = synchronized(lock) {
+            received++
+            when {
+                isMinimised || !isTileVisible -> {
+                    droppedHidden++
+                    return false
+                }
+
+                lastAcceptedNanos != NO_FRAME && nowNanos - lastAcceptedNanos < minFrameIntervalNanos -> {
+                    droppedRate++
+                    return false
+                }
+
+                else -> {
+                    lastAcceptedNanos = nowNanos
+                    pool.acquire(data.size, width, height)
+                }
+            }
+        }
+
+        // Copy out of the lock, so the render thread is not blocked by it
+        data.copyInto(frame.data)
+
+        synchronized(lock) {
+            val previous = pending
+            pending = frame
+            if (previous != null) {
+                droppedSuperseded++
+                pool.release(previous)
+            }
+            return previous == null
+        }
+    }
+
+    /**
+     * Takes the latest frame to render it. It has to be returned with [recycle] once rendered.
+     *
+     * @return the latest frame, or null if there is none
+     */
+    fun take(): VideoFrame? = synchronized(lock) {
+        pending?.also {
+            pending = null
+            rendered++
+        }
+    }
+
+    /**
+     * Returns a rendered frame, so its buffer can be reused
+     *
+     * @param frame [VideoFrame]
+     */
+    fun recycle(frame: VideoFrame) = synchronized(lock) {
+        pool.release(frame)
+    }
+
+    /**
+     * Gets the accounting of the frames offered to the slot
+     */
+    fun stats() = synchronized(lock) {
+        VideoFrameStats(
+            received = received,
+            rendered = rendered,
+            droppedHidden = droppedHidden,
+            droppedRate = droppedRate,
+            droppedSuperseded = droppedSuperseded,
+            pending = if (pending != null) 1 else 0,
+        )
+    }
+
+    private fun dropPendingIfHidden() {
+        if (isMinimised || !isTileVisible) {
+            pending?.let {
+                pending = null
+                droppedHidden++
+                pool.release(it)
+            }
+        }
+    }
+
+    companion object {
+        private const val NO_FRAME = Long.MIN_VALUE
+
+        /**
+         * Pending frame, frame being rendered and a spare one for the next frame
+         */
+        private const val MAX_POOLED_FRAMES = 3
+
+        private const val SMALL_TILE_SIZE = 320
+        private const val MEDIUM_TILE_SIZE = 720
+        private const val SMALL_TILE_FPS = 12
+        private const val MEDIUM_TILE_FPS = 20
+
+        /**
+         * Gets the minimum interval between the frames rendered in a tile, depending on its size.
+         * Big tiles are not limited, as they show the participant in focus.
+         *
+         * @param width     width of the tile in pixels
+         * @param height    height of the tile in pixels
+         * @return the minimum interval in nanoseconds
+         */
+        fun minFrameIntervalNanos(width: Int, height: Int): Long {
+            val size = maxOf(width, height)
+            return when {
+                size <= 0 -> 0L
+                size <= SMALL_TILE_SIZE -> TimeUnit.SECONDS.toNanos(1) / SMALL_TILE_FPS
+                size <= MEDIUM_TILE_SIZE -> TimeUnit.SECONDS.toNanos(1) / MEDIUM_TILE_FPS
+                else -> 0L
+            }
+        }
+    }
+}
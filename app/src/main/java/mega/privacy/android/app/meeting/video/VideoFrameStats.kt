@@ -0,0 +1,20 @@
+package mega.privacy.android.app.meeting.video
+
+/**
+ * Accounting of the frames offered to a [VideoFrameSlot]
+ *
+ * @property received           Frames received from the call
+ * @property rendered           Frames taken by the renderer
+ * @property droppedHidden      Frames dropped because the tile was hidden or the app minimised
+ * @property droppedRate        Frames dropped because of the frame rate limit of the tile
+ * @property droppedSuperseded  Frames replaced by a newer one before being rendered
+ * @property pending            Frames waiting to be rendered, 0 or 1
+ */
+data class VideoFrameStats(
+    val received: Long,
+    val rendered: Long,
+    val droppedHidden: Long,
+    val droppedRate: Long,
+    val droppedSuperseded: Long,
+    val pending: Int,
+)
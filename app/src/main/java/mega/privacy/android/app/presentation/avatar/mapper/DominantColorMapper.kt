@@ -0,0 +1,31 @@
+package mega.privacy.android.app.presentation.avatar.mapper
+
+import android.graphics.Bitmap
+import androidx.annotation.ColorInt
+import java.io.File
+
+/**
+ * Mapper to get the dominant color of avatars and thumbnails in background
+ */
+interface DominantColorMapper {
+
+    /**
+     * Gets the dominant color of a bitmap
+     *
+     * The bitmap is only read before suspending, so the caller may recycle it afterwards.
+     *
+     * @param bitmap
+     * @return the dominant color
+     */
+    @ColorInt
+    suspend operator fun invoke(bitmap: Bitmap): Int
+
+    /**
+     * Gets the dominant color of an image file. The result is cached until the file changes
+     *
+     * @param file avatar or thumbnail file
+     * @return the dominant color, or null if the file cannot be decoded
+     */
+    @ColorInt
+    suspend operator fun invoke(file: File): Int?
+}
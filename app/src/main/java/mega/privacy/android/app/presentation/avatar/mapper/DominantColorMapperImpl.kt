@@ -0,0 +1,66 @@
+package mega.privacy.android.app.presentation.avatar.mapper
+
+import android.graphics.Bitmap
+import android.graphics.BitmapFactory
+import android.util.LruCache
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.withContext
+import mega.privacy.android.app.utils.Util
+import mega.privacy.android.app.utils.copyForDominantColor
+import mega.privacy.android.app.utils.getDominantColor
+import mega.privacy.android.domain.qualifier.DefaultDispatcher
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import java.io.File
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Implementation of [DominantColorMapper]
+ *
+ * The files are decoded downsampled, as the dominant color does not need the full resolution,
+ * and the results are cached by path, size and modification date.
+ */
+@Singleton
+class DominantColorMapperImpl @Inject constructor(
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @DefaultDispatcher private val defaultDispatcher: CoroutineDispatcher,
+) : DominantColorMapper {
+
+    private val cache = LruCache<String, Int>(MAX_CACHED_COLORS)
+
+    override suspend fun invoke(bitmap: Bitmap): Int {
+        // The caller may recycle the bitmap while the color is computed
+        val copy = copyForDominantColor(bitmap)
+        return withContext(defaultDispatcher) {
+            try {
+                getDominantColor(copy)
+            } finally {
+                copy.recycle()
+            }
+        }
+    }
+
+    override suspend fun invoke(file: File): Int? = withContext(ioDispatcher) {
+        val key = "${file.absolutePath}|${file.length()}|${file.lastModified()}"
+        cache.get(key) ?: decode(file)?.let { bitmap ->
+            getDominantColor(bitmap).also {
+                bitmap.recycle()
+                cache.put(key, it)
+            }
+        }
+    }
+
+    private fun decode(file: File): Bitmap? {
+        if (!file.exists() || file.length() == 0L) return null
+        val options = BitmapFactory.Options().apply { inJustDecodeBounds = true }
+        BitmapFactory.decodeFile(file.absolutePath, options)
+        options.inSampleSize = Util.calculateInSampleSize(options, DECODE_SIZE, DECODE_SIZE)
+        options.inJustDecodeBounds = false
+        return BitmapFactory.decodeFile(file.absolutePath, options)
+    }
+
+    companion object {
+        private const val MAX_CACHED_COLORS = 256
+        private const val DECODE_SIZE = 128
+    }
+}
@@ -39,6 +39,7 @@ import androidx.lifecycle.lifecycleScope
 import com.google.android.material.appbar.AppBarLayout
 import com.google.android.material.dialog.MaterialAlertDialogBuilder
 import dagger.hilt.android.AndroidEntryPoint
+import kotlinx.coroutines.CoroutineStart
 import kotlinx.coroutines.launch
 import mega.privacy.android.app.BaseActivity
 import mega.privacy.android.app.MegaApplication
@@ -71,6 +72,7 @@ import mega.privacy.android.app.modalbottomsheet.ContactNicknameBottomSheetDialo
 import mega.privacy.android.app.modalbottomsheet.ModalBottomSheetUtil.isBottomSheetDialogShown
 import mega.privacy.android.app.namecollision.data.NameCollision
 import mega.privacy.android.app.objects.PasscodeManagement
+import mega.privacy.android.app.presentation.avatar.mapper.DominantColorMapper
 import mega.privacy.android.app.presentation.contact.authenticitycredendials.AuthenticityCredentialsActivity
 import mega.privacy.android.app.presentation.contactinfo.model.ContactInfoUiState
 import mega.privacy.android.app.presentation.extensions.iconRes
@@ -146,6 +148,12 @@ class ContactInfoActivity : BaseActivity(), ActionNodeCallback, MegaRequestListe
     @Inject
     lateinit var navigator: MegaNavigator
 
+    /**
+     * Dominant color mapper
+     */
+    @Inject
+    lateinit var dominantColorMapper: DominantColorMapper
+
     private lateinit var activityChatContactBinding: ActivityChatContactPropertiesBinding
     private val contentContactProperties get() = activityChatContactBinding.contentContactProperties
     private val collapsingAppBar get() = activityChatContactBinding.collapsingAppBar
@@ -1173,9 +1181,10 @@ class ContactInfoActivity : BaseActivity(), ActionNodeCallback, MegaRequestListe
                 imBitmap = BitmapFactory.decodeFile(avatar.absolutePath, bOpts)
                 imBitmap?.let {
                     collapsingAppBar.toolbarImage.setImageBitmap(it)
-                    if (!it.isRecycled) {
-                        val colorBackground = AvatarUtil.getDominantColor(it)
-                        collapsingAppBar.imageLayout.setBackgroundColor(colorBackground)
+                    lifecycleScope.launch {
+                        dominantColorMapper(avatar)?.let { colorBackground ->
+                            collapsingAppBar.imageLayout.setBackgroundColor(colorBackground)
+                        }
                     }
                 }
             }
@@ -1296,8 +1305,11 @@ class ContactInfoActivity : BaseActivity(), ActionNodeCallback, MegaRequestListe
         imBitmap?.let {
             collapsingAppBar.toolbarImage.setImageBitmap(it)
             if (!it.isRecycled) {
-                val colorBackground = AvatarUtil.getDominantColor(it)
-                collapsingAppBar.imageLayout.setBackgroundColor(colorBackground)
+                // Undispatched, so the mapper copies the bitmap before the caller can recycle it
+                lifecycleScope.launch(start = CoroutineStart.UNDISPATCHED) {
+                    val colorBackground = dominantColorMapper(it)
+                    collapsingAppBar.imageLayout.setBackgroundColor(colorBackground)
+                }
             }
         }
     }
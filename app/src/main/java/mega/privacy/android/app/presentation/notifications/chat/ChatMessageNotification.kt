@@ -82,9 +82,7 @@ internal object ChatMessageNotification {
                 senderAvatar,
                 chat ?: return@with,
                 senderAvatarColor ?: return@with
-            )?.let {
-                Util.getCircleBitmap(it)
-            }
+            )
 
         val messagingStyleContent = NotificationCompat.MessagingStyle(
             Person.Builder().apply { setName(title) }.build()
@@ -175,7 +173,9 @@ internal object ChatMessageNotification {
         senderAvatarColor: Int,
     ) = if (senderAvatar?.exists() == true && senderAvatar.length() > 0) {
         BitmapFactory.decodeFile(senderAvatar.absolutePath, BitmapFactory.Options())
+            ?.let { Util.getCircleBitmap(it) }
     } else {
+        // The default avatar is already a circle, and it is cached so it must not be recycled
         val color = if (chat.isGroup) {
             ContextCompat.getColor(context, R.color.grey_012_white_012)
         } else {
@@ -27,10 +27,12 @@ import mega.privacy.android.app.presentation.search.model.DateFilterWithName
 import mega.privacy.android.app.presentation.search.model.FilterOptionEntity
 import mega.privacy.android.app.presentation.search.model.SearchActivityState
 import mega.privacy.android.app.presentation.search.model.SearchFilter
+import mega.privacy.android.app.presentation.search.model.SearchResultsBuilder
 import mega.privacy.android.app.presentation.search.model.TypeFilterWithName
 import mega.privacy.android.app.presentation.search.navigation.DATE_ADDED
 import mega.privacy.android.app.presentation.search.navigation.DATE_MODIFIED
 import mega.privacy.android.app.presentation.search.navigation.TYPE
+import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
 import mega.privacy.android.domain.entity.node.NodeSourceType.OTHER
@@ -173,6 +175,9 @@ class SearchActivityViewModel @Inject constructor(
         searchJob = viewModelScope.launch {
             runCatching {
                 cancelCancelTokenUseCase()
+                val cloudSortOrder = getCloudSortOrder()
+                val searchResults = SearchResultsBuilder<NodeUIItem<TypedNode>>()
+                val handles = mutableSetOf<Long>()
                 searchUseCase(
                     query = getCurrentSearchQuery(),
                     parentHandle = NodeId(getCurrentParentHandle()),
@@ -182,9 +187,18 @@ class SearchActivityViewModel @Inject constructor(
                     } ?: state.value.selectedFilter?.filter ?: SearchCategory.ALL,
                     modificationDate = state.value.dateModifiedSelectedFilterOption?.date,
                     creationDate = state.value.dateAddedSelectedFilterOption?.date,
-                )
-            }.onSuccess {
-                onSearchSuccess(it)
+                ).collect { page ->
+                    // The results are shown as each page is mapped, a new search cancels the
+                    // mapping of the remaining ones
+                    val newResults = filterNonSensitiveNodes(page).orEmpty()
+                        .filter { handles.add(it.id.longValue) }
+                        .map { NodeUIItem(node = it, isSelected = false) }
+                    if (newResults.isNotEmpty()) {
+                        searchResults.addAll(newResults)
+                        onSearchPage(searchResults.snapshot(), cloudSortOrder)
+                    }
+                }
+                onSearchCompleted(searchResults.snapshot(), cloudSortOrder)
             }.onFailure { ex ->
                 onSearchFailure(ex)
             }
@@ -213,9 +227,28 @@ class SearchActivityViewModel @Inject constructor(
         }
     }
 
-    private suspend fun onSearchSuccess(sourceSearchResults: List<TypedNode>?) {
-        val searchResults = filterNonSensitiveNodes(sourceSearchResults)
-        if (searchResults.isNullOrEmpty()) {
+    /**
+     * Shows the results found so far, the search is still in progress until all the pages
+     * are mapped
+     */
+    private fun onSearchPage(
+        searchResults: List<NodeUIItem<TypedNode>>,
+        cloudSortOrder: SortOrder,
+    ) {
+        _state.update { state ->
+            state.copy(
+                searchItemList = searchResults,
+                isSearching = true,
+                sortOrder = cloudSortOrder
+            )
+        }
+    }
+
+    private fun onSearchCompleted(
+        searchResults: List<NodeUIItem<TypedNode>>,
+        cloudSortOrder: SortOrder,
+    ) {
+        if (searchResults.isEmpty()) {
             val emptyState = getEmptySearchState()
             _state.update {
                 it.copy(
@@ -225,13 +258,9 @@ class SearchActivityViewModel @Inject constructor(
                 )
             }
         } else {
-            val nodeUIItems = searchResults.distinctBy { it.id.longValue }.map { typedNode ->
-                NodeUIItem(node = typedNode, isSelected = false)
-            }
             _state.update { state ->
-                val cloudSortOrder = getCloudSortOrder()
                 state.copy(
-                    searchItemList = nodeUIItems,
+                    searchItemList = searchResults,
                     isSearching = false,
                     sortOrder = cloudSortOrder
                 )
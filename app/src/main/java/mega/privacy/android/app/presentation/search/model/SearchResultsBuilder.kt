@@ -0,0 +1,45 @@
+package mega.privacy.android.app.presentation.search.model
+
+/**
+ * Accumulates the search results page by page
+ *
+ * The results are only ever appended, so each snapshot shares the items of the builder instead
+ * of copying them: a snapshot keeps its own size, and the items after it are never changed.
+ * Getting a snapshot after each page is then O(1), and appending a page is amortised O(page).
+ * It is not thread safe, it is meant to be used by a single search.
+ */
+internal class SearchResultsBuilder<T> {
+    private var items = arrayOfNulls<Any?>(INITIAL_CAPACITY)
+    private var size = 0
+
+    /**
+     * Appends the given results
+     */
+    fun addAll(results: Collection<T>) {
+        if (size + results.size > items.size) {
+            // The previous snapshots keep the old array
+            items = items.copyOf(maxOf(items.size * 2, size + results.size))
+        }
+        results.forEach { items[size++] = it }
+    }
+
+    /**
+     * Read only list with the results appended so far
+     */
+    fun snapshot(): List<T> = Snapshot(items, size)
+
+    private class Snapshot<T>(
+        private val items: Array<Any?>,
+        override val size: Int,
+    ) : AbstractList<T>() {
+        @Suppress("UNCHECKED_CAST")
+        override fun get(index: Int): T {
+            if (index !in 0 until size) throw IndexOutOfBoundsException("index: $index, size: $size")
+            return items[index] as T
+        }
+    }
+
+    companion object {
+        private const val INITIAL_CAPACITY = 64
+    }
+}
@@ -4,11 +4,8 @@ import androidx.lifecycle.viewModelScope
 import androidx.preference.PreferenceDataStore
 import dagger.assisted.Assisted
 import dagger.assisted.AssistedInject
-import kotlinx.coroutines.flow.first
-import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.runBlocking
-import mega.privacy.android.domain.usecase.GetPreference
+import mega.privacy.android.domain.usecase.GetCurrentPreference
 import mega.privacy.android.domain.usecase.PutPreference
 
 /**
@@ -24,12 +21,12 @@ class ViewModelPreferenceDataStore @AssistedInject constructor(
     private val putLongPreference: PutPreference<Long>,
     private val putFloatPreference: PutPreference<Float>,
     private val putBooleanPreference: PutPreference<Boolean>,
-    private val getStringPreference: GetPreference<String?>,
-    private val getStringSetPreference: GetPreference<MutableSet<String>?>,
-    private val getIntPreference: GetPreference<Int>,
-    private val getLongPreference: GetPreference<Long>,
-    private val getFloatPreference: GetPreference<Float>,
-    private val getBooleanPreference: GetPreference<Boolean>,
+    private val getStringPreference: GetCurrentPreference<String?>,
+    private val getStringSetPreference: GetCurrentPreference<MutableSet<String>?>,
+    private val getIntPreference: GetCurrentPreference<Int>,
+    private val getLongPreference: GetCurrentPreference<Long>,
+    private val getFloatPreference: GetCurrentPreference<Float>,
+    private val getBooleanPreference: GetCurrentPreference<Boolean>,
 ) : PreferenceDataStore() {
 
     override fun putString(key: String?, value: String?) {
@@ -57,20 +54,20 @@ class ViewModelPreferenceDataStore @AssistedInject constructor(
     }
 
     override fun getString(key: String?, defValue: String?) =
-        runBlocking { getStringPreference(key, defValue).firstOrNull() }
+        getStringPreference(key, defValue)
 
     override fun getStringSet(key: String?, defValue: MutableSet<String>?) =
-        runBlocking { getStringSetPreference(key, defValue).firstOrNull() }
+        getStringSetPreference(key, defValue)
 
     override fun getInt(key: String?, defValue: Int) =
-        runBlocking { getIntPreference(key, defValue).first() }
+        getIntPreference(key, defValue)
 
     override fun getLong(key: String?, defValue: Long) =
-        runBlocking { getLongPreference(key, defValue).first() }
+        getLongPreference(key, defValue)
 
     override fun getFloat(key: String?, defValue: Float) =
-        runBlocking { getFloatPreference(key, defValue).first() }
+        getFloatPreference(key, defValue)
 
     override fun getBoolean(key: String?, defValue: Boolean) =
-        runBlocking { getBooleanPreference(key, defValue).first() }
+        getBooleanPreference(key, defValue)
 }
\ No newline at end of file
@@ -2,10 +2,7 @@ package mega.privacy.android.app.presentation.settings.startscreen.util
 
 import android.content.Context
 import android.content.Context.MODE_PRIVATE
-import kotlinx.coroutines.flow.first
-import kotlinx.coroutines.flow.map
-import kotlinx.coroutines.runBlocking
-import mega.privacy.android.app.di.settings.startscreen.getMonitorStartScreenPreference
+import mega.privacy.android.app.di.settings.startscreen.getPreferredStartScreenUseCase
 import mega.privacy.android.app.main.DrawerItem
 import mega.privacy.android.app.utils.Constants.INVALID_VALUE
 import mega.privacy.android.app.utils.SharedPreferenceConstants.DO_NOT_ALERT_ABOUT_START_SCREEN
@@ -45,14 +42,12 @@ object StartScreenUtil {
      */
     @JvmStatic
     fun getStartDrawerItem(): DrawerItem =
-        runBlocking {
-            when (getMonitorStartScreenPreference()().map { it.id }.first()) {
-                CLOUD_DRIVE_BNV -> DrawerItem.CLOUD_DRIVE
-                PHOTOS_BNV -> DrawerItem.PHOTOS
-                CHAT_BNV -> DrawerItem.CHAT
-                SHARED_ITEMS_BNV -> DrawerItem.SHARED_ITEMS
-                else -> DrawerItem.HOMEPAGE
-            }
+        when (getStartScreenId()) {
+            CLOUD_DRIVE_BNV -> DrawerItem.CLOUD_DRIVE
+            PHOTOS_BNV -> DrawerItem.PHOTOS
+            CHAT_BNV -> DrawerItem.CHAT
+            SHARED_ITEMS_BNV -> DrawerItem.SHARED_ITEMS
+            else -> DrawerItem.HOMEPAGE
         }
 
 
@@ -103,11 +98,7 @@ object StartScreenUtil {
                 || System.currentTimeMillis().minus(timeStamp) >= TIME_TO_SHOW_START_SCREEN_DIALOG
     }
 
-    private fun getStartScreenId() =
-        runBlocking {
-            getMonitorStartScreenPreference()()
-                .map { it.id }.first()
-        }
+    private fun getStartScreenId() = getPreferredStartScreenUseCase()().id
 
 
     /**
@@ -27,6 +27,7 @@ import android.graphics.Rect;
 import android.graphics.Shader;
 import android.graphics.Typeface;
 import android.net.Uri;
+import android.util.LruCache;
 import android.util.Pair;
 import android.widget.ImageView;
 
@@ -36,11 +37,8 @@ import androidx.core.content.ContextCompat;
 import com.vdurmont.emoji.EmojiParser;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 import mega.privacy.android.app.MegaApplication;
 import mega.privacy.android.app.R;
@@ -48,6 +46,7 @@ import mega.privacy.android.app.components.twemoji.EmojiManager;
 import mega.privacy.android.app.components.twemoji.EmojiRange;
 import mega.privacy.android.app.components.twemoji.EmojiUtils;
 import mega.privacy.android.app.components.twemoji.EmojiUtilsShortcodes;
+import mega.privacy.android.app.components.twemoji.emoji.Emoji;
 import mega.privacy.android.app.main.AddContactActivity;
 import mega.privacy.android.app.main.ShareContactInfo;
 import nz.mega.sdk.MegaApiAndroid;
@@ -55,6 +54,18 @@ import nz.mega.sdk.MegaUser;
 
 public class AvatarUtil {
 
+    /**
+     * Default avatars already rendered, keyed by color, letter or emoji, size and shape.
+     * They are shared, so they must not be modified or recycled.
+     */
+    private static final LruCache<String, Bitmap> defaultAvatars =
+            new LruCache<String, Bitmap>((int) Math.min(Runtime.getRuntime().maxMemory() / 32, 16 * 1024 * 1024)) {
+                @Override
+                protected int sizeOf(String key, Bitmap value) {
+                    return value.getAllocationByteCount();
+                }
+            };
+
     /**
      * Retrieve the first letter of a String.
      *
@@ -215,6 +226,27 @@ public class AvatarUtil {
      * @return Bitmap with the default avatar built in.
      */
     public static Bitmap getDefaultAvatar(int colorAvatar, String textAvatar, int textSize, boolean isList, boolean customEmojis) {
+        /*First Letter*/
+        if (textAvatar == null || textAvatar.trim().length() <= 0) {
+            textAvatar = UNKNOWN_USER_NAME_AVATAR;
+        }
+
+        String firstLetter = getFirstLetter(textAvatar);
+        Emoji emoji = customEmojis ? EmojiManager.getInstance().getFirstEmoji(firstLetter) : null;
+        String letter = emoji != null ? emoji.getUnicode() : firstLetter.toUpperCase(Locale.getDefault());
+        String key = colorAvatar + "|" + letter + "|" + textSize + "|" + isList + "|" + (emoji != null);
+
+        Bitmap cachedAvatar = defaultAvatars.get(key);
+        if (cachedAvatar != null && !cachedAvatar.isRecycled()) {
+            return cachedAvatar;
+        }
+
+        Bitmap defaultAvatar = renderDefaultAvatar(colorAvatar, letter, emoji, textSize, isList);
+        defaultAvatars.put(key, defaultAvatar);
+        return defaultAvatar;
+    }
+
+    private static Bitmap renderDefaultAvatar(int colorAvatar, String letter, @Nullable Emoji emoji, int textSize, boolean isList) {
         Bitmap defaultAvatar = Bitmap.createBitmap(DEFAULT_AVATAR_WIDTH_HEIGHT, DEFAULT_AVATAR_WIDTH_HEIGHT, Bitmap.Config.ARGB_8888);
         Canvas c = new Canvas(defaultAvatar);
 
@@ -245,23 +277,15 @@ public class AvatarUtil {
         paintText.setSubpixelText(true);
         paintText.setStyle(Paint.Style.FILL);
 
-        /*First Letter*/
-        if (textAvatar == null || textAvatar.trim().length() <= 0) {
-            textAvatar = UNKNOWN_USER_NAME_AVATAR;
-        }
-
-        String firstLetter = getFirstLetter(textAvatar);
-        if (customEmojis && EmojiManager.getInstance().getFirstEmoji(firstLetter) != null) {
-            Bitmap emojiBitmap = Bitmap.createScaledBitmap(EmojiManager.getInstance().getFirstEmoji(firstLetter).getBitmap(), textSize, textSize, false);
-            int xPos = (c.getWidth() - emojiBitmap.getWidth()) / 2;
-            int yPos = (c.getHeight() - emojiBitmap.getHeight()) / 2;
-            c.drawBitmap(emojiBitmap, xPos, yPos, paintText);
+        if (emoji != null) {
+            int xPos = (c.getWidth() - textSize) / 2;
+            int yPos = (c.getHeight() - textSize) / 2;
+            Rect destination = new Rect(xPos, yPos, xPos + textSize, yPos + textSize);
+            c.drawBitmap(emoji.getBitmap(), null, destination, paintText);
         } else {
-            Rect bounds = new Rect();
-            paintText.getTextBounds(firstLetter, 0, firstLetter.length(), bounds);
             int xPos = (c.getWidth() / 2);
             int yPos = (int) ((c.getHeight() / 2) - ((paintText.descent() + paintText.ascent() / 2)) + 20);
-            c.drawText(firstLetter.toUpperCase(Locale.getDefault()), xPos, yPos, paintText);
+            c.drawText(letter, xPos, yPos, paintText);
         }
         return defaultAvatar;
     }
@@ -461,74 +485,7 @@ public class AvatarUtil {
             throw new NullPointerException();
         }
 
-        int width = bitmap.getWidth();
-        int height = bitmap.getHeight();
-        int size = width * height;
-        int[] pixels = new int[size];
-
-        Bitmap bitmap2 = bitmap.copy(Bitmap.Config.ARGB_4444, false);
-
-        bitmap2.getPixels(pixels, 0, width, 0, 0, width, height);
-
-        final List<HashMap<Integer, Integer>> colorMap = new ArrayList<>();
-        colorMap.add(new HashMap<>());
-        colorMap.add(new HashMap<>());
-        colorMap.add(new HashMap<>());
-
-        int color = 0;
-        int r = 0;
-        int g = 0;
-        int b = 0;
-        Integer rC, gC, bC;
-        int j = 0;
-
-        while (j < pixels.length) {
-            color = pixels[j];
-
-            r = Color.red(color);
-            g = Color.green(color);
-            b = Color.blue(color);
-            rC = colorMap.get(0).get(r);
-
-            if (rC == null) {
-                rC = 0;
-            }
-
-            colorMap.get(0).put(r, ++rC);
-            gC = colorMap.get(1).get(g);
-
-            if (gC == null) {
-                gC = 0;
-            }
-
-            colorMap.get(1).put(g, ++gC);
-            bC = colorMap.get(2).get(b);
-
-            if (bC == null) {
-                bC = 0;
-            }
-
-            colorMap.get(2).put(b, ++bC);
-            j = j + width + 1;
-        }
-
-        int[] rgb = new int[3];
-
-        for (int i = 0; i < 3; i++) {
-            int max = 0;
-            int val = 0;
-
-            for (Map.Entry<Integer, Integer> entry : colorMap.get(i).entrySet()) {
-                if (entry.getValue() > max) {
-                    max = entry.getValue();
-                    val = entry.getKey();
-                }
-            }
-
-            rgb[i] = val;
-        }
-
-        return Color.rgb(rgb[0], rgb[1], rgb[2]);
+        return DominantColorUtil.getDominantColor(bitmap);
     }
 
     @Nullable
@@ -0,0 +1,64 @@
+package mega.privacy.android.app.utils
+
+/**
+ * Histogram of the red, green and blue channels of ARGB pixels, used to get the dominant color
+ *
+ * Each channel is quantized to 4 bits, as the ARGB_4444 copy previously used did, and counted in
+ * a primitive array, so adding a pixel does not allocate.
+ */
+class ColorHistogram {
+    private val red = IntArray(BINS)
+    private val green = IntArray(BINS)
+    private val blue = IntArray(BINS)
+
+    /**
+     * Adds a pixel to the histogram
+     *
+     * @param pixel ARGB color of the pixel
+     */
+    fun add(pixel: Int) {
+        red[(pixel shr 20) and BIN_MASK]++
+        green[(pixel shr 12) and BIN_MASK]++
+        blue[(pixel shr 4) and BIN_MASK]++
+    }
+
+    /**
+     * Adds the pixels of a row to the histogram
+     *
+     * @param row ARGB colors of the pixels
+     * @param step distance between the added pixels, 1 to add all of them
+     * @param length number of pixels of the row to consider
+     */
+    @JvmOverloads
+    fun addRow(row: IntArray, step: Int = 1, length: Int = row.size) {
+        var x = 0
+        while (x < length) {
+            add(row[x])
+            x += step
+        }
+    }
+
+    /**
+     * Gets the dominant color, made of the most frequent value of each channel. On ties the
+     * lowest value is used
+     *
+     * @return the opaque dominant color
+     */
+    fun dominantColor(): Int =
+        OPAQUE or (red.mostFrequent() shl 16) or (green.mostFrequent() shl 8) or blue.mostFrequent()
+
+    private fun IntArray.mostFrequent(): Int {
+        var bin = 0
+        for (i in 1 until BINS) {
+            if (this[i] > this[bin]) bin = i
+        }
+        // Expands the 4 bits value to 8 bits, 0xF becomes 0xFF
+        return bin * 17
+    }
+
+    companion object {
+        private const val BINS = 16
+        private const val BIN_MASK = 0xF
+        private const val OPAQUE = -0x1000000
+    }
+}
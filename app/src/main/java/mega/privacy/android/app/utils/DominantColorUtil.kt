@@ -0,0 +1,70 @@
+@file:JvmName("DominantColorUtil")
+
+package mega.privacy.android.app.utils
+
+import android.graphics.Bitmap
+import android.os.Build
+import kotlin.math.sqrt
+
+/**
+ * Default maximum number of pixels sampled to get the dominant color of a bitmap
+ */
+const val DEFAULT_DOMINANT_COLOR_SAMPLES = 16_384
+
+/**
+ * Gets the dominant color of a bitmap
+ *
+ * The pixels are sampled on a regular grid with at most [maxSamples] points, reading only the
+ * sampled rows, so the cost does not depend on the size of the bitmap.
+ *
+ * @param bitmap bitmap to get its dominant color
+ * @param maxSamples maximum number of sampled pixels
+ * @return the dominant color
+ */
+@JvmOverloads
+fun getDominantColor(bitmap: Bitmap, maxSamples: Int = DEFAULT_DOMINANT_COLOR_SAMPLES): Int {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && bitmap.config == Bitmap.Config.HARDWARE) {
+        // The pixels of hardware bitmaps cannot be read directly
+        val copy = bitmap.copy(Bitmap.Config.ARGB_8888, false)
+        return try {
+            getDominantColor(copy, maxSamples)
+        } finally {
+            copy.recycle()
+        }
+    }
+    val width = bitmap.width
+    val height = bitmap.height
+    val step = sqrt(width.toDouble() * height / maxSamples).toInt().coerceAtLeast(1)
+    val row = IntArray(width)
+    val histogram = ColorHistogram()
+    var y = 0
+    while (y < height) {
+        bitmap.getPixels(row, 0, width, 0, y, width, 1)
+        histogram.addRow(row, step)
+        y += step
+    }
+    return histogram.dominantColor()
+}
+
+/**
+ * Copies the pixels of a bitmap needed to get its dominant color
+ *
+ * The copy is scaled down to at most [maxSamples] pixels with nearest neighbour sampling, so its
+ * dominant color is close to the one of [bitmap]. It can be used once [bitmap] is recycled, and
+ * must be recycled by the caller.
+ *
+ * @param bitmap bitmap to copy
+ * @param maxSamples maximum number of pixels of the copy
+ * @return a new bitmap
+ */
+@JvmOverloads
+fun copyForDominantColor(bitmap: Bitmap, maxSamples: Int = DEFAULT_DOMINANT_COLOR_SAMPLES): Bitmap {
+    val scale = sqrt(maxSamples.toDouble() / (bitmap.width.toDouble() * bitmap.height))
+    if (scale >= 1) return bitmap.copy(Bitmap.Config.ARGB_8888, false)
+    return Bitmap.createScaledBitmap(
+        bitmap,
+        (bitmap.width * scale).toInt().coerceAtLeast(1),
+        (bitmap.height * scale).toInt().coerceAtLeast(1),
+        false,
+    )
+}
@@ -73,27 +73,10 @@ public class OfflineUtils {
         }
 
         Timber.d("File(type): %s(%s)", mOffDelete.getName(), mOffDelete.getType());
-        ArrayList<MegaOffline> mOffListChildren;
 
-        if (mOffDelete.getType().equals(MegaOffline.FOLDER)) {
-            Timber.d("Finding children... ");
-
-            //Delete children in DB
-            mOffListChildren = dbH.findByParentId(mOffDelete.getId());
-            if (mOffListChildren.size() > 0) {
-                Timber.d("Children: %s", mOffListChildren.size());
-                deleteChildrenDB(mOffListChildren, dbH);
-            }
-        } else {
-            Timber.d("NOT children... ");
-        }
-
-        //remove red arrow from current item
-        int parentId = mOffDelete.getParentId();
-        dbH.removeById(mOffDelete.getId());
-        if (parentId != -1) {
-            updateParentOfflineStatus(parentId, dbH);
-        }
+        //Delete children in DB and remove red arrow from current item
+        int removed = dbH.removeOfflineSubtree(mOffDelete.getId());
+        Timber.d("Removed from DB: %s", removed);
 
         //Remove the node physically
         File offlineFile = getOfflineFile(context, mOffDelete);
@@ -105,41 +88,6 @@ public class OfflineUtils {
 
     }
 
-    public static void updateParentOfflineStatus(int parentId, LegacyDatabaseHandler dbH) {
-        ArrayList<MegaOffline> offlineSiblings = dbH.findByParentId(parentId);
-
-        if (offlineSiblings.size() > 0) {
-            //have other offline file within same folder, so no need to do anything to the folder
-            return;
-        } else {
-            //keep checking if there is any parent folder should display red arrow
-            MegaOffline parentNode = dbH.findById(parentId);
-            if (parentNode != null) {
-                int grandParentNodeId = parentNode.getParentId();
-                dbH.removeById(parentId);
-                updateParentOfflineStatus(grandParentNodeId, dbH);
-            }
-        }
-    }
-
-    public static void deleteChildrenDB(ArrayList<MegaOffline> mOffList, LegacyDatabaseHandler dbH) {
-
-        Timber.d("deleteChildenDB");
-        MegaOffline mOffDelete;
-
-        for (int i = 0; i < mOffList.size(); i++) {
-
-            mOffDelete = mOffList.get(i);
-            ArrayList<MegaOffline> mOffListChildren2 = dbH.findByParentId(mOffDelete.getId());
-            if (mOffList.size() > 0) {
-                //The node have children, delete
-                deleteChildrenDB(mOffListChildren2, dbH);
-
-            }
-            Timber.d("deleting %s", mOffDelete.getName());
-            dbH.removeById(mOffDelete.getId());
-        }
-    }
 
     public static boolean availableOffline(Context context, MegaNode node) {
         LegacyDatabaseHandler dbH = DbHandlerModuleKt.getDbHandler();
@@ -0,0 +1,122 @@
+package mega.privacy.android.app
+
+import android.database.Cursor
+import androidx.sqlite.db.SupportSQLiteDatabase
+import androidx.sqlite.db.SupportSQLiteOpenHelper
+import com.google.common.truth.Truth.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.doThrow
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class SqliteDatabaseHandlerTest {
+
+    private lateinit var underTest: SqliteDatabaseHandler
+    private lateinit var database: SupportSQLiteDatabase
+
+    @Before
+    fun setUp() {
+        val encryptedValue = SqliteDatabaseHandler.encrypt(STORED_VALUE)
+        database = mock {
+            on { query(PREFERENCES_QUERY) } doReturn createCursor(encryptedValue)
+        }
+        val openHelper = mock<SupportSQLiteOpenHelper> {
+            on { readableDatabase } doReturn database
+            on { writableDatabase } doReturn database
+        }
+        underTest = SqliteDatabaseHandler(
+            applicationScope = mock(),
+            crashReporter = mock(),
+            legacyLoggingSettings = mock(),
+            storageStateMapper = mock(),
+            storageStateIntMapper = mock(),
+            megaLocalRoomGateway = mock(),
+            sqLiteOpenHelper = openHelper,
+            legacyDatabaseMigration = mock(),
+        )
+    }
+
+    @Test
+    fun `test that preferences are only loaded once`() {
+        val first = underTest.preferences
+        val second = underTest.preferences
+
+        assertThat(first?.preferredSortCloud).isEqualTo(STORED_VALUE)
+        assertThat(second).isSameInstanceAs(first)
+        verify(database, times(1)).query(PREFERENCES_QUERY)
+    }
+
+    @Test
+    fun `test that a written preference is updated in the loaded preferences`() {
+        underTest.preferences
+
+        underTest.setPreferredSortCloud("updated")
+
+        assertThat(underTest.preferences?.preferredSortCloud).isEqualTo("updated")
+        assertThat(underTest.preferences?.preferredSortOthers).isEqualTo(STORED_VALUE)
+        verify(database).execSQL(
+            "UPDATE ${SqliteDatabaseHandler.TABLE_PREFERENCES} SET " +
+                    "${SqliteDatabaseHandler.KEY_PREFERRED_SORT_CLOUD}= " +
+                    "'${SqliteDatabaseHandler.encrypt("updated")}' " +
+                    "WHERE ${SqliteDatabaseHandler.KEY_ID} = '1'"
+        )
+        // One query to load the preferences and another one by the write
+        verify(database, times(2)).query(PREFERENCES_QUERY)
+    }
+
+    @Test
+    fun `test that the preferences written by a setter are not loaded again`() {
+        underTest.preferences
+
+        underTest.sdCardUri = "content://sd"
+        underTest.isPasscodeLockEnabled = true
+        underTest.setAutoPlayEnabled("true")
+
+        val preferences = underTest.preferences
+        assertThat(preferences?.sdCardUri).isEqualTo("content://sd")
+        assertThat(preferences?.passcodeLockEnabled).isEqualTo("true")
+        assertThat(preferences?.isAutoPlayEnabled()).isTrue()
+        verify(database, times(4)).query(PREFERENCES_QUERY)
+    }
+
+    @Test
+    fun `test that preferences are loaded again if a write fails`() {
+        underTest.preferences
+        doThrow(RuntimeException()).whenever(database).execSQL(any())
+
+        underTest.setPreferredSortCloud("updated")
+        underTest.preferences
+
+        verify(database, times(3)).query(PREFERENCES_QUERY)
+    }
+
+    @Test
+    fun `test that preferences are loaded again after clearing them`() {
+        underTest.preferences
+
+        underTest.clearPreferences()
+        underTest.preferences
+
+        verify(database, times(2)).query(PREFERENCES_QUERY)
+    }
+
+    private fun createCursor(encryptedValue: String?) = mock<Cursor> {
+        on { moveToFirst() } doReturn true
+        on { getColumnIndex(any()) } doReturn 0
+        on { getString(0) } doReturn encryptedValue
+    }
+
+    companion object {
+        private const val STORED_VALUE = "stored"
+        private const val PREFERENCES_QUERY =
+            "SELECT * FROM ${SqliteDatabaseHandler.TABLE_PREFERENCES}"
+    }
+}
@@ -0,0 +1,47 @@
+package mega.privacy.android.app.meeting.video
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+
+/**
+ * Test class for [FrameBufferPool]
+ */
+class FrameBufferPoolTest {
+    private lateinit var underTest: FrameBufferPool
+
+    @BeforeEach
+    fun setUp() {
+        underTest = FrameBufferPool(2)
+    }
+
+    @Test
+    fun `test that a released buffer of the same size is reused`() {
+        val frame = underTest.acquire(16, 2, 2)
+        underTest.release(frame)
+
+        assertThat(underTest.acquire(16, 2, 2)).isSameInstanceAs(frame)
+        assertThat(underTest.allocations).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a new buffer is allocated when the size changes`() {
+        underTest.release(underTest.acquire(16, 2, 2))
+
+        val frame = underTest.acquire(64, 4, 4)
+
+        assertThat(frame.data.size).isEqualTo(64)
+        assertThat(frame.width).isEqualTo(4)
+        assertThat(underTest.allocations).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that the pool keeps at most its maximum size`() {
+        val frames = List(3) { underTest.acquire(16, 2, 2) }
+        frames.forEach { underTest.release(it) }
+
+        repeat(3) { underTest.acquire(16, 2, 2) }
+
+        assertThat(underTest.allocations).isEqualTo(4)
+    }
+}
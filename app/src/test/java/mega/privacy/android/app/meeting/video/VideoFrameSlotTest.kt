@@ -0,0 +1,151 @@
+package mega.privacy.android.app.meeting.video
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.TimeUnit
+
+/**
+ * Test class for [VideoFrameSlot]
+ */
+class VideoFrameSlotTest {
+    private lateinit var underTest: VideoFrameSlot
+    private lateinit var pool: FrameBufferPool
+
+    private val frame = ByteArray(WIDTH * HEIGHT * 4) { it.toByte() }
+
+    @BeforeEach
+    fun setUp() {
+        pool = FrameBufferPool(3)
+        underTest = VideoFrameSlot(pool)
+    }
+
+    @Test
+    fun `test that the first frame schedules the renderer and can be taken`() {
+        assertThat(underTest.offer(frame, WIDTH, HEIGHT, 0L)).isTrue()
+
+        val taken = underTest.take()
+        assertThat(taken?.data).isEqualTo(frame)
+        assertThat(taken?.width).isEqualTo(WIDTH)
+        assertThat(taken?.height).isEqualTo(HEIGHT)
+        assertThat(underTest.take()).isNull()
+    }
+
+    @Test
+    fun `test that only the latest frame is kept until the renderer takes it`() {
+        val latest = ByteArray(frame.size) { 7 }
+
+        assertThat(underTest.offer(frame, WIDTH, HEIGHT, 0L)).isTrue()
+        assertThat(underTest.offer(latest, WIDTH, HEIGHT, 1L)).isFalse()
+
+        assertThat(underTest.take()?.data).isEqualTo(latest)
+        assertThat(underTest.stats()).isEqualTo(
+            VideoFrameStats(
+                received = 2,
+                rendered = 1,
+                droppedHidden = 0,
+                droppedRate = 0,
+                droppedSuperseded = 1,
+                pending = 0,
+            )
+        )
+    }
+
+    @Test
+    fun `test that the frames are dropped while the tile is hidden`() {
+        underTest.updateTile(0, 0, visible = false)
+
+        assertThat(underTest.offer(frame, WIDTH, HEIGHT, 0L)).isFalse()
+        assertThat(underTest.take()).isNull()
+        assertThat(underTest.stats().droppedHidden).isEqualTo(1)
+        assertThat(pool.allocations).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the pending frame is dropped when the tile is hidden`() {
+        underTest.offer(frame, WIDTH, HEIGHT, 0L)
+
+        underTest.updateTile(BIG_TILE, BIG_TILE, visible = false)
+
+        assertThat(underTest.take()).isNull()
+        assertThat(underTest.stats().droppedHidden).isEqualTo(1)
+        assertThat(underTest.stats().pending).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the frames are dropped while the app is minimised`() {
+        underTest.setMinimised(true)
+        assertThat(underTest.offer(frame, WIDTH, HEIGHT, 0L)).isFalse()
+
+        underTest.setMinimised(false)
+        assertThat(underTest.offer(frame, WIDTH, HEIGHT, 1L)).isTrue()
+        assertThat(underTest.stats().droppedHidden).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that the frames of small tiles are limited by the frame rate`() {
+        underTest.updateTile(SMALL_TILE, SMALL_TILE, visible = true)
+        val interval = VideoFrameSlot.minFrameIntervalNanos(SMALL_TILE, SMALL_TILE)
+        val frameInterval = TimeUnit.MILLISECONDS.toNanos(33)
+
+        var scheduled = 0
+        repeat(30) { index ->
+            if (underTest.offer(frame, WIDTH, HEIGHT, index * frameInterval)) {
+                scheduled++
+                underTest.take()?.let { underTest.recycle(it) }
+            }
+        }
+
+        assertThat(interval).isGreaterThan(frameInterval)
+        assertThat(scheduled).isEqualTo(10)
+        assertThat(underTest.stats().droppedRate).isEqualTo(20)
+    }
+
+    @Test
+    fun `test that the frames of big tiles are not limited by the frame rate`() {
+        underTest.updateTile(BIG_TILE, BIG_TILE, visible = true)
+
+        repeat(30) { index ->
+            assertThat(underTest.offer(frame, WIDTH, HEIGHT, index.toLong())).isTrue()
+            underTest.take()?.let { underTest.recycle(it) }
+        }
+        assertThat(underTest.stats().droppedRate).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the buffers are reused once recycled`() {
+        repeat(100) { index ->
+            underTest.offer(frame, WIDTH, HEIGHT, index.toLong())
+            underTest.take()?.let { underTest.recycle(it) }
+        }
+
+        assertThat(pool.allocations).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that all the received frames are accounted`() {
+        underTest.updateTile(SMALL_TILE, SMALL_TILE, visible = true)
+        repeat(200) { index ->
+            when (index) {
+                50 -> underTest.updateTile(0, 0, visible = false)
+                100 -> underTest.updateTile(BIG_TILE, BIG_TILE, visible = true)
+                150 -> underTest.setMinimised(true)
+            }
+            underTest.offer(frame, WIDTH, HEIGHT, index * TimeUnit.MILLISECONDS.toNanos(16))
+            if (index % 3 == 0) underTest.take()?.let { underTest.recycle(it) }
+        }
+
+        with(underTest.stats()) {
+            assertThat(received).isEqualTo(200)
+            assertThat(rendered + droppedHidden + droppedRate + droppedSuperseded + pending)
+                .isEqualTo(received)
+        }
+    }
+
+    companion object {
+        private const val WIDTH = 8
+        private const val HEIGHT = 6
+        private const val SMALL_TILE = 200
+        private const val BIG_TILE = 1080
+    }
+}
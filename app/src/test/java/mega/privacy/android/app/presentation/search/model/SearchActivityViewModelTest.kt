@@ -3,9 +3,12 @@ package mega.privacy.android.app.presentation.search.model
 import androidx.lifecycle.SavedStateHandle
 import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.receiveAsFlow
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.app.R
@@ -55,6 +58,7 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.api.extension.ExtendWith
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
@@ -303,7 +307,7 @@ class SearchActivityViewModelTest {
                     nodeSourceType = nodeSourceType,
                     searchCategory = filter.filter
                 )
-            ).thenReturn(listOf(typedFileNode, typedFolderNode))
+            ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
             underTest.updateFilter(filter)
             underTest.state.test {
                 val state = awaitItem()
@@ -341,7 +345,7 @@ class SearchActivityViewModelTest {
                     parentHandle = NodeId(parentHandle),
                     nodeSourceType = nodeSourceType,
                 )
-            ).thenReturn(nodeList)
+            ).thenReturn(flowOf(nodeList))
             underTest.updateSearchQuery(query)
             underTest.state.test {
                 val state = awaitItem()
@@ -366,7 +370,7 @@ class SearchActivityViewModelTest {
                     nodeSourceType = nodeSourceType,
                     searchCategory = filter.filter
                 )
-            ).thenThrow(IllegalStateException("Search exception"))
+            ).thenReturn(flow { throw IllegalStateException("Search exception") })
             underTest.updateFilter(filter)
             underTest.state.test {
                 val state = awaitItem()
@@ -412,7 +416,7 @@ class SearchActivityViewModelTest {
                     parentHandle = NodeId(parentHandle),
                     nodeSourceType = nodeSourceType,
                 )
-            ).thenReturn(listOf(typedFileNode, typedFolderNode))
+            ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
             underTest.updateSearchQuery(query)
             underTest.state.test {
                 val state = awaitItem()
@@ -464,7 +468,7 @@ class SearchActivityViewModelTest {
                 parentHandle = NodeId(parentHandle),
                 nodeSourceType = nodeSourceType,
             )
-        ).thenReturn(listOf(typedFileNode, typedFolderNode))
+        ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
 
         // when
         underTest.updateSearchQuery(query)
@@ -512,7 +516,7 @@ class SearchActivityViewModelTest {
                 parentHandle = NodeId(parentHandle),
                 nodeSourceType = nodeSourceType,
             )
-        ).thenReturn(listOf(typedFileNode, typedFolderNode))
+        ).thenReturn(flowOf(listOf(typedFileNode, typedFolderNode)))
 
         // when
         underTest.updateSearchQuery(query)
@@ -524,6 +528,72 @@ class SearchActivityViewModelTest {
         }
     }
 
+    @Test
+    fun `test that each page is appended to the results and the search is in progress until the last one`() =
+        runTest {
+            val query = "query"
+            val typedFileNode = mock<TypedFileNode> {
+                on { id }.thenReturn(NodeId(123L))
+            }
+            val typedFolderNode = mock<TypedFolderNode> {
+                on { id }.thenReturn(NodeId(345L))
+            }
+            val pages = Channel<List<TypedNode>>(Channel.UNLIMITED)
+            whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+            whenever(
+                searchUseCase(
+                    query = query,
+                    parentHandle = NodeId(parentHandle),
+                    nodeSourceType = nodeSourceType,
+                )
+            ).thenReturn(pages.receiveAsFlow())
+            underTest.updateSearchQuery(query)
+
+            pages.send(listOf(typedFileNode))
+            assertThat(underTest.state.value.searchItemList.map { it.node })
+                .containsExactly(typedFileNode)
+            assertThat(underTest.state.value.isSearching).isTrue()
+
+            pages.send(listOf(typedFolderNode))
+            assertThat(underTest.state.value.searchItemList.map { it.node })
+                .containsExactly(typedFileNode, typedFolderNode).inOrder()
+            assertThat(underTest.state.value.isSearching).isTrue()
+
+            pages.close()
+            assertThat(underTest.state.value.searchItemList.map { it.node })
+                .containsExactly(typedFileNode, typedFolderNode).inOrder()
+            assertThat(underTest.state.value.isSearching).isFalse()
+        }
+
+    @Test
+    fun `test that the empty state is only shown when the search completes without results`() =
+        runTest {
+            val query = "query"
+            val emptyState = 1 to "No results"
+            val pages = Channel<List<TypedNode>>(Channel.UNLIMITED)
+            whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
+            whenever(
+                emptySearchViewMapper(any(), anyOrNull(), anyOrNull(), any(), any(), any())
+            ).thenReturn(emptyState)
+            whenever(
+                searchUseCase(
+                    query = query,
+                    parentHandle = NodeId(parentHandle),
+                    nodeSourceType = nodeSourceType,
+                )
+            ).thenReturn(pages.receiveAsFlow())
+            underTest.updateSearchQuery(query)
+
+            pages.send(emptyList())
+            assertThat(underTest.state.value.isSearching).isTrue()
+            assertThat(underTest.state.value.emptyState).isNull()
+
+            pages.close()
+            assertThat(underTest.state.value.isSearching).isFalse()
+            assertThat(underTest.state.value.searchItemList).isEmpty()
+            assertThat(underTest.state.value.emptyState).isEqualTo(emptyState)
+        }
+
     private suspend fun stubCommon() {
         whenever(monitorNodeUpdatesUseCase()).thenReturn(monitorNodeUpdatesFakeFlow)
         whenever(monitorOfflineNodeUpdatesUseCase()).thenReturn(emptyFlow())
@@ -0,0 +1,43 @@
+package mega.privacy.android.app.presentation.search.model
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+
+class SearchResultsBuilderTest {
+
+    @Test
+    fun `test that a snapshot contains the results appended before it`() {
+        val underTest = SearchResultsBuilder<Int>()
+
+        underTest.addAll(listOf(1, 2))
+        val first = underTest.snapshot()
+        underTest.addAll((3..200).toList())
+        val second = underTest.snapshot()
+
+        assertThat(first).containsExactly(1, 2).inOrder()
+        assertThat(second).containsExactlyElementsIn((1..200).toList()).inOrder()
+    }
+
+    @Test
+    fun `test that a snapshot is not equal to the next one`() {
+        val underTest = SearchResultsBuilder<Int>()
+
+        underTest.addAll(listOf(1))
+        val first = underTest.snapshot()
+        underTest.addAll(listOf(2))
+
+        assertThat(underTest.snapshot()).isNotEqualTo(first)
+    }
+
+    @Test
+    fun `test that getting an item after the snapshot size throws an exception`() {
+        val underTest = SearchResultsBuilder<Int>()
+
+        underTest.addAll(listOf(1))
+        val snapshot = underTest.snapshot()
+        underTest.addAll(listOf(2))
+
+        assertThrows<IndexOutOfBoundsException> { snapshot[1] }
+    }
+}
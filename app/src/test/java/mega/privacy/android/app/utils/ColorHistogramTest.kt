@@ -0,0 +1,92 @@
+package mega.privacy.android.app.utils
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import kotlin.random.Random
+
+/**
+ * Test class for [ColorHistogram]
+ */
+class ColorHistogramTest {
+    private lateinit var underTest: ColorHistogram
+
+    @BeforeEach
+    fun setUp() {
+        underTest = ColorHistogram()
+    }
+
+    @Test
+    fun `test that the most frequent value of each channel is returned`() {
+        repeat(3) { underTest.add(0xFFFF0000.toInt()) }
+        repeat(2) { underTest.add(0xFF00FF00.toInt()) }
+
+        assertThat(underTest.dominantColor()).isEqualTo(0xFFFF0000.toInt())
+    }
+
+    @Test
+    fun `test that the channels are quantized to 4 bits`() {
+        underTest.add(0xFF8F4F1F.toInt())
+
+        assertThat(underTest.dominantColor()).isEqualTo(0xFF884411.toInt())
+    }
+
+    @Test
+    fun `test that the channels are counted independently`() {
+        underTest.add(0xFFFF0000.toInt())
+        underTest.add(0xFFFF00FF.toInt())
+        underTest.add(0xFF00FFFF.toInt())
+
+        assertThat(underTest.dominantColor()).isEqualTo(0xFFFF00FF.toInt())
+    }
+
+    @Test
+    fun `test that the lowest value is returned on ties`() {
+        underTest.add(0xFFFFFFFF.toInt())
+        underTest.add(0xFF000000.toInt())
+
+        assertThat(underTest.dominantColor()).isEqualTo(0xFF000000.toInt())
+    }
+
+    @Test
+    fun `test that addRow only adds the pixels at the given step`() {
+        val row = intArrayOf(
+            0xFFFFFFFF.toInt(), 0xFF000000.toInt(), 0xFFFFFFFF.toInt(), 0xFF000000.toInt(),
+        )
+
+        underTest.addRow(row, step = 2)
+
+        assertThat(underTest.dominantColor()).isEqualTo(0xFFFFFFFF.toInt())
+    }
+
+    @Test
+    fun `test that the color is the same as counting the channels in hash maps`() {
+        val random = Random(5)
+        // Noisy image biased to a color, like a photo with a dominant background
+        val pixels = IntArray(10_000) {
+            if (random.nextInt(3) == 0) {
+                0xFF3366CC.toInt()
+            } else {
+                0xFF000000.toInt() or random.nextInt(0x1000000)
+            }
+        }
+
+        underTest.addRow(pixels)
+
+        assertThat(underTest.dominantColor()).isEqualTo(hashMapDominantColor(pixels))
+    }
+
+    private fun hashMapDominantColor(pixels: IntArray): Int {
+        val channels = List(3) { HashMap<Int, Int>() }
+        pixels.forEach { pixel ->
+            // Same 4 bits quantization as the ARGB_4444 copy
+            channels[0].merge((pixel shr 20) and 0xF, 1, Int::plus)
+            channels[1].merge((pixel shr 12) and 0xF, 1, Int::plus)
+            channels[2].merge((pixel shr 4) and 0xF, 1, Int::plus)
+        }
+        val rgb = channels.map { channel ->
+            channel.entries.sortedBy { it.key }.maxBy { it.value }.key * 17
+        }
+        return 0xFF000000.toInt() or (rgb[0] shl 16) or (rgb[1] shl 8) or rgb[2]
+    }
+}
@@ -0,0 +1,78 @@
+package test.mega.privacy.android.app.components.twemoji
+
+import com.google.common.truth.Truth.assertThat
+import com.google.gson.Gson
+import com.google.gson.reflect.TypeToken
+import mega.privacy.android.app.components.twemoji.EmojiShortcodes
+import mega.privacy.android.app.components.twemoji.EmojiShortcodesIndex
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import kotlin.random.Random
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmojiShortcodesIndexTest {
+    private val emojiData: List<EmojiShortcodes> = Gson().fromJson(
+        """
+        [
+          {"emoji": "😄", "aliases": ["smile"]},
+          {"emoji": "👨", "aliases": ["man"]},
+          {"emoji": "💻", "aliases": ["computer"]},
+          {"emoji": "👨‍💻", "aliases": ["man_technologist"]},
+          {"emoji": "👍", "aliases": ["+1", "thumbsup"]},
+          {"emoji": "😄", "aliases": ["duplicate"]},
+          {"emoji": "😃", "aliases": ["smiley", "smile"]}
+        ]
+        """.trimIndent(),
+        object : TypeToken<List<EmojiShortcodes>>() {}.type
+    )
+    private val underTest = EmojiShortcodesIndex.build(emojiData)
+
+    @Test
+    fun `test that getEmoji finds an emoji by unicode and by alias`() {
+        assertThat(underTest.getEmoji("👨‍💻")?.aliases).containsExactly("man_technologist")
+        assertThat(underTest.getEmoji("thumbsup")?.emoji).isEqualTo("👍")
+        assertThat(underTest.getEmoji("unknown")).isNull()
+    }
+
+    @Test
+    fun `test that the first entry wins when unicode or alias are duplicated`() {
+        assertThat(underTest.getEmoji("😄")?.aliases).containsExactly("smile")
+        assertThat(underTest.getEmoji("smile")?.emoji).isEqualTo("😄")
+    }
+
+    @Test
+    fun `test that emojify replaces known shortcodes only`() {
+        assertThat(underTest.emojify("hi :smile: :unknown: :+1: ::man: :thumbsup"))
+            .isEqualTo("hi 😄 :unknown: :+1: :👨 :thumbsup")
+    }
+
+    @Test
+    fun `test that emojify returns the same text as the regex`() {
+        val random = Random(7)
+        val tokens = listOf(":", "smile", "man", "computer", "x", " ", "_", "::", "&#128516;")
+        repeat(1_000) {
+            val text = buildString {
+                repeat(random.nextInt(0, 20)) { append(tokens[random.nextInt(tokens.size)]) }
+            }
+
+            assertThat(underTest.emojify(text)).isEqualTo(regexEmojify(text))
+        }
+    }
+
+    @Test
+    fun `test that shortCodify does not split emoji sequences`() {
+        assertThat(underTest.shortCodify("I am 👨‍💻 with a 💻 👨"))
+            .isEqualTo("I am :man_technologist: with a :computer: :man:")
+    }
+
+    @Test
+    fun `test that removeAllEmojis removes whole sequences`() {
+        assertThat(underTest.removeAllEmojis("a👨‍💻b😃c")).isEqualTo("abc")
+        assertThat(underTest.removeAllEmojis("plain")).isEqualTo("plain")
+    }
+
+    private fun regexEmojify(text: String) =
+        Regex(":(\\w+):").replace(text) { match ->
+            underTest.getEmoji(match.groupValues[1])?.emoji ?: match.value
+        }
+}
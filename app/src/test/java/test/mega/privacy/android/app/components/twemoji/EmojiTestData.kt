@@ -0,0 +1,95 @@
+package test.mega.privacy.android.app.components.twemoji
+
+import java.util.regex.Matcher
+import java.util.regex.Pattern
+import kotlin.random.Random
+
+/**
+ * Synthetic emoji set shaped like the Twemoji one: single code points, skin tone variants,
+ * keycaps, flags and ZWJ sequences sharing common prefixes.
+ */
+internal object EmojiTestData {
+
+    val sequences: List<String> by lazy {
+        val result = LinkedHashSet<String>()
+        val skinTones = (0x1F3FB..0x1F3FF).toList()
+        (0x1F600..0x1F64F).forEach { base ->
+            result.add(codePoints(base))
+            skinTones.forEach { tone -> result.add(codePoints(base, tone)) }
+        }
+        (0x1F300..0x1F5FF).forEach { result.add(codePoints(it)) }
+        (0x1F680..0x1F6FF).forEach { result.add(codePoints(it)) }
+        (0x2600..0x26FF).forEach { result.add(codePoints(it, 0xFE0F)) }
+        ('0'.code..'9'.code).forEach { result.add(codePoints(it, 0xFE0F, 0x20E3)) }
+        (0x1F1E6..0x1F1FF).forEach { first ->
+            (0x1F1E6..0x1F1FF step 3).forEach { second -> result.add(codePoints(first, second)) }
+        }
+        val people = listOf(0x1F468, 0x1F469, 0x1F467, 0x1F466)
+        people.forEach { a ->
+            people.forEach { b ->
+                result.add(codePoints(a, 0x200D, b))
+                people.forEach { c -> result.add(codePoints(a, 0x200D, b, 0x200D, c)) }
+            }
+        }
+        result.toList()
+    }
+
+    val sequenceMap: Map<String, String> by lazy { sequences.associateWith { it } }
+
+    /**
+     * Random chat-like text mixing words, whitespace and emojis
+     */
+    fun randomText(random: Random, length: Int, emojiRatio: Double = 0.2): String {
+        val builder = StringBuilder()
+        while (builder.length < length) {
+            when {
+                random.nextDouble() < emojiRatio ->
+                    builder.append(sequences[random.nextInt(sequences.size)])
+
+                random.nextInt(10) == 0 -> builder.append(' ')
+                random.nextInt(50) == 0 -> builder.append(codePoints(0x200D))
+                else -> builder.append('a' + random.nextInt(26))
+            }
+        }
+        return builder.toString()
+    }
+
+    private fun codePoints(vararg codePoints: Int) = String(codePoints, 0, codePoints.size)
+}
+
+/**
+ * Regex based matcher built as EmojiManager used to build it, used as reference implementation.
+ */
+internal class RegexEmojiMatcher(sequences: Collection<String>) {
+    private val spaceRemoval = Pattern.compile("\\s")
+    private val emojiPattern: Pattern
+    private val emojiRepetitivePattern: Pattern
+
+    init {
+        val regex = sequences.sortedByDescending { it.length }
+            .joinToString("|") { Pattern.quote(it) }
+        emojiPattern = Pattern.compile(regex)
+        emojiRepetitivePattern = Pattern.compile("($regex)+")
+    }
+
+    fun findAll(text: CharSequence): List<Triple<Int, Int, String>> {
+        val result = mutableListOf<Triple<Int, Int, String>>()
+        val matcher = emojiPattern.matcher(text)
+        while (matcher.find()) {
+            result.add(
+                Triple(
+                    matcher.start(),
+                    matcher.end(),
+                    text.subSequence(matcher.start(), matcher.end()).toString()
+                )
+            )
+        }
+        return result
+    }
+
+    fun isOnlyEmojis(text: String): Boolean {
+        if (text.isEmpty()) return false
+        val inputWithoutSpaces = spaceRemoval.matcher(text).replaceAll(Matcher.quoteReplacement(""))
+        return emojiRepetitivePattern.matcher(inputWithoutSpaces).matches()
+    }
+}
@@ -0,0 +1,75 @@
+package test.mega.privacy.android.app.components.twemoji
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.components.twemoji.EmojiTrie
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import kotlin.random.Random
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmojiTrieTest {
+    private val underTest = EmojiTrie.build(EmojiTestData.sequenceMap)
+    private val reference = RegexEmojiMatcher(EmojiTestData.sequences)
+
+    @Test
+    fun `test that the longest sequence is matched`() {
+        val family = "👨‍👩‍👧"
+        val text = "hi $family!"
+
+        assertThat(findAll(text)).containsExactly(Triple(3, 3 + family.length, family))
+    }
+
+    @Test
+    fun `test that a partial sequence falls back to the shorter emoji`() {
+        val text = "👨‍x"
+
+        assertThat(findAll(text)).containsExactly(Triple(0, 2, "👨"))
+    }
+
+    @Test
+    fun `test that findAll returns the same ranges as the regex`() {
+        val random = Random(1)
+        repeat(500) {
+            val text = EmojiTestData.randomText(random, random.nextInt(1, 200))
+
+            assertThat(findAll(text)).isEqualTo(reference.findAll(text))
+            assertThat(underTest.count(text)).isEqualTo(reference.findAll(text).size)
+            assertThat(underTest.findFirst(text)).isEqualTo(reference.findAll(text).firstOrNull()?.third)
+        }
+    }
+
+    @Test
+    fun `test that count returns the same number of matches as the regex on long texts`() {
+        val random = Random(3)
+        repeat(50) {
+            val text = EmojiTestData.randomText(random, length = 2_000, emojiRatio = 0.05)
+
+            assertThat(underTest.count(text)).isEqualTo(reference.findAll(text).size)
+        }
+    }
+
+    @Test
+    fun `test that isOnlyEmojis returns the same result as the regex`() {
+        val random = Random(2)
+        repeat(500) {
+            val text = EmojiTestData.randomText(random, random.nextInt(1, 40), emojiRatio = 0.95)
+
+            assertThat(underTest.isOnlyEmojis(text)).isEqualTo(reference.isOnlyEmojis(text))
+        }
+    }
+
+    @Test
+    fun `test that isOnlyEmojis ignores whitespace`() {
+        val text = " 😀\n😀🏻\t"
+
+        assertThat(underTest.isOnlyEmojis(text)).isTrue()
+        assertThat(underTest.isOnlyEmojis("   ")).isFalse()
+        assertThat(underTest.isOnlyEmojis("😀a")).isFalse()
+    }
+
+    private fun findAll(text: CharSequence): List<Triple<Int, Int, String>> {
+        val result = mutableListOf<Triple<Int, Int, String>>()
+        underTest.findAll(text) { start, end, value -> result.add(Triple(start, end, value)) }
+        return result
+    }
+}
@@ -57,6 +57,7 @@ import mega.privacy.android.domain.usecase.transfers.active.MonitorOngoingActive
 import mega.privacy.android.domain.usecase.transfers.chatuploads.ClearPendingMessagesCompressionProgressUseCase
 import mega.privacy.android.domain.usecase.transfers.chatuploads.PrepareAllPendingMessagesUseCase
 import mega.privacy.android.domain.usecase.transfers.chatuploads.StartUploadingAllPendingMessagesUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 import org.junit.Before
 import org.junit.Test
@@ -97,6 +98,7 @@ class ChatUploadsWorkerTest {
     private val correctActiveTransfersUseCase = mock<CorrectActiveTransfersUseCase>()
     private val clearActiveTransfersIfFinishedUseCase =
         mock<ClearActiveTransfersIfFinishedUseCase>()
+    private val flushCompletedTransfersUseCase = mock<FlushCompletedTransfersUseCase>()
     private val chatUploadNotificationMapper = mock<ChatUploadNotificationMapper>()
     private val chatMessageRepository = mock<ChatMessageRepository>()
     private val updatePendingMessageUseCase = mock<UpdatePendingMessageUseCase>()
@@ -150,6 +152,7 @@ class ChatUploadsWorkerTest {
             areNotificationsEnabledUseCase,
             correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase,
+            flushCompletedTransfersUseCase,
             chatUploadNotificationMapper,
             attachNodeWithPendingMessageUseCase,
             updatePendingMessageUseCase,
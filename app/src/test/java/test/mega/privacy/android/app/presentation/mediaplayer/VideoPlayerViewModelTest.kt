@@ -84,7 +84,7 @@ internal class VideoPlayerViewModelTest {
             monitorTransferEventsUseCase = monitorTransferEventsUseCase,
             playlistItemMapper = mock(),
             trackPlaybackPositionUseCase = mock(),
-            monitorPlaybackTimesUseCase = mock(),
+            getPlaybackInformationUseCase = mock(),
             savePlaybackTimesUseCase = mock(),
             deletePlaybackInformationUseCase = mock(),
             megaApiFolderHttpServerIsRunningUseCase = mock(),
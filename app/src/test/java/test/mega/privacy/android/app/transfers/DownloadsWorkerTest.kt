@@ -45,6 +45,7 @@ import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfe
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
 import mega.privacy.android.domain.usecase.transfers.active.HandleTransferEventUseCase
 import mega.privacy.android.domain.usecase.transfers.active.MonitorOngoingActiveTransfersUntilFinishedUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 import org.junit.After
 import org.junit.Before
@@ -86,6 +87,7 @@ class DownloadsWorkerTest {
     private val overQuotaNotificationBuilder = mock<OverQuotaNotificationBuilder>()
     private val clearActiveTransfersIfFinishedUseCase =
         mock<ClearActiveTransfersIfFinishedUseCase>()
+    private val flushCompletedTransfersUseCase = mock<FlushCompletedTransfersUseCase>()
     private val transfersFinishedNotificationMapper = mock<TransfersFinishedNotificationMapper>()
     private val workProgressUpdater = mock<ProgressUpdater>()
     private val scanMediaFileUseCase = mock<ScanMediaFileUseCase>()
@@ -131,6 +133,7 @@ class DownloadsWorkerTest {
             notificationManager = mock(),
             correctActiveTransfersUseCase = correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+            flushCompletedTransfersUseCase = flushCompletedTransfersUseCase,
             transfersFinishedNotificationMapper = transfersFinishedNotificationMapper,
             scanMediaFileUseCase = scanMediaFileUseCase,
             crashReporter = crashReporter,
@@ -315,6 +318,15 @@ class DownloadsWorkerTest {
             verify(clearActiveTransfersIfFinishedUseCase).invoke(TransferType.DOWNLOAD)
         }
 
+    @Test
+    fun `test that flushCompletedTransfersUseCase is invoked when transfers finishes`() =
+        runTest {
+            val transferTotal = mockActiveTransferTotals(true)
+            commonStub(transferTotals = listOf(transferTotal))
+            underTest.doWork()
+            verify(flushCompletedTransfersUseCase).invoke()
+        }
+
     @Test
     fun `test that progress is set as work progress`() = runTest {
         val transferTotal = mockActiveTransferTotals(true)
@@ -43,6 +43,7 @@ import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfe
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
 import mega.privacy.android.domain.usecase.transfers.active.HandleTransferEventUseCase
 import mega.privacy.android.domain.usecase.transfers.active.MonitorOngoingActiveTransfersUntilFinishedUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 import org.junit.After
 import org.junit.Before
@@ -84,6 +85,7 @@ class UploadsWorkerTest {
     private val overQuotaNotificationBuilder = mock<OverQuotaNotificationBuilder>()
     private val clearActiveTransfersIfFinishedUseCase =
         mock<ClearActiveTransfersIfFinishedUseCase>()
+    private val flushCompletedTransfersUseCase = mock<FlushCompletedTransfersUseCase>()
     private val transfersFinishedNotificationMapper = mock<TransfersFinishedNotificationMapper>()
     private val workProgressUpdater = mock<ProgressUpdater>()
     private val setForeground = mock<ForegroundSetter>()
@@ -128,6 +130,7 @@ class UploadsWorkerTest {
             notificationManager = mock(),
             correctActiveTransfersUseCase = correctActiveTransfersUseCase,
             clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+            flushCompletedTransfersUseCase = flushCompletedTransfersUseCase,
             transfersFinishedNotificationMapper = transfersFinishedNotificationMapper,
             crashReporter = crashReporter,
             foregroundSetter = setForeground,
@@ -311,6 +314,15 @@ class UploadsWorkerTest {
             verify(clearActiveTransfersIfFinishedUseCase).invoke(TransferType.GENERAL_UPLOAD)
         }
 
+    @Test
+    fun `test that flushCompletedTransfersUseCase is invoked when transfers finishes`() =
+        runTest {
+            val transferTotal = mockActiveTransferTotals(true)
+            commonStub(transferTotals = listOf(transferTotal))
+            underTest.doWork()
+            verify(flushCompletedTransfersUseCase).invoke()
+        }
+
     @Test
     fun `test that progress is set as work progress`() = runTest {
         val transferTotal = mockActiveTransferTotals(true)
@@ -20,6 +20,10 @@ android {
         resValue("string", "app_version", "\"${appVersion}\"")
 
         consumerProguardFiles("consumer-rules.pro")
+
+        // Lets the micro benchmarks run on the debuggable test build and on emulators
+        testInstrumentationRunnerArguments["androidx.benchmark.suppressErrors"] =
+            "DEBUGGABLE,EMULATOR"
     }
 
     lint {
@@ -95,4 +99,5 @@ dependencies {
     androidTestImplementation(lib.bundles.unit.test)
     androidTestImplementation(testlib.junit.test.ktx)
     androidTestImplementation(testlib.runner)
+    androidTestImplementation(testlib.benchmark.junit4)
 }
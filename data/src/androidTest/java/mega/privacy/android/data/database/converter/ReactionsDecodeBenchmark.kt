@@ -0,0 +1,90 @@
+package mega.privacy.android.data.database.converter
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
+import mega.privacy.android.data.mapper.chat.paging.ChatReactionEntityMapper
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Micro benchmark comparing the decoding of the reactions of a page of messages from the json
+ * column of typed_messages with the decoding of the rows of chat_reactions.
+ *
+ * It does not assert anything, ReactionsDecodeTest checks that both decode the same reactions.
+ */
+@RunWith(AndroidJUnit4::class)
+class ReactionsDecodeBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    private val converters = TypedMessageEntityConverters()
+    private val chatReactionEntityMapper = ChatReactionEntityMapper()
+
+    private val reactions = List(PAGE_SIZE) { message ->
+        List(REACTIONS_PER_MESSAGE) { index ->
+            Reaction(
+                reaction = "reaction_$index",
+                count = index + 1,
+                userHandles = List(index + 1) { message * 100L + it },
+                hasMe = index % 2 == 0,
+            )
+        }
+    }
+
+    private val jsonColumns = reactions.map { converters.convertFromMessageReactionList(it) }
+
+    // As read from the cursor, the user handles are stored as a comma separated string
+    private val rows = reactions.mapIndexed { message, list ->
+        list.map {
+            ReactionRow(
+                messageId = message.toLong(),
+                reaction = it.reaction,
+                count = it.count,
+                userHandles = converters.convertFromLongList(it.userHandles),
+                hasMe = it.hasMe,
+            )
+        }
+    }
+
+    @Test
+    fun decodeJsonColumns() = benchmarkRule.measureRepeated {
+        jsonColumns.map { converters.convertToMessageReactionList(it) }
+    }
+
+    @Test
+    fun decodeReactionRows() = benchmarkRule.measureRepeated {
+        rows.map { messageRows ->
+            messageRows.map {
+                chatReactionEntityMapper(
+                    ChatReactionEntity(
+                        chatId = CHAT_ID,
+                        messageId = it.messageId,
+                        reaction = it.reaction,
+                        count = it.count,
+                        userHandles = converters.convertToLongList(it.userHandles),
+                        hasMe = it.hasMe,
+                    )
+                )
+            }
+        }
+    }
+
+    private data class ReactionRow(
+        val messageId: Long,
+        val reaction: String,
+        val count: Int,
+        val userHandles: String,
+        val hasMe: Boolean,
+    )
+
+    companion object {
+        private const val CHAT_ID = 1L
+        private const val PAGE_SIZE = 32
+        private const val REACTIONS_PER_MESSAGE = 4
+    }
+}
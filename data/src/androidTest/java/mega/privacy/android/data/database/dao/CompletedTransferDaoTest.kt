@@ -70,6 +70,56 @@ class CompletedTransferDaoTest {
         }
     }
 
+    @Test
+    fun test_that_getLast_returns_the_last_inserted_items_first() = runTest {
+        (1..10).forEach {
+            completedTransferDao.insertOrUpdateCompletedTransfer(
+                CompletedTransferEntity(
+                    fileName = "$it.jpg",
+                    type = "1",
+                    state = "6",
+                    size = "3.57 MB",
+                    handle = "27169983390750",
+                    path = "Cloud drive/Camera uploads",
+                    isOffline = "false",
+                    timestamp = "1684228012974",
+                    error = "No error",
+                    originalPath = "/data/user/0/mega.privacy.android.app/cache/cu/$it.jpg",
+                    parentHandle = "11622336899311",
+                )
+            )
+        }
+
+        val actual = completedTransferDao.getLastCompletedTransfers(3).first()
+
+        assertThat(actual.map { it.fileName }).containsExactly("10.jpg", "9.jpg", "8.jpg").inOrder()
+    }
+
+    @Test
+    fun test_that_getByHandles_returns_only_the_items_of_the_handles() = runTest {
+        listOf("1", "2", "3").forEach {
+            completedTransferDao.insertOrUpdateCompletedTransfer(
+                CompletedTransferEntity(
+                    fileName = "2023-03-24 00.13.20_1.jpg",
+                    type = "1",
+                    state = "6",
+                    size = "3.57 MB",
+                    handle = it,
+                    path = "Cloud drive/Camera uploads",
+                    isOffline = "false",
+                    timestamp = "1684228012974",
+                    error = "No error",
+                    originalPath = "/data/user/0/mega.privacy.android.app/cache/cu/53132573053997.2023-03-24 00.13.20_1.jpg",
+                    parentHandle = "11622336899311",
+                )
+            )
+        }
+
+        val actual = completedTransferDao.getCompletedTransfersByHandles(listOf("1", "3"))
+
+        assertThat(actual.map { it.handle }).containsExactly("1", "3")
+    }
+
     @Test
     fun test_that_getById_returns_the_corresponding_item() = runTest {
         val entity = CompletedTransferEntity(
@@ -95,4 +95,124 @@ class OfflineDaoTest {
         offlineDao.deleteAllOffline()
         Truth.assertThat(offlineDao.getOfflineFiles()?.size).isEqualTo(0)
     }
+
+    @Test
+    @Throws(Exception::class)
+    fun `test_that_subtree_ids_and_descendants_count_match_a_recursive_walk`() = runTest {
+        val rootId = insertTree()
+        val folderId = offlineDao.getOfflineByParentId(rootId)!!.first().id!!
+
+        listOf(rootId, folderId).forEach { id ->
+            val expected = collectSubtreeRecursively(id)
+            Truth.assertThat(offlineDao.getOfflineSubtreeIds(id))
+                .containsExactlyElementsIn(expected)
+            Truth.assertThat(offlineDao.countOfflineDescendants(id)).isEqualTo(expected.size - 1)
+        }
+    }
+
+    @Test
+    @Throws(Exception::class)
+    fun `test_that_deleteOfflineSubtree_deletes_the_same_entries_as_a_recursive_delete`() =
+        runTest {
+            val rootId = insertTree()
+            val total = offlineDao.getOfflineFiles()!!.size
+            val expected = collectSubtreeRecursively(rootId)
+
+            val deleted = offlineDao.deleteOfflineSubtree(rootId)
+
+            Truth.assertThat(deleted).isEqualTo(expected.size)
+            Truth.assertThat(offlineDao.getOfflineFiles()!!.map { it.id })
+                .containsNoneIn(expected)
+            Truth.assertThat(offlineDao.getOfflineFiles()).hasSize(total - expected.size)
+        }
+
+    @Test
+    @Throws(Exception::class)
+    fun `test_that_removing_the_last_child_deletes_the_ancestors_left_without_children`() =
+        runTest {
+            val topId = insert("top", -1)
+            val siblingId = insert("sibling", topId)
+            val middleId = insert("middle", topId)
+            val bottomId = insert("bottom", middleId)
+            val fileId = insert("file", bottomId)
+            insert("child", fileId)
+
+            val deleted = offlineDao.deleteOfflineSubtreeAndEmptyAncestors(fileId)
+
+            // file and its child, then bottom and middle, as top still has the sibling
+            Truth.assertThat(deleted).isEqualTo(4)
+            Truth.assertThat(offlineDao.getOfflineFiles()!!.map { it.id })
+                .containsExactly(topId, siblingId)
+        }
+
+    @Test
+    @Throws(Exception::class)
+    fun `test_that_removing_the_only_entry_of_a_branch_deletes_the_whole_branch`() = runTest {
+        val topId = insert("top", -1)
+        val middleId = insert("middle", topId)
+        val fileId = insert("file", middleId)
+        val otherId = insert("other", -1)
+
+        Truth.assertThat(offlineDao.deleteOfflineSubtreeAndEmptyAncestors(fileId)).isEqualTo(3)
+        Truth.assertThat(offlineDao.getOfflineFiles()!!.map { it.id }).containsExactly(otherId)
+    }
+
+    @Test
+    @Throws(Exception::class)
+    fun `test_that_insertOfflineBranch_links_each_entry_to_the_previous_one`() = runTest {
+        val savedId = insert("saved", -1)
+
+        val deepestId = offlineDao.insertOfflineBranch(
+            listOf(entity("saved", null), entity("folder", null), entity("file", null)),
+            parentId = null,
+        )
+
+        val folder = offlineDao.getOfflineByHandle("folder")
+        val file = offlineDao.getOfflineByHandle("file")
+        Truth.assertThat(offlineDao.getOfflineFiles()).hasSize(3)
+        Truth.assertThat(folder?.parentId).isEqualTo(savedId)
+        Truth.assertThat(file?.parentId).isEqualTo(folder?.id)
+        Truth.assertThat(file?.id?.toLong()).isEqualTo(deepestId)
+    }
+
+    private suspend fun insert(handle: String, parentId: Int): Int =
+        offlineDao.insertOrUpdateOffline(entity(handle, parentId)).toInt()
+
+    private fun entity(handle: String, parentId: Int?) = OfflineEntity(
+        encryptedHandle = handle,
+        encryptedPath = "path",
+        encryptedName = handle,
+        parentId = parentId,
+        encryptedType = "0",
+        incoming = -1,
+        encryptedIncomingHandle = "-1",
+        lastModifiedTime = 0
+    )
+
+    /**
+     * Inserts a root folder with [TREE_DEPTH] levels of [TREE_FAN_OUT] children, and a
+     * second tree that must not be affected
+     */
+    private suspend fun insertTree(): Int {
+        val rootId = insert("root", -1)
+        var level = listOf(rootId)
+        repeat(TREE_DEPTH) { depth ->
+            level = level.flatMap { parentId ->
+                (0 until TREE_FAN_OUT).map { insert("$parentId-$depth-$it", parentId) }
+            }
+        }
+        val otherRootId = insert("other", -1)
+        (0 until TREE_FAN_OUT).forEach { insert("other-$it", otherRootId) }
+        return rootId
+    }
+
+    private suspend fun collectSubtreeRecursively(id: Int): List<Int> =
+        listOf(id) + offlineDao.getOfflineByParentId(id).orEmpty()
+            .flatMap { collectSubtreeRecursively(it.id!!) }
+
+    companion object {
+        // 1 + 10 + 100 + 1000 + 10000 entries
+        private const val TREE_DEPTH = 4
+        private const val TREE_FAN_OUT = 10
+    }
 }
@@ -0,0 +1,97 @@
+package mega.privacy.android.data.database.dao
+
+import android.content.Context
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.MegaDatabase
+import mega.privacy.android.data.database.entity.PlaybackPositionEntity
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(AndroidJUnit4::class)
+class PlaybackPositionDaoTest {
+    private lateinit var playbackPositionDao: PlaybackPositionDao
+    private lateinit var db: MegaDatabase
+
+    @Before
+    fun createDb() {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+        db = Room.inMemoryDatabaseBuilder(
+            context, MegaDatabase::class.java
+        ).build()
+        playbackPositionDao = db.playbackPositionDao()
+    }
+
+    @After
+    fun closeDb() {
+        db.close()
+    }
+
+    @Test
+    fun test_that_upsertPlaybackPositions_updates_an_existing_entity() = runTest {
+        playbackPositionDao.upsertPlaybackPositions(listOf(generateEntity(mediaId = 1)))
+        val updated = generateEntity(mediaId = 1, currentPosition = 50000, lastUpdated = 2)
+        playbackPositionDao.upsertPlaybackPositions(listOf(updated))
+
+        Truth.assertThat(playbackPositionDao.getPlaybackPosition(1)).isEqualTo(updated)
+        Truth.assertThat(playbackPositionDao.monitorAllPlaybackPositions().first()).hasSize(1)
+    }
+
+    @Test
+    fun test_that_deletePlaybackPositions_deletes_only_the_given_entities() = runTest {
+        playbackPositionDao.upsertPlaybackPositions((1L..3L).map { generateEntity(mediaId = it) })
+
+        playbackPositionDao.deletePlaybackPositions(listOf(1, 3))
+
+        Truth.assertThat(playbackPositionDao.monitorAllPlaybackPositions().first().map { it.mediaId })
+            .containsExactly(2L)
+    }
+
+    @Test
+    fun test_that_trimPlaybackPositions_keeps_the_most_recently_updated_entities() = runTest {
+        playbackPositionDao.upsertPlaybackPositions(
+            (1L..5L).map { generateEntity(mediaId = it, lastUpdated = it) }
+        )
+
+        playbackPositionDao.trimPlaybackPositions(maxEntries = 2)
+
+        Truth.assertThat(playbackPositionDao.monitorAllPlaybackPositions().first().map { it.mediaId })
+            .containsExactly(4L, 5L)
+    }
+
+    @Test
+    fun test_that_applyPlaybackPositionChanges_applies_updates_deletions_and_retention() =
+        runTest {
+            playbackPositionDao.upsertPlaybackPositions(
+                (1L..3L).map { generateEntity(mediaId = it, lastUpdated = it) }
+            )
+
+            playbackPositionDao.applyPlaybackPositionChanges(
+                updated = listOf(generateEntity(mediaId = 4, lastUpdated = 4)),
+                deletedMediaIds = listOf(3),
+                maxEntries = 2,
+            )
+
+            Truth.assertThat(playbackPositionDao.monitorAllPlaybackPositions().first().map { it.mediaId })
+                .containsExactly(2L, 4L)
+        }
+
+    private fun generateEntity(
+        mediaId: Long,
+        currentPosition: Long = 16000,
+        lastUpdated: Long = 1,
+    ) = PlaybackPositionEntity(
+        mediaId = mediaId,
+        totalDuration = 200000,
+        currentPosition = currentPosition,
+        lastUpdated = lastUpdated,
+    )
+}
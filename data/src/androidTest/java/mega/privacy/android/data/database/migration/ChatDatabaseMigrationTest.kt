@@ -0,0 +1,89 @@
+package mega.privacy.android.data.database.migration
+
+import androidx.room.migration.AutoMigrationSpec
+import androidx.room.testing.MigrationTestHelper
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.data.database.chat.spec.AutoMigrationSpecChat2to3
+import mega.privacy.android.data.database.converter.TypedMessageEntityConverters
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.io.IOException
+
+@RunWith(AndroidJUnit4::class)
+class ChatDatabaseMigrationTest {
+    private val testDatabaseName = "chat-migration-test"
+
+    @get:Rule
+    val helper: MigrationTestHelper = MigrationTestHelper(
+        InstrumentationRegistry.getInstrumentation(),
+        ChatDatabase::class.java,
+        listOf<AutoMigrationSpec>(AutoMigrationSpecChat2to3()),
+        FrameworkSQLiteOpenHelperFactory(),
+    )
+
+    @Test
+    @Throws(IOException::class)
+    fun migrate4To5() {
+        val reactions = listOf(
+            Reaction(reaction = "👍", count = 2, userHandles = listOf(1L, 2L), hasMe = true),
+            Reaction(reaction = "😀", count = 1, userHandles = listOf(3L), hasMe = false),
+        )
+        helper.createDatabase(testDatabaseName, 4).apply {
+            execSQL(
+                """
+                INSERT INTO typed_messages (
+                    messageId, chatId, status, tempId, msgIndex, userHandle, type,
+                    hasConfirmedReactions, timestamp, content, isEdited, isDeleted, isEditable,
+                    isDeletable, isManagementMessage, handleOfAction, privilege, code, usersCount,
+                    userHandles, userNames, userEmails, handleList, duration, retentionTime,
+                    termCode, rowId, changes, isMine, textMessage, reactions, does_exist
+                ) VALUES (
+                    10, 20, 'SERVER_RECEIVED', 0, 1, 3, 'NORMAL',
+                    1, 1000, 'hello', 0, 0, 1,
+                    1, 0, -1, 'UNKNOWN', 'UNKNOWN', 0,
+                    '', '', '', '', 0, 0,
+                    'UNKNOWN', 0, '', 1, 'hello', ?, 1
+                )
+                """.trimIndent(),
+                arrayOf(TypedMessageEntityConverters().convertFromMessageReactionList(reactions))
+            )
+            close()
+        }
+
+        val db = helper.runMigrationsAndValidate(
+            testDatabaseName,
+            5,
+            true,
+            *ChatDatabase.MIGRATIONS
+        )
+
+        db.query("SELECT messageId, content FROM typed_messages").use { cursor ->
+            assertThat(cursor.count).isEqualTo(1)
+            cursor.moveToFirst()
+            assertThat(cursor.getLong(0)).isEqualTo(10L)
+            assertThat(cursor.getString(1)).isEqualTo("hello")
+        }
+        db.query(
+            "SELECT chatId, messageId, reaction, count, userHandles, hasMe FROM chat_reactions ORDER BY count DESC"
+        ).use { cursor ->
+            assertThat(cursor.count).isEqualTo(2)
+            cursor.moveToFirst()
+            assertThat(cursor.getLong(0)).isEqualTo(20L)
+            assertThat(cursor.getLong(1)).isEqualTo(10L)
+            assertThat(cursor.getString(2)).isEqualTo("👍")
+            assertThat(cursor.getInt(3)).isEqualTo(2)
+            assertThat(cursor.getString(4)).isEqualTo("1,2")
+            assertThat(cursor.getInt(5)).isEqualTo(1)
+            cursor.moveToNext()
+            assertThat(cursor.getString(2)).isEqualTo("😀")
+            assertThat(cursor.getString(4)).isEqualTo("3")
+            assertThat(cursor.getInt(5)).isEqualTo(0)
+        }
+    }
+}
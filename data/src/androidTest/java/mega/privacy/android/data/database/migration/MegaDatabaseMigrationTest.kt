@@ -114,6 +114,47 @@ class MegaDatabaseMigrationTest {
         }
     }
 
+    @Test
+    @Throws(IOException::class)
+    fun migrate86To87To88() {
+        helper.createDatabase(testDatabaseName, 86).apply {
+            close()
+        }
+
+        helper.runMigrationsAndValidate(testDatabaseName, 87, true, *MegaDatabase.MIGRATIONS)
+            .apply {
+                execSQL(
+                    "INSERT INTO playbackpositions (media_id, total_duration, current_position, last_updated) " +
+                            "VALUES (1, 60000, 30000, 1700000000000)"
+                )
+                close()
+            }
+
+        val db =
+            helper.runMigrationsAndValidate(testDatabaseName, 88, true, *MegaDatabase.MIGRATIONS)
+        db.query("SELECT * FROM playbackpositions").use {
+            it.moveToFirst()
+            assert(it.count == 1)
+            assert(it.getLong(0) == 1L)
+            assert(it.getLong(1) == 60000L)
+            assert(it.getLong(2) == 30000L)
+            assert(it.getLong(3) == 1700000000000L)
+        }
+        db.execSQL(
+            "INSERT INTO sdcardmoves (source_path, destination_uri, sub_folders) " +
+                    "VALUES ('source', 'destination', 'sub')"
+        )
+        db.query("SELECT * FROM sdcardmoves").use {
+            it.moveToFirst()
+            assert(it.count == 1)
+            assert(it.getLong(0) == 1L)
+            assert(it.getString(1) == "source")
+            assert(it.getString(2) == "destination")
+            assert(it.getString(3) == "sub")
+            assert(it.getInt(4) == 0)
+        }
+    }
+
     companion object {
         const val TABLE_COMPLETED_TRANSFERS = "completedtransfers"
         const val KEY_TRANSFER_FILENAME = "transferfilename"
@@ -0,0 +1,102 @@
+package mega.privacy.android.data.facade.chat
+
+import android.content.Context
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.chat.ChatDatabase
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
+import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
+import mega.privacy.android.domain.entity.ChatRoomPermission
+import mega.privacy.android.domain.entity.chat.ChatMessageCode
+import mega.privacy.android.domain.entity.chat.ChatMessageStatus
+import mega.privacy.android.domain.entity.chat.ChatMessageTermCode
+import mega.privacy.android.domain.entity.chat.ChatMessageType
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import kotlin.time.Duration
+
+@RunWith(AndroidJUnit4::class)
+class ChatStorageFacadeReactionsTest {
+    private lateinit var db: ChatDatabase
+    private lateinit var underTest: ChatStorageFacade
+
+    @Before
+    fun createDb() {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+        db = Room.inMemoryDatabaseBuilder(context, ChatDatabase::class.java).build()
+        underTest = ChatStorageFacade(db)
+    }
+
+    @After
+    fun closeDb() {
+        db.close()
+    }
+
+    @Test
+    fun test_that_upsertMessageReaction_stores_the_reaction_of_a_stored_message() = runTest {
+        db.typedMessageDao().insertAll(listOf(message(chatId = 1L, messageId = 2L)))
+        val reaction = reaction(chatId = 1L, messageId = 2L)
+
+        underTest.upsertMessageReaction(reaction)
+
+        assertThat(db.chatMessageMetaDao().getReactions(1L, 2L)).containsExactly(reaction)
+    }
+
+    @Test
+    fun test_that_upsertMessageReaction_does_not_store_the_reaction_of_a_missing_message() =
+        runTest {
+            db.typedMessageDao().insertAll(listOf(message(chatId = 1L, messageId = 3L)))
+
+            underTest.upsertMessageReaction(reaction(chatId = 1L, messageId = 2L))
+
+            assertThat(db.chatMessageMetaDao().getReactions(1L, 2L)).isEmpty()
+        }
+
+    private fun reaction(chatId: Long, messageId: Long) = ChatReactionEntity(
+        chatId = chatId,
+        messageId = messageId,
+        reaction = "reaction",
+        count = 1,
+        userHandles = listOf(4L),
+        hasMe = false,
+    )
+
+    private fun message(chatId: Long, messageId: Long) = TypedMessageEntity(
+        messageId = messageId,
+        chatId = chatId,
+        status = ChatMessageStatus.SERVER_RECEIVED,
+        tempId = messageId,
+        msgIndex = 0,
+        userHandle = 4L,
+        type = ChatMessageType.NORMAL,
+        hasConfirmedReactions = true,
+        timestamp = 0L,
+        content = "content",
+        isEdited = false,
+        isDeleted = false,
+        isEditable = false,
+        isDeletable = false,
+        isManagementMessage = false,
+        handleOfAction = 0L,
+        privilege = ChatRoomPermission.Unknown,
+        code = ChatMessageCode.entries.first(),
+        usersCount = 0L,
+        userHandles = emptyList(),
+        userNames = emptyList(),
+        userEmails = emptyList(),
+        handleList = emptyList(),
+        duration = Duration.ZERO,
+        retentionTime = 0L,
+        termCode = ChatMessageTermCode.ENDED,
+        rowId = 0L,
+        changes = emptyList(),
+        isMine = false,
+        textMessage = null,
+        exists = true,
+    )
+}
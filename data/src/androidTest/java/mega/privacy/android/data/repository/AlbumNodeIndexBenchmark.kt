@@ -0,0 +1,69 @@
+package mega.privacy.android.data.repository
+
+import androidx.benchmark.junit4.BenchmarkRule
+import androidx.benchmark.junit4.measureRepeated
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeChanges
+import mega.privacy.android.domain.entity.node.NodeId
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.lang.reflect.Proxy
+
+/**
+ * Micro benchmark of [AlbumNodeIndex] with a batch of 100k node updates spread over 50 albums.
+ *
+ * It does not assert anything, AlbumNodeIndexTest checks the deltas of the same batch.
+ */
+@RunWith(AndroidJUnit4::class)
+class AlbumNodeIndexBenchmark {
+
+    @get:Rule
+    val benchmarkRule = BenchmarkRule()
+
+    // Only the id of the updated nodes is read, any other access fails
+    private val fileNodeDelegate = Proxy.newProxyInstance(
+        FileNode::class.java.classLoader,
+        arrayOf(FileNode::class.java),
+    ) { _, method, _ -> throw UnsupportedOperationException(method.name) } as FileNode
+
+    private val changes = (0L until NODES).associate { id ->
+        TestFileNode(NodeId(id), fileNodeDelegate) to listOf(NodeChanges.Attributes)
+    }
+
+    // Each node is in the album of its remainder, and half of the nodes are in album 0 too
+    private val albumNodes = (1L until ALBUMS).associateWith { albumId ->
+        (0L until NODES).filter { it % ALBUMS == albumId }.map(::NodeId)
+    } + (0L to (0L until NODES).filter { it % 2 == 0L }.map(::NodeId))
+
+    private lateinit var underTest: AlbumNodeIndex
+
+    @Before
+    fun setUp() {
+        underTest = AlbumNodeIndex()
+        indexAlbums(underTest)
+    }
+
+    @Test
+    fun computeDeltas() = benchmarkRule.measureRepeated {
+        underTest.computeDeltas(changes)
+    }
+
+    @Test
+    fun setAlbumNodes() = benchmarkRule.measureRepeated {
+        indexAlbums(AlbumNodeIndex())
+    }
+
+    private fun indexAlbums(index: AlbumNodeIndex) {
+        albumNodes.forEach { (albumId, nodeIds) -> index.setAlbumNodes(albumId, nodeIds) }
+    }
+
+    private class TestFileNode(override val id: NodeId, delegate: FileNode) : FileNode by delegate
+
+    companion object {
+        private const val ALBUMS = 50L
+        private const val NODES = 100_000L
+    }
+}
@@ -0,0 +1,139 @@
+package mega.privacy.android.data.cache
+
+import mega.privacy.android.data.extensions.getSortKey
+import mega.privacy.android.data.extensions.sortList
+import mega.privacy.android.domain.entity.contacts.ContactItem
+
+/**
+ * In-memory contact roster.
+ *
+ * Keeps the contacts indexed by handle and by email, together with the list sorted in the same
+ * order as [sortList]. Single contact changes are applied positionally: the affected item is
+ * located with a binary search on its sort key and moved to its new position, so the whole list
+ * never needs to be sorted again.
+ *
+ * This class is not thread safe, callers are responsible for synchronising the access.
+ */
+internal class ContactRoster {
+    private val itemsByHandle = HashMap<Long, ContactItem>()
+    private val handlesByEmail = HashMap<String, Long>()
+    private val sortedItems = ArrayList<ContactItem>()
+    private val sortKeys = ArrayList<String>()
+
+    /**
+     * Number of contacts in the roster
+     */
+    val size: Int
+        get() = sortedItems.size
+
+    /**
+     * Gets the contact with the given handle
+     *
+     * @param handle User handle
+     * @return [ContactItem] if any
+     */
+    operator fun get(handle: Long): ContactItem? = itemsByHandle[handle]
+
+    /**
+     * Checks if the roster contains a contact with the given email
+     *
+     * @param email User email
+     */
+    fun containsEmail(email: String): Boolean = handlesByEmail.containsKey(email)
+
+    /**
+     * Replaces the content of the roster
+     *
+     * @param items New contacts. If several items have the same handle, the last one is kept.
+     */
+    fun replaceAll(items: List<ContactItem>) {
+        clear()
+        items.associateByTo(itemsByHandle) { it.handle }
+        itemsByHandle.values.toList().sortList().forEach { item ->
+            sortedItems.add(item)
+            sortKeys.add(item.getSortKey())
+            handlesByEmail[item.email] = item.handle
+        }
+    }
+
+    /**
+     * Inserts a new contact or replaces the existing one with the same handle,
+     * keeping the roster sorted
+     *
+     * @param item [ContactItem]
+     * @return The position of the item in the sorted roster
+     */
+    fun upsert(item: ContactItem): Int {
+        remove(item.handle)
+        val sortKey = item.getSortKey()
+        // Equal keys keep their relative order, the updated item goes after them
+        val index = upperBound(sortKey)
+        sortedItems.add(index, item)
+        sortKeys.add(index, sortKey)
+        itemsByHandle[item.handle] = item
+        handlesByEmail[item.email] = item.handle
+        return index
+    }
+
+    /**
+     * Removes the contact with the given handle
+     *
+     * @param handle User handle
+     * @return The position the item had in the sorted roster, or -1 if it was not in the roster
+     */
+    fun remove(handle: Long): Int {
+        val existing = itemsByHandle.remove(handle) ?: return -1
+        if (handlesByEmail[existing.email] == handle) handlesByEmail.remove(existing.email)
+        val index = indexOf(existing)
+        if (index >= 0) {
+            sortedItems.removeAt(index)
+            sortKeys.removeAt(index)
+        }
+        return index
+    }
+
+    /**
+     * Removes all the contacts
+     */
+    fun clear() {
+        itemsByHandle.clear()
+        handlesByEmail.clear()
+        sortedItems.clear()
+        sortKeys.clear()
+    }
+
+    /**
+     * Gets a sorted copy of the roster content
+     */
+    fun toList(): List<ContactItem> = ArrayList(sortedItems)
+
+    private fun indexOf(item: ContactItem): Int {
+        val sortKey = item.getSortKey()
+        var index = lowerBound(sortKey)
+        while (index < sortKeys.size && sortKeys[index] == sortKey) {
+            if (sortedItems[index].handle == item.handle) return index
+            index++
+        }
+        return -1
+    }
+
+    private fun lowerBound(sortKey: String): Int {
+        var low = 0
+        var high = sortKeys.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (sortKeys[mid] < sortKey) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    private fun upperBound(sortKey: String): Int {
+        var low = 0
+        var high = sortKeys.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (sortKeys[mid] <= sortKey) low = mid + 1 else high = mid
+        }
+        return low
+    }
+}
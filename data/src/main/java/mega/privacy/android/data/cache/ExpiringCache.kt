@@ -10,36 +10,25 @@ internal interface Cache<T> {
     fun clear()
 }
 
-internal class ExpiringCache<T>(
-    private val deviceGateway: DeviceGateway,
-    private val timeOut: Long,
-) : Cache<T> {
-    private var curValue: T? = null
-    private var expiredTime = 0L
-
-    override fun get(): T? =
-        if (deviceGateway.getElapsedRealtime() > expiredTime) null else curValue
+/**
+ * Single value [Cache] backed by a [KeyedCache], so the value can be safely accessed from
+ * several threads
+ */
+internal abstract class SingleValueCache<T>(private val cache: KeyedCache<Unit, T>) : Cache<T> {
+    override fun get(): T? = cache[Unit]
 
     override fun set(value: T?) {
-        expiredTime = deviceGateway.getElapsedRealtime() + timeOut
-        curValue = value
+        if (value == null) cache.invalidate(Unit) else cache[Unit] = value
     }
 
     override fun clear() {
-        curValue = null
+        cache.clear()
     }
 }
 
-internal class PermanentCache<T> : Cache<T> {
-    private var curValue: T? = null
-
-    override fun get(): T? = curValue
-
-    override fun set(value: T?) {
-        curValue = value
-    }
+internal class ExpiringCache<T>(
+    deviceGateway: DeviceGateway,
+    timeOut: Long,
+) : SingleValueCache<T>(KeyedCache(deviceGateway = deviceGateway, timeToLive = timeOut))
 
-    override fun clear() {
-        curValue = null
-    }
-}
\ No newline at end of file
+internal class PermanentCache<T> : SingleValueCache<T>(KeyedCache())
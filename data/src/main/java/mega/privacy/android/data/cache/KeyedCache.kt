@@ -0,0 +1,301 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import mega.privacy.android.data.gateway.DeviceGateway
+
+/**
+ * Thread safe in-memory cache of values by key.
+ *
+ * Entries are evicted in least recently used order once the total weight exceeds [maxWeight],
+ * and expire [timeToLive] milliseconds after being written. The time is read from [clock],
+ * [DeviceGateway.getElapsedRealtime] in production, so expiration can be tested with a fake clock.
+ *
+ * [getOrLoad] loads each missing key only once: concurrent callers for the same key wait for
+ * the load in progress instead of starting their own.
+ *
+ * @param maxWeight     maximum total weight of the entries
+ * @param timeToLive    time in milliseconds an entry is valid after being written, null if it
+ * does not expire
+ * @param clock         current monotonic time in milliseconds
+ * @param weigher       weight of an entry, 1 by default so [maxWeight] is the number of entries
+ */
+internal class KeyedCache<K : Any, V>(
+    private val maxWeight: Long = Long.MAX_VALUE,
+    private val timeToLive: Long? = null,
+    private val clock: () -> Long = { 0L },
+    private val weigher: (K, V) -> Int = { _, _ -> 1 },
+) {
+    constructor(
+        deviceGateway: DeviceGateway,
+        timeToLive: Long,
+        maxWeight: Long = Long.MAX_VALUE,
+        weigher: (K, V) -> Int = { _, _ -> 1 },
+    ) : this(maxWeight, timeToLive, deviceGateway::getElapsedRealtime, weigher)
+
+    init {
+        require(maxWeight > 0) { "maxWeight must be positive" }
+        require(timeToLive == null || timeToLive >= 0) { "timeToLive can not be negative" }
+    }
+
+    private class Entry<V>(val value: V, val weight: Int, val expiresAt: Long)
+
+    private val lock = Any()
+
+    // Access ordered, so the first entry is the least recently used
+    private val entries = LinkedHashMap<K, Entry<V>>(16, 0.75f, true)
+    private val loads = HashMap<K, CompletableDeferred<V>>()
+    private var totalWeight = 0L
+
+    private var hitCount = 0L
+    private var missCount = 0L
+    private var loadCount = 0L
+    private var loadFailureCount = 0L
+    private var evictionCount = 0L
+
+    /**
+     * Number of valid entries in the cache
+     */
+    val size: Int
+        get() = synchronized(lock) {
+            removeExpired()
+            entries.size
+        }
+
+    /**
+     * Gets the value of a key
+     *
+     * @param key
+     * @return the value, or null if the key is not cached or has expired
+     */
+    operator fun get(key: K): V? = synchronized(lock) {
+        val entry = getValidEntry(key)
+        if (entry != null) hitCount++ else missCount++
+        entry?.value
+    }
+
+    /**
+     * Checks if a key has a valid value, without counting it as an access
+     *
+     * @param key
+     */
+    fun contains(key: K): Boolean = synchronized(lock) {
+        val entry = entries[key] ?: return false
+        if (isExpired(entry)) {
+            removeEntry(key)
+            false
+        } else {
+            true
+        }
+    }
+
+    /**
+     * Sets the value of a key, replacing the previous one. A load in progress of the key is not
+     * stored once finished, as this value is newer.
+     *
+     * @param key
+     * @param value
+     */
+    operator fun set(key: K, value: V) = synchronized(lock) {
+        loads.remove(key)
+        putEntry(key, value)
+    }
+
+    /**
+     * Atomically updates the value of a key
+     *
+     * @param key
+     * @param transform receives the current value, or null if there is none, and returns the new
+     * value, or null to remove the key. It is called holding the lock of the cache, so it must
+     * be fast and must not access the cache.
+     * @return the new value
+     */
+    fun update(key: K, transform: (V?) -> V?): V? = synchronized(lock) {
+        loads.remove(key)
+        val newValue = transform(getValidEntry(key)?.value)
+        if (newValue == null) removeEntry(key) else putEntry(key, newValue)
+        newValue
+    }
+
+    /**
+     * Gets the value of a key, loading it if it is not cached or has expired.
+     * Concurrent calls for the same key share a single load.
+     *
+     * @param key
+     * @param loader loads the value of the key
+     * @return the value
+     */
+    suspend fun getOrLoad(key: K, loader: suspend () -> V): V {
+        while (true) {
+            val (load, isOwner) = synchronized(lock) {
+                val entry = getValidEntry(key)
+                if (entry != null) {
+                    hitCount++
+                    return entry.value
+                }
+                missCount++
+                loads[key]?.let { it to false }
+                    ?: (CompletableDeferred<V>().also { loads[key] = it } to true)
+            }
+
+            if (isOwner) return load(key, load, loader)
+
+            try {
+                return load.await()
+            } catch (e: CancellationException) {
+                // The load was cancelled with the coroutine that started it, load it again
+                // unless this coroutine is the one cancelled
+                currentCoroutineContext().ensureActive()
+            }
+        }
+    }
+
+    private suspend fun load(key: K, load: CompletableDeferred<V>, loader: suspend () -> V): V {
+        val value = try {
+            loader()
+        } catch (e: Throwable) {
+            synchronized(lock) {
+                if (e !is CancellationException) loadFailureCount++
+                if (loads[key] === load) loads.remove(key)
+            }
+            load.completeExceptionally(e)
+            throw e
+        }
+        synchronized(lock) {
+            loadCount++
+            // Only stored if the key was not set or invalidated while loading
+            if (loads[key] === load) {
+                loads.remove(key)
+                putEntry(key, value)
+            }
+        }
+        load.complete(value)
+        return value
+    }
+
+    /**
+     * Removes a key. A load in progress of the key is not stored once finished.
+     *
+     * @param key
+     * @return the removed value, or null if it was not cached
+     */
+    fun invalidate(key: K): V? = synchronized(lock) {
+        loads.remove(key)
+        removeEntry(key)?.value
+    }
+
+    /**
+     * Removes the keys matching a predicate
+     *
+     * @param predicate
+     */
+    fun invalidateIf(predicate: (K, V) -> Boolean) = synchronized(lock) {
+        entries.entries.filter { predicate(it.key, it.value.value) }
+            .forEach { invalidate(it.key) }
+    }
+
+    /**
+     * Removes all the keys, including the loads in progress
+     */
+    fun clear() = synchronized(lock) {
+        loads.clear()
+        entries.clear()
+        totalWeight = 0L
+    }
+
+    /**
+     * Gets a copy of the valid entries, from the least to the most recently used
+     */
+    fun asMap(): Map<K, V> = synchronized(lock) {
+        removeExpired()
+        entries.entries.associateTo(LinkedHashMap(entries.size)) { it.key to it.value.value }
+    }
+
+    /**
+     * Gets the values of the valid entries
+     */
+    fun values(): List<V> = asMap().values.toList()
+
+    /**
+     * Gets the hit and miss counters of the cache
+     */
+    fun stats(): CacheStats = synchronized(lock) {
+        CacheStats(
+            hitCount = hitCount,
+            missCount = missCount,
+            loadCount = loadCount,
+            loadFailureCount = loadFailureCount,
+            evictionCount = evictionCount,
+            size = entries.size,
+            weight = totalWeight,
+        )
+    }
+
+    private fun getValidEntry(key: K): Entry<V>? {
+        val entry = entries[key] ?: return null
+        return if (isExpired(entry)) {
+            removeEntry(key)
+            null
+        } else {
+            entry
+        }
+    }
+
+    private fun putEntry(key: K, value: V) {
+        val weight = weigher(key, value)
+        require(weight >= 0) { "Weight can not be negative" }
+        val expiresAt = timeToLive?.let { clock() + it } ?: Long.MAX_VALUE
+        entries.put(key, Entry(value, weight, expiresAt))?.let { totalWeight -= it.weight }
+        totalWeight += weight
+        evict()
+    }
+
+    private fun removeEntry(key: K): Entry<V>? =
+        entries.remove(key)?.also { totalWeight -= it.weight }
+
+    private fun evict() {
+        val iterator = entries.values.iterator()
+        while (totalWeight > maxWeight && iterator.hasNext()) {
+            totalWeight -= iterator.next().weight
+            iterator.remove()
+            evictionCount++
+        }
+    }
+
+    private fun removeExpired() {
+        if (timeToLive == null) return
+        val iterator = entries.values.iterator()
+        while (iterator.hasNext()) {
+            val entry = iterator.next()
+            if (isExpired(entry)) {
+                totalWeight -= entry.weight
+                iterator.remove()
+            }
+        }
+    }
+
+    private fun isExpired(entry: Entry<V>) = clock() > entry.expiresAt
+}
+
+/**
+ * Counters of a [KeyedCache]
+ *
+ * @property hitCount           number of lookups that found a valid value
+ * @property missCount          number of lookups that did not find a valid value
+ * @property loadCount          number of values loaded
+ * @property loadFailureCount   number of loads that failed
+ * @property evictionCount      number of entries evicted to respect the maximum weight
+ * @property size               number of entries, including the expired ones not removed yet
+ * @property weight             total weight of the entries
+ */
+internal data class CacheStats(
+    val hitCount: Long,
+    val missCount: Long,
+    val loadCount: Long,
+    val loadFailureCount: Long,
+    val evictionCount: Long,
+    val size: Int,
+    val weight: Long,
+)
@@ -15,6 +15,8 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PlaybackPositionDao
+import mega.privacy.android.data.database.dao.SdCardMoveDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
 import mega.privacy.android.data.database.dao.UserPausedSyncsDao
@@ -25,6 +27,8 @@ import mega.privacy.android.data.database.entity.ChatPendingChangesEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.ContactEntity
 import mega.privacy.android.data.database.entity.OfflineEntity
+import mega.privacy.android.data.database.entity.PlaybackPositionEntity
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
 import mega.privacy.android.data.database.entity.SdTransferEntity
 import mega.privacy.android.data.database.entity.SyncSolvedIssueEntity
 import mega.privacy.android.data.database.entity.UserPausedSyncEntity
@@ -44,6 +48,8 @@ import timber.log.Timber
         UserPausedSyncEntity::class,
         CameraUploadsRecordEntity::class,
         ChatPendingChangesEntity::class,
+        PlaybackPositionEntity::class,
+        SdCardMoveEntity::class,
     ],
     version = MegaDatabaseConstant.DATABASE_VERSION,
     exportSchema = true,
@@ -81,6 +87,10 @@ internal abstract class MegaDatabase : RoomDatabase() {
 
     abstract fun chatPendingChangesDao(): ChatPendingChangesDao
 
+    abstract fun playbackPositionDao(): PlaybackPositionDao
+
+    abstract fun sdCardMoveDao(): SdCardMoveDao
+
     companion object {
 
         /**
@@ -218,6 +228,18 @@ internal abstract class MegaDatabase : RoomDatabase() {
             }
         }
 
+        private val MIGRATION_86_87 = object : Migration(86, 87) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL("CREATE TABLE IF NOT EXISTS `playbackpositions` (`media_id` INTEGER NOT NULL, `total_duration` INTEGER NOT NULL, `current_position` INTEGER NOT NULL, `last_updated` INTEGER NOT NULL, PRIMARY KEY(`media_id`))")
+                database.execSQL("CREATE INDEX IF NOT EXISTS `index_playbackpositions_last_updated` ON `playbackpositions` (`last_updated`)")
+            }
+        }
+
+        private val MIGRATION_87_88 = object : Migration(87, 88) {
+            override fun migrate(database: SupportSQLiteDatabase) {
+                database.execSQL("CREATE TABLE IF NOT EXISTS `sdcardmoves` (`id` INTEGER PRIMARY KEY AUTOINCREMENT, `source_path` TEXT, `destination_uri` TEXT, `sub_folders` TEXT, `attempts` INTEGER NOT NULL DEFAULT 0)")
+            }
+        }
 
         val MIGRATIONS = arrayOf(
             MIGRATION_67_68,
@@ -229,6 +251,8 @@ internal abstract class MegaDatabase : RoomDatabase() {
             MIGRATION_76_77,
             MIGRATION_77_78,
             MIGRATION_85_86,
+            MIGRATION_86_87,
+            MIGRATION_87_88,
         )
     }
 }
@@ -8,7 +8,7 @@ object MegaDatabaseConstant {
     /**
      * Database Version
      */
-    const val DATABASE_VERSION = 86
+    const val DATABASE_VERSION = 88
 
     /**
      * Database Name
@@ -65,6 +65,16 @@ object MegaDatabaseConstant {
      */
     const val TABLE_CHAT_ROOM_PREFERENCE = "chatroompreference"
 
+    /**
+     * Table Media Playback Positions
+     */
+    const val TABLE_PLAYBACK_POSITIONS = "playbackpositions"
+
+    /**
+     * Table Sd Card Moves
+     */
+    const val TABLE_SD_CARD_MOVES = "sdcardmoves"
+
     /**
      * Passphrase File Name
      */
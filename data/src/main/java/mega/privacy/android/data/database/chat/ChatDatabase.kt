@@ -1,18 +1,24 @@
 package mega.privacy.android.data.database.chat
 
+import android.content.ContentValues
 import android.content.Context
+import android.database.sqlite.SQLiteDatabase
 import androidx.room.AutoMigration
 import androidx.room.Database
 import androidx.room.Room
 import androidx.room.RoomDatabase
+import androidx.room.migration.Migration
+import androidx.sqlite.db.SupportSQLiteDatabase
 import androidx.sqlite.db.SupportSQLiteOpenHelper
 import mega.privacy.android.data.database.chat.spec.AutoMigrationSpecChat2to3
+import mega.privacy.android.data.database.converter.TypedMessageEntityConverters
 import mega.privacy.android.data.database.dao.ChatMessageMetaDao
 import mega.privacy.android.data.database.dao.ChatNodeDao
 import mega.privacy.android.data.database.dao.PendingMessageDao
 import mega.privacy.android.data.database.dao.TypedMessageDao
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
 import mega.privacy.android.data.database.entity.chat.ChatNodeEntity
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.NodeMessageCrossRef
 import mega.privacy.android.data.database.entity.chat.PendingMessageEntity
@@ -25,7 +31,7 @@ import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
  */
 const val CHAT_DATABASE_NAME = "chat_database"
 
-private const val DATABASE_VERSION = 4
+private const val DATABASE_VERSION = 5
 
 /**
  * In memory chat database
@@ -41,6 +47,7 @@ private const val DATABASE_VERSION = 4
         ChatNodeEntity::class,
         PendingMessageEntity::class,
         NodeMessageCrossRef::class,
+        ChatReactionEntity::class,
     ],
     version = DATABASE_VERSION,
     autoMigrations = [
@@ -87,6 +94,55 @@ abstract class ChatDatabase : RoomDatabase() {
             context,
             ChatDatabase::class.java,
             CHAT_DATABASE_NAME
-        ).openHelperFactory(factory).build()
+        ).addMigrations(*MIGRATIONS)
+            .openHelperFactory(factory)
+            .build()
+
+        /**
+         * Moves the reactions, stored as a list of json objects in typed_messages.reactions,
+         * to their own table and drops the column
+         */
+        private val MIGRATION_4_5 = object : Migration(4, 5) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                db.execSQL("CREATE TABLE IF NOT EXISTS `chat_reactions` (`chatId` INTEGER NOT NULL, `messageId` INTEGER NOT NULL, `reaction` TEXT NOT NULL, `count` INTEGER NOT NULL, `userHandles` TEXT NOT NULL, `hasMe` INTEGER NOT NULL, PRIMARY KEY(`chatId`, `messageId`, `reaction`))")
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_chat_reactions_messageId` ON `chat_reactions` (`messageId`)")
+
+                val converters = TypedMessageEntityConverters()
+                db.query("SELECT chatId, messageId, reactions FROM typed_messages WHERE reactions != ''")
+                    .use { cursor ->
+                        while (cursor.moveToNext()) {
+                            val chatId = cursor.getLong(0)
+                            val messageId = cursor.getLong(1)
+                            val reactions = runCatching {
+                                converters.convertToMessageReactionList(cursor.getString(2))
+                            }.getOrDefault(emptyList())
+                            reactions.forEach {
+                                db.insert(
+                                    "chat_reactions",
+                                    SQLiteDatabase.CONFLICT_REPLACE,
+                                    ContentValues().apply {
+                                        put("chatId", chatId)
+                                        put("messageId", messageId)
+                                        put("reaction", it.reaction)
+                                        put("count", it.count)
+                                        put("userHandles", converters.convertFromLongList(it.userHandles))
+                                        put("hasMe", it.hasMe)
+                                    }
+                                )
+                            }
+                        }
+                    }
+
+                db.execSQL("ALTER TABLE typed_messages RENAME TO typed_messages_old")
+                db.execSQL("CREATE TABLE IF NOT EXISTS `typed_messages` (`messageId` INTEGER NOT NULL, `chatId` INTEGER NOT NULL, `status` TEXT NOT NULL, `tempId` INTEGER NOT NULL, `msgIndex` INTEGER NOT NULL, `userHandle` INTEGER NOT NULL, `type` TEXT NOT NULL, `hasConfirmedReactions` INTEGER NOT NULL, `timestamp` INTEGER NOT NULL, `content` TEXT, `isEdited` INTEGER NOT NULL, `isDeleted` INTEGER NOT NULL, `isEditable` INTEGER NOT NULL, `isDeletable` INTEGER NOT NULL, `isManagementMessage` INTEGER NOT NULL, `handleOfAction` INTEGER NOT NULL, `privilege` TEXT NOT NULL, `code` TEXT NOT NULL, `usersCount` INTEGER NOT NULL, `userHandles` TEXT NOT NULL, `userNames` TEXT NOT NULL, `userEmails` TEXT NOT NULL, `handleList` TEXT NOT NULL, `duration` INTEGER NOT NULL, `retentionTime` INTEGER NOT NULL, `termCode` TEXT NOT NULL, `rowId` INTEGER NOT NULL, `changes` TEXT NOT NULL, `isMine` INTEGER NOT NULL, `textMessage` TEXT, `does_exist` INTEGER NOT NULL, PRIMARY KEY(`messageId`))")
+                db.execSQL("INSERT INTO typed_messages SELECT messageId, chatId, status, tempId, msgIndex, userHandle, type, hasConfirmedReactions, timestamp, content, isEdited, isDeleted, isEditable, isDeletable, isManagementMessage, handleOfAction, privilege, code, usersCount, userHandles, userNames, userEmails, handleList, duration, retentionTime, termCode, rowId, changes, isMine, textMessage, does_exist FROM typed_messages_old")
+                db.execSQL("DROP TABLE typed_messages_old")
+            }
+        }
+
+        /**
+         * Manual migrations of the chat database
+         */
+        val MIGRATIONS = arrayOf(MIGRATION_4_5)
     }
 }
@@ -5,6 +5,7 @@ import androidx.room.Insert
 import androidx.room.OnConflictStrategy
 import androidx.room.Query
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.RichPreviewEntity
 
@@ -61,4 +62,40 @@ interface ChatMessageMetaDao {
      */
     @Query("DELETE FROM chat_geolocation WHERE messageId IN (:messageIds)")
     fun deleteGeolocationsByMessageId(messageIds: List<Long>)
-}
\ No newline at end of file
+
+    /**
+     * Insert or replace reactions
+     *
+     * @param reactions
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertReactions(reactions: List<ChatReactionEntity>)
+
+    /**
+     * Get the reactions of a message
+     *
+     * @param chatId
+     * @param messageId
+     * @return reactions of the message
+     */
+    @Query("SELECT * FROM chat_reactions WHERE chatId = :chatId AND messageId = :messageId")
+    suspend fun getReactions(chatId: Long, messageId: Long): List<ChatReactionEntity>
+
+    /**
+     * Delete a reaction of a message
+     *
+     * @param chatId
+     * @param messageId
+     * @param reaction
+     */
+    @Query("DELETE FROM chat_reactions WHERE chatId = :chatId AND messageId = :messageId AND reaction = :reaction")
+    suspend fun deleteReaction(chatId: Long, messageId: Long, reaction: String)
+
+    /**
+     * Delete reactions by message id
+     *
+     * @param messageIds
+     */
+    @Query("DELETE FROM chat_reactions WHERE messageId IN (:messageIds)")
+    fun deleteReactionsByMessageId(messageIds: List<Long>)
+}
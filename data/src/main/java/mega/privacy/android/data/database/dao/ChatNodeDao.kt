@@ -44,10 +44,10 @@ interface ChatNodeDao {
     fun deleteOrphanedNodes()
 
     /**
-     * Insert node message cross ref
+     * Insert node message cross refs
      *
-     * @param crossRef
+     * @param crossRefs
      */
     @Insert(onConflict = OnConflictStrategy.REPLACE)
-    fun insertNodeMessageCrossRef(crossRef: NodeMessageCrossRef)
+    fun insertNodeMessageCrossRefs(crossRefs: List<NodeMessageCrossRef>)
 }
\ No newline at end of file
@@ -12,6 +12,22 @@ internal interface CompletedTransferDao {
     @Query("SELECT * FROM completedtransfers")
     fun getAllCompletedTransfers(): Flow<List<CompletedTransferEntity>>
 
+    /**
+     * Gets the last inserted completed transfers
+     *
+     * The timestamp column is encrypted, so it cannot be sorted in SQL. The rows are inserted as
+     * the transfers finish, so the highest ids are the most recent ones, apart from the older
+     * transfers restored with their original timestamp. The caller sorts them by timestamp.
+     *
+     * @param size maximum number of transfers
+     * @return the completed transfers with the highest ids, in descending id order
+     */
+    @Query("SELECT * FROM completedtransfers ORDER BY id DESC LIMIT :size")
+    fun getLastCompletedTransfers(size: Int): Flow<List<CompletedTransferEntity>>
+
+    @Query("SELECT * FROM completedtransfers WHERE transferhandle IN(:handles)")
+    suspend fun getCompletedTransfersByHandles(handles: List<String>): List<CompletedTransferEntity>
+
     @Query("SELECT * FROM completedtransfers WHERE transferstate IN(:states)")
     fun getCompletedTransfersByState(states: List<String>): List<CompletedTransferEntity>
 
@@ -21,6 +37,9 @@ internal interface CompletedTransferDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertOrUpdateCompletedTransfer(entity: CompletedTransferEntity)
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOrUpdateCompletedTransfers(entities: List<CompletedTransferEntity>)
+
     @Query("DELETE FROM completedtransfers")
     suspend fun deleteAllCompletedTransfers()
 
@@ -4,6 +4,7 @@ import androidx.room.Dao
 import androidx.room.Insert
 import androidx.room.OnConflictStrategy
 import androidx.room.Query
+import androidx.room.Transaction
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.database.entity.OfflineEntity
 
@@ -42,13 +43,84 @@ internal interface OfflineDao {
     @Query("SELECT * FROM offline WHERE id = :id")
     suspend fun getOfflineById(id: Int): OfflineEntity?
 
-    @Query("DELETE FROM offline where id = :id")
-    suspend fun deleteOfflineById(id: Int)
-
     @Query(
         "SELECT * FROM offline WHERE name like :searchQuery"
     )
     suspend fun getOfflineByQuery(
         searchQuery: String,
     ): List<OfflineEntity>
+
+    @Query(
+        "WITH RECURSIVE subtree(id) AS (" +
+                "SELECT id FROM offline WHERE id = :id " +
+                "UNION ALL SELECT o.id FROM offline o JOIN subtree s ON o.parentId = s.id" +
+                ") SELECT id FROM subtree"
+    )
+    suspend fun getOfflineSubtreeIds(id: Int): List<Int>
+
+    @Query(
+        "SELECT COUNT(*) FROM offline WHERE id IN (" +
+                "WITH RECURSIVE subtree(id) AS (" +
+                "SELECT id FROM offline WHERE parentId = :id " +
+                "UNION ALL SELECT o.id FROM offline o JOIN subtree s ON o.parentId = s.id" +
+                ") SELECT id FROM subtree)"
+    )
+    suspend fun countOfflineDescendants(id: Int): Int
+
+    @Query(
+        "DELETE FROM offline WHERE id IN (" +
+                "WITH RECURSIVE subtree(id) AS (" +
+                "SELECT id FROM offline WHERE id = :id " +
+                "UNION ALL SELECT o.id FROM offline o JOIN subtree s ON o.parentId = s.id" +
+                ") SELECT id FROM subtree)"
+    )
+    suspend fun deleteOfflineSubtree(id: Int): Int
+
+    /**
+     * Deletes the folder with the given id if it has no children, and then its ancestors
+     * that are left without children, as they were only kept to reach the deleted entries
+     */
+    @Query(
+        "DELETE FROM offline WHERE id IN (" +
+                "WITH RECURSIVE empty(id, parentId) AS (" +
+                "SELECT id, parentId FROM offline WHERE id = :id " +
+                "AND NOT EXISTS (SELECT 1 FROM offline c WHERE c.parentId = :id) " +
+                "UNION ALL SELECT o.id, o.parentId FROM offline o JOIN empty e ON o.id = e.parentId " +
+                "WHERE NOT EXISTS (SELECT 1 FROM offline c WHERE c.parentId = o.id AND c.id != e.id)" +
+                ") SELECT id FROM empty)"
+    )
+    suspend fun deleteEmptyOfflineAncestors(id: Int): Int
+
+    /**
+     * Deletes an entry with all its descendants, and its ancestors left without children
+     *
+     * @param id id of the entry
+     * @return number of deleted entries
+     */
+    @Transaction
+    suspend fun deleteOfflineSubtreeAndEmptyAncestors(id: Int): Int {
+        val parentId = getOfflineById(id)?.let { it.parentId ?: -1 } ?: return 0
+        val deleted = deleteOfflineSubtree(id)
+        return if (parentId != -1) deleted + deleteEmptyOfflineAncestors(parentId) else deleted
+    }
+
+    /**
+     * Inserts a branch of entries, each one being the parent of the next one. Entries already
+     * saved, found by handle, are not replaced.
+     *
+     * @param branch    entries to insert, from the top ancestor to the deepest entry
+     * @param parentId  id of the parent of the top ancestor, or null if it is a root entry
+     * @return id of the deepest entry
+     */
+    @Transaction
+    suspend fun insertOfflineBranch(branch: List<OfflineEntity>, parentId: Int?): Long {
+        var currentParentId = parentId
+        var id = -1L
+        branch.forEach { entity ->
+            id = getOfflineByHandle(entity.encryptedHandle)?.id?.toLong()
+                ?: insertOrUpdateOffline(entity.copy(parentId = currentParentId ?: -1))
+            currentParentId = id.toInt()
+        }
+        return id
+    }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.room.Dao
+import androidx.room.Query
+import androidx.room.Transaction
+import androidx.room.Upsert
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.data.database.MegaDatabaseConstant
+import mega.privacy.android.data.database.entity.PlaybackPositionEntity
+
+/**
+ * Dao implementation for [MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS]
+ */
+@Dao
+internal interface PlaybackPositionDao {
+
+    /**
+     * Get the playback position of a media item
+     */
+    @Query("SELECT * FROM ${MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS} WHERE media_id = :mediaId")
+    suspend fun getPlaybackPosition(mediaId: Long): PlaybackPositionEntity?
+
+    /**
+     * Monitor all the playback positions
+     */
+    @Query("SELECT * FROM ${MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS}")
+    fun monitorAllPlaybackPositions(): Flow<List<PlaybackPositionEntity>>
+
+    /**
+     * Insert or update the given playback positions
+     */
+    @Upsert
+    suspend fun upsertPlaybackPositions(entities: List<PlaybackPositionEntity>)
+
+    /**
+     * Delete the playback positions of the given media items
+     */
+    @Query("DELETE FROM ${MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS} WHERE media_id IN (:mediaIds)")
+    suspend fun deletePlaybackPositions(mediaIds: List<Long>)
+
+    /**
+     * Delete the least recently updated playback positions, keeping at most [maxEntries] rows
+     */
+    @Query(
+        "DELETE FROM ${MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS} WHERE media_id NOT IN " +
+                "(SELECT media_id FROM ${MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS} ORDER BY last_updated DESC LIMIT :maxEntries)"
+    )
+    suspend fun trimPlaybackPositions(maxEntries: Int)
+
+    /**
+     * Apply a batch of changes in a single transaction
+     *
+     * @param updated playback positions to insert or update
+     * @param deletedMediaIds media ids whose playback position must be removed
+     * @param maxEntries maximum number of rows to retain after the changes are applied
+     */
+    @Transaction
+    suspend fun applyPlaybackPositionChanges(
+        updated: List<PlaybackPositionEntity>,
+        deletedMediaIds: List<Long>,
+        maxEntries: Int,
+    ) {
+        if (deletedMediaIds.isNotEmpty()) deletePlaybackPositions(deletedMediaIds)
+        if (updated.isNotEmpty()) upsertPlaybackPositions(updated)
+        trimPlaybackPositions(maxEntries)
+    }
+}
@@ -0,0 +1,22 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.Query
+import mega.privacy.android.data.database.MegaDatabaseConstant
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
+
+@Dao
+internal interface SdCardMoveDao {
+    @Query("SELECT * FROM ${MegaDatabaseConstant.TABLE_SD_CARD_MOVES} ORDER BY id")
+    suspend fun getAllSdCardMoves(): List<SdCardMoveEntity>
+
+    @Insert
+    suspend fun insertSdCardMove(entity: SdCardMoveEntity): Long
+
+    @Query("UPDATE ${MegaDatabaseConstant.TABLE_SD_CARD_MOVES} SET attempts = attempts + 1 WHERE id = :id")
+    suspend fun incrementSdCardMoveAttempts(id: Long)
+
+    @Query("DELETE FROM ${MegaDatabaseConstant.TABLE_SD_CARD_MOVES} WHERE id = :id")
+    suspend fun deleteSdCardMoveById(id: Long)
+}
@@ -80,26 +80,6 @@ interface TypedMessageDao {
     @Query("SELECT messageId FROM typed_messages WHERE chatId = :chatId AND type = :type ORDER BY timestamp DESC")
     suspend fun getMessageIdsByType(chatId: Long, type: ChatMessageType): List<Long>
 
-    /**
-     * Get message reactions
-     *
-     * @param chatId
-     * @param msgId
-     * @return String with Reactions if any.
-     */
-    @Query("SELECT reactions FROM typed_messages WHERE chatId = :chatId AND messageId = :msgId")
-    suspend fun getMessageReactions(chatId: Long, msgId: Long): String?
-
-    /**
-     * Update message reactions
-     *
-     * @param chatId Chat ID
-     * @param msgId Message ID
-     * @param reactions Updated reactions
-     */
-    @Query("UPDATE typed_messages SET reactions = :reactions WHERE chatId = :chatId AND messageId = :msgId")
-    suspend fun updateMessageReactions(chatId: Long, msgId: Long, reactions: String)
-
     /**
      * Delete messages by id
      *
@@ -138,4 +118,14 @@ interface TypedMessageDao {
      */
     @Query("SELECT does_exist FROM typed_messages WHERE chatId = :chatId AND messageId = :msgId")
     suspend fun getExists(chatId: Long, msgId: Long): Boolean?
+
+    /**
+     * Check if a message is stored.
+     *
+     * @param chatId Chat ID
+     * @param msgId Message ID
+     * @return True if the message is stored
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM typed_messages WHERE chatId = :chatId AND messageId = :msgId)")
+    suspend fun exists(chatId: Long, msgId: Long): Boolean
 }
\ No newline at end of file
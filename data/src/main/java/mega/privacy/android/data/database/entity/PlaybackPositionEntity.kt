@@ -0,0 +1,31 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import mega.privacy.android.data.database.MegaDatabaseConstant
+
+/**
+ * Entity for [MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS]
+ *
+ * @property mediaId the media id of media item
+ * @property totalDuration the total duration of media item
+ * @property currentPosition the current position of media item
+ * @property lastUpdated timestamp of the last update, used to evict the least recently played entries
+ */
+@Entity(
+    tableName = MegaDatabaseConstant.TABLE_PLAYBACK_POSITIONS,
+    indices = [Index(value = ["last_updated"])]
+)
+internal data class PlaybackPositionEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "media_id")
+    val mediaId: Long,
+    @ColumnInfo(name = "total_duration")
+    val totalDuration: Long,
+    @ColumnInfo(name = "current_position")
+    val currentPosition: Long,
+    @ColumnInfo(name = "last_updated")
+    val lastUpdated: Long,
+)
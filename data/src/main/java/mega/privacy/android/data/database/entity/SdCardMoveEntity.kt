@@ -0,0 +1,25 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+import mega.privacy.android.data.database.MegaDatabaseConstant
+
+/**
+ * Entity for [MegaDatabaseConstant.TABLE_SD_CARD_MOVES]
+ *
+ * @property id
+ * @property encryptedSourcePath path of the downloaded file in the cache
+ * @property encryptedDestinationUri uri of the destination folder
+ * @property encryptedSubFolders sub folders of the destination, separated by the file separator
+ * @property attempts number of failed attempts to move the file
+ */
+@Entity(MegaDatabaseConstant.TABLE_SD_CARD_MOVES)
+internal data class SdCardMoveEntity(
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "id") val id: Long? = null,
+    @ColumnInfo(name = "source_path") val encryptedSourcePath: String?,
+    @ColumnInfo(name = "destination_uri") val encryptedDestinationUri: String?,
+    @ColumnInfo(name = "sub_folders") val encryptedSubFolders: String?,
+    @ColumnInfo(name = "attempts", defaultValue = "0") val attempts: Int = 0,
+)
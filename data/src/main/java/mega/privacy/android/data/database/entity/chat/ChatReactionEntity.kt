@@ -0,0 +1,31 @@
+package mega.privacy.android.data.database.entity.chat
+
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.TypeConverters
+import mega.privacy.android.data.database.converter.TypedMessageEntityConverters
+
+/**
+ * Entity to store a reaction of a message.
+ *
+ * @property chatId Chat ID.
+ * @property messageId Message ID.
+ * @property reaction Reaction.
+ * @property count Number of users who reacted with this reaction.
+ * @property userHandles List of user handles who reacted with this reaction.
+ * @property hasMe True if the current user reacted with this reaction, false otherwise.
+ */
+@Entity(
+    tableName = "chat_reactions",
+    primaryKeys = ["chatId", "messageId", "reaction"],
+    indices = [Index("messageId")],
+)
+@TypeConverters(TypedMessageEntityConverters::class)
+data class ChatReactionEntity(
+    val chatId: Long,
+    val messageId: Long,
+    val reaction: String,
+    val count: Int,
+    val userHandles: List<Long>,
+    val hasMe: Boolean,
+)
@@ -12,6 +12,7 @@ import androidx.room.Relation
  * @property richPreviewEntity Rich preview entity
  * @property geolocationEntity Chat geolocation entity
  * @property giphyEntity Giphy entity
+ * @property reactions Reactions of the message
  */
 data class MetaTypedMessageEntity(
     @Embedded val typedMessageEntity: TypedMessageEntity,
@@ -39,4 +40,10 @@ data class MetaTypedMessageEntity(
         entity = GiphyEntity::class
     )
     val giphyEntity: GiphyEntity?,
+    @Relation(
+        parentColumn = "messageId",
+        entityColumn = "messageId",
+        entity = ChatReactionEntity::class
+    )
+    val reactions: List<ChatReactionEntity>,
 )
\ No newline at end of file
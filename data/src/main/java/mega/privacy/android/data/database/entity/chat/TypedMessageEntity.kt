@@ -12,7 +12,6 @@ import mega.privacy.android.domain.entity.chat.ChatMessageStatus
 import mega.privacy.android.domain.entity.chat.ChatMessageTermCode
 import mega.privacy.android.domain.entity.chat.ChatMessageType
 import mega.privacy.android.domain.entity.chat.messages.ChatMessageInfo
-import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
 import kotlin.time.Duration
 
 /**
@@ -49,7 +48,6 @@ import kotlin.time.Duration
  * @property changes List of changes.
  * @property isMine True if the message is mine, false otherwise.
  * @property textMessage Text message.
- * @property reactions list of [Reaction]
  * @property exists whether the voice clip exists
  */
 @Entity(tableName = "typed_messages")
@@ -85,7 +83,6 @@ data class TypedMessageEntity(
     override val changes: List<ChatMessageChange>,
     val isMine: Boolean,
     val textMessage: String?,
-    val reactions: List<Reaction>,
     @ColumnInfo(name = "does_exist") val exists: Boolean,
 ) : ChatMessageInfo
 
@@ -17,6 +17,7 @@ import dagger.hilt.components.SingletonComponent
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import mega.privacy.android.data.preferences.RequestPhoneNumberPreferencesDataStore.Companion.REQUEST_PHONE_NUMBER_FILE
+import mega.privacy.android.data.preferences.base.WriteBehindDataStore
 import mega.privacy.android.data.preferences.base.createEncrypted
 import mega.privacy.android.data.preferences.cameraUploadsSettingsPreferenceDataStoreName
 import mega.privacy.android.data.preferences.credentialDataStoreName
@@ -26,6 +27,7 @@ import mega.privacy.android.data.preferences.psa.psaPreferenceDataStoreName
 import mega.privacy.android.data.preferences.security.PasscodeDatastoreMigration
 import mega.privacy.android.data.preferences.security.passcodeDatastoreName
 import mega.privacy.android.data.qualifier.RequestPhoneNumberPreference
+import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import javax.inject.Named
 import javax.inject.Singleton
@@ -81,15 +83,21 @@ internal object DataStoreModule {
             produceFile = { context.preferencesDataStoreFile(passcodeDatastoreName) }
         )
 
+    /**
+     * Provides DataStore<Preferences> for [cameraUploadsSettingsPreferenceDataStoreName]
+     *
+     * The settings are usually changed several at a time, so the writes are coalesced
+     */
     @Singleton
     @Provides
     @Named(cameraUploadsSettingsPreferenceDataStoreName)
     fun provideCameraUploadsSettingsPreferenceDataStore(
         @ApplicationContext context: Context,
         @IoDispatcher ioDispatcher: CoroutineDispatcher,
+        @ApplicationScope appScope: CoroutineScope,
         migration: CameraUploadsSettingsPreferenceDataStoreMigration,
-    ): DataStore<Preferences> =
-        PreferenceDataStoreFactory.create(
+    ): DataStore<Preferences> = WriteBehindDataStore(
+        delegate = PreferenceDataStoreFactory.create(
             corruptionHandler = ReplaceFileCorruptionHandler(
                 produceNewData = { emptyPreferences() }
             ),
@@ -102,7 +110,9 @@ internal object DataStoreModule {
                     cameraUploadsSettingsPreferenceDataStoreName
                 )
             }
-        )
+        ),
+        scope = appScope,
+    )
 
     @Singleton
     @Provides
@@ -11,6 +11,7 @@ import mega.privacy.android.data.facade.BillingFacade
 import mega.privacy.android.data.facade.CacheFolderFacade
 import mega.privacy.android.data.facade.CameraUploadsMediaFacade
 import mega.privacy.android.data.facade.ClipboardFacade
+import mega.privacy.android.data.facade.CompletedTransferFacade
 import mega.privacy.android.data.facade.FileAttributeFacade
 import mega.privacy.android.data.facade.FileFacade
 import mega.privacy.android.data.facade.FileManagementPreferencesFacade
@@ -24,6 +25,7 @@ import mega.privacy.android.data.facade.MegaLocalStorageFacade
 import mega.privacy.android.data.facade.NotificationsFacade
 import mega.privacy.android.data.facade.PermissionFacade
 import mega.privacy.android.data.facade.SDCardFacade
+import mega.privacy.android.data.facade.SdCardMoveFacade
 import mega.privacy.android.data.facade.TelephonyFacade
 import mega.privacy.android.data.facade.VerifyPurchaseFacade
 import mega.privacy.android.data.facade.VideoCompressionFacade
@@ -41,6 +43,7 @@ import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.CacheGatewayImpl
 import mega.privacy.android.data.gateway.CameraUploadsMediaGateway
 import mega.privacy.android.data.gateway.ClipboardGateway
+import mega.privacy.android.data.gateway.CompletedTransferGateway
 import mega.privacy.android.data.gateway.DefaultAppInfoGateway
 import mega.privacy.android.data.gateway.DefaultStreamingGateway
 import mega.privacy.android.data.gateway.DeviceGateway
@@ -54,6 +57,7 @@ import mega.privacy.android.data.gateway.MegaLocalStorageGateway
 import mega.privacy.android.data.gateway.NotificationsGateway
 import mega.privacy.android.data.gateway.PermissionGateway
 import mega.privacy.android.data.gateway.SDCardGateway
+import mega.privacy.android.data.gateway.SdCardMoveGateway
 import mega.privacy.android.data.gateway.TelephonyGateway
 import mega.privacy.android.data.gateway.VerifyPurchaseGateway
 import mega.privacy.android.data.gateway.VideoCompressorGateway
@@ -256,6 +260,28 @@ internal abstract class GatewayModule {
     @Binds
     abstract fun bindSDCardGateway(implementation: SDCardFacade): SDCardGateway
 
+    /**
+     * Provides the default implementation to [SdCardMoveGateway]
+     *
+     * @param implementation [SdCardMoveFacade]
+     *
+     * @return [SdCardMoveGateway]
+     */
+    @Binds
+    abstract fun bindSdCardMoveGateway(implementation: SdCardMoveFacade): SdCardMoveGateway
+
+    /**
+     * Provides the default implementation to [CompletedTransferGateway]
+     *
+     * @param implementation [CompletedTransferFacade]
+     *
+     * @return [CompletedTransferGateway]
+     */
+    @Binds
+    abstract fun bindCompletedTransferGateway(
+        implementation: CompletedTransferFacade,
+    ): CompletedTransferGateway
+
     @Binds
     @Singleton
     abstract fun bindMegaLocalRoomGateway(implementation: MegaLocalRoomFacade): MegaLocalRoomGateway
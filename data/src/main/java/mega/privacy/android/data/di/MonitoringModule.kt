@@ -0,0 +1,47 @@
+package mega.privacy.android.data.di
+
+import dagger.Binds
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.components.SingletonComponent
+import dagger.multibindings.IntoSet
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.asExecutor
+import mega.privacy.android.data.repository.monitoring.PerformanceReporterTraceSink
+import mega.privacy.android.domain.monitoring.PerformanceTracer
+import mega.privacy.android.domain.monitoring.TraceSampler
+import mega.privacy.android.domain.monitoring.TraceSink
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+internal abstract class MonitoringModule {
+
+    @Binds
+    @IntoSet
+    abstract fun bindPerformanceReporterTraceSink(implementation: PerformanceReporterTraceSink): TraceSink
+
+    companion object {
+        /**
+         * One of every [TRACE_SAMPLING_RATE] calls of each traced operation is measured
+         */
+        internal const val TRACE_SAMPLING_RATE = 4
+
+        /**
+         * Provides the [PerformanceTracer] of the hot paths, reporting to the [TraceSink] set on
+         * the IO dispatcher
+         */
+        @Singleton
+        @Provides
+        fun providePerformanceTracer(
+            traceSinks: Set<@JvmSuppressWildcards TraceSink>,
+            @IoDispatcher ioDispatcher: CoroutineDispatcher,
+        ): PerformanceTracer = PerformanceTracer(
+            sinks = traceSinks.toList(),
+            reportExecutor = ioDispatcher.asExecutor(),
+            sampler = TraceSampler.everyNth(TRACE_SAMPLING_RATE),
+        )
+    }
+}
@@ -24,6 +24,8 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PlaybackPositionDao
+import mega.privacy.android.data.database.dao.SdCardMoveDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.dao.SyncSolvedIssuesDao
 import mega.privacy.android.data.database.dao.TypedMessageDao
@@ -122,6 +124,11 @@ internal object RoomDatabaseModule {
     internal fun provideSdTransferDao(database: MegaDatabase): SdTransferDao =
         database.sdTransferDao()
 
+    @Provides
+    @Singleton
+    internal fun provideSdCardMoveDao(database: MegaDatabase): SdCardMoveDao =
+        database.sdCardMoveDao()
+
     @Provides
     @Singleton
     internal fun provideBackupDao(database: MegaDatabase): BackupDao =
@@ -137,6 +144,11 @@ internal object RoomDatabaseModule {
     internal fun provideChatPendingChangesDao(database: MegaDatabase): ChatPendingChangesDao =
         database.chatPendingChangesDao()
 
+    @Provides
+    @Singleton
+    internal fun providePlaybackPositionDao(database: MegaDatabase): PlaybackPositionDao =
+        database.playbackPositionDao()
+
     @Provides
     @Singleton
     @Named("aes_key")
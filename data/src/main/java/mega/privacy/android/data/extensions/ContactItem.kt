@@ -8,9 +8,15 @@ import mega.privacy.android.domain.entity.contacts.ContactItem
  * @return The ordered list.
  */
 fun List<ContactItem>.sortList(): List<ContactItem> =
-    sortedBy { (_, email, contactData) ->
-        contactData.alias?.lowercase() ?: contactData.fullName?.lowercase() ?: email.lowercase()
-    }
+    map { it.getSortKey() to it }.sortedBy { (sortKey) -> sortKey }.map { (_, item) -> item }
+
+/**
+ * Gets the key used to sort [ContactItem] lists: alias if exists, if not full name if exists, else email.
+ *
+ * @return The lowercase sort key.
+ */
+fun ContactItem.getSortKey(): String =
+    contactData.alias?.lowercase() ?: contactData.fullName?.lowercase() ?: email.lowercase()
 
 /**
  * Searches a [ContactItem] with the received handle.
@@ -0,0 +1,96 @@
+package mega.privacy.android.data.facade
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import mega.privacy.android.data.gateway.CompletedTransferGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.domain.entity.transfer.CompletedTransfer
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import timber.log.Timber
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Default implementation of [CompletedTransferGateway]
+ *
+ * Every insert of a completed transfer re-emits the observed list, so the added transfers are
+ * buffered and saved together once [MAX_BATCH_SIZE] are pending, [BATCH_WINDOW] after the first
+ * one, or when the transfers worker finishes and calls [flush]. The existence checks only load the
+ * saved transfers of the same nodes, and use the transfer without its id as natural key in a hash
+ * set instead of comparing every pair.
+ */
+@Singleton
+internal class CompletedTransferFacade @Inject constructor(
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @ApplicationScope private val appScope: CoroutineScope,
+) : CompletedTransferGateway {
+
+    // Transfers waiting to be saved, guarded by itself
+    private val pendingTransfers = mutableListOf<CompletedTransfer>()
+    private var flushScheduled = false
+    private val flushMutex = Mutex()
+
+    override fun add(transfer: CompletedTransfer) {
+        val isBatchFull = synchronized(pendingTransfers) {
+            pendingTransfers.add(transfer)
+            if (!flushScheduled) scheduleFlush(BATCH_WINDOW)
+            pendingTransfers.size == MAX_BATCH_SIZE
+        }
+        if (isBatchFull) appScope.launch(ioDispatcher) { flush() }
+    }
+
+    override suspend fun flush(): Unit = flushMutex.withLock {
+        val batch = synchronized(pendingTransfers) {
+            flushScheduled = false
+            pendingTransfers.toList().also { pendingTransfers.clear() }
+        }
+        if (batch.isEmpty()) return@withLock
+        runCatching {
+            withContext(ioDispatcher) { megaLocalRoomGateway.addCompletedTransfers(batch) }
+        }.onFailure {
+            Timber.e(it, "Error saving the completed transfers")
+            synchronized(pendingTransfers) {
+                pendingTransfers.addAll(0, batch)
+                if (!flushScheduled) scheduleFlush(BATCH_WINDOW)
+            }
+        }
+    }
+
+    override suspend fun addIfNotExist(transfers: List<CompletedTransfer>) =
+        withContext(ioDispatcher) {
+            val keys = megaLocalRoomGateway
+                .getCompletedTransfersByHandles(transfers.map { it.handle }.distinct())
+                .mapTo(HashSet()) { it.naturalKey() }
+            val newTransfers = transfers.map { it.naturalKey() }.filter { keys.add(it) }
+            if (newTransfers.isNotEmpty()) {
+                megaLocalRoomGateway.addCompletedTransfers(newTransfers)
+            }
+        }
+
+    /**
+     * Launches a flush after [delay]. Must be called holding [pendingTransfers]
+     */
+    private fun scheduleFlush(delay: Duration) {
+        flushScheduled = true
+        appScope.launch(ioDispatcher) {
+            delay(delay)
+            flush()
+        }
+    }
+
+    private fun CompletedTransfer.naturalKey() = copy(id = null)
+
+    companion object {
+        private const val MAX_BATCH_SIZE = 500
+        internal val BATCH_WINDOW = 1.seconds
+    }
+}
@@ -835,6 +835,12 @@ internal class MegaApiFacade @Inject constructor(
     ) =
         megaApi.removeSetElement(sid, eid, listener)
 
+    override suspend fun removeSetElements(
+        sid: Long,
+        eids: MegaHandleList,
+        listener: MegaRequestListenerInterface,
+    ) = megaApi.removeSetElements(sid, eids, listener)
+
     override suspend fun getSets(): MegaSetList = megaApi.sets
 
     override suspend fun getSet(sid: Long): MegaSet? = megaApi.getSet(sid)
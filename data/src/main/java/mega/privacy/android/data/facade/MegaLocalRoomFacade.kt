@@ -12,6 +12,8 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PlaybackPositionDao
+import mega.privacy.android.data.database.dao.SdCardMoveDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.mapper.backup.BackupEntityMapper
@@ -23,11 +25,15 @@ import mega.privacy.android.data.mapper.chat.ChatRoomPendingChangesEntityMapper
 import mega.privacy.android.data.mapper.chat.ChatRoomPendingChangesModelMapper
 import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
+import mega.privacy.android.data.mapper.mediaplayer.PlaybackInformationMapper
+import mega.privacy.android.data.mapper.mediaplayer.PlaybackPositionEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineModelMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferModelMapper
+import mega.privacy.android.data.mapper.transfer.sd.SdCardMoveEntityMapper
+import mega.privacy.android.data.mapper.transfer.sd.SdCardMoveModelMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferModelMapper
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
@@ -40,9 +46,12 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
+import mega.privacy.android.domain.entity.transfer.SdCardMove
 import mega.privacy.android.domain.entity.transfer.TransferType
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import javax.inject.Inject
 
 internal class MegaLocalRoomFacade @Inject constructor(
@@ -72,6 +81,13 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val chatPendingChangesDao: ChatPendingChangesDao,
     private val chatRoomPendingChangesEntityMapper: ChatRoomPendingChangesEntityMapper,
     private val chatRoomPendingChangesModelMapper: ChatRoomPendingChangesModelMapper,
+    private val playbackPositionDao: PlaybackPositionDao,
+    private val playbackPositionEntityMapper: PlaybackPositionEntityMapper,
+    private val playbackInformationMapper: PlaybackInformationMapper,
+    private val sdCardMoveDao: SdCardMoveDao,
+    private val sdCardMoveEntityMapper: SdCardMoveEntityMapper,
+    private val sdCardMoveModelMapper: SdCardMoveModelMapper,
+    private val performanceTracer: PerformanceTracer,
 ) : MegaLocalRoomGateway {
     override suspend fun insertContact(contact: Contact) {
         contactDao.insertOrUpdateContact(contactEntityMapper(contact))
@@ -132,29 +148,44 @@ internal class MegaLocalRoomFacade @Inject constructor(
     }
 
     override fun getAllCompletedTransfers(size: Int?) =
-        completedTransferDao.getAllCompletedTransfers()
+        // The rows are inserted as the transfers finish, so only the last ones are decrypted
+        (size?.let { completedTransferDao.getLastCompletedTransfers(it) }
+            ?: completedTransferDao.getAllCompletedTransfers())
             .map { list ->
                 list.map { completedTransferModelMapper(it) }
-                    .toMutableList()
-                    .apply { sortWith(compareByDescending { it.timestamp }) }
-                    .let { if (size != null) it.take(size) else it }
+                    .sortedByDescending { it.timestamp }
             }
 
-    override suspend fun addCompletedTransfer(transfer: CompletedTransfer) {
-        completedTransferDao.insertOrUpdateCompletedTransfer(completedTransferEntityMapper(transfer))
+    override suspend fun addCompletedTransfer(transfer: CompletedTransfer) =
+        performanceTracer.trace(TRACE_ADD_COMPLETED_TRANSFER) {
+            completedTransferDao.insertOrUpdateCompletedTransfer(completedTransferEntityMapper(transfer))
+        }
+
+    override suspend fun addCompletedTransfers(transfers: List<CompletedTransfer>) {
+        completedTransferDao.insertOrUpdateCompletedTransfers(
+            transfers.map { completedTransferEntityMapper(it) }
+        )
     }
 
+    override suspend fun getCompletedTransfersByHandles(handles: List<Long>): List<CompletedTransfer> =
+        // The encryption is deterministic, so the handles are compared encrypted
+        handles.mapNotNull { encryptData(it.toString()) }
+            .chunked(MAX_QUERY_ARGUMENTS)
+            .flatMap { completedTransferDao.getCompletedTransfersByHandles(it) }
+            .map { completedTransferModelMapper(it) }
+
     override suspend fun getCompletedTransfersCount() =
         completedTransferDao.getCompletedTransfersCount()
 
     override suspend fun deleteAllCompletedTransfers() =
         completedTransferDao.deleteAllCompletedTransfers()
 
-    override suspend fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
-        val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
-        return completedTransferDao.getCompletedTransfersByState(encryptedStates)
-            .map { entity -> completedTransferModelMapper(entity) }
-    }
+    override suspend fun getCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> =
+        performanceTracer.trace(TRACE_GET_COMPLETED_TRANSFERS_BY_STATE) {
+            val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
+            completedTransferDao.getCompletedTransfersByState(encryptedStates)
+                .map { entity -> completedTransferModelMapper(entity) }
+        }
 
     override suspend fun deleteCompletedTransfersByState(states: List<Int>): List<CompletedTransfer> {
         val encryptedStates = states.mapNotNull { encryptData(it.toString()) }
@@ -197,7 +228,9 @@ internal class MegaLocalRoomFacade @Inject constructor(
         activeTransferDao.getCurrentActiveTransfersByType(transferType).map { it }
 
     override suspend fun insertOrUpdateActiveTransfer(activeTransfer: ActiveTransfer) =
-        activeTransferDao.insertOrUpdateActiveTransfer(activeTransferEntityMapper(activeTransfer))
+        performanceTracer.trace(TRACE_INSERT_OR_UPDATE_ACTIVE_TRANSFER) {
+            activeTransferDao.insertOrUpdateActiveTransfer(activeTransferEntityMapper(activeTransfer))
+        }
 
     override suspend fun deleteAllActiveTransfersByType(transferType: TransferType) =
         activeTransferDao.deleteAllActiveTransfersByType(transferType)
@@ -222,17 +255,35 @@ internal class MegaLocalRoomFacade @Inject constructor(
         sdTransferDao.deleteSdTransferByTag(tag)
     }
 
+    override suspend fun getAllSdCardMoves(): List<SdCardMove> =
+        sdCardMoveDao.getAllSdCardMoves().map { sdCardMoveModelMapper(it) }
+
+    override suspend fun insertSdCardMove(sdCardMove: SdCardMove): Long =
+        sdCardMoveDao.insertSdCardMove(sdCardMoveEntityMapper(sdCardMove))
+
+    override suspend fun incrementSdCardMoveAttempts(id: Long) {
+        sdCardMoveDao.incrementSdCardMoveAttempts(id)
+    }
+
+    override suspend fun deleteSdCardMove(id: Long) {
+        sdCardMoveDao.deleteSdCardMoveById(id)
+    }
+
     override suspend fun getCompletedTransferById(id: Int) = completedTransferDao
         .getCompletedTransferById(id)?.let { completedTransferModelMapper(it) }
 
     override suspend fun insertOrUpdateCameraUploadsRecords(records: List<CameraUploadsRecord>) =
-        cameraUploadsRecordDao.insertOrUpdateCameraUploadsRecords(
-            records.map { cameraUploadsRecordEntityMapper(it) }
-        )
+        performanceTracer.trace(TRACE_INSERT_OR_UPDATE_CAMERA_UPLOADS_RECORDS) {
+            cameraUploadsRecordDao.insertOrUpdateCameraUploadsRecords(
+                records.map { cameraUploadsRecordEntityMapper(it) }
+            )
+        }
 
     override suspend fun getAllCameraUploadsRecords(): List<CameraUploadsRecord> =
-        cameraUploadsRecordDao.getAllCameraUploadsRecords().map {
-            cameraUploadsRecordModelMapper(it)
+        performanceTracer.trace(TRACE_GET_ALL_CAMERA_UPLOADS_RECORDS) {
+            cameraUploadsRecordDao.getAllCameraUploadsRecords().map {
+                cameraUploadsRecordModelMapper(it)
+            }
         }
 
     override suspend fun getCameraUploadsRecordsBy(
@@ -358,8 +409,10 @@ internal class MegaLocalRoomFacade @Inject constructor(
         offlineDao.getOfflineByHandle("${encryptData("$nodeHandle")}") != null
 
     override suspend fun getOfflineInformation(nodeHandle: Long) =
-        offlineDao.getOfflineByHandle("${encryptData("$nodeHandle")}")?.let {
-            offlineModelMapper(it)
+        performanceTracer.trace(TRACE_GET_OFFLINE_INFORMATION) {
+            offlineDao.getOfflineByHandle("${encryptData("$nodeHandle")}")?.let {
+                offlineModelMapper(it)
+            }
         }
 
     override suspend fun saveOfflineInformation(offline: Offline) =
@@ -374,7 +427,9 @@ internal class MegaLocalRoomFacade @Inject constructor(
 
 
     override suspend fun getAllOfflineInfo() =
-        offlineDao.getOfflineFiles()?.map { offlineModelMapper(it) }
+        performanceTracer.trace(TRACE_GET_ALL_OFFLINE_INFO) {
+            offlineDao.getOfflineFiles()?.map { offlineModelMapper(it) }
+        }
 
     override suspend fun removeOfflineInformation(nodeId: String) {
         encryptData(nodeId)?.let {
@@ -392,9 +447,15 @@ internal class MegaLocalRoomFacade @Inject constructor(
             offlineModelMapper(it)
         }
 
-    override suspend fun removeOfflineInformationById(id: Int) {
-        offlineDao.deleteOfflineById(id)
-    }
+    override suspend fun getOfflineSubtreeIds(id: Int) = offlineDao.getOfflineSubtreeIds(id)
+
+    override suspend fun countOfflineDescendants(id: Int) = offlineDao.countOfflineDescendants(id)
+
+    override suspend fun removeOfflineInformationSubtree(id: Int) =
+        offlineDao.deleteOfflineSubtreeAndEmptyAncestors(id)
+
+    override suspend fun saveOfflineInformationBranch(branch: List<Offline>, parentId: Int?) =
+        offlineDao.insertOfflineBranch(branch.map { offlineEntityMapper(it) }, parentId)
 
     private suspend fun deleteCompletedTransferBatch(ids: List<Int>) {
         ids.chunked(50).forEach {
@@ -424,7 +485,42 @@ internal class MegaLocalRoomFacade @Inject constructor(
         chatPendingChangesDao.getChatPendingChanges(chatId)
             .map { entity -> entity?.let { chatRoomPendingChangesModelMapper(it) } }
 
+    override suspend fun getPlaybackInformation(mediaId: Long) =
+        playbackPositionDao.getPlaybackPosition(mediaId)?.let { playbackInformationMapper(it) }
+
+    override fun monitorAllPlaybackInformation() =
+        playbackPositionDao.monitorAllPlaybackPositions()
+            .map { entities -> entities.map { playbackInformationMapper(it) } }
+
+    override suspend fun applyPlaybackInformationChanges(
+        updated: Map<Long, PlaybackInformation>,
+        deletedMediaIds: Set<Long>,
+        maxEntries: Int,
+    ) {
+        // One millisecond apart in iteration order, so the trim evicts the first ones first
+        val firstUpdated = System.currentTimeMillis() - updated.size + 1
+        playbackPositionDao.applyPlaybackPositionChanges(
+            updated = updated.entries.mapIndexed { index, (mediaId, playbackInformation) ->
+                playbackPositionEntityMapper(mediaId, playbackInformation, firstUpdated + index)
+            },
+            deletedMediaIds = deletedMediaIds.toList(),
+            maxEntries = maxEntries,
+        )
+    }
+
     companion object {
         private const val MAX_COMPLETED_TRANSFER_ROWS = 100
+        private const val MAX_QUERY_ARGUMENTS = 500
+        internal const val TRACE_ADD_COMPLETED_TRANSFER = "room_add_completed_transfer"
+        internal const val TRACE_GET_COMPLETED_TRANSFERS_BY_STATE =
+            "room_get_completed_transfers_by_state"
+        internal const val TRACE_INSERT_OR_UPDATE_ACTIVE_TRANSFER =
+            "room_insert_or_update_active_transfer"
+        internal const val TRACE_INSERT_OR_UPDATE_CAMERA_UPLOADS_RECORDS =
+            "room_insert_or_update_camera_uploads_records"
+        internal const val TRACE_GET_ALL_CAMERA_UPLOADS_RECORDS =
+            "room_get_all_camera_uploads_records"
+        internal const val TRACE_GET_OFFLINE_INFORMATION = "room_get_offline_information"
+        internal const val TRACE_GET_ALL_OFFLINE_INFO = "room_get_all_offline_info"
     }
 }
@@ -0,0 +1,229 @@
+package mega.privacy.android.data.facade
+
+import android.content.Context
+import android.net.Uri
+import android.webkit.MimeTypeMap
+import androidx.documentfile.provider.DocumentFile
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import mega.privacy.android.data.gateway.AppEventGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.data.gateway.SdCardMoveGateway
+import mega.privacy.android.data.wrapper.DocumentFileWrapper
+import mega.privacy.android.domain.entity.transfer.SdCardMove
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import timber.log.Timber
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Default implementation of [SdCardMoveGateway]
+ *
+ * Resolving a folder through SAF lists its parent, so the resolved destination folders are kept
+ * in an LRU cache per tree uri and sub folder path, together with their listed children. Moving
+ * the files of a downloaded folder then costs one listing per folder instead of several per file.
+ * Queued moves are saved in the database until they are done, so they can be resumed after the
+ * process is killed. A move that fails [MAX_MOVE_ATTEMPTS] times is dropped and reported as a
+ * failed transfer.
+ */
+@Singleton
+internal class SdCardMoveFacade @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val documentFileWrapper: DocumentFileWrapper,
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
+    private val appEventGateway: AppEventGateway,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @ApplicationScope private val appScope: CoroutineScope,
+) : SdCardMoveGateway {
+
+    private val directoriesMutex = Mutex()
+    private val directories = object : LinkedHashMap<String, CachedDirectory>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CachedDirectory>?) =
+            size > MAX_CACHED_DIRECTORIES
+    }
+
+    private val pendingMoves = Channel<SdCardMove>(Channel.UNLIMITED)
+    private val queuedMoveIds = ConcurrentHashMap.newKeySet<Long>()
+    private val workersStarted = AtomicBoolean(false)
+
+    override suspend fun moveFile(
+        file: File,
+        destinationUri: String,
+        subFolders: List<String>,
+    ): Boolean = withContext(ioDispatcher) {
+        val mimeType = MimeTypeMap.getSingleton().getMimeTypeFromExtension(file.extension)
+            ?: DEFAULT_MIME_TYPE
+        val destination = createDestinationFile(destinationUri, subFolders, file.name, mimeType)
+            ?: run {
+                // The cached folders are stale if they were changed outside the app
+                invalidateDirectories(destinationUri)
+                createDestinationFile(destinationUri, subFolders, file.name, mimeType)
+            }
+            ?: return@withContext false
+
+        try {
+            copy(file, destination.uri)
+            file.delete()
+            true
+        } catch (e: IOException) {
+            Timber.e(e, "Error moving file to the sd card")
+            false
+        }
+    }
+
+    override suspend fun enqueueMove(
+        file: File,
+        destinationUri: String,
+        subFolders: List<String>,
+    ) {
+        val move = SdCardMove(
+            sourcePath = file.absolutePath,
+            destinationUri = destinationUri,
+            subFolders = subFolders,
+        )
+        queue(move.copy(id = megaLocalRoomGateway.insertSdCardMove(move)))
+    }
+
+    override suspend fun resumePendingMoves() {
+        megaLocalRoomGateway.getAllSdCardMoves().forEach { queue(it) }
+    }
+
+    private fun queue(move: SdCardMove) {
+        if (!queuedMoveIds.add(move.id)) return
+        startWorkers()
+        pendingMoves.trySend(move)
+    }
+
+    private fun startWorkers() {
+        if (!workersStarted.compareAndSet(false, true)) return
+        repeat(MAX_CONCURRENT_MOVES) {
+            appScope.launch(ioDispatcher) {
+                for (move in pendingMoves) {
+                    runCatching { processMove(move) }.onFailure { Timber.e(it) }
+                    queuedMoveIds.remove(move.id)
+                }
+            }
+        }
+    }
+
+    private suspend fun processMove(move: SdCardMove) {
+        val file = File(move.sourcePath)
+        if (!file.exists() || moveFile(file, move.destinationUri, move.subFolders)) {
+            megaLocalRoomGateway.deleteSdCardMove(move.id)
+        } else if (move.attempts + 1 >= MAX_MOVE_ATTEMPTS) {
+            Timber.e("File not moved to the sd card after $MAX_MOVE_ATTEMPTS attempts")
+            megaLocalRoomGateway.deleteSdCardMove(move.id)
+            appEventGateway.broadcastFailedTransfer(true)
+        } else {
+            megaLocalRoomGateway.incrementSdCardMoveAttempts(move.id)
+            Timber.w("File not moved to the sd card, it will be retried when the moves are resumed")
+        }
+    }
+
+    private suspend fun createDestinationFile(
+        destinationUri: String,
+        subFolders: List<String>,
+        fileName: String,
+        mimeType: String,
+    ): DocumentFile? = directoriesMutex.withLock {
+        val directory = getDirectory(destinationUri, subFolders) ?: return@withLock null
+        val children = directory.getChildren()
+        children.remove(fileName)?.delete()
+        directory.document.createFile(mimeType, fileName)?.also { children[fileName] = it }
+    }
+
+    private fun getDirectory(destinationUri: String, subFolders: List<String>): CachedDirectory? {
+        var key = destinationUri
+        var directory = directories[key]
+            ?: documentFileWrapper.fromTreeUri(Uri.parse(destinationUri))
+                ?.let { CachedDirectory(it) }
+                ?.also { directories[key] = it }
+            ?: return null
+
+        for (folder in subFolders) {
+            key += File.separator + folder
+            directory = directories[key]
+                ?: directory.getOrCreateChildDirectory(folder)
+                    ?.let { CachedDirectory(it) }
+                    ?.also { directories[key] = it }
+                        ?: return null
+        }
+        return directory
+    }
+
+    private fun CachedDirectory.getOrCreateChildDirectory(name: String): DocumentFile? {
+        val children = getChildren()
+        return children[name] ?: document.createDirectory(name)?.also { children[name] = it }
+    }
+
+    private suspend fun invalidateDirectories(destinationUri: String) = directoriesMutex.withLock {
+        directories.keys.removeAll {
+            it == destinationUri || it.startsWith(destinationUri + File.separator)
+        }
+    }
+
+    /**
+     * Copies the file with a channel transfer when the destination provides a file descriptor,
+     * with a large buffer otherwise
+     */
+    private fun copy(source: File, destination: Uri) {
+        val descriptor = context.contentResolver.openFileDescriptor(destination, "w")
+        if (descriptor != null) {
+            descriptor.use {
+                FileInputStream(source).channel.use { input ->
+                    FileOutputStream(it.fileDescriptor).channel.use { output ->
+                        val size = input.size()
+                        var position = 0L
+                        while (position < size) {
+                            val transferred = input.transferTo(position, size - position, output)
+                            if (transferred <= 0) throw IOException("Incomplete copy to $destination")
+                            position += transferred
+                        }
+                    }
+                }
+            }
+        } else {
+            val outputStream = context.contentResolver.openOutputStream(destination)
+                ?: throw IOException("Cannot open $destination")
+            FileInputStream(source).use { input ->
+                outputStream.use { output -> input.copyTo(output, COPY_BUFFER_SIZE) }
+            }
+        }
+    }
+
+    /**
+     * Destination folder and its children, listed the first time they are needed
+     */
+    private class CachedDirectory(val document: DocumentFile) {
+        private var children: MutableMap<String, DocumentFile>? = null
+
+        fun getChildren(): MutableMap<String, DocumentFile> = children
+            ?: HashMap<String, DocumentFile>().also { listed ->
+                document.listFiles().forEach { child ->
+                    child.name?.let { listed.putIfAbsent(it, child) }
+                }
+                children = listed
+            }
+    }
+
+    companion object {
+        private const val MAX_CACHED_DIRECTORIES = 64
+        private const val MAX_CONCURRENT_MOVES = 2
+        private const val MAX_MOVE_ATTEMPTS = 3
+        private const val COPY_BUFFER_SIZE = 1024 * 1024
+        private const val DEFAULT_MIME_TYPE = "application/octet-stream"
+    }
+}
@@ -7,6 +7,7 @@ import mega.privacy.android.data.database.dao.ChatMessageMetaDao
 import mega.privacy.android.data.database.dao.ChatNodeDao
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
 import mega.privacy.android.data.database.entity.chat.ChatNodeEntity
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.NodeMessageCrossRef
 import mega.privacy.android.data.database.entity.chat.PendingMessageEntity
@@ -53,6 +54,7 @@ internal class ChatStorageFacade @Inject constructor(
         giphys: List<GiphyEntity>,
         geolocations: List<ChatGeolocationEntity>,
         chatNodes: List<ChatNodeEntity>,
+        reactions: List<ChatReactionEntity>,
     ) {
         with(database) {
             val chatNodeDao = chatNodeDao()
@@ -62,6 +64,8 @@ internal class ChatStorageFacade @Inject constructor(
                 typedMessageDao.deleteStaleMessagesByTempIds(messages.map { it.tempId }
                     .filterNot { it == -1L })
                 typedMessageDao.insertAll(messages)
+                metaDao.deleteReactionsByMessageId(messages.map { it.messageId })
+                reactions.takeUnless { it.isEmpty() }?.let { metaDao.insertReactions(it) }
                 richPreviews.takeUnless { it.isEmpty() }
                     ?.let { metaDao.insertRichPreviews(it) }
                 giphys.takeUnless { it.isEmpty() }?.let { metaDao.insertGiphys(it) }
@@ -69,16 +73,15 @@ internal class ChatStorageFacade @Inject constructor(
                     ?.let { metaDao.insertGeolocations(it) }
                 chatNodes.takeUnless { it.isEmpty() }?.let { nodes ->
                     chatNodeDao.insertChatNodes(nodes)
-                    nodes.forEach {
+                    nodes.mapNotNull {
                         it.messageId?.let { messageId ->
-                            chatNodeDao.insertNodeMessageCrossRef(
-                                NodeMessageCrossRef(
-                                    messageId = messageId,
-                                    id = it.id
-                                )
+                            NodeMessageCrossRef(
+                                messageId = messageId,
+                                id = it.id
                             )
                         }
-                    }
+                    }.takeUnless { it.isEmpty() }
+                        ?.let { chatNodeDao.insertNodeMessageCrossRefs(it) }
                 }
             }
         }
@@ -160,17 +163,21 @@ internal class ChatStorageFacade @Inject constructor(
     override suspend fun getMessageIdsByType(chatId: Long, type: ChatMessageType): List<Long> =
         database.typedMessageDao().getMessageIdsByType(chatId, type)
 
-    override suspend fun getMessageReactions(chatId: Long, msgId: Long): String? =
-        database.typedMessageDao().getMessageReactions(chatId, msgId)
-
-    override suspend fun updateMessageReactions(
-        chatId: Long,
-        msgId: Long,
-        reactions: String,
-    ) {
-        database.typedMessageDao().updateMessageReactions(chatId, msgId, reactions)
+    override suspend fun upsertMessageReaction(reaction: ChatReactionEntity) {
+        with(database) {
+            val metaDao = chatMessageMetaDao()
+            val typedMessageDao = typedMessageDao()
+            withTransaction {
+                if (typedMessageDao.exists(reaction.chatId, reaction.messageId)) {
+                    metaDao.insertReactions(listOf(reaction))
+                }
+            }
+        }
     }
 
+    override suspend fun deleteMessageReaction(chatId: Long, msgId: Long, reaction: String) =
+        database.chatMessageMetaDao().deleteReaction(chatId, msgId, reaction)
+
     override suspend fun truncateMessages(chatId: Long, truncateTimestamp: Long) {
         with(database) {
             val chatNodeDao = chatNodeDao()
@@ -193,6 +200,7 @@ internal class ChatStorageFacade @Inject constructor(
         metaDao.deleteRichPreviewsByMessageId(messagesToDelete)
         metaDao.deleteGiphysByMessageId(messagesToDelete)
         metaDao.deleteGeolocationsByMessageId(messagesToDelete)
+        metaDao.deleteReactionsByMessageId(messagesToDelete)
         chatNodeDao.removeMessageNodeRelationship(messagesToDelete)
         chatNodeDao.deleteOrphanedNodes()
     }
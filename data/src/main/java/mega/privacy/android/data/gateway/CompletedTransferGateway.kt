@@ -0,0 +1,32 @@
+package mega.privacy.android.data.gateway
+
+import mega.privacy.android.domain.entity.transfer.CompletedTransfer
+
+/**
+ * Gateway to store the completed transfers in batches
+ */
+interface CompletedTransferGateway {
+
+    /**
+     * Adds a completed transfer to the pending ones, without waiting for it to be saved. The
+     * pending transfers are saved together in a single transaction once enough of them are
+     * pending, after a short delay, or when [flush] is called
+     *
+     * @param transfer the completed transfer
+     */
+    fun add(transfer: CompletedTransfer)
+
+    /**
+     * Saves the pending completed transfers right away, returning once they are saved. If the
+     * save fails they are kept pending and retried later
+     */
+    suspend fun flush()
+
+    /**
+     * Saves in a single transaction the completed transfers that are not saved yet. The id of the
+     * transfers is ignored to check if they exist
+     *
+     * @param transfers the completed transfers
+     */
+    suspend fun addIfNotExist(transfers: List<CompletedTransfer>)
+}
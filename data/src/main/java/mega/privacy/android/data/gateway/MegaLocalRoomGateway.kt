@@ -10,8 +10,10 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
+import mega.privacy.android.domain.entity.transfer.SdCardMove
 import mega.privacy.android.domain.entity.transfer.TransferType
 
 /**
@@ -124,6 +126,21 @@ interface MegaLocalRoomGateway {
      */
     suspend fun addCompletedTransfer(transfer: CompletedTransfer)
 
+    /**
+     * Add a list of completed transfers in a single transaction
+     *
+     * @param transfers the completed transfers to add
+     */
+    suspend fun addCompletedTransfers(transfers: List<CompletedTransfer>)
+
+    /**
+     * Get the completed transfers of the given nodes
+     *
+     * @param handles the handles of the transferred nodes
+     * @return the completed transfers of any of the nodes
+     */
+    suspend fun getCompletedTransfersByHandles(handles: List<Long>): List<CompletedTransfer>
+
     /**
      * Get the completed transfers count
      */
@@ -220,6 +237,34 @@ interface MegaLocalRoomGateway {
      */
     suspend fun deleteSdTransferByTag(tag: Int)
 
+    /**
+     * Get all the pending moves to the sd card
+     *
+     * @return the list of pending moves, in insertion order
+     */
+    suspend fun getAllSdCardMoves(): List<SdCardMove>
+
+    /**
+     * Insert a pending move to the sd card
+     *
+     * @return the id of the inserted move
+     */
+    suspend fun insertSdCardMove(sdCardMove: SdCardMove): Long
+
+    /**
+     * Increment the number of failed attempts of a pending move to the sd card
+     *
+     * @param id the id of the move
+     */
+    suspend fun incrementSdCardMoveAttempts(id: Long)
+
+    /**
+     * Delete a pending move to the sd card
+     *
+     * @param id the id of the move
+     */
+    suspend fun deleteSdCardMove(id: Long)
+
     /**
      * Get completed transfer by id
      *
@@ -409,9 +454,32 @@ interface MegaLocalRoomGateway {
     suspend fun getOfflineLineById(id: Int): Offline?
 
     /**
-     * Remove offline info by ID
+     * Get the ids of an offline info and all its descendants
      */
-    suspend fun removeOfflineInformationById(id: Int)
+    suspend fun getOfflineSubtreeIds(id: Int): List<Int>
+
+    /**
+     * Count the descendants of an offline info
+     */
+    suspend fun countOfflineDescendants(id: Int): Int
+
+    /**
+     * Remove offline info by ID with all its descendants, and its ancestors left without
+     * children, in a single transaction
+     *
+     * @return number of removed offline info
+     */
+    suspend fun removeOfflineInformationSubtree(id: Int): Int
+
+    /**
+     * Save a branch of offline information in a single transaction, each one being the parent
+     * of the next one. Offline information already saved is kept.
+     *
+     * @param branch    offline information from the top ancestor to the deepest one
+     * @param parentId  id of the parent of the top ancestor, or null if it is a root
+     * @return id of the deepest offline information
+     */
+    suspend fun saveOfflineInformationBranch(branch: List<Offline>, parentId: Int?): Long
 
     /**
      * monitor chat pending changes
@@ -435,4 +503,33 @@ interface MegaLocalRoomGateway {
     suspend fun getOfflineNodesByQuery(
         query: String,
     ): List<Offline>?
+
+    /**
+     * Get the stored playback information of a media item
+     *
+     * @param mediaId the media id of the media item
+     * @return [PlaybackInformation] or null if nothing is stored
+     */
+    suspend fun getPlaybackInformation(mediaId: Long): PlaybackInformation?
+
+    /**
+     * Monitor all the stored playback information
+     *
+     * @return Flow of stored [PlaybackInformation] list
+     */
+    fun monitorAllPlaybackInformation(): Flow<List<PlaybackInformation>>
+
+    /**
+     * Persist a batch of playback information changes in a single transaction
+     *
+     * @param updated playback information to insert or update, keyed by media id. The last
+     * entry in iteration order is the most recently updated one.
+     * @param deletedMediaIds media ids whose playback information must be removed
+     * @param maxEntries maximum number of entries retained, least recently updated entries are evicted first
+     */
+    suspend fun applyPlaybackInformationChanges(
+        updated: Map<Long, PlaybackInformation>,
+        deletedMediaIds: Set<Long>,
+        maxEntries: Int,
+    )
 }
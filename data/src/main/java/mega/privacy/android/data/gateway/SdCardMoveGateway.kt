@@ -0,0 +1,35 @@
+package mega.privacy.android.data.gateway
+
+import java.io.File
+
+/**
+ * Gateway to move downloaded files from the cache to their final destination on the sd card
+ */
+interface SdCardMoveGateway {
+
+    /**
+     * Moves a file to a destination folder on the sd card. It first copies the file and then
+     * deletes the original one
+     *
+     * @param file the file to be moved
+     * @param destinationUri the tree uri of the destination folder
+     * @param subFolders the sub folders of [destinationUri] where the file has to be moved
+     * @return true if the file was moved
+     */
+    suspend fun moveFile(file: File, destinationUri: String, subFolders: List<String>): Boolean
+
+    /**
+     * Saves the move of a file and queues it. The moves are processed in background with a
+     * bounded concurrency
+     *
+     * @param file the file to be moved
+     * @param destinationUri the tree uri of the destination folder
+     * @param subFolders the sub folders of [destinationUri] where the file has to be moved
+     */
+    suspend fun enqueueMove(file: File, destinationUri: String, subFolders: List<String>)
+
+    /**
+     * Queues again the saved moves that were not finished
+     */
+    suspend fun resumePendingMoves()
+}
@@ -1369,6 +1369,28 @@ interface MegaApiGateway {
      */
     suspend fun removeSetElement(sid: Long, eid: Long, listener: MegaRequestListenerInterface)
 
+    /**
+     * Request removal of multiple Elements from a Set
+     *
+     * The associated request type with this request is MegaRequest::TYPE_REMOVE_SET_ELEMENTS
+     * Valid data in the MegaRequest object received on callbacks:
+     * - MegaRequest::getTotalBytes - Returns the id of the Set
+     * - MegaRequest::getMegaHandleList - Returns a list containing the ids of the Elements to be removed
+     *
+     * Valid data in the MegaRequest object received in onRequestFinish when the error code
+     * is MegaError::API_OK:
+     * - MegaRequest::getMegaIntegerList - Returns a list containing error codes for all requested Elements
+     *
+     * @param sid the id of the Set that owns the Elements
+     * @param eids the ids of the Elements that will be removed
+     * @param listener MegaRequestListener to track this request
+     */
+    suspend fun removeSetElements(
+        sid: Long,
+        eids: MegaHandleList,
+        listener: MegaRequestListenerInterface,
+    )
+
     /**
      * Get a list of all Sets available for current user.
      * The response value is stored as a MegaSetList.
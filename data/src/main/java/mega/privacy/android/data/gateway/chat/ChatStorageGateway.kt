@@ -4,6 +4,7 @@ import androidx.paging.PagingSource
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
 import mega.privacy.android.data.database.entity.chat.ChatNodeEntity
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.MetaTypedMessageEntity
 import mega.privacy.android.data.database.entity.chat.PendingMessageEntity
@@ -33,6 +34,7 @@ interface ChatStorageGateway {
      * @param giphys
      * @param geolocations
      * @param chatNodes
+     * @param reactions
      */
     suspend fun storeMessages(
         messages: List<TypedMessageEntity>,
@@ -40,6 +42,7 @@ interface ChatStorageGateway {
         giphys: List<GiphyEntity>,
         geolocations: List<ChatGeolocationEntity>,
         chatNodes: List<ChatNodeEntity>,
+        reactions: List<ChatReactionEntity>,
     )
 
     /**
@@ -133,22 +136,21 @@ interface ChatStorageGateway {
     suspend fun getMessageIdsByType(chatId: Long, type: ChatMessageType): List<Long>
 
     /**
-     * Get message reactions
+     * Insert or update a reaction of a message. Nothing is stored if the message is not stored,
+     * as the reaction would not be removed with it.
      *
-     * @param chatId Chat ID
-     * @param msgId Message ID
-     * @return String with reactions if any.
+     * @param reaction [ChatReactionEntity]
      */
-    suspend fun getMessageReactions(chatId: Long, msgId: Long): String?
+    suspend fun upsertMessageReaction(reaction: ChatReactionEntity)
 
     /**
-     * Update message reactions.
+     * Delete a reaction of a message.
      *
      * @param chatId Chat ID
      * @param msgId Message ID
-     * @param reactions Reactions
+     * @param reaction Reaction
      */
-    suspend fun updateMessageReactions(chatId: Long, msgId: Long, reactions: String)
+    suspend fun deleteMessageReaction(chatId: Long, msgId: Long, reaction: String)
 
     /**
      * Truncate messages
@@ -108,4 +108,57 @@ interface AppPreferencesGateway {
      */
     fun monitorBoolean(key: String, defaultValue: Boolean): Flow<Boolean>
 
+    /**
+     * Get string without suspending, from the in memory snapshot of the preferences
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getString(key: String, defaultValue: String?): String?
+
+    /**
+     * Get string set without suspending, from the in memory snapshot of the preferences
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getStringSet(key: String, defaultValue: MutableSet<String>?): MutableSet<String>?
+
+    /**
+     * Get int without suspending, from the in memory snapshot of the preferences
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getInt(key: String, defaultValue: Int): Int
+
+    /**
+     * Get long without suspending, from the in memory snapshot of the preferences
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getLong(key: String, defaultValue: Long): Long
+
+    /**
+     * Get float without suspending, from the in memory snapshot of the preferences
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getFloat(key: String, defaultValue: Float): Float
+
+    /**
+     * Get boolean without suspending, from the in memory snapshot of the preferences
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getBoolean(key: String, defaultValue: Boolean): Boolean
 }
@@ -14,6 +14,14 @@ interface UIPreferencesGateway {
      */
     fun monitorPreferredStartScreen(): Flow<Int?>
 
+    /**
+     * Get preferred start screen without suspending, from the in memory snapshot of the
+     * preferences
+     *
+     * @return preferred start screen
+     */
+    fun getPreferredStartScreen(): Int?
+
     /**
      * Set preferred start screen
      *
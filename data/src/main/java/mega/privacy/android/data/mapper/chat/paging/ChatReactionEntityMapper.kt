@@ -0,0 +1,44 @@
+package mega.privacy.android.data.mapper.chat.paging
+
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import javax.inject.Inject
+
+/**
+ * Mapper between [Reaction] and [ChatReactionEntity]
+ */
+class ChatReactionEntityMapper @Inject constructor() {
+    /**
+     * Invoke
+     *
+     * @param chatId
+     * @param messageId
+     * @param reaction
+     * @return [ChatReactionEntity]
+     */
+    operator fun invoke(
+        chatId: Long,
+        messageId: Long,
+        reaction: Reaction,
+    ) = ChatReactionEntity(
+        chatId = chatId,
+        messageId = messageId,
+        reaction = reaction.reaction,
+        count = reaction.count,
+        userHandles = reaction.userHandles,
+        hasMe = reaction.hasMe,
+    )
+
+    /**
+     * Invoke
+     *
+     * @param entity
+     * @return [Reaction]
+     */
+    operator fun invoke(entity: ChatReactionEntity) = Reaction(
+        reaction = entity.reaction,
+        count = entity.count,
+        userHandles = entity.userHandles,
+        hasMe = entity.hasMe,
+    )
+}
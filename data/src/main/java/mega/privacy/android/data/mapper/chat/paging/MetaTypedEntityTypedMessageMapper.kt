@@ -14,10 +14,12 @@ import javax.inject.Inject
  *
  * @property createTypedMessageUseCases
  * @property createInvalidMessageUseCase
+ * @property chatReactionEntityMapper
  */
 class MetaTypedEntityTypedMessageMapper @Inject constructor(
     private val createTypedMessageUseCases: Map<@JvmSuppressWildcards ChatMessageType, @JvmSuppressWildcards CreateTypedMessageUseCase>,
     private val createInvalidMessageUseCase: CreateInvalidMessageUseCase,
+    private val chatReactionEntityMapper: ChatReactionEntityMapper,
 ) {
     /**
      * Invoke
@@ -36,7 +38,7 @@ class MetaTypedEntityTypedMessageMapper @Inject constructor(
             chatGeolocationInfo = entity.geolocationEntity,
             chatGifInfo = entity.giphyEntity,
             nodeList = entity.nodeList,
-            reactions = entity.typedMessageEntity.reactions,
+            reactions = entity.reactions.map { chatReactionEntityMapper(it) },
             exists = entity.typedMessageEntity.exists,
         )
 
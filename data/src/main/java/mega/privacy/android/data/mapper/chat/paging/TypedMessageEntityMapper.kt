@@ -47,7 +47,6 @@ class TypedMessageEntityMapper @Inject constructor() {
                 changes = changes,
                 isMine = isMine,
                 textMessage = textMessage,
-                reactions = reactions,
                 exists = exists,
             )
         }
@@ -0,0 +1,16 @@
+package mega.privacy.android.data.mapper.mediaplayer
+
+import mega.privacy.android.data.database.entity.PlaybackPositionEntity
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
+import javax.inject.Inject
+
+/**
+ * Mapper to convert [PlaybackPositionEntity] to [PlaybackInformation]
+ */
+internal class PlaybackInformationMapper @Inject constructor() {
+    operator fun invoke(entity: PlaybackPositionEntity) = PlaybackInformation(
+        mediaId = entity.mediaId,
+        totalDuration = entity.totalDuration,
+        currentPosition = entity.currentPosition,
+    )
+}
@@ -0,0 +1,21 @@
+package mega.privacy.android.data.mapper.mediaplayer
+
+import mega.privacy.android.data.database.entity.PlaybackPositionEntity
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
+import javax.inject.Inject
+
+/**
+ * Mapper to convert [PlaybackInformation] to [PlaybackPositionEntity]
+ */
+internal class PlaybackPositionEntityMapper @Inject constructor() {
+    operator fun invoke(
+        mediaId: Long,
+        playbackInformation: PlaybackInformation,
+        lastUpdated: Long,
+    ) = PlaybackPositionEntity(
+        mediaId = mediaId,
+        totalDuration = playbackInformation.totalDuration,
+        currentPosition = playbackInformation.currentPosition,
+        lastUpdated = lastUpdated,
+    )
+}
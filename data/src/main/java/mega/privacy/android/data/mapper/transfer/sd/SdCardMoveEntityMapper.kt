@@ -0,0 +1,19 @@
+package mega.privacy.android.data.mapper.transfer.sd
+
+import mega.privacy.android.data.cryptography.EncryptData
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
+import mega.privacy.android.domain.entity.transfer.SdCardMove
+import java.io.File
+import javax.inject.Inject
+
+internal class SdCardMoveEntityMapper @Inject constructor(
+    private val encryptData: EncryptData,
+) {
+    suspend operator fun invoke(sdCardMove: SdCardMove) = SdCardMoveEntity(
+        id = sdCardMove.id.takeIf { it != 0L },
+        encryptedSourcePath = encryptData(sdCardMove.sourcePath),
+        encryptedDestinationUri = encryptData(sdCardMove.destinationUri),
+        encryptedSubFolders = encryptData(sdCardMove.subFolders.joinToString(File.separator)),
+        attempts = sdCardMove.attempts,
+    )
+}
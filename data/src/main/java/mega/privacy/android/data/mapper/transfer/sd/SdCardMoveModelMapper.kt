@@ -0,0 +1,21 @@
+package mega.privacy.android.data.mapper.transfer.sd
+
+import mega.privacy.android.data.cryptography.DecryptData
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
+import mega.privacy.android.domain.entity.transfer.SdCardMove
+import java.io.File
+import javax.inject.Inject
+
+internal class SdCardMoveModelMapper @Inject constructor(
+    private val decryptData: DecryptData,
+) {
+    suspend operator fun invoke(entity: SdCardMoveEntity) = SdCardMove(
+        id = entity.id ?: 0,
+        sourcePath = decryptData(entity.encryptedSourcePath).orEmpty(),
+        destinationUri = decryptData(entity.encryptedDestinationUri).orEmpty(),
+        subFolders = decryptData(entity.encryptedSubFolders).orEmpty()
+            .split(File.separator)
+            .filter { it.isNotEmpty() },
+        attempts = entity.attempts,
+    )
+}
@@ -116,6 +116,25 @@ public class MegaPreferences {
         this.fingerprintLock = fingerprintLock;
     }
 
+    public MegaPreferences(MegaPreferences other) {
+        this(other.firstTime, other.camSyncWifi, other.camSyncEnabled, other.camSyncHandle,
+                other.camSyncLocalPath, other.camSyncFileUpload, other.camSyncTimeStamp,
+                other.passcodeLockEnabled, other.passcodeLockCode, other.storageAskAlways,
+                other.storageDownloadLocation, other.lastFolderUpload, other.lastFolderCloud,
+                other.secondaryMediaFolderEnabled, other.localPathSecondaryFolder,
+                other.megaHandleSecondaryFolder, other.secSyncTimeStamp, other.keepFileNames,
+                other.storageAdvancedDevices, other.preferredViewList,
+                other.preferredViewListCameraUploads, other.uriExternalSDCard,
+                other.cameraFolderExternalSDCard, other.passcodeLockType,
+                other.preferredSortCloud, other.preferredSortOthers, other.firstTimeChat,
+                other.uploadVideoQuality, other.conversionOnCharging, other.chargingOnSize,
+                other.camVideoSyncTimeStamp, other.secVideoSyncTimeStamp,
+                other.isAutoPlayEnabled, other.removeGPS, other.showInviteBanner,
+                other.preferredSortCameraUpload, other.sdCardUri, other.askForDisplayOver,
+                other.askForSetDownloadLocation, other.mediaSDCardUri, other.isMediaOnSDCard,
+                other.passcodeLockRequireTime, other.fingerprintLock);
+    }
+
     public String getFirstTime() {
         return firstTime;
     }
@@ -464,6 +483,10 @@ public class MegaPreferences {
         return fingerprintLock;
     }
 
+    public void setFingerprintLock(String fingerprintLock) {
+        this.fingerprintLock = fingerprintLock;
+    }
+
     @Override
     public String toString() {
         return "MegaPreferences{" +
@@ -16,14 +16,18 @@ import androidx.datastore.preferences.preferencesDataStore
 import androidx.preference.PreferenceManager
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.flow.catch
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.preferences.AppPreferencesGateway
+import mega.privacy.android.data.preferences.base.WriteBehindDataStore
+import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.usecase.KEY_APPEARANCE_COLOR_THEME
 import java.io.IOException
 import javax.inject.Inject
+import javax.inject.Singleton
 
 private val Context.appPreferencesDatastore: DataStore<Preferences> by preferencesDataStore(
 
@@ -42,12 +46,20 @@ private val Context.appPreferencesDatastore: DataStore<Preferences> by preferenc
  *
  * @property context
  * @property ioDispatcher
+ * @param appScope scope where the [PreferencesSnapshot] is kept up to date and the coalesced
+ * writes of the [WriteBehindDataStore] are done
  */
+@Singleton
 internal class AppPreferencesDatastore @Inject constructor(
     @ApplicationContext private val context: Context,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+    @ApplicationScope appScope: CoroutineScope,
 ) : AppPreferencesGateway {
 
+    private val dataStore = WriteBehindDataStore(context.appPreferencesDatastore, appScope)
+
+    private val snapshot = PreferencesSnapshot(dataStore.data, appScope)
+
     override suspend fun putString(key: String, value: String) =
         putPreference(stringPreferencesKey(key), value)
 
@@ -71,7 +83,7 @@ internal class AppPreferencesDatastore @Inject constructor(
         value: T,
     ) {
         withContext(ioDispatcher) {
-            context.appPreferencesDatastore.edit {
+            dataStore.edit {
                 it[prefKey] = value
             }
         }
@@ -108,7 +120,25 @@ internal class AppPreferencesDatastore @Inject constructor(
         it[prefKey] ?: defaultValue
     }
 
-    private fun getPreferenceData() = context.appPreferencesDatastore.data
+    override fun getString(key: String, defaultValue: String?) =
+        snapshot[stringPreferencesKey(key)] ?: defaultValue
+
+    override fun getStringSet(key: String, defaultValue: MutableSet<String>?) =
+        (snapshot[stringSetPreferencesKey(key)] ?: defaultValue)?.toMutableSet()
+
+    override fun getInt(key: String, defaultValue: Int) =
+        snapshot[intPreferencesKey(key)] ?: defaultValue
+
+    override fun getLong(key: String, defaultValue: Long) =
+        snapshot[longPreferencesKey(key)] ?: defaultValue
+
+    override fun getFloat(key: String, defaultValue: Float) =
+        snapshot[floatPreferencesKey(key)] ?: defaultValue
+
+    override fun getBoolean(key: String, defaultValue: Boolean) =
+        snapshot[booleanPreferencesKey(key)] ?: defaultValue
+
+    private fun getPreferenceData() = dataStore.data
         .catch { exception ->
             if (exception is IOException) {
                 emit(emptyPreferences())
@@ -13,6 +13,7 @@ import mega.privacy.android.data.cryptography.DecryptData
 import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.CameraUploadsSettingsPreferenceGateway
+import mega.privacy.android.data.preferences.base.editAndFlush
 import javax.inject.Inject
 import javax.inject.Named
 
@@ -20,10 +21,14 @@ internal const val cameraUploadsSettingsPreferenceDataStoreName = "cameraUploads
 
 /**
  * The [DataStore] that stores the User's preferred Camera Uploads Settings
+ *
+ * Enabling or disabling the uploads and clearing the settings are written right away, the other
+ * settings may be coalesced by the data store.
  */
 internal class CameraUploadsSettingsPreferenceDataStore(
     private val getPreferenceFlow: () -> Flow<Preferences>,
     private val editPreferences: suspend (suspend (MutablePreferences) -> Unit) -> Preferences,
+    private val editPreferencesAndFlush: suspend (suspend (MutablePreferences) -> Unit) -> Preferences,
     private val encryptData: EncryptData,
     private val decryptData: DecryptData,
 ) : CameraUploadsSettingsPreferenceGateway {
@@ -36,6 +41,7 @@ internal class CameraUploadsSettingsPreferenceDataStore(
     ) : this(
         getPreferenceFlow = dataStore::data,
         editPreferences = dataStore::edit,
+        editPreferencesAndFlush = dataStore::editAndFlush,
         encryptData = encryptData,
         decryptData = decryptData,
     )
@@ -47,6 +53,7 @@ internal class CameraUploadsSettingsPreferenceDataStore(
     ) : this(
         getPreferenceFlow = { flowOf(preferences) },
         editPreferences = { preferences.apply { it(this) } },
+        editPreferencesAndFlush = { preferences.apply { it(this) } },
         encryptData = encryptData,
         decryptData = decryptData,
     )
@@ -146,7 +153,7 @@ internal class CameraUploadsSettingsPreferenceDataStore(
 
     override suspend fun setCameraUploadsEnabled(isEnabled: Boolean) {
         val encryptedValue = encryptData(isEnabled.toString())
-        editPreferences {
+        editPreferencesAndFlush {
             if (encryptedValue == null) {
                 it.remove(cameraUploadsEnabledKey)
             } else {
@@ -157,7 +164,7 @@ internal class CameraUploadsSettingsPreferenceDataStore(
 
     override suspend fun setMediaUploadsEnabled(isEnabled: Boolean) {
         val encryptedValue = encryptData(isEnabled.toString())
-        editPreferences {
+        editPreferencesAndFlush {
             if (encryptedValue == null) {
                 it.remove(mediaUploadsEnabledKey)
             } else {
@@ -279,7 +286,7 @@ internal class CameraUploadsSettingsPreferenceDataStore(
     }
 
     override suspend fun clearPreferences() {
-        editPreferences {
+        editPreferencesAndFlush {
             it.clear()
         }
     }
@@ -0,0 +1,58 @@
+package mega.privacy.android.data.preferences
+
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.emptyPreferences
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import java.io.IOException
+
+/**
+ * In memory copy of the preferences of a data store, so they can be read synchronously
+ *
+ * The data flow is collected in [scope] from the creation of the snapshot, so it is loaded in
+ * background and then kept up to date with every edit of the data store. Reads only access a
+ * volatile field and never block.
+ *
+ * @param data data flow of the data store
+ * @param scope scope where the data flow is collected
+ */
+internal class PreferencesSnapshot(
+    data: Flow<Preferences>,
+    scope: CoroutineScope,
+) {
+    private val data = data.catch { exception ->
+        if (exception is IOException) {
+            emit(emptyPreferences())
+        } else {
+            throw exception
+        }
+    }
+
+    @Volatile
+    private var current: Preferences? = null
+
+    init {
+        this.data.onEach { current = it }.launchIn(scope)
+    }
+
+    /**
+     * True if the data store has been loaded
+     */
+    val isLoaded: Boolean
+        get() = current != null
+
+    /**
+     * Gets the value of a preference
+     *
+     * If the data store has not been loaded yet, null is returned so the caller uses its default
+     * value. This can only happen when the value is read right after the app starts, callers
+     * that cannot use the default have to suspend on the data store instead.
+     *
+     * @param key preference key
+     * @return the value of the preference, or null if it is not set or not loaded yet
+     */
+    operator fun <T> get(key: Preferences.Key<T>): T? = current?.get(key)
+}
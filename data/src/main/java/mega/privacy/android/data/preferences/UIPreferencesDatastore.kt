@@ -9,10 +9,13 @@ import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.intPreferencesKey
 import androidx.datastore.preferences.preferencesDataStore
 import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.UIPreferencesGateway
+import mega.privacy.android.domain.qualifier.ApplicationScope
 import javax.inject.Inject
+import javax.inject.Singleton
 
 private const val USER_INTERFACE_PREFERENCES = "USER_INTERFACE_PREFERENCES"
 private const val PREFERRED_START_SCREEN = "PREFERRED_START_SCREEN"
@@ -36,9 +39,12 @@ private val Context.uiPreferenceDataStore: DataStore<Preferences> by preferences
         )
     })
 
+@Singleton
 internal class UIPreferencesDatastore @Inject constructor(
     @ApplicationContext private val context: Context,
+    @ApplicationScope appScope: CoroutineScope,
 ) : UIPreferencesGateway {
+    private val snapshot = PreferencesSnapshot(context.uiPreferenceDataStore.data, appScope)
     private val preferredStartScreenKey = intPreferencesKey(PREFERRED_START_SCREEN)
     private val hideRecentActivityKey = booleanPreferencesKey(HIDE_RECENT_ACTIVITY)
     private val mediaDiscoveryViewKey = intPreferencesKey(MEDIA_DISCOVERY_VIEW)
@@ -49,6 +55,8 @@ internal class UIPreferencesDatastore @Inject constructor(
     override fun monitorPreferredStartScreen() =
         context.uiPreferenceDataStore.monitor(preferredStartScreenKey)
 
+    override fun getPreferredStartScreen() = snapshot[preferredStartScreenKey]
+
     override suspend fun setPreferredStartScreen(value: Int) {
         context.uiPreferenceDataStore.edit {
             it[preferredStartScreenKey] = value
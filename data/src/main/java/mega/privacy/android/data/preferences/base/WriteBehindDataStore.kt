@@ -0,0 +1,118 @@
+package mega.privacy.android.data.preferences.base
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.MutablePreferences
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import timber.log.Timber
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * [DataStore] that coalesces the updates done within [writeDelay] into a single write of [delegate]
+ *
+ * Every write of a data store rewrites (and, for the encrypted ones, re-encrypts) the whole file,
+ * so a burst of single key edits is expensive. The updates are applied to an in memory value that
+ * is emitted by [data] right away, and written to [delegate] once [writeDelay] has elapsed since
+ * the first pending update. A failed write is retried with an increasing delay. Updates that
+ * must be persisted immediately can call [flush], or use [editAndFlush].
+ *
+ * All the updates of [delegate] must be done through this class, otherwise they could be
+ * overwritten by the pending value.
+ *
+ * @param delegate data store where the values are written
+ * @param scope scope where the delayed writes are launched
+ * @param writeDelay time the updates are kept in memory before being written
+ */
+internal class WriteBehindDataStore<T>(
+    private val delegate: DataStore<T>,
+    private val scope: CoroutineScope,
+    private val writeDelay: Duration = DEFAULT_WRITE_DELAY,
+) : DataStore<T> {
+
+    private val mutex = Mutex()
+    private val writeMutex = Mutex()
+    private val pending = MutableStateFlow<Pending<T>?>(null)
+    private var writeJob: Job? = null
+
+    override val data: Flow<T> = combine(delegate.data, pending) { stored, pending ->
+        pending?.value ?: stored
+    }.distinctUntilChanged()
+
+    override suspend fun updateData(transform: suspend (t: T) -> T): T = mutex.withLock {
+        val current = pending.value?.value ?: delegate.data.first()
+        transform(current).also { updated ->
+            if (updated != current) {
+                pending.value = Pending(updated)
+                scheduleWrite()
+            }
+        }
+    }
+
+    /**
+     * Writes the pending updates to [delegate] without waiting for [writeDelay]
+     *
+     * The writes are serialized by [writeMutex], held from reading the pending value until it is
+     * written, so a flush can never write an older value after a newer one. Updates only take
+     * [mutex], so they do not wait for the write to finish.
+     */
+    suspend fun flush(): Unit = writeMutex.withLock {
+        val toWrite = mutex.withLock { pending.value } ?: return@withLock
+        delegate.updateData { toWrite.value }
+        mutex.withLock {
+            // Updates done while writing stay pending, a new write was scheduled for them
+            if (pending.value === toWrite) pending.value = null
+        }
+    }
+
+    /**
+     * Schedules a write of the pending updates, unless one is already scheduled. If the write
+     * fails it is scheduled again, doubling [delay] up to [MAX_RETRY_DELAY].
+     * Must be called holding [mutex].
+     */
+    private fun scheduleWrite(delay: Duration = writeDelay) {
+        if (writeJob != null) return
+        writeJob = scope.launch {
+            delay(delay)
+            mutex.withLock { writeJob = null }
+            runCatching { flush() }.onFailure {
+                Timber.e(it, "Error writing the pending preferences")
+                mutex.withLock { scheduleWrite((delay * 2).coerceAtMost(MAX_RETRY_DELAY)) }
+            }
+        }
+    }
+
+    /**
+     * Wrapper so a pending value can be compared by identity
+     */
+    private class Pending<T>(val value: T)
+
+    companion object {
+        private val DEFAULT_WRITE_DELAY = 250.milliseconds
+        private val MAX_RETRY_DELAY = 30.seconds
+    }
+}
+
+/**
+ * Edits the preferences in a single transaction and writes them right away, even if the data
+ * store is a [WriteBehindDataStore]. Intended for values that must not be lost if the process is
+ * killed, like credentials.
+ *
+ * @param transform edition of the preferences
+ * @return the preferences after the edition
+ */
+internal suspend fun DataStore<Preferences>.editAndFlush(
+    transform: suspend (MutablePreferences) -> Unit,
+): Preferences = edit(transform).also { (this as? WriteBehindDataStore)?.flush() }
@@ -0,0 +1,98 @@
+package mega.privacy.android.data.repository
+
+import mega.privacy.android.data.cache.KeyedCache
+import mega.privacy.android.domain.entity.node.FolderNode
+import mega.privacy.android.domain.entity.node.Node
+import mega.privacy.android.domain.entity.node.NodeChanges
+import mega.privacy.android.domain.entity.node.NodeId
+
+/**
+ * Index of the nodes of the albums whose elements have been loaded.
+ *
+ * It keeps the nodes of each album and the albums of each node in two [KeyedCache], so a batch of
+ * node updates is turned into the albums to refresh in a single pass over the batch. The sets
+ * stored in the caches are never modified, so they can be returned without copying them.
+ *
+ * Thread safe. The changes of an album update both caches holding [lock], so the lookups of
+ * [computeDeltas] never see an album half replaced.
+ */
+internal class AlbumNodeIndex {
+    private val lock = Any()
+    private val nodesByAlbum = KeyedCache<Long, Set<NodeId>>()
+    private val albumsByNode = KeyedCache<NodeId, Set<Long>>()
+
+    /**
+     * Replaces the nodes of an album
+     *
+     * @param albumId   id of the album
+     * @param nodeIds   nodes of the elements of the album
+     */
+    fun setAlbumNodes(albumId: Long, nodeIds: Collection<NodeId>) = synchronized(lock) {
+        removeAlbumLocked(albumId)
+        val nodes = nodeIds.toHashSet()
+        if (nodes.isEmpty()) return@synchronized
+        nodesByAlbum[albumId] = nodes
+        nodes.forEach { nodeId ->
+            albumsByNode.update(nodeId) { albums -> albums.orEmpty() + albumId }
+        }
+    }
+
+    /**
+     * Removes an album from the index
+     *
+     * @param albumId id of the album
+     */
+    fun removeAlbum(albumId: Long) = synchronized(lock) { removeAlbumLocked(albumId) }
+
+    /**
+     * Gets the albums containing a node
+     *
+     * @param nodeId
+     * @return the ids of the albums
+     */
+    fun albumsOf(nodeId: NodeId): Set<Long> = albumsByNode[nodeId].orEmpty()
+
+    /**
+     * Removes all the albums
+     */
+    fun clear() = synchronized(lock) {
+        nodesByAlbum.clear()
+        albumsByNode.clear()
+    }
+
+    /**
+     * Gets the changes of the albums caused by a batch of node updates, in a single pass
+     * over the batch.
+     *
+     * A sensitive change of a folder may affect any of its descendants, so all the indexed
+     * albums are refreshed. Albums without any node, or not loaded, are never affected.
+     *
+     * @param changes node updates
+     * @return the changed nodes by album id, in order of appearance. An empty list means the whole
+     * album has to be refreshed.
+     */
+    fun computeDeltas(changes: Map<Node, List<NodeChanges>>): Map<Long, List<NodeId>> =
+        synchronized(lock) {
+            val isFolderSensitivityChanged = changes.any { (node, nodeChanges) ->
+                node is FolderNode && nodeChanges.contains(NodeChanges.Sensitive)
+            }
+            if (isFolderSensitivityChanged) {
+                return@synchronized nodesByAlbum.asMap().keys.associateWith { emptyList() }
+            }
+
+            val deltas = LinkedHashMap<Long, LinkedHashSet<NodeId>>()
+            for (node in changes.keys) {
+                val albums = albumsByNode[node.id] ?: continue
+                for (albumId in albums) {
+                    deltas.getOrPut(albumId) { LinkedHashSet() }.add(node.id)
+                }
+            }
+            deltas.mapValues { it.value.toList() }
+        }
+
+    private fun removeAlbumLocked(albumId: Long) {
+        nodesByAlbum.invalidate(albumId)?.forEach { nodeId ->
+            albumsByNode.update(nodeId) { albums -> albums?.minus(albumId)?.ifEmpty { null } }
+        }
+    }
+}
@@ -54,6 +54,7 @@ import mega.privacy.android.data.mapper.chat.PendingMessageListMapper
 import mega.privacy.android.data.mapper.chat.messages.reactions.ReactionUpdateMapper
 import mega.privacy.android.data.mapper.chat.paging.ChatGeolocationEntityMapper
 import mega.privacy.android.data.mapper.chat.paging.ChatNodeEntityListMapper
+import mega.privacy.android.data.mapper.chat.paging.ChatReactionEntityMapper
 import mega.privacy.android.data.mapper.chat.paging.GiphyEntityMapper
 import mega.privacy.android.data.mapper.chat.paging.RichPreviewEntityMapper
 import mega.privacy.android.data.mapper.chat.paging.TypedMessageEntityMapper
@@ -132,6 +133,7 @@ import kotlin.coroutines.suspendCoroutine
  * @property giphyEntityMapper
  * @property chatGeolocationEntityMapper
  * @property chatNodeEntityListMapper
+ * @property chatReactionEntityMapper
  * @property chatPresenceConfigMapper
  */
 @Singleton
@@ -163,6 +165,7 @@ internal class ChatRepositoryImpl @Inject constructor(
     private val giphyEntityMapper: GiphyEntityMapper,
     private val chatGeolocationEntityMapper: ChatGeolocationEntityMapper,
     private val chatNodeEntityListMapper: ChatNodeEntityListMapper,
+    private val chatReactionEntityMapper: ChatReactionEntityMapper,
     private val reactionUpdateMapper: ReactionUpdateMapper,
     private val chatRoomMessageUpdateMapper: ChatRoomMessageUpdateMapper,
     private val chatPresenceConfigMapper: ChatPresenceConfigMapper,
@@ -1257,6 +1260,15 @@ internal class ChatRepositoryImpl @Inject constructor(
                         nodes = request.nodeList,
                     )
                 }.flatten(),
+                reactions = messages.flatMap { request ->
+                    request.reactions.map {
+                        chatReactionEntityMapper(
+                            chatId = request.chatId,
+                            messageId = request.messageId,
+                            reaction = it,
+                        )
+                    }
+                },
             )
         }
     }
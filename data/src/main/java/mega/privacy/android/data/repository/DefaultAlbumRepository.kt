@@ -5,6 +5,7 @@ import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.distinctUntilChanged
@@ -19,25 +20,23 @@ import kotlinx.coroutines.joinAll
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.KeyedCache
 import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.extensions.getRequestListener
 import mega.privacy.android.data.facade.AlbumStringResourceGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.listener.CopyPreviewNodeListenerInterface
-import mega.privacy.android.data.listener.CreateSetElementListenerInterface
 import mega.privacy.android.data.listener.DisableExportSetsListenerInterface
 import mega.privacy.android.data.listener.ExportSetsListenerInterface
 import mega.privacy.android.data.listener.GetPreviewElementNodeListenerInterface
 import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
-import mega.privacy.android.data.listener.RemoveSetElementListenerInterface
 import mega.privacy.android.data.mapper.PhotoMapper
 import mega.privacy.android.data.mapper.UserSetMapper
+import mega.privacy.android.data.mapper.handles.MegaHandleListMapper
 import mega.privacy.android.data.mapper.node.ImageNodeMapper
 import mega.privacy.android.data.model.GlobalUpdate
-import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.ImageNode
-import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.photos.AlbumId
 import mega.privacy.android.domain.entity.photos.AlbumIdLink
@@ -52,7 +51,6 @@ import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.AlbumRepository
 import mega.privacy.android.domain.repository.NodeRepository
 import nz.mega.sdk.MegaError
-import nz.mega.sdk.MegaHandleList
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaSet
 import nz.mega.sdk.MegaSetElement
@@ -79,11 +77,12 @@ internal class DefaultAlbumRepository @Inject constructor(
     private val imageNodeMapper: ImageNodeMapper,
     @ApplicationScope private val appScope: CoroutineScope,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
-    private val megaLocalRoomGateway: MegaLocalRoomGateway
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
+    private val megaHandleListMapper: MegaHandleListMapper,
 ) : AlbumRepository {
-    private val userSets: MutableMap<Long, UserSet> = mutableMapOf()
+    private val userSets: KeyedCache<Long, UserSet> = KeyedCache()
 
-    private val nodeSetsMap: MutableMap<NodeId, MutableSet<Long>> = mutableMapOf()
+    private val albumNodeIndex = AlbumNodeIndex()
 
     private val userSetsFlow: MutableSharedFlow<List<UserSet>> = MutableSharedFlow(replay = 1)
 
@@ -91,14 +90,14 @@ internal class DefaultAlbumRepository @Inject constructor(
     internal val userSetsElementsFlow: MutableSharedFlow<List<Pair<UserSet, List<AlbumPhotoId>>>> =
         MutableSharedFlow(replay = 1)
 
-    private val albumElements: MutableMap<AlbumId, List<AlbumPhotoId>> = mutableMapOf()
+    private val albumElements: KeyedCache<AlbumId, List<AlbumPhotoId>> = KeyedCache()
 
     private val albumPhotosAddingProgressPool: AlbumPhotosAddingProgressPool = mutableMapOf()
 
     private val albumPhotosRemovingProgressPool: AlbumPhotosRemovingProgressPool = mutableMapOf()
 
     @VisibleForTesting
-    val publicNodesMap: MutableMap<NodeId, MegaNode> = mutableMapOf()
+    val publicNodesMap: KeyedCache<NodeId, MegaNode> = KeyedCache()
 
     @Volatile
     private var publicNodesDataMap: Map<NodeId, String> = mapOf()
@@ -112,23 +111,18 @@ internal class DefaultAlbumRepository @Inject constructor(
         monitorNodeUpdatesJob?.cancel()
         monitorNodeUpdatesJob = nodeRepository.monitorNodeUpdates()
             .onEach { nodeUpdate ->
-                val targets = mutableMapOf<UserSet, List<AlbumPhotoId>>()
-
-                for ((node, changes) in nodeUpdate.changes) {
-                    if (node is FolderNode && changes.contains(NodeChanges.Sensitive)) {
-                        targets.putAll(userSets.values.associateWith { listOf(AlbumPhotoId.default) })
-                        break
-                    } else {
-                        val setIds = nodeSetsMap[node.id] ?: emptySet()
-                        for (userSet in setIds.mapNotNull { userSets[it] }) {
-                            val nodeIds = targets[userSet] ?: listOf()
-                            targets[userSet] = nodeIds + AlbumPhotoId.default.copy(
-                                nodeId = node.id,
-                                albumId = AlbumId(userSet.id),
-                            )
+                val targets = albumNodeIndex.computeDeltas(nodeUpdate.changes)
+                    .mapNotNull { (albumId, nodeIds) ->
+                        val userSet = userSets[albumId] ?: return@mapNotNull null
+                        val albumPhotoIds = if (nodeIds.isEmpty()) {
+                            listOf(AlbumPhotoId.default)
+                        } else {
+                            nodeIds.map {
+                                AlbumPhotoId.default.copy(nodeId = it, albumId = AlbumId(albumId))
+                            }
                         }
-                    }
-                }
+                        userSet to albumPhotoIds
+                    }.toMap()
 
                 if (targets.isNotEmpty()) {
                     userSetsFlow.tryEmit(targets.keys.toList())
@@ -177,8 +171,6 @@ internal class DefaultAlbumRepository @Inject constructor(
 
         return withContext(ioDispatcher) {
             val setList = megaApiGateway.getSets()
-            userSets.clear()
-
             val userSets = (0 until setList.size())
                 .filter { index ->
                     setList.get(index).type() == MegaSet.SET_TYPE_ALBUM
@@ -187,8 +179,8 @@ internal class DefaultAlbumRepository @Inject constructor(
                 }
                 .associateBy { it.id }
 
-
-            this@DefaultAlbumRepository.userSets.putAll(userSets)
+            this@DefaultAlbumRepository.userSets.clear()
+            userSets.forEach { (id, userSet) -> this@DefaultAlbumRepository.userSets[id] = userSet }
             return@withContext userSets.values.toList()
         }
     }
@@ -208,7 +200,7 @@ internal class DefaultAlbumRepository @Inject constructor(
         userSetsFlow
             .filter { it.isNotEmpty() }
             .onEach { sets ->
-                sets.forEach { albumElements.remove(AlbumId(it.id)) }
+                sets.forEach { albumElements.invalidate(AlbumId(it.id)) }
             },
     )
 
@@ -216,18 +208,19 @@ internal class DefaultAlbumRepository @Inject constructor(
         albumId: AlbumId,
         refresh: Boolean,
     ): List<AlbumPhotoId> {
-        if (refresh) albumElements.remove(albumId)
-
-        return albumElements[albumId] ?: withContext(ioDispatcher) {
-            val elementList = megaApiGateway.getSetElements(sid = albumId.id)
-            (0 until elementList.size()).mapNotNull { index ->
-                val element = elementList[index]
-                val sets = nodeSetsMap.getOrPut(NodeId(element.node())) { mutableSetOf() }
-                sets.add(element.setId())
-
-                if (nodeRepository.isNodeInRubbishBin(NodeId(element.node()))) null
-                else element.toAlbumPhotoId()
-            }.also { albumElements[albumId] = it }
+        if (refresh) albumElements.invalidate(albumId)
+
+        return albumElements.getOrLoad(albumId) {
+            withContext(ioDispatcher) {
+                val elementList = megaApiGateway.getSetElements(sid = albumId.id)
+                val elements = (0 until elementList.size()).map { elementList[it] }
+                albumNodeIndex.setAlbumNodes(albumId.id, elements.map { NodeId(it.node()) })
+
+                elements.mapNotNull { element ->
+                    if (nodeRepository.isNodeInRubbishBin(NodeId(element.node()))) null
+                    else element.toAlbumPhotoId()
+                }
+            }
         }
     }
 
@@ -238,11 +231,11 @@ internal class DefaultAlbumRepository @Inject constructor(
             .map { elements -> elements.filter { it.setId() == albumId.id } }
             .onEach(::checkSetsCoverRemoved)
             .map { it.map { it.toAlbumPhotoId() }.ifEmpty { listOf(AlbumPhotoId.default) } }
-            .onEach { albumElements.remove(albumId) },
+            .onEach { albumElements.invalidate(albumId) },
         userSetsElementsFlow
             .mapNotNull { sets -> sets.find { it.first.id == albumId.id } }
             .map { it.second.ifEmpty { listOf(AlbumPhotoId.default) } }
-            .onEach { albumElements.remove(albumId) },
+            .onEach { albumElements.invalidate(albumId) },
     )
 
     private fun checkSetsCoverRemoved(elements: List<MegaSetElement>) {
@@ -267,25 +260,21 @@ internal class DefaultAlbumRepository @Inject constructor(
     }
 
     private fun createAlbumItems(albumID: AlbumId, photoIDs: List<NodeId>) = appScope.launch {
-        val listener = CreateSetElementListenerInterface(
-            target = photoIDs.size,
-            onCompletion = { success, _ ->
-                val progressFlow = getAlbumPhotosAddingProgressFlow(albumID)
-                progressFlow.tryEmit(
-                    AlbumPhotosAddingProgress(
-                        isProgressing = false,
-                        totalAddedPhotos = success,
-                    )
-                )
-            }
-        )
-
-        for (photoID in photoIDs) {
-            megaApiGateway.createSetElement(albumID.id, photoID.longValue, listener)
+        val success = photoIDs.chunked(MAX_BULK_SET_ELEMENTS).sumOf { chunk ->
+            runCatching { createSetElements(albumID, chunk) }
+                .onFailure { Timber.e(it, "Error adding photos to album") }
+                .getOrDefault(0)
         }
+        val progressFlow = getAlbumPhotosAddingProgressFlow(albumID)
+        progressFlow.tryEmit(
+            AlbumPhotosAddingProgress(
+                isProgressing = false,
+                totalAddedPhotos = success,
+            )
+        )
     }
 
-    override suspend fun removePhotosFromAlbum(albumID: AlbumId, photoIDs: List<AlbumPhotoId>) =
+    override suspend fun removePhotosFromAlbum(albumID: AlbumId, photoIDs: List<AlbumPhotoId>) {
         withContext(ioDispatcher) {
             val progressFlow = getAlbumPhotosRemovingProgressFlow(albumID)
             progressFlow.tryEmit(
@@ -295,22 +284,54 @@ internal class DefaultAlbumRepository @Inject constructor(
                 )
             )
 
-            val listener = RemoveSetElementListenerInterface(
-                target = photoIDs.size,
-                onCompletion = { success, _ ->
-                    progressFlow.tryEmit(
-                        AlbumPhotosRemovingProgress(
-                            isProgressing = false,
-                            totalRemovedPhotos = success,
-                        )
-                    )
-                }
+            val success = photoIDs.chunked(MAX_BULK_SET_ELEMENTS).sumOf { chunk ->
+                runCatching { removeSetElements(albumID, chunk) }
+                    .onFailure { Timber.e(it, "Error removing photos from album") }
+                    .getOrDefault(0)
+            }
+            progressFlow.tryEmit(
+                AlbumPhotosRemovingProgress(
+                    isProgressing = false,
+                    totalRemovedPhotos = success,
+                )
             )
+        }
+    }
+
+    private suspend fun removeSetElements(
+        albumId: AlbumId,
+        albumPhotoIds: List<AlbumPhotoId>,
+    ): Int {
+        val handleList = requireNotNull(megaHandleListMapper(albumPhotoIds.map { it.id })) {
+            "Handle list could not be created"
+        }
+        return coroutineScope {
+            suspendCancellableCoroutine { continuation ->
+                val listener = OptionalMegaRequestListenerInterface(
+                    onRequestFinish = { request, error ->
+                        if (error.errorCode == MegaError.API_OK) {
+                            // Error codes of each of the requested elements
+                            val errors = request.megaIntegerList
+                            val success = errors?.let { list ->
+                                (0 until list.size()).count {
+                                    list.get(it) == MegaError.API_OK.toLong()
+                                }
+                            } ?: albumPhotoIds.size
+                            continuation.resume(success)
+                        } else {
+                            continuation.failWithError(error, "removeSetElements")
+                        }
+                    },
+                )
 
-            for (photoID in photoIDs) {
-                megaApiGateway.removeSetElement(albumID.id, photoID.id, listener)
+                continuation.invokeOnCancellation {
+                    megaApiGateway.removeRequestListener(listener)
+                }
+
+                launch { megaApiGateway.removeSetElements(albumId.id, handleList, listener) }
             }
         }
+    }
 
     override suspend fun removeAlbums(albumIds: List<AlbumId>) = withContext(ioDispatcher) {
         albumIds.map { albumId ->
@@ -567,7 +588,14 @@ internal class DefaultAlbumRepository @Inject constructor(
         albumId: AlbumId,
         photoIds: List<NodeId>,
     ): Int = withContext(ioDispatcher) {
-        suspendCancellableCoroutine { continuation ->
+        photoIds.chunked(MAX_BULK_SET_ELEMENTS).sumOf { createSetElements(albumId, it) }
+    }
+
+    private suspend fun createSetElements(albumId: AlbumId, photoIds: List<NodeId>): Int {
+        val handleList = requireNotNull(megaHandleListMapper(photoIds.map { it.longValue })) {
+            "Handle list could not be created"
+        }
+        return suspendCancellableCoroutine { continuation ->
             val listener = OptionalMegaRequestListenerInterface(
                 onRequestFinish = { request, error ->
                     if (error.errorCode == MegaError.API_OK) {
@@ -579,16 +607,7 @@ internal class DefaultAlbumRepository @Inject constructor(
                 },
             )
 
-            if (photoIds.isNotEmpty()) {
-                val handleList = MegaHandleList.createInstance().apply {
-                    for (photoId in photoIds) {
-                        addMegaHandle(photoId.longValue)
-                    }
-                }
-                megaApiGateway.createSetElements(albumId.id, handleList, null, listener)
-            } else {
-                continuation.resume(0)
-            }
+            megaApiGateway.createSetElements(albumId.id, handleList, null, listener)
 
             continuation.invokeOnCancellation {
                 megaApiGateway.removeRequestListener(listener)
@@ -695,7 +714,7 @@ internal class DefaultAlbumRepository @Inject constructor(
     }
 
     override suspend fun getPublicImageNodes(): List<ImageNode> = withContext(ioDispatcher) {
-        publicNodesMap.values.map { megaNode ->
+        publicNodesMap.values().map { megaNode ->
             val offline = megaLocalRoomGateway.getOfflineInformation(nodeHandle = megaNode.handle)
             imageNodeMapper(
                 megaNode = megaNode,
@@ -742,7 +761,7 @@ internal class DefaultAlbumRepository @Inject constructor(
         }
 
     override fun clearAlbumCache(albumId: AlbumId) {
-        userSets.remove(albumId.id)
+        userSets.invalidate(albumId.id)
     }
 
     override fun clearCache() {
@@ -752,7 +771,7 @@ internal class DefaultAlbumRepository @Inject constructor(
         isMonitoringInitiated = false
 
         userSets.clear()
-        nodeSetsMap.clear()
+        albumNodeIndex.clear()
         albumElements.clear()
         publicNodesMap.clear()
         albumPhotosAddingProgressPool.clear()
@@ -786,4 +805,11 @@ internal class DefaultAlbumRepository @Inject constructor(
         nodeId = NodeId(node()),
         albumId = AlbumId(setId()),
     )
+
+    companion object {
+        /**
+         * Maximum number of elements added or removed in a single bulk request
+         */
+        private const val MAX_BULK_SET_ELEMENTS = 500
+    }
 }
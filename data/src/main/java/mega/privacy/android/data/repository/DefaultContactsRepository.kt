@@ -5,6 +5,8 @@ import android.content.Context
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.catch
@@ -17,15 +19,15 @@ import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.shareIn
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ContactRoster
 import mega.privacy.android.data.constant.FileConstant
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.extensions.failWithError
-import mega.privacy.android.data.extensions.findItemByHandle
 import mega.privacy.android.data.extensions.getDecodedAliases
 import mega.privacy.android.data.extensions.getRequestListener
-import mega.privacy.android.data.extensions.replaceIfExists
-import mega.privacy.android.data.extensions.sortList
 import mega.privacy.android.data.gateway.CacheGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
@@ -119,6 +121,15 @@ internal class DefaultContactsRepository @Inject constructor(
     private val contactGateway: ContactGateway,
 ) : ContactsRepository {
 
+    private val contactRoster = ContactRoster()
+    private val rosterMutex = Mutex()
+
+    /**
+     * Last list returned from [contactRoster]. When callers pass it back the roster is already
+     * up to date and does not need to be rebuilt.
+     */
+    private var contactRosterSnapshot: List<ContactItem>? = null
+
     override fun monitorContactRequestUpdates(): Flow<List<ContactRequest>> =
         megaApiGateway.globalUpdates
             .filterIsInstance<GlobalUpdate.OnContactRequestsUpdate>()
@@ -169,10 +180,17 @@ internal class DefaultContactsRepository @Inject constructor(
             .flowOn(ioDispatcher)
 
     override suspend fun getVisibleContacts(): List<ContactItem> = withContext(ioDispatcher) {
-        megaApiGateway.getContacts()
+        val contactItems = megaApiGateway.getContacts()
             .filter { contact -> contact.visibility == MegaUser.VISIBILITY_VISIBLE }
-            .map { getContactItem(it, false) }
-            .sortList()
+            .chunked(CONTACT_HYDRATION_CHUNK_SIZE)
+            .map { chunk -> async { chunk.map { getContactItem(it, false) } } }
+            .awaitAll()
+            .flatten()
+
+        rosterMutex.withLock {
+            contactRoster.replaceAll(contactItems)
+            contactRoster.toList().also { contactRosterSnapshot = it }
+        }
     }
 
     /**
@@ -349,37 +367,25 @@ internal class DefaultContactsRepository @Inject constructor(
     override suspend fun applyContactUpdates(
         outdatedContactList: List<ContactItem>,
         contactUpdates: UserUpdate,
-    ): List<ContactItem> {
-        val updatedList = outdatedContactList.toMutableList()
+    ): List<ContactItem> = rosterMutex.withLock {
+        loadRoster(outdatedContactList)
+        val aliases = if (contactUpdates.changes.values.any { it.contains(UserChanges.Alias) }) {
+            runCatching { getCurrentUserAliases() }.getOrNull()
+        } else {
+            null
+        }
 
         contactUpdates.changes.forEach { (userId, changes) ->
-            var updatedContact = outdatedContactList.findItemByHandle(userId.id)
+            var updatedContact = contactRoster[userId.id]
             val megaUser = megaApiGateway.getContact(userId.id.toBase64Handle())
 
             if (changes.isEmpty()
                 && (megaUser == null || megaUser.visibility != MegaUser.VISIBILITY_VISIBLE)
             ) {
-                updatedList.removeAll { (handle) -> handle == userId.id }
+                contactRoster.remove(userId.id)
             } else if (megaUser != null) {
                 if (updatedContact == null && megaUser.visibility == MegaUser.VISIBILITY_VISIBLE) {
                     updatedContact = getContactItem(megaUser, true)
-                    updatedList.add(updatedContact)
-                }
-
-                if (changes.contains(UserChanges.Alias)) {
-                    runCatching { getCurrentUserAliases() }.fold(
-                        onSuccess = { aliases -> aliases },
-                        onFailure = { null }
-                    )?.let { aliases ->
-                        outdatedContactList.forEach { (handle, _, contactData) ->
-                            val newContactData = contactData.copy(
-                                alias = if (aliases.containsKey(handle)) aliases[handle] else null
-                            )
-
-                            updatedContact = updatedList.findItemByHandle(handle)
-                                ?.copy(contactData = newContactData)
-                        }
-                    }
                 }
 
                 if (changes.contains(UserChanges.Firstname) || changes.contains(UserChanges.Lastname)) {
@@ -400,11 +406,34 @@ internal class DefaultContactsRepository @Inject constructor(
                     }
                 }
 
-                updatedContact?.let { updatedList.replaceIfExists(it) }
+                updatedContact?.let { contactRoster.upsert(it) }
             }
         }
 
-        return updatedList.sortList().toMutableList()
+        // Aliases are account wide, apply them once to every contact whose alias changed
+        aliases?.let { applyAliases(it) }
+
+        contactRoster.toList().also { contactRosterSnapshot = it }
+    }
+
+    /**
+     * Loads the received list in the roster unless it is the last list the roster returned
+     */
+    private fun loadRoster(contactList: List<ContactItem>) {
+        if (contactList !== contactRosterSnapshot) {
+            contactRoster.replaceAll(contactList)
+        }
+    }
+
+    private fun applyAliases(aliases: Map<Long, String>) {
+        contactRoster.toList().forEach { contact ->
+            val alias = aliases[contact.handle]
+            if (contact.contactData.alias != alias) {
+                contactRoster.upsert(
+                    contact.copy(contactData = contact.contactData.copy(alias = alias))
+                )
+            }
+        }
     }
 
     private suspend fun getContactItem(
@@ -469,19 +498,19 @@ internal class DefaultContactsRepository @Inject constructor(
     override suspend fun addNewContacts(
         outdatedContactList: List<ContactItem>,
         newContacts: List<ContactRequest>,
-    ): List<ContactItem> {
-        val updatedList = outdatedContactList.toMutableList()
+    ): List<ContactItem> = rosterMutex.withLock {
+        loadRoster(outdatedContactList)
 
         newContacts.forEach { contactRequest ->
-            if (updatedList.find { contact -> contact.email == contactRequest.sourceEmail } == null) {
+            if (!contactRoster.containsEmail(contactRequest.sourceEmail)) {
                 val megaUser = megaApiGateway.getContact(contactRequest.sourceEmail)
                 if (megaUser != null) {
-                    updatedList.add(getContactItem(megaUser, true))
+                    contactRoster.upsert(getContactItem(megaUser, true))
                 }
             }
         }
 
-        return updatedList.sortList()
+        contactRoster.toList().also { contactRosterSnapshot = it }
     }
 
     private suspend fun getUserCredentials(user: MegaUser) = withContext(ioDispatcher) {
@@ -1010,4 +1039,8 @@ internal class DefaultContactsRepository @Inject constructor(
         withContext(ioDispatcher) {
             megaLocalRoomGateway.getContactByHandle(contactId)
         }
+
+    companion object {
+        private const val CONTACT_HYDRATION_CHUNK_SIZE = 100
+    }
 }
@@ -4,8 +4,12 @@ import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onStart
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.extensions.getRequestListener
@@ -61,7 +65,17 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : MediaPlayerRepository {
 
+    /**
+     * Playback information updated since the last save, keyed by media id.
+     * Consecutive updates of the same media item are coalesced and only these entries are written.
+     */
     private val playbackInfoMap = mutableMapOf<Long, PlaybackInformation>()
+    private val deletedPlaybackInfoIds = mutableSetOf<Long>()
+    private val playbackInfoMutex = Mutex()
+    private val legacyMigrationMutex = Mutex()
+
+    @Volatile
+    private var isLegacyPlaybackTimesMigrated = false
 
     override suspend fun getLocalLinkForFolderLinkFromMegaApi(nodeHandle: Long): String? =
         withContext(ioDispatcher) {
@@ -394,52 +408,109 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
         }
 
     override suspend fun deletePlaybackInformation(mediaId: Long) {
-        playbackInfoMap.remove(mediaId)
+        playbackInfoMutex.withLock {
+            playbackInfoMap.remove(mediaId)
+            deletedPlaybackInfoIds.add(mediaId)
+        }
     }
 
     override suspend fun savePlaybackTimes() {
-        appPreferencesGateway.putString(
-            PREFERENCE_KEY_VIDEO_EXIT_TIME,
-            Gson().toJson(playbackInfoMap)
+        migrateLegacyPlaybackTimes()
+        val (updated, deleted) = playbackInfoMutex.withLock {
+            playbackInfoMap.toMap() to deletedPlaybackInfoIds.toSet()
+        }
+        if (updated.isEmpty() && deleted.isEmpty()) return
+        megaLocalRoomGateway.applyPlaybackInformationChanges(
+            updated = updated,
+            deletedMediaIds = deleted,
+            maxEntries = MAX_PLAYBACK_INFORMATION_ENTRIES,
         )
+        // Keep any change made while saving, it will be written by the next save
+        playbackInfoMutex.withLock {
+            updated.forEach { (mediaId, info) -> playbackInfoMap.remove(mediaId, info) }
+            deletedPlaybackInfoIds.removeAll(deleted)
+        }
     }
 
     override suspend fun updatePlaybackInformation(playbackInformation: PlaybackInformation) {
         playbackInformation.mediaId?.let { mediaId ->
-            playbackInfoMap[mediaId] = playbackInformation
+            playbackInfoMutex.withLock {
+                playbackInfoMap[mediaId] = playbackInformation
+                deletedPlaybackInfoIds.remove(mediaId)
+            }
         }
     }
 
+    override suspend fun getPlaybackInformation(mediaId: Long): PlaybackInformation? {
+        migrateLegacyPlaybackTimes()
+        playbackInfoMutex.withLock {
+            if (mediaId in deletedPlaybackInfoIds) return null
+            playbackInfoMap[mediaId]?.let { return it }
+        }
+        return megaLocalRoomGateway.getPlaybackInformation(mediaId)
+    }
+
     override fun monitorPlaybackTimes(): Flow<Map<Long, PlaybackInformation>?> =
-        appPreferencesGateway.monitorString(
-            PREFERENCE_KEY_VIDEO_EXIT_TIME,
-            null
-        ).map { jsonString ->
-            jsonString?.let {
-                runCatching {
-                    Gson().fromJson<Map<Long, PlaybackInformation>?>(
-                        it,
-                        object : TypeToken<Map<Long, PlaybackInformation>>() {}.type
-                    )
-                        .let { infoMap ->
-                            // If the playbackInfoMap is empty, using the local information
-                            // else using the current playbackInfoMap
-                            if (playbackInfoMap.isEmpty()) {
-                                playbackInfoMap.putAll(infoMap)
-                            }
+        megaLocalRoomGateway.monitorAllPlaybackInformation()
+            .onStart { migrateLegacyPlaybackTimes() }
+            .map { stored ->
+                // Pending changes which have not been saved yet take precedence over stored ones
+                playbackInfoMutex.withLock {
+                    stored.mapNotNull { info -> info.mediaId?.let { it to info } }
+                        .toMap(mutableMapOf())
+                        .apply {
+                            keys.removeAll(deletedPlaybackInfoIds)
+                            putAll(playbackInfoMap)
                         }
-                }.onFailure {
-                    // Log the error jsonString and clear it.
-                    Timber.d(it, "The error jsonString: $jsonString")
-                    playbackInfoMap.clear()
-                    appPreferencesGateway.putString(
-                        PREFERENCE_KEY_VIDEO_EXIT_TIME,
-                        Gson().toJson(playbackInfoMap)
+                }
+            }
+
+    /**
+     * Moves the playback times stored by previous versions as a single json preference
+     * into the playback positions table, then clears the preference.
+     * If the database write fails the preference is kept, so it is tried again the next time.
+     * A preference which cannot be parsed is removed, as it would never be migrated.
+     */
+    private suspend fun migrateLegacyPlaybackTimes() {
+        if (isLegacyPlaybackTimesMigrated) return
+        legacyMigrationMutex.withLock {
+            if (isLegacyPlaybackTimesMigrated) return
+            val jsonString = appPreferencesGateway.monitorString(
+                PREFERENCE_KEY_VIDEO_EXIT_TIME,
+                null
+            ).firstOrNull()
+            if (jsonString.isNullOrBlank()) {
+                isLegacyPlaybackTimesMigrated = true
+                return
+            }
+            // Gson keeps the order of the json, which is the order the entries were saved in
+            val legacyMap = runCatching {
+                Gson().fromJson<Map<Long, PlaybackInformation>?>(
+                    jsonString,
+                    object : TypeToken<Map<Long, PlaybackInformation>>() {}.type
+                )
+            }.getOrElse {
+                Timber.w(it, "Discarding the unreadable legacy playback times")
+                appPreferencesGateway.putString(PREFERENCE_KEY_VIDEO_EXIT_TIME, "")
+                isLegacyPlaybackTimesMigrated = true
+                return
+            }
+            runCatching {
+                legacyMap?.let {
+                    megaLocalRoomGateway.applyPlaybackInformationChanges(
+                        updated = it,
+                        deletedMediaIds = emptySet(),
+                        maxEntries = MAX_PLAYBACK_INFORMATION_ENTRIES,
                     )
                 }
-                playbackInfoMap
+            }.onSuccess {
+                appPreferencesGateway.putString(PREFERENCE_KEY_VIDEO_EXIT_TIME, "")
+                isLegacyPlaybackTimesMigrated = true
+            }.onFailure {
+                Timber.d(it, "Failed to migrate the legacy playback times")
             }
         }
+    }
 
     override suspend fun getFileUrlByNodeHandle(handle: Long): String? = withContext(ioDispatcher) {
         megaApi.getMegaNodeByHandle(handle)?.let { node ->
@@ -624,5 +695,6 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
 
     companion object {
         private const val PREFERENCE_KEY_VIDEO_EXIT_TIME = "PREFERENCE_KEY_VIDEO_EXIT_TIME"
+        private const val MAX_PLAYBACK_INFORMATION_ENTRIES = 1000
     }
 }
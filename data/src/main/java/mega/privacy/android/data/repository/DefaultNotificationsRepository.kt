@@ -35,8 +35,10 @@ import mega.privacy.android.domain.repository.NotificationsRepository
 import mega.privacy.android.domain.usecase.meeting.FetchNumberOfScheduledMeetingOccurrencesByChat
 import mega.privacy.android.domain.usecase.meeting.GetScheduledMeeting
 import nz.mega.sdk.MegaError
+import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaPushNotificationSettings
 import nz.mega.sdk.MegaUser
+import nz.mega.sdk.MegaUserAlert
 import timber.log.Timber
 import javax.inject.Inject
 import javax.inject.Singleton
@@ -73,15 +75,7 @@ internal class DefaultNotificationsRepository @Inject constructor(
         .filterIsInstance<GlobalUpdate.OnUserAlertsUpdate>()
         .mapNotNull { (newUserAlerts) ->
             withContext(dispatcher) {
-                val userAlerts = newUserAlerts?.map { userAlert ->
-                    userAlertsMapper(
-                        userAlert,
-                        ::provideContact,
-                        ::provideScheduledMeeting,
-                        ::provideSchedMeetingOccurrences,
-                        megaApiGateway::getMegaNodeByHandle
-                    )
-                }
+                val userAlerts = newUserAlerts?.let { mapUserAlerts(it) }
 
                 if (!areMeetingInvitationsEnabled()) {
                     userAlerts?.filter { it !is ScheduledMeetingAlert }
@@ -99,15 +93,7 @@ internal class DefaultNotificationsRepository @Inject constructor(
 
     override suspend fun getUserAlerts(): List<UserAlert> =
         withContext(dispatcher) {
-            val userAlerts = megaApiGateway.getUserAlerts().map { userAlert ->
-                userAlertsMapper(
-                    userAlert,
-                    ::provideContact,
-                    ::provideScheduledMeeting,
-                    ::provideSchedMeetingOccurrences,
-                    megaApiGateway::getMegaNodeByHandle
-                )
-            }
+            val userAlerts = mapUserAlerts(megaApiGateway.getUserAlerts())
 
             if (!areMeetingInvitationsEnabled()) {
                 userAlerts.filter { it !is ScheduledMeetingAlert }
@@ -116,6 +102,74 @@ internal class DefaultNotificationsRepository @Inject constructor(
             }
         }
 
+    private suspend fun mapUserAlerts(userAlerts: List<MegaUserAlert>): List<UserAlert> {
+        val context = UserAlertResolutionContext()
+        return userAlerts.map { userAlert ->
+            userAlertsMapper(
+                userAlert,
+                context::provideContact,
+                context::provideScheduledMeeting,
+                context::provideSchedMeetingOccurrences,
+                context::provideNode,
+            )
+        }
+    }
+
+    /**
+     * Resolves the data of the alerts mapped in a single call, so the users, meetings and nodes
+     * repeated across alerts are only requested once.
+     *
+     * Not thread safe, the alerts are mapped sequentially.
+     */
+    private inner class UserAlertResolutionContext {
+        private val emails = HashMap<Long, String?>()
+        private val contacts = HashMap<Pair<Long, String?>, Contact>()
+        private val scheduledMeetings = HashMap<Pair<Long, Long>, ChatScheduledMeeting?>()
+        private val occurrences = HashMap<Long, List<ChatScheduledMeetingOccurr>?>()
+        private val nodes = HashMap<Long, MegaNode?>()
+        private var pendingRequestEmails: Set<String>? = null
+
+        suspend fun provideContact(userId: Long, email: String?): Contact =
+            contacts.getOrPut(userId to email) {
+                val emailAddress = email ?: memoised(emails, userId) { provideEmail(userId) }
+                Contact(
+                    userId = userId,
+                    email = emailAddress,
+                    nickname = localStorageGateway.getContactByEmail(emailAddress)?.nickname,
+                    isVisible = isContactVisible(emailAddress),
+                    hasPendingRequest = emailAddress in getPendingRequestEmails(),
+                )
+            }
+
+        suspend fun provideScheduledMeeting(chatId: Long, schedId: Long) =
+            memoised(scheduledMeetings, chatId to schedId) {
+                this@DefaultNotificationsRepository.provideScheduledMeeting(chatId, schedId)
+            }
+
+        suspend fun provideSchedMeetingOccurrences(chatId: Long) =
+            memoised(occurrences, chatId) {
+                this@DefaultNotificationsRepository.provideSchedMeetingOccurrences(chatId)
+            }
+
+        suspend fun provideNode(handle: Long) =
+            memoised(nodes, handle) { megaApiGateway.getMegaNodeByHandle(handle) }
+
+        private suspend fun getPendingRequestEmails(): Set<String> =
+            pendingRequestEmails ?: megaApiGateway.getIncomingContactRequests()
+                ?.mapNotNullTo(HashSet()) { it.sourceEmail }
+                .orEmpty()
+                .also { pendingRequestEmails = it }
+
+        // getOrPut would request again the keys without value
+        private inline fun <K, V> memoised(map: HashMap<K, V>, key: K, provide: () -> V): V =
+            if (map.containsKey(key)) {
+                @Suppress("UNCHECKED_CAST")
+                map[key] as V
+            } else {
+                provide().also { map[key] = it }
+            }
+    }
+
     private suspend fun provideEmail(userId: Long): String? =
         getEmailLocally(userId) ?: fetchAndCacheEmail(userId)
 
@@ -140,21 +194,6 @@ internal class DefaultNotificationsRepository @Inject constructor(
     private suspend fun getEmailLocally(userId: Long) =
         localStorageGateway.getNonContactByHandle(userId)?.email
 
-    private suspend fun provideContact(userId: Long, email: String?): Contact {
-        val emailAddress = email ?: provideEmail(userId)
-        val nickname = localStorageGateway.getContactByEmail(emailAddress)?.nickname
-        val visible = isContactVisible(emailAddress)
-        val hasPendingRequest = emailAddressFoundInPendingRequests(emailAddress)
-
-        return Contact(
-            userId = userId,
-            email = emailAddress,
-            nickname = nickname,
-            isVisible = visible,
-            hasPendingRequest = hasPendingRequest
-        )
-    }
-
     private suspend fun provideScheduledMeeting(
         chatId: Long,
         schedId: Long,
@@ -168,10 +207,6 @@ internal class DefaultNotificationsRepository @Inject constructor(
         runCatching { fetchSchedOccurrencesByChatUseCase(chatId, 20) }.getOrNull()
     }
 
-    private suspend fun emailAddressFoundInPendingRequests(emailAddress: String?) =
-        megaApiGateway.getIncomingContactRequests()?.mapNotNull { it.sourceEmail }
-            ?.contains(emailAddress) ?: false
-
     private suspend fun isContactVisible(emailAddress: String?) = emailAddress?.let {
         megaApiGateway.getContact(it)?.visibility == MegaUser.VISIBILITY_VISIBLE
     } ?: false
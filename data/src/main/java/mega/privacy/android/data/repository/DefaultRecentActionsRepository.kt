@@ -1,35 +1,64 @@
 package mega.privacy.android.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.extensions.getRequestListener
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.recentactions.RecentActionBucketMapper
 import mega.privacy.android.data.mapper.recentactions.RecentActionsMapper
 import mega.privacy.android.domain.entity.RecentActionBucketUnTyped
+import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
+import mega.privacy.android.domain.repository.NodeRepository
 import mega.privacy.android.domain.repository.RecentActionsRepository
 import nz.mega.sdk.MegaRecentActionBucket
 import timber.log.Timber
 import javax.inject.Inject
+import javax.inject.Singleton
 
 /**
  * Default implementation of [RecentActionsRepository]
+ *
+ * The mapped buckets are kept in a [RecentActionsStore] and only refreshed after a node update
+ * affecting them, mapping only the buckets that changed.
  */
+@Singleton
 internal class DefaultRecentActionsRepository @Inject constructor(
     private val megaApiGateway: MegaApiGateway,
     private val recentActionsMapper: RecentActionsMapper,
     private val recentActionBucketMapper: RecentActionBucketMapper,
+    private val nodeRepository: NodeRepository,
+    @ApplicationScope private val appScope: CoroutineScope,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) : RecentActionsRepository {
 
+    private val store = RecentActionsStore()
+
+    private val refreshMutex = Mutex()
+
+    @Volatile
+    private var monitorNodeUpdatesJob: Job? = null
+
     override suspend fun getRecentActions() = withContext(ioDispatcher) {
+        if (monitorNodeUpdates()) {
+            // Node updates may have been missed while not monitoring them
+            store.clear()
+        }
+        store.get()?.let { return@withContext it }
         runCatching {
-            val list = getMegaRecentAction().map {
-                recentActionBucketMapper.invoke(
-                    it,
-                )
+            val list = refreshMutex.withLock {
+                // It may have been refreshed while waiting for the lock
+                store.get() ?: refreshRecentActions()
             }
             return@withContext list
         }.onFailure {
@@ -38,6 +67,59 @@ internal class DefaultRecentActionsRepository @Inject constructor(
         return@withContext emptyList<RecentActionBucketUnTyped>()
     }
 
+    override fun clearCache() {
+        store.clear()
+    }
+
+    /**
+     * Starts monitoring the node updates if it is not running, either because it has not been
+     * started yet or because it stopped after a failure
+     *
+     * @return true if the monitoring has been started
+     */
+    private fun monitorNodeUpdates(): Boolean {
+        if (monitorNodeUpdatesJob?.isActive == true) return false
+        synchronized(this) {
+            if (monitorNodeUpdatesJob?.isActive == true) return false
+            monitorNodeUpdatesJob = nodeRepository.monitorNodeUpdates()
+                .onEach { store.onNodeUpdate(it.changes) }
+                .catch { Timber.e(it) }
+                .onCompletion { onMonitorNodeUpdatesCompleted(currentCoroutineContext()[Job]) }
+                .launchIn(appScope)
+            return true
+        }
+    }
+
+    /**
+     * The cached buckets are no longer kept up to date, so they are marked as stale, and the
+     * job is cleared so the next request starts monitoring again
+     */
+    private fun onMonitorNodeUpdatesCompleted(job: Job?) {
+        store.clear()
+        synchronized(this) {
+            if (monitorNodeUpdatesJob === job) monitorNodeUpdatesJob = null
+        }
+    }
+
+    private suspend fun refreshRecentActions(): List<RecentActionBucketUnTyped> {
+        val startVersion = store.currentVersion()
+        val result = getMegaRecentAction().map { bucket ->
+            val key = bucket.toKey()
+            key to (store.getReusable(key) ?: recentActionBucketMapper(bucket))
+        }
+        store.update(startVersion, result)
+        return result.map { it.second }
+    }
+
+    private fun MegaRecentActionBucket.toKey() = RecentActionBucketKey(
+        timestamp = timestamp,
+        userEmail = userEmail,
+        parentHandle = parentHandle,
+        isUpdate = isUpdate,
+        isMedia = isMedia,
+        nodeHandles = (0 until nodes.size()).map { nodes.get(it).handle },
+    )
+
     private suspend fun getMegaRecentAction(): List<MegaRecentActionBucket> =
         withContext(ioDispatcher) {
             val result = suspendCancellableCoroutine { continuation ->
@@ -402,6 +402,35 @@ internal class DefaultSettingsRepository @Inject constructor(
         monitorFunction(key, defaultValue)
     }
 
+    override fun getStringPreference(key: String?, defaultValue: String?) =
+        getPreference(key, defaultValue, appPreferencesGateway::getString)
+
+    override fun getStringSetPreference(key: String?, defaultValue: MutableSet<String>?) =
+        getPreference(key, defaultValue, appPreferencesGateway::getStringSet)
+
+    override fun getIntPreference(key: String?, defaultValue: Int) =
+        getPreference(key, defaultValue, appPreferencesGateway::getInt)
+
+    override fun getLongPreference(key: String?, defaultValue: Long) =
+        getPreference(key, defaultValue, appPreferencesGateway::getLong)
+
+    override fun getFloatPreference(key: String?, defaultValue: Float) =
+        getPreference(key, defaultValue, appPreferencesGateway::getFloat)
+
+    override fun getBooleanPreference(key: String?, defaultValue: Boolean) =
+        getPreference(key, defaultValue, appPreferencesGateway::getBoolean)
+
+    private fun <T> getPreference(
+        key: String?,
+        defaultValue: T,
+        getFunction: (String, T) -> T,
+    ) = if (key.isNullOrBlank()) {
+        Timber.w("Failed to get preference with an empty or null key")
+        defaultValue
+    } else {
+        getFunction(key, defaultValue)
+    }
+
     override fun getLastContactPermissionDismissedTime(): Flow<Long> =
         chatPreferencesGateway.getLastContactPermissionRequestedTime()
 
@@ -412,6 +441,9 @@ internal class DefaultSettingsRepository @Inject constructor(
     override fun monitorPreferredStartScreen() =
         uiPreferencesGateway.monitorPreferredStartScreen().map { startScreenMapper(it) }
 
+    override fun getPreferredStartScreen() =
+        startScreenMapper(uiPreferencesGateway.getPreferredStartScreen())
+
     override suspend fun setPreferredStartScreen(screen: StartScreen) {
         uiPreferencesGateway.setPreferredStartScreen(screen.id)
     }
@@ -15,7 +15,6 @@ import kotlinx.coroutines.flow.callbackFlow
 import kotlinx.coroutines.flow.cancellable
 import kotlinx.coroutines.flow.combine
 import kotlinx.coroutines.flow.emitAll
-import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
@@ -31,6 +30,7 @@ import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.extensions.getRequestListener
 import mega.privacy.android.data.extensions.isBackgroundTransfer
 import mega.privacy.android.data.gateway.AppEventGateway
+import mega.privacy.android.data.gateway.CompletedTransferGateway
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
@@ -104,6 +104,7 @@ internal class DefaultTransfersRepository @Inject constructor(
     private val megaNodeMapper: MegaNodeMapper,
     private val sdCardGateway: SDCardGateway,
     private val deviceGateway: DeviceGateway,
+    private val completedTransferGateway: CompletedTransferGateway,
 ) : TransferRepository {
 
     private val monitorPausedTransfers = MutableStateFlow(false)
@@ -474,23 +475,15 @@ internal class DefaultTransfersRepository @Inject constructor(
     ) {
         withContext(ioDispatcher) {
             val completedTransfer = completedTransferMapper(transfer, megaException, transferPath)
-            megaLocalRoomGateway.addCompletedTransfer(completedTransfer)
+            completedTransferGateway.add(completedTransfer)
             appEventGateway.broadcastCompletedTransfer(completedTransfer)
         }
     }
 
+    override suspend fun flushCompletedTransfers() = completedTransferGateway.flush()
+
     override suspend fun addCompletedTransfersIfNotExist(transfers: List<CompletedTransfer>) =
-        withContext(ioDispatcher) {
-            // remove id field before comparison
-            val existingTransfers =
-                megaLocalRoomGateway.getAllCompletedTransfers().firstOrNull()
-                    .orEmpty().map { it.copy(id = null) }
-            transfers.map { it.copy(id = null) }.forEach { transfer ->
-                if (!existingTransfers.any { existingTransfer -> existingTransfer == transfer }) {
-                    megaLocalRoomGateway.addCompletedTransfer(transfer)
-                }
-            }
-        }
+        completedTransferGateway.addIfNotExist(transfers)
 
     override suspend fun deleteOldestCompletedTransfers() = withContext(ioDispatcher) {
         workerManagerGateway.enqueueDeleteOldestCompletedTransfersWorkRequest()
@@ -2,10 +2,8 @@ package mega.privacy.android.data.repository
 
 import android.content.Context
 import android.net.Uri
-import android.webkit.MimeTypeMap
 import androidx.core.net.toFile
 import androidx.core.net.toUri
-import androidx.documentfile.provider.DocumentFile
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
@@ -30,6 +28,7 @@ import mega.privacy.android.data.gateway.FileAttributeGateway
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
 import mega.privacy.android.data.gateway.SDCardGateway
+import mega.privacy.android.data.gateway.SdCardMoveGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -65,7 +64,6 @@ import nz.mega.sdk.MegaTransfer.COLLISION_RESOLUTION_NEW_WITH_N
 import nz.mega.sdk.MegaUser
 import timber.log.Timber
 import java.io.File
-import java.io.IOException
 import java.net.URI
 import java.net.URLConnection
 import javax.inject.Inject
@@ -89,6 +87,7 @@ import javax.inject.Inject
  * @property chatFilesFolderUserAttributeMapper
  * @property streamingGateway
  * @property sdCardGateway
+ * @property sdCardMoveGateway
  * @property fileAttributeGateway
  */
 internal class FileSystemRepositoryImpl @Inject constructor(
@@ -110,6 +109,7 @@ internal class FileSystemRepositoryImpl @Inject constructor(
     private val streamingGateway: StreamingGateway,
     private val deviceGateway: DeviceGateway,
     private val sdCardGateway: SDCardGateway,
+    private val sdCardMoveGateway: SdCardMoveGateway,
     private val fileAttributeGateway: FileAttributeGateway,
     @ApplicationScope private val sharingScope: CoroutineScope,
     private val mimeTypeMapper: MimeTypeMapper,
@@ -471,54 +471,20 @@ internal class FileSystemRepositoryImpl @Inject constructor(
         file: File,
         destinationUri: String,
         subFolders: List<String>,
-    ) =
-        withContext(ioDispatcher) {
-            val sourceDocument = DocumentFile.fromFile(file)
-            val sdCardUri = Uri.parse(destinationUri)
-
-            val destDocument = getSdDocumentFile(
-                sdCardUri,
-                subFolders,
-                file.name,
-                MimeTypeMap.getSingleton().getMimeTypeFromExtension(file.extension)
-                    ?: "application/octet-stream"
-            )
-
-            try {
-                if (destDocument != null) {
-                    val inputStream =
-                        context.contentResolver.openInputStream(sourceDocument.uri)
-                    val outputStream =
-                        context.contentResolver.openOutputStream(destDocument.uri)
-
-                    inputStream?.use { input ->
-                        outputStream?.use { output ->
-                            input.copyTo(output)
-                        }
-                    }
-                    file.delete()
-                    return@withContext true
-                }
-            } catch (e: IOException) {
-                e.printStackTrace()
-            }
-            return@withContext false
-        }
+    ) = withContext(ioDispatcher) {
+        sdCardMoveGateway.moveFile(file, destinationUri, subFolders)
+    }
 
-    private fun getSdDocumentFile(
-        folderUri: Uri,
+    override suspend fun enqueueFileMoveToSd(
+        file: File,
+        destinationUri: String,
         subFolders: List<String>,
-        fileName: String,
-        mimeType: String,
-    ): DocumentFile? {
-        var folderDocument = DocumentFile.fromTreeUri(context, folderUri)
-
-        subFolders.forEach { folder ->
-            folderDocument =
-                folderDocument?.findFile(folder) ?: folderDocument?.createDirectory(folder)
-        }
-        folderDocument?.findFile(fileName)?.delete()
-        return folderDocument?.createFile(mimeType, fileName)
+    ) = withContext(ioDispatcher) {
+        sdCardMoveGateway.enqueueMove(file, destinationUri, subFolders)
+    }
+
+    override suspend fun resumePendingFileMovesToSd() = withContext(ioDispatcher) {
+        sdCardMoveGateway.resumePendingMoves()
     }
 
     override suspend fun createNewImageUri(fileName: String): String? = withContext(ioDispatcher) {
@@ -60,6 +60,7 @@ import mega.privacy.android.domain.entity.shares.AccessPermission
 import mega.privacy.android.domain.entity.user.UserId
 import mega.privacy.android.domain.exception.SynchronisationException
 import mega.privacy.android.domain.exception.node.ForeignNodeException
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.NodeRepository
 import nz.mega.sdk.MegaApiJava
@@ -117,6 +118,7 @@ internal class NodeRepositoryImpl @Inject constructor(
     private val nodeLabelIntMapper: NodeLabelIntMapper,
     private val megaSearchFilterMapper: MegaSearchFilterMapper,
     private val cancelTokenProvider: CancelTokenProvider,
+    private val performanceTracer: PerformanceTracer,
 ) : NodeRepository {
 
     override suspend fun getNodeOutgoingShares(nodeId: NodeId) =
@@ -255,19 +257,21 @@ internal class NodeRepositoryImpl @Inject constructor(
         nodeId: NodeId,
         order: SortOrder?,
     ): List<UnTypedNode> = withContext(ioDispatcher) {
-        val token = cancelTokenProvider.getOrCreateCancelToken()
-        val filter = megaSearchFilterMapper(
-            parentHandle = nodeId,
-        )
-        val offlineItems = async { getAllOfflineNodeHandle() }
-        val childList = async {
-            megaApiGateway.getChildren(
-                filter,
-                sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
-                token
+        performanceTracer.trace(TRACE_GET_NODE_CHILDREN) {
+            val token = cancelTokenProvider.getOrCreateCancelToken()
+            val filter = megaSearchFilterMapper(
+                parentHandle = nodeId,
             )
+            val offlineItems = async { getAllOfflineNodeHandle() }
+            val childList = async {
+                megaApiGateway.getChildren(
+                    filter,
+                    sortOrderIntMapper(order ?: SortOrder.ORDER_NONE),
+                    token
+                )
+            }
+            mapMegaNodesToUnTypedNodes(childList.await(), offlineItems.await())
         }
-        mapMegaNodesToUnTypedNodes(childList.await(), offlineItems.await())
     }
 
     private suspend fun mapMegaNodesToUnTypedNodes(
@@ -391,6 +395,16 @@ internal class NodeRepositoryImpl @Inject constructor(
         )
     }
 
+    override suspend fun saveOfflineNodeInformationBranch(
+        branch: List<OfflineNodeInformation>,
+        parentOfflineInformationId: Long?,
+    ) = withContext(ioDispatcher) {
+        megaLocalRoomGateway.saveOfflineInformationBranch(
+            branch.map { offlineInformationMapper(it, null) },
+            parentOfflineInformationId?.toInt()
+        )
+    }
+
     override suspend fun convertBase64ToHandle(base64: String): Long = withContext(ioDispatcher) {
         megaApiGateway.base64ToHandle(base64)
     }
@@ -711,6 +725,17 @@ internal class NodeRepositoryImpl @Inject constructor(
                 ?.let { nodeMapper(megaNode = it, offline = getOfflineNode(it.handle)) }
         }
 
+    override suspend fun getChildNodeNames(parentNodeId: NodeId): Set<String> =
+        withContext(ioDispatcher) {
+            // A token of its own, so cancelling a search does not cancel the name allocation
+            val token = megaApiGateway.createCancelToken()
+            val filter = megaSearchFilterMapper(
+                parentHandle = parentNodeId,
+            )
+            megaApiGateway.getChildren(filter, sortOrderIntMapper(SortOrder.ORDER_NONE), token)
+                .mapNotNullTo(HashSet()) { it.name }
+        }
+
     override suspend fun setOriginalFingerprint(nodeId: NodeId, originalFingerprint: String) =
         withContext(ioDispatcher) {
             val node = megaApiGateway.getMegaNodeByHandle(nodeId.longValue)
@@ -906,8 +931,8 @@ internal class NodeRepositoryImpl @Inject constructor(
     override suspend fun getOfflineNodeById(id: Int) =
         megaLocalRoomGateway.getOfflineLineById(id)?.let { offlineNodeInformationMapper(it) }
 
-    override suspend fun removeOfflineNodeById(id: Int) {
-        megaLocalRoomGateway.removeOfflineInformationById(id)
+    override suspend fun removeOfflineNodeSubtree(id: Int) = withContext(ioDispatcher) {
+        megaLocalRoomGateway.removeOfflineInformationSubtree(id)
     }
 
     override suspend fun setNodeLabel(nodeId: NodeId, label: NodeLabel): Unit =
@@ -1131,4 +1156,8 @@ internal class NodeRepositoryImpl @Inject constructor(
             continuation.invokeOnCancellation { megaApiGateway.removeRequestListener(listener) }
         }
     }
+
+    companion object {
+        internal const val TRACE_GET_NODE_CHILDREN = "get_node_children"
+    }
 }
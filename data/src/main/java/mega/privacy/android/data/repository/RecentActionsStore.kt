@@ -0,0 +1,152 @@
+package mega.privacy.android.data.repository
+
+import mega.privacy.android.domain.entity.RecentActionBucketUnTyped
+import mega.privacy.android.domain.entity.node.Node
+import mega.privacy.android.domain.entity.node.NodeChanges
+
+/**
+ * Identity of a recent action bucket returned by the SDK, including its nodes, so a bucket with
+ * the same key as a cached one can reuse its mapped value.
+ *
+ * @property timestamp
+ * @property userEmail
+ * @property parentHandle
+ * @property isUpdate
+ * @property isMedia
+ * @property nodeHandles handles of the nodes of the bucket, in order
+ */
+internal data class RecentActionBucketKey(
+    val timestamp: Long,
+    val userEmail: String?,
+    val parentHandle: Long,
+    val isUpdate: Boolean,
+    val isMedia: Boolean,
+    val nodeHandles: List<Long>,
+)
+
+/**
+ * In-memory store of the last mapped recent action buckets.
+ *
+ * Node updates only invalidate the buckets containing the updated nodes or whose parent folder
+ * was updated. New nodes make the whole list stale, as they may start new buckets, and so do
+ * moves, attribute and sensitive changes of other nodes, as they may be ancestors of the nodes of
+ * any bucket. Until then the cached buckets are served without querying the SDK, and a refresh
+ * only maps the buckets that changed.
+ *
+ * Thread safe.
+ */
+internal class RecentActionsStore {
+    private val lock = Any()
+    private var buckets: Map<RecentActionBucketKey, RecentActionBucketUnTyped> = emptyMap()
+    private var order: List<RecentActionBucketKey> = emptyList()
+    private val keysByNode = HashMap<Long, MutableList<RecentActionBucketKey>>()
+    private val invalidKeys = HashSet<RecentActionBucketKey>()
+    private var isStale = true
+
+    /**
+     * Incremented on each node update that invalidates something, so a refresh started before
+     * the update is not stored as valid
+     */
+    private var version = 0L
+
+    /**
+     * Gets the cached buckets
+     *
+     * @return the buckets, or null if they have to be refreshed
+     */
+    fun get(): List<RecentActionBucketUnTyped>? = synchronized(lock) {
+        if (isStale || invalidKeys.isNotEmpty()) null else order.map { buckets.getValue(it) }
+    }
+
+    /**
+     * Gets the current version, to be passed to [update] once the refresh finishes
+     */
+    fun currentVersion(): Long = synchronized(lock) { version }
+
+    /**
+     * Gets the mapped value of a bucket if it is cached and has not been invalidated
+     *
+     * @param key
+     */
+    fun getReusable(key: RecentActionBucketKey): RecentActionBucketUnTyped? =
+        synchronized(lock) {
+            if (key in invalidKeys) null else buckets[key]
+        }
+
+    /**
+     * Replaces the cached buckets with the result of a refresh. If there were node updates
+     * since the refresh started, the cached buckets are kept as they are, so the next call
+     * refreshes again.
+     *
+     * @param startVersion  version when the refresh started
+     * @param result        mapped buckets by key, in order
+     */
+    fun update(
+        startVersion: Long,
+        result: List<Pair<RecentActionBucketKey, RecentActionBucketUnTyped>>,
+    ) = synchronized(lock) {
+        if (startVersion != version) {
+            isStale = true
+            return@synchronized
+        }
+        buckets = result.toMap()
+        order = result.map { it.first }
+        keysByNode.clear()
+        order.forEach { key ->
+            key.nodeHandles.forEach { keysByNode.getOrPut(it) { ArrayList(1) }.add(key) }
+            keysByNode.getOrPut(key.parentHandle) { ArrayList(1) }.add(key)
+        }
+        invalidKeys.clear()
+        isStale = false
+    }
+
+    /**
+     * Invalidates the buckets affected by a batch of node updates
+     *
+     * @param changes node updates
+     */
+    fun onNodeUpdate(changes: Map<Node, List<NodeChanges>>) = synchronized(lock) {
+        var isChanged = false
+        for ((node, nodeChanges) in changes) {
+            val keys = keysByNode[node.id.longValue]
+            when {
+                nodeChanges.contains(NodeChanges.New) -> {
+                    isStale = true
+                    isChanged = true
+                }
+
+                keys != null -> {
+                    invalidKeys.addAll(keys)
+                    isChanged = true
+                }
+
+                nodeChanges.any { it in ANCESTOR_CHANGES } -> {
+                    isStale = true
+                    invalidKeys.addAll(order)
+                    isChanged = true
+                }
+            }
+        }
+        if (isChanged) version++
+    }
+
+    /**
+     * Removes all the cached buckets
+     */
+    fun clear() = synchronized(lock) {
+        buckets = emptyMap()
+        order = emptyList()
+        keysByNode.clear()
+        invalidKeys.clear()
+        isStale = true
+        version++
+    }
+
+    private companion object {
+        /**
+         * Changes of a node that may change the mapping of its descendants
+         */
+        val ANCESTOR_CHANGES =
+            setOf(NodeChanges.Sensitive, NodeChanges.Parent, NodeChanges.Attributes)
+    }
+}
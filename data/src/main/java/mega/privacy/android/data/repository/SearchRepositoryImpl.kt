@@ -1,6 +1,8 @@
 package mega.privacy.android.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
@@ -19,6 +21,7 @@ import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.GetLinksSortOrder
 import nz.mega.sdk.MegaApiAndroid
 import nz.mega.sdk.MegaNode
+import nz.mega.sdk.MegaShare
 import javax.inject.Inject
 
 /**
@@ -47,7 +50,7 @@ internal class SearchRepositoryImpl @Inject constructor(
         searchCategoryMapper(it)
     }
 
-    override suspend fun search(
+    override fun searchInPages(
         nodeId: NodeId?,
         query: String,
         order: SortOrder,
@@ -55,7 +58,28 @@ internal class SearchRepositoryImpl @Inject constructor(
         searchCategory: SearchCategory,
         modificationDate: DateFilterOption?,
         creationDate: DateFilterOption?,
-    ): List<UnTypedNode> = withContext(ioDispatcher) {
+        pageSize: Int,
+    ): Flow<List<UnTypedNode>> = pagesOf(pageSize) {
+        searchMegaNodes(
+            nodeId = nodeId,
+            query = query,
+            order = order,
+            searchTarget = searchTarget,
+            searchCategory = searchCategory,
+            modificationDate = modificationDate,
+            creationDate = creationDate
+        )
+    }
+
+    private suspend fun searchMegaNodes(
+        nodeId: NodeId?,
+        query: String,
+        order: SortOrder,
+        searchTarget: SearchTarget,
+        searchCategory: SearchCategory,
+        modificationDate: DateFilterOption?,
+        creationDate: DateFilterOption?,
+    ): List<MegaNode> {
         val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             searchQuery = query,
@@ -65,15 +89,14 @@ internal class SearchRepositoryImpl @Inject constructor(
             modificationDate = modificationDate,
             creationDate = creationDate
         )
-        val searchList = megaApiGateway.searchWithFilter(
+        return megaApiGateway.searchWithFilter(
             filter = filter,
             order = sortOrderIntMapper(order),
             megaCancelToken = megaCancelToken,
         )
-        searchList.map { item -> nodeMapper(item) }
     }
 
-    override suspend fun getChildren(
+    override fun getChildrenInPages(
         nodeId: NodeId?,
         query: String,
         order: SortOrder,
@@ -81,7 +104,28 @@ internal class SearchRepositoryImpl @Inject constructor(
         searchCategory: SearchCategory,
         modificationDate: DateFilterOption?,
         creationDate: DateFilterOption?,
-    ): List<UnTypedNode> = withContext(ioDispatcher) {
+        pageSize: Int,
+    ): Flow<List<UnTypedNode>> = pagesOf(pageSize) {
+        getChildrenMegaNodes(
+            nodeId = nodeId,
+            query = query,
+            order = order,
+            searchTarget = searchTarget,
+            searchCategory = searchCategory,
+            modificationDate = modificationDate,
+            creationDate = creationDate
+        )
+    }
+
+    private suspend fun getChildrenMegaNodes(
+        nodeId: NodeId?,
+        query: String,
+        order: SortOrder,
+        searchTarget: SearchTarget,
+        searchCategory: SearchCategory,
+        modificationDate: DateFilterOption?,
+        creationDate: DateFilterOption?,
+    ): List<MegaNode> {
         val megaCancelToken = cancelTokenProvider.getOrCreateCancelToken()
         val filter = megaSearchFilterMapper(
             searchQuery = query,
@@ -91,39 +135,71 @@ internal class SearchRepositoryImpl @Inject constructor(
             modificationDate = modificationDate,
             creationDate = creationDate
         )
-        val searchList = megaApiGateway.getChildren(
+        return megaApiGateway.getChildren(
             filter = filter,
             order = sortOrderIntMapper(order),
             megaCancelToken = megaCancelToken,
         )
-        searchList.map { item -> nodeMapper(item) }
     }
 
-    override suspend fun getInShares() = withContext(ioDispatcher) {
-        megaApiGateway.getInShares(sortOrderIntMapper(getCloudSortOrder())).let { list ->
-            list.map { nodeMapper(it) }
-        }
+    override fun getInSharesInPages(pageSize: Int) = pagesOf(pageSize) {
+        getInSharesMegaNodes()
     }
 
-    override suspend fun getOutShares() = withContext(ioDispatcher) {
-        val searchNodes = ArrayList<MegaNode>()
-        val outShares =
-            megaApiGateway.getOutgoingSharesNode(sortOrderIntMapper(getCloudSortOrder()))
-        val addedHandles = mutableSetOf<Long>()
-        for (outShare in outShares) {
-            if (!addedHandles.contains(outShare.nodeHandle)) {
-                megaApiGateway.getMegaNodeByHandle(outShare.nodeHandle)?.let {
-                    addedHandles.add(it.handle)
-                    searchNodes.add(it)
-                }
-            }
+    private suspend fun getInSharesMegaNodes() =
+        megaApiGateway.getInShares(sortOrderIntMapper(getCloudSortOrder()))
+
+    override fun getOutSharesInPages(pageSize: Int): Flow<List<UnTypedNode>> =
+        pagesOf(pageSize, fetch = { getOutShareHandles() }) { handle ->
+            megaApiGateway.getMegaNodeByHandle(handle)?.let { nodeMapper(it) }
         }
-        searchNodes.map { nodeMapper(it) }
+
+    /**
+     * A node shared with several users has a [MegaShare] per user, so its handle is only
+     * returned once
+     */
+    private suspend fun getOutShareHandles(): List<Long> =
+        megaApiGateway.getOutgoingSharesNode(sortOrderIntMapper(getCloudSortOrder()))
+            .mapTo(LinkedHashSet()) { it.nodeHandle }
+            .toList()
+
+    override fun getPublicLinksInPages(pageSize: Int) = pagesOf(pageSize) {
+        getPublicLinksMegaNodes()
     }
 
-    override suspend fun getPublicLinks() = withContext(ioDispatcher) {
-        megaApiGateway.getPublicLinks(sortOrderIntMapper(getLinksSortOrder())).let { list ->
-            list.map { nodeMapper(it) }
+    private suspend fun getPublicLinksMegaNodes() =
+        megaApiGateway.getPublicLinks(sortOrderIntMapper(getLinksSortOrder()))
+
+    private fun pagesOf(
+        pageSize: Int,
+        fetch: suspend () -> List<MegaNode>,
+    ): Flow<List<UnTypedNode>> = pagesOf(pageSize, fetch) { nodeMapper(it) }
+
+    /**
+     * Fetches the items once and maps them lazily, a page at a time, when collected.
+     * An empty page is emitted if there are no items, so collectors know the results are
+     * complete. Cancelling the collection stops the mapping of the remaining pages.
+     */
+    private fun <T> pagesOf(
+        pageSize: Int,
+        fetch: suspend () -> List<T>,
+        map: suspend (T) -> UnTypedNode?,
+    ): Flow<List<UnTypedNode>> = flow {
+        require(pageSize > 0) { "pageSize must be positive" }
+        val items = withContext(ioDispatcher) { fetch() }
+        if (items.isEmpty()) {
+            emit(emptyList())
+            return@flow
+        }
+        var start = 0
+        while (start < items.size) {
+            val end = if (items.size - start > pageSize) start + pageSize else items.size
+            // Not buffered with flowOn, so no page is mapped before the previous one is collected
+            val page = withContext(ioDispatcher) {
+                items.subList(start, end).mapNotNull { map(it) }
+            }
+            emit(page)
+            start = end
         }
     }
 
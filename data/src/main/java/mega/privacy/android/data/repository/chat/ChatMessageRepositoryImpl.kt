@@ -9,7 +9,6 @@ import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.suspendCancellableCoroutine
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.cache.Cache
-import mega.privacy.android.data.database.converter.TypedMessageEntityConverters
 import mega.privacy.android.data.extensions.getChatRequestListener
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -18,6 +17,7 @@ import mega.privacy.android.data.mapper.StringListMapper
 import mega.privacy.android.data.mapper.chat.ChatMessageMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageEntityMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageMapper
+import mega.privacy.android.data.mapper.chat.paging.ChatReactionEntityMapper
 import mega.privacy.android.data.mapper.chat.paging.TypedMessagePagingSourceMapper
 import mega.privacy.android.data.mapper.handles.HandleListMapper
 import mega.privacy.android.data.mapper.handles.MegaHandleListMapper
@@ -50,7 +50,7 @@ internal class ChatMessageRepositoryImpl @Inject constructor(
     private val megaHandleListMapper: MegaHandleListMapper,
     private val pendingMessageEntityMapper: PendingMessageEntityMapper,
     private val pendingMessageMapper: PendingMessageMapper,
-    private val typedMessageEntityConverters: TypedMessageEntityConverters,
+    private val chatReactionEntityMapper: ChatReactionEntityMapper,
     @OriginalPathForNodeCache private val originalPathCache: Cache<Map<NodeId, String>>,
     @OriginalPathForPendingMessageCache private val originalPathForPendingMessageCache: Cache<Map<Long, String>>,
     private val typedMessagePagingSourceMapper: TypedMessagePagingSourceMapper,
@@ -256,22 +256,19 @@ internal class ChatMessageRepositoryImpl @Inject constructor(
             chatStorageGateway.getMessageIdsByType(chatId, type)
         }
 
-    override suspend fun getReactionsFromMessage(chatId: Long, msgId: Long): List<Reaction> =
-        withContext(ioDispatcher) {
-            chatStorageGateway.getMessageReactions(chatId, msgId)?.let { reactions ->
-                typedMessageEntityConverters.convertToMessageReactionList(reactions)
-            } ?: emptyList()
-        }
-
-    override suspend fun updateReactionsInMessage(
+    override suspend fun updateReactionInMessage(
         chatId: Long,
         msgId: Long,
-        reactions: List<Reaction>,
+        reaction: Reaction,
     ) {
         withContext(ioDispatcher) {
-            val reactionsString =
-                typedMessageEntityConverters.convertFromMessageReactionList(reactions)
-            chatStorageGateway.updateMessageReactions(chatId, msgId, reactionsString)
+            chatStorageGateway.upsertMessageReaction(chatReactionEntityMapper(chatId, msgId, reaction))
+        }
+    }
+
+    override suspend fun deleteReactionInMessage(chatId: Long, msgId: Long, reaction: String) {
+        withContext(ioDispatcher) {
+            chatStorageGateway.deleteMessageReaction(chatId, msgId, reaction)
         }
     }
 
@@ -0,0 +1,48 @@
+package mega.privacy.android.data.repository.monitoring
+
+import mega.privacy.android.domain.monitoring.OperationStats
+import mega.privacy.android.domain.monitoring.TraceSink
+import mega.privacy.android.domain.repository.monitoring.PerformanceReporterRepository
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+/**
+ * Reports the statistics of the traced operations as traces of the [PerformanceReporterRepository],
+ * one per operation with the statistics as metrics
+ */
+internal class PerformanceReporterTraceSink @Inject constructor(
+    private val performanceReporterRepository: PerformanceReporterRepository,
+) : TraceSink {
+
+    override fun report(stats: List<OperationStats>) {
+        stats.forEach { operationStats ->
+            val traceName = TRACE_PREFIX + operationStats.operation
+            with(performanceReporterRepository) {
+                startTrace(traceName)
+                putMetric(traceName, METRIC_COUNT, operationStats.count)
+                putMetric(traceName, METRIC_ERRORS, operationStats.errorCount)
+                putMetric(traceName, METRIC_SAMPLES, operationStats.sampleCount)
+                putMetric(traceName, METRIC_MEAN, operationStats.meanNanos.toMicros())
+                putMetric(traceName, METRIC_P50, operationStats.p50Nanos.toMicros())
+                putMetric(traceName, METRIC_P90, operationStats.p90Nanos.toMicros())
+                putMetric(traceName, METRIC_P99, operationStats.p99Nanos.toMicros())
+                putMetric(traceName, METRIC_MAX, operationStats.maxNanos.toMicros())
+                stopTrace(traceName)
+            }
+        }
+    }
+
+    private fun Long.toMicros() = TimeUnit.NANOSECONDS.toMicros(this)
+
+    companion object {
+        internal const val TRACE_PREFIX = "hot_path_"
+        internal const val METRIC_COUNT = "count"
+        internal const val METRIC_ERRORS = "errors"
+        internal const val METRIC_SAMPLES = "samples"
+        internal const val METRIC_MEAN = "mean_us"
+        internal const val METRIC_P50 = "p50_us"
+        internal const val METRIC_P90 = "p90_us"
+        internal const val METRIC_P99 = "p99_us"
+        internal const val METRIC_MAX = "max_us"
+    }
+}
@@ -34,6 +34,7 @@ import mega.privacy.android.domain.usecase.transfers.active.ClearActiveTransfers
 import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
 import mega.privacy.android.domain.usecase.transfers.active.HandleTransferEventUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 import timber.log.Timber
 import java.time.Instant
@@ -59,6 +60,7 @@ abstract class AbstractTransfersWorker(
     private val areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     private val correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     private val clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    private val flushCompletedTransfersUseCase: FlushCompletedTransfersUseCase,
     private val crashReporter: CrashReporter,
     private val foregroundSetter: ForegroundSetter?,
     private val notificationSamplePeriod: Long?,
@@ -222,6 +224,7 @@ abstract class AbstractTransfersWorker(
     private suspend fun stopWork(performWorkJob: Job) {
         notificationManager.cancel(updateNotificationId)
         clearActiveTransfersIfFinishedUseCase(type)
+        flushCompletedTransfersUseCase()
         performWorkJob.cancel()
     }
 
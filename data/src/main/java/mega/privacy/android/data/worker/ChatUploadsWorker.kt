@@ -43,6 +43,7 @@ import mega.privacy.android.domain.usecase.transfers.active.MonitorOngoingActive
 import mega.privacy.android.domain.usecase.transfers.chatuploads.ClearPendingMessagesCompressionProgressUseCase
 import mega.privacy.android.domain.usecase.transfers.chatuploads.PrepareAllPendingMessagesUseCase
 import mega.privacy.android.domain.usecase.transfers.chatuploads.StartUploadingAllPendingMessagesUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 import timber.log.Timber
 
@@ -64,6 +65,7 @@ class ChatUploadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    flushCompletedTransfersUseCase: FlushCompletedTransfersUseCase,
     private val chatUploadNotificationMapper: ChatUploadNotificationMapper,
     private val attachNodeWithPendingMessageUseCase: AttachNodeWithPendingMessageUseCase,
     private val updatePendingMessageUseCase: UpdatePendingMessageUseCase,
@@ -91,6 +93,7 @@ class ChatUploadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase = areNotificationsEnabledUseCase,
     correctActiveTransfersUseCase = correctActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+    flushCompletedTransfersUseCase = flushCompletedTransfersUseCase,
     crashReporter = crashReporter,
     foregroundSetter = foregroundSetter,
     notificationSamplePeriod = notificationSamplePeriod,
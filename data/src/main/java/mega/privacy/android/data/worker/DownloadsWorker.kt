@@ -24,6 +24,7 @@ import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfe
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
 import mega.privacy.android.domain.usecase.transfers.active.HandleTransferEventUseCase
 import mega.privacy.android.domain.usecase.transfers.active.MonitorOngoingActiveTransfersUntilFinishedUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 import timber.log.Timber
 
@@ -46,6 +47,7 @@ class DownloadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    flushCompletedTransfersUseCase: FlushCompletedTransfersUseCase,
     private val transfersNotificationMapper: TransfersNotificationMapper,
     private val transfersFinishedNotificationMapper: TransfersFinishedNotificationMapper,
     private val scanMediaFileUseCase: ScanMediaFileUseCase,
@@ -66,6 +68,7 @@ class DownloadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase = areNotificationsEnabledUseCase,
     correctActiveTransfersUseCase = correctActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+    flushCompletedTransfersUseCase = flushCompletedTransfersUseCase,
     crashReporter = crashReporter,
     foregroundSetter = foregroundSetter,
     notificationSamplePeriod = notificationSamplePeriod,
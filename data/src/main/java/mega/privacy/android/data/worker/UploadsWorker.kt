@@ -22,6 +22,7 @@ import mega.privacy.android.domain.usecase.transfers.active.CorrectActiveTransfe
 import mega.privacy.android.domain.usecase.transfers.active.GetActiveTransferTotalsUseCase
 import mega.privacy.android.domain.usecase.transfers.active.HandleTransferEventUseCase
 import mega.privacy.android.domain.usecase.transfers.active.MonitorOngoingActiveTransfersUntilFinishedUseCase
+import mega.privacy.android.domain.usecase.transfers.completed.FlushCompletedTransfersUseCase
 import mega.privacy.android.domain.usecase.transfers.paused.AreTransfersPausedUseCase
 
 /**
@@ -43,6 +44,7 @@ class UploadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase: AreNotificationsEnabledUseCase,
     correctActiveTransfersUseCase: CorrectActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase: ClearActiveTransfersIfFinishedUseCase,
+    flushCompletedTransfersUseCase: FlushCompletedTransfersUseCase,
     private val transfersNotificationMapper: TransfersNotificationMapper,
     private val transfersFinishedNotificationMapper: TransfersFinishedNotificationMapper,
     crashReporter: CrashReporter,
@@ -62,6 +64,7 @@ class UploadsWorker @AssistedInject constructor(
     areNotificationsEnabledUseCase = areNotificationsEnabledUseCase,
     correctActiveTransfersUseCase = correctActiveTransfersUseCase,
     clearActiveTransfersIfFinishedUseCase = clearActiveTransfersIfFinishedUseCase,
+    flushCompletedTransfersUseCase = flushCompletedTransfersUseCase,
     crashReporter = crashReporter,
     foregroundSetter = foregroundSetter,
     notificationSamplePeriod = notificationSamplePeriod,
@@ -0,0 +1,121 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.data.extensions.sortList
+import mega.privacy.android.domain.entity.contacts.ContactData
+import mega.privacy.android.domain.entity.contacts.ContactItem
+import mega.privacy.android.domain.entity.contacts.UserChatStatus
+import mega.privacy.android.domain.entity.user.UserVisibility
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import kotlin.random.Random
+
+internal class ContactRosterTest {
+    private lateinit var underTest: ContactRoster
+
+    @BeforeEach
+    fun setUp() {
+        underTest = ContactRoster()
+    }
+
+    @Test
+    fun `test that replaceAll sorts the contacts as sortList`() {
+        val contacts = listOf(
+            createContact(1, "c@mega.nz"),
+            createContact(2, "b@mega.nz", fullName = "Zed"),
+            createContact(3, "a@mega.nz", alias = "Alias"),
+            createContact(4, "d@mega.nz", fullName = "bob"),
+        )
+
+        underTest.replaceAll(contacts)
+
+        assertThat(underTest.toList()).containsExactlyElementsIn(contacts.sortList()).inOrder()
+    }
+
+    @Test
+    fun `test that get returns the contact with the given handle`() {
+        val contact = createContact(1, "a@mega.nz")
+        underTest.replaceAll(listOf(contact, createContact(2, "b@mega.nz")))
+
+        assertThat(underTest[1]).isEqualTo(contact)
+        assertThat(underTest[3]).isNull()
+    }
+
+    @Test
+    fun `test that upsert moves an updated contact to its new position`() {
+        underTest.replaceAll(
+            listOf(
+                createContact(1, "a@mega.nz"),
+                createContact(2, "b@mega.nz"),
+                createContact(3, "c@mega.nz"),
+            )
+        )
+
+        val position = underTest.upsert(createContact(1, "a@mega.nz", alias = "zz"))
+
+        assertThat(position).isEqualTo(2)
+        assertThat(underTest.toList().map { it.handle }).containsExactly(2L, 3L, 1L).inOrder()
+        assertThat(underTest.size).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that remove deletes the contact and its email`() {
+        underTest.replaceAll(listOf(createContact(1, "a@mega.nz"), createContact(2, "b@mega.nz")))
+
+        assertThat(underTest.remove(1)).isEqualTo(0)
+        assertThat(underTest.remove(1)).isEqualTo(-1)
+        assertThat(underTest.containsEmail("a@mega.nz")).isFalse()
+        assertThat(underTest.toList().map { it.handle }).containsExactly(2L)
+    }
+
+    @Test
+    fun `test that containsEmail follows email changes`() {
+        underTest.replaceAll(listOf(createContact(1, "old@mega.nz")))
+
+        underTest.upsert(createContact(1, "new@mega.nz"))
+
+        assertThat(underTest.containsEmail("old@mega.nz")).isFalse()
+        assertThat(underTest.containsEmail("new@mega.nz")).isTrue()
+    }
+
+    @Test
+    fun `test that a sequence of upserts and removals keeps the same order as sortList`() {
+        val random = Random(42)
+        val expected = mutableMapOf<Long, ContactItem>()
+        repeat(5_000) {
+            val handle = random.nextLong(500)
+            if (random.nextInt(4) == 0) {
+                underTest.remove(handle)
+                expected.remove(handle)
+            } else {
+                val contact = createContact(
+                    handle = handle,
+                    email = "$handle@mega.nz",
+                    alias = if (random.nextBoolean()) "alias${random.nextInt(50)}" else null,
+                )
+                underTest.upsert(contact)
+                expected[handle] = contact
+            }
+        }
+
+        assertThat(underTest.toList().map { it.contactData.alias ?: it.email })
+            .isEqualTo(expected.values.toList().sortList().map { it.contactData.alias ?: it.email })
+        assertThat(underTest.toList()).containsExactlyElementsIn(expected.values)
+    }
+
+    private fun createContact(
+        handle: Long,
+        email: String,
+        fullName: String? = null,
+        alias: String? = null,
+    ) = ContactItem(
+        handle = handle,
+        email = email,
+        contactData = ContactData(fullName = fullName, alias = alias, avatarUri = null),
+        defaultAvatarColor = null,
+        visibility = UserVisibility.Visible,
+        timestamp = 0L,
+        areCredentialsVerified = false,
+        status = UserChatStatus.Online,
+    )
+}
@@ -0,0 +1,262 @@
+package mega.privacy.android.data.cache
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.test.runTest
+import kotlinx.coroutines.yield
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+internal class KeyedCacheTest {
+
+    private var now = 1_000L
+    private val clock = { now }
+
+    @Test
+    fun `test that a value is returned until its time to live elapses`() {
+        val underTest = KeyedCache<String, Int>(timeToLive = TIME_TO_LIVE, clock = clock)
+        underTest["a"] = 1
+
+        now += TIME_TO_LIVE
+        assertThat(underTest["a"]).isEqualTo(1)
+
+        now += 1
+        assertThat(underTest["a"]).isNull()
+        assertThat(underTest.size).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that setting a value again restarts its time to live`() {
+        val underTest = KeyedCache<String, Int>(timeToLive = TIME_TO_LIVE, clock = clock)
+        underTest["a"] = 1
+        now += TIME_TO_LIVE
+        underTest["a"] = 2
+        now += TIME_TO_LIVE
+
+        assertThat(underTest["a"]).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that the least recently used entry is evicted when the cache is full`() {
+        val underTest = KeyedCache<String, Int>(maxWeight = 2)
+        underTest["a"] = 1
+        underTest["b"] = 2
+        underTest["a"]
+        underTest["c"] = 3
+
+        assertThat(underTest.asMap()).containsExactly("a", 1, "c", 3).inOrder()
+        assertThat(underTest.stats().evictionCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that entries are evicted by weight`() {
+        val underTest = KeyedCache<String, String>(
+            maxWeight = 10,
+            weigher = { _, value -> value.length },
+        )
+        underTest["a"] = "12345"
+        underTest["b"] = "1234"
+        underTest["c"] = "12"
+
+        assertThat(underTest.asMap().keys).containsExactly("b", "c").inOrder()
+        assertThat(underTest.stats().weight).isEqualTo(6)
+    }
+
+    @Test
+    fun `test that update transforms the current value and removes it when null`() {
+        val underTest = KeyedCache<String, Set<Long>>()
+
+        underTest.update("a") { it.orEmpty() + 1L }
+        underTest.update("a") { it.orEmpty() + 2L }
+        assertThat(underTest["a"]).containsExactly(1L, 2L)
+
+        underTest.update("a") { null }
+        assertThat(underTest.contains("a")).isFalse()
+    }
+
+    @Test
+    fun `test that invalidateIf removes only the matching entries`() {
+        val underTest = KeyedCache<Int, Int>()
+        (1..6).forEach { underTest[it] = it }
+
+        underTest.invalidateIf { key, _ -> key % 2 == 0 }
+
+        assertThat(underTest.asMap().keys).containsExactly(1, 3, 5)
+    }
+
+    @Test
+    fun `test that hits and misses are counted`() {
+        val underTest = KeyedCache<String, Int>()
+        underTest["a"] = 1
+
+        underTest["a"]
+        underTest["a"]
+        underTest["b"]
+
+        val stats = underTest.stats()
+        assertThat(stats.hitCount).isEqualTo(2)
+        assertThat(stats.missCount).isEqualTo(1)
+        assertThat(stats.size).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that getOrLoad loads a missing value once and then returns the cached one`() =
+        runTest {
+            val underTest = KeyedCache<String, Int>()
+            val loads = AtomicInteger()
+
+            repeat(3) {
+                assertThat(underTest.getOrLoad("a") { loads.incrementAndGet() }).isEqualTo(1)
+            }
+
+            assertThat(loads.get()).isEqualTo(1)
+            assertThat(underTest.stats().loadCount).isEqualTo(1)
+            assertThat(underTest.stats().hitCount).isEqualTo(2)
+        }
+
+    @Test
+    fun `test that concurrent getOrLoad calls share a single load`() = runTest {
+        val underTest = KeyedCache<String, Int>()
+        val loads = AtomicInteger()
+        val result = CompletableDeferred<Int>()
+
+        val callers = List(10) {
+            async { underTest.getOrLoad("a") { loads.incrementAndGet(); result.await() } }
+        }
+        yield()
+        result.complete(42)
+
+        assertThat(callers.awaitAll()).containsExactlyElementsIn(List(10) { 42 })
+        assertThat(loads.get()).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a failed load is not cached and is propagated to the waiting callers`() =
+        runTest {
+            val underTest = KeyedCache<String, Int>()
+            val result = CompletableDeferred<Int>()
+
+            val owner = async { runCatching { underTest.getOrLoad("a") { result.await() } } }
+            val waiter = async { runCatching { underTest.getOrLoad("a") { 0 } } }
+            yield()
+            result.completeExceptionally(IllegalStateException())
+
+            assertThat(owner.await().exceptionOrNull()).isInstanceOf(IllegalStateException::class.java)
+            assertThat(waiter.await().exceptionOrNull()).isInstanceOf(IllegalStateException::class.java)
+            assertThat(underTest.contains("a")).isFalse()
+            assertThat(underTest.stats().loadFailureCount).isEqualTo(1)
+        }
+
+    @Test
+    fun `test that a waiting caller loads the value if the load is cancelled`() = runTest {
+        val underTest = KeyedCache<String, Int>()
+
+        val owner = launch { underTest.getOrLoad("a") { delay(1_000); 1 } }
+        val waiter = async { underTest.getOrLoad("a") { 2 } }
+        yield()
+        owner.cancel()
+
+        assertThat(waiter.await()).isEqualTo(2)
+        assertThat(underTest["a"]).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that a value invalidated while loading is not stored`() = runTest {
+        val underTest = KeyedCache<String, Int>()
+        val result = CompletableDeferred<Int>()
+
+        val caller = async { underTest.getOrLoad("a") { result.await() } }
+        yield()
+        underTest.invalidate("a")
+        result.complete(1)
+
+        assertThat(caller.await()).isEqualTo(1)
+        assertThat(underTest.contains("a")).isFalse()
+    }
+
+    @Test
+    fun `test that a value set while loading is not replaced by the load`() = runTest {
+        val underTest = KeyedCache<String, Int>()
+        val result = CompletableDeferred<Int>()
+
+        val caller = async { underTest.getOrLoad("a") { result.await() } }
+        yield()
+        underTest["a"] = 2
+        result.complete(1)
+
+        caller.await()
+        assertThat(underTest["a"]).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that the load exception is thrown to the caller`() = runTest {
+        val underTest = KeyedCache<String, Int>()
+
+        val result = runCatching {
+            underTest.getOrLoad("a") { throw IllegalArgumentException() }
+        }
+
+        assertThat(result.exceptionOrNull()).isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+    @Test
+    fun `test that concurrent access from several threads keeps the cache consistent`() {
+        val underTest = KeyedCache<Int, Int>(maxWeight = MAX_ENTRIES.toLong())
+        val executor = Executors.newFixedThreadPool(THREADS)
+        val start = CountDownLatch(1)
+        val loads = AtomicInteger()
+
+        try {
+            val tasks = List(THREADS) { thread ->
+                executor.submit {
+                    start.await()
+                    repeat(OPERATIONS_PER_THREAD) { i ->
+                        val key = (i * 31 + thread) % KEYS
+                        when (i % 4) {
+                            0 -> underTest[key] = key
+                            1 -> underTest[key]?.let { assertThat(it).isEqualTo(key) }
+                            2 -> underTest.update(key) { key }
+                            else -> underTest.invalidate(key)
+                        }
+                    }
+                }
+            }
+            start.countDown()
+            tasks.forEach { it.get(30, TimeUnit.SECONDS) }
+
+            val values = runBlocking(executor.asCoroutineDispatcher()) {
+                List(THREADS * 4) {
+                    async {
+                        underTest.getOrLoad(KEYS) { loads.incrementAndGet(); delay(50); KEYS }
+                    }
+                }.awaitAll()
+            }
+            assertThat(values).containsExactlyElementsIn(List(THREADS * 4) { KEYS })
+        } finally {
+            executor.shutdownNow()
+        }
+
+        val stats = underTest.stats()
+        assertThat(loads.get()).isEqualTo(1)
+        assertThat(stats.size).isAtMost(MAX_ENTRIES)
+        assertThat(stats.weight).isEqualTo(stats.size.toLong())
+        underTest.asMap().forEach { (key, value) -> assertThat(value).isEqualTo(key) }
+    }
+
+    companion object {
+        private const val TIME_TO_LIVE = 1_000L
+        private const val THREADS = 8
+        private const val KEYS = 256
+        private const val MAX_ENTRIES = 64
+        private const val OPERATIONS_PER_THREAD = 20_000
+    }
+}
@@ -0,0 +1,82 @@
+package mega.privacy.android.data.database.converter
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
+import mega.privacy.android.data.mapper.chat.paging.ChatReactionEntityMapper
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+/**
+ * Checks that the rows of chat_reactions decode to the same reactions as the json column of
+ * typed_messages they replace.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactionsDecodeTest {
+
+    private val converters = TypedMessageEntityConverters()
+    private val chatReactionEntityMapper = ChatReactionEntityMapper()
+
+    private val reactions = List(PAGE_SIZE) { message ->
+        List(REACTIONS_PER_MESSAGE) { index ->
+            Reaction(
+                reaction = "reaction_$index",
+                count = index + 1,
+                userHandles = List(index + 1) { message * 100L + it },
+                hasMe = index % 2 == 0,
+            )
+        }
+    }
+
+    private val jsonColumns = reactions.map { converters.convertFromMessageReactionList(it) }
+
+    // As read from the cursor, the user handles are stored as a comma separated string
+    private val rows = reactions.mapIndexed { message, list ->
+        list.map {
+            ReactionRow(
+                messageId = message.toLong(),
+                reaction = it.reaction,
+                count = it.count,
+                userHandles = converters.convertFromLongList(it.userHandles),
+                hasMe = it.hasMe,
+            )
+        }
+    }
+
+    @Test
+    fun `test that reaction rows decode to the same reactions as the json column`() {
+        assertThat(decodeJson()).isEqualTo(reactions)
+        assertThat(decodeRows()).isEqualTo(reactions)
+    }
+
+    private fun decodeJson() = jsonColumns.map { converters.convertToMessageReactionList(it) }
+
+    private fun decodeRows() = rows.map { messageRows ->
+        messageRows.map {
+            chatReactionEntityMapper(
+                ChatReactionEntity(
+                    chatId = CHAT_ID,
+                    messageId = it.messageId,
+                    reaction = it.reaction,
+                    count = it.count,
+                    userHandles = converters.convertToLongList(it.userHandles),
+                    hasMe = it.hasMe,
+                )
+            )
+        }
+    }
+
+    private data class ReactionRow(
+        val messageId: Long,
+        val reaction: String,
+        val count: Int,
+        val userHandles: String,
+        val hasMe: Boolean,
+    )
+
+    companion object {
+        private const val CHAT_ID = 1L
+        private const val PAGE_SIZE = 32
+        private const val REACTIONS_PER_MESSAGE = 4
+    }
+}
@@ -0,0 +1,129 @@
+package mega.privacy.android.data.facade
+
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
+import mega.privacy.android.domain.entity.transfer.CompletedTransfer
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [CompletedTransferFacade]
+ */
+internal class CompletedTransferFacadeTest {
+
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(megaLocalRoomGateway)
+    }
+
+    private fun TestScope.createFacade() = CompletedTransferFacade(
+        megaLocalRoomGateway = megaLocalRoomGateway,
+        ioDispatcher = StandardTestDispatcher(testScheduler),
+        appScope = backgroundScope,
+    )
+
+    private fun completedTransfer(id: Int?, fileName: String) = CompletedTransfer(
+        id = id,
+        fileName = fileName,
+        type = 1,
+        state = 1,
+        size = "1Kb",
+        handle = 1L,
+        path = "filePath",
+        isOffline = false,
+        timestamp = 123L,
+        error = null,
+        originalPath = "originalFilePath",
+        parentHandle = 2L
+    )
+
+    @Test
+    fun `test that the transfers added within the batch window are saved together`() = runTest {
+        val underTest = createFacade()
+        val transfer1 = completedTransfer(null, "filename1")
+        val transfer2 = completedTransfer(null, "filename2")
+
+        underTest.add(transfer1)
+        underTest.add(transfer2)
+        runCurrent()
+        verify(megaLocalRoomGateway, never()).addCompletedTransfers(any())
+
+        advanceTimeBy(CompletedTransferFacade.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        verify(megaLocalRoomGateway).addCompletedTransfers(listOf(transfer1, transfer2))
+    }
+
+    @Test
+    fun `test that flush saves the pending transfers without waiting for the batch window`() =
+        runTest {
+            val underTest = createFacade()
+            val transfer = completedTransfer(null, "filename1")
+
+            underTest.add(transfer)
+            underTest.flush()
+
+            verify(megaLocalRoomGateway).addCompletedTransfers(listOf(transfer))
+            advanceUntilIdle()
+            verify(megaLocalRoomGateway, times(1)).addCompletedTransfers(any())
+        }
+
+    @Test
+    fun `test that the transfers are kept and saved later if they cannot be saved`() = runTest {
+        val underTest = createFacade()
+        val transfer1 = completedTransfer(null, "filename1")
+        val transfer2 = completedTransfer(null, "filename2")
+        whenever(megaLocalRoomGateway.addCompletedTransfers(any()))
+            .thenThrow(IllegalStateException("Error"))
+            .thenReturn(Unit)
+
+        underTest.add(transfer1)
+        underTest.flush()
+        underTest.add(transfer2)
+        advanceTimeBy(CompletedTransferFacade.BATCH_WINDOW.inWholeMilliseconds + 1)
+
+        verify(megaLocalRoomGateway).addCompletedTransfers(listOf(transfer1, transfer2))
+    }
+
+    @Test
+    fun `test that addIfNotExist saves only the transfers that do not exist`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val underTest = createFacade()
+            val transfer1 = completedTransfer(1, "filename1")
+            val transfer2 = completedTransfer(1, "filename2")
+            val existingTransfer1 = completedTransfer(3, "filename1")
+            whenever(megaLocalRoomGateway.getCompletedTransfersByHandles(listOf(1L)))
+                .thenReturn(listOf(existingTransfer1))
+
+            underTest.addIfNotExist(listOf(transfer1, transfer2, transfer2))
+
+            verify(megaLocalRoomGateway).addCompletedTransfers(listOf(transfer2.copy(id = null)))
+        }
+
+    @Test
+    fun `test that addIfNotExist does not save anything if all the transfers exist`() =
+        runTest(UnconfinedTestDispatcher()) {
+            val underTest = createFacade()
+            val transfer = completedTransfer(1, "filename1")
+            whenever(megaLocalRoomGateway.getCompletedTransfersByHandles(listOf(1L)))
+                .thenReturn(listOf(transfer.copy(id = 2)))
+
+            underTest.addIfNotExist(listOf(transfer))
+
+            verify(megaLocalRoomGateway, never()).addCompletedTransfers(any())
+        }
+}
@@ -14,11 +14,15 @@ import mega.privacy.android.data.database.dao.ChatPendingChangesDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
 import mega.privacy.android.data.database.dao.OfflineDao
+import mega.privacy.android.data.database.dao.PlaybackPositionDao
+import mega.privacy.android.data.database.dao.SdCardMoveDao
 import mega.privacy.android.data.database.dao.SdTransferDao
 import mega.privacy.android.data.database.entity.BackupEntity
 import mega.privacy.android.data.database.entity.CameraUploadsRecordEntity
 import mega.privacy.android.data.database.entity.ChatPendingChangesEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
+import mega.privacy.android.data.database.entity.PlaybackPositionEntity
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
 import mega.privacy.android.data.database.entity.SdTransferEntity
 import mega.privacy.android.data.mapper.backup.BackupEntityMapper
 import mega.privacy.android.data.mapper.backup.BackupInfoTypeIntMapper
@@ -29,11 +33,15 @@ import mega.privacy.android.data.mapper.chat.ChatRoomPendingChangesEntityMapper
 import mega.privacy.android.data.mapper.chat.ChatRoomPendingChangesModelMapper
 import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
+import mega.privacy.android.data.mapper.mediaplayer.PlaybackInformationMapper
+import mega.privacy.android.data.mapper.mediaplayer.PlaybackPositionEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineEntityMapper
 import mega.privacy.android.data.mapper.offline.OfflineModelMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferModelMapper
+import mega.privacy.android.data.mapper.transfer.sd.SdCardMoveEntityMapper
+import mega.privacy.android.data.mapper.transfer.sd.SdCardMoveModelMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.sd.SdTransferModelMapper
 import mega.privacy.android.domain.entity.CameraUploadsRecordType
@@ -44,14 +52,21 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
 import mega.privacy.android.domain.entity.chat.ChatPendingChanges
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
+import mega.privacy.android.domain.entity.transfer.SdCardMove
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
@@ -86,6 +101,12 @@ internal class MegaLocalRoomFacadeTest {
     private val chatPendingChangesDao: ChatPendingChangesDao = mock()
     private val chatRoomPendingChangesEntityMapper: ChatRoomPendingChangesEntityMapper = mock()
     private val chatRoomPendingChangesModelMapper: ChatRoomPendingChangesModelMapper = mock()
+    private val playbackPositionDao: PlaybackPositionDao = mock()
+    private val playbackPositionEntityMapper: PlaybackPositionEntityMapper = mock()
+    private val playbackInformationMapper: PlaybackInformationMapper = mock()
+    private val sdCardMoveDao: SdCardMoveDao = mock()
+    private val sdCardMoveEntityMapper: SdCardMoveEntityMapper = mock()
+    private val sdCardMoveModelMapper: SdCardMoveModelMapper = mock()
 
     @BeforeAll
     fun setUp() {
@@ -116,6 +137,13 @@ internal class MegaLocalRoomFacadeTest {
             chatPendingChangesDao = chatPendingChangesDao,
             chatRoomPendingChangesEntityMapper = chatRoomPendingChangesEntityMapper,
             chatRoomPendingChangesModelMapper = chatRoomPendingChangesModelMapper,
+            playbackPositionDao = playbackPositionDao,
+            playbackPositionEntityMapper = playbackPositionEntityMapper,
+            playbackInformationMapper = playbackInformationMapper,
+            sdCardMoveDao = sdCardMoveDao,
+            sdCardMoveEntityMapper = sdCardMoveEntityMapper,
+            sdCardMoveModelMapper = sdCardMoveModelMapper,
+            performanceTracer = PerformanceTracer(sinks = emptyList(), reportExecutor = { it.run() }),
         )
     }
 
@@ -140,6 +168,12 @@ internal class MegaLocalRoomFacadeTest {
             chatPendingChangesDao,
             chatRoomPendingChangesEntityMapper,
             chatRoomPendingChangesModelMapper,
+            playbackPositionDao,
+            playbackPositionEntityMapper,
+            playbackInformationMapper,
+            sdCardMoveDao,
+            sdCardMoveEntityMapper,
+            sdCardMoveModelMapper,
         )
     }
 
@@ -175,10 +209,10 @@ internal class MegaLocalRoomFacadeTest {
         runTest {
             val expectedSize = 2
             val completedTransferEntities = listOf<CompletedTransferEntity>(
-                mock(), mock(), mock(), mock()
+                mock(), mock()
             )
 
-            whenever(completedTransferDao.getAllCompletedTransfers()).thenReturn(
+            whenever(completedTransferDao.getLastCompletedTransfers(expectedSize)).thenReturn(
                 flowOf(completedTransferEntities)
             )
             completedTransferEntities.forEach { entity ->
@@ -192,6 +226,45 @@ internal class MegaLocalRoomFacadeTest {
                 .isEqualTo(expectedSize)
         }
 
+    @Test
+    fun `test that getAllCompletedTransfers with a size sorts the last transfers by timestamp`() =
+        runTest {
+            val size = 3
+            val completedTransferEntities = listOf<CompletedTransferEntity>(
+                mock(), mock(), mock(),
+            )
+            val completedTransfers = listOf<CompletedTransfer>(
+                mock { on { timestamp }.thenReturn(1684228012973) },
+                mock { on { timestamp }.thenReturn(1684228012975) },
+                mock { on { timestamp }.thenReturn(1684228012974) },
+            )
+            whenever(completedTransferDao.getLastCompletedTransfers(size))
+                .thenReturn(flowOf(completedTransferEntities))
+            completedTransferEntities.forEachIndexed { index, completedTransferEntity ->
+                whenever(completedTransferModelMapper(completedTransferEntity)).thenReturn(
+                    completedTransfers[index]
+                )
+            }
+
+            assertThat(underTest.getAllCompletedTransfers(size).single()).containsExactly(
+                completedTransfers[1], completedTransfers[2], completedTransfers[0]
+            ).inOrder()
+        }
+
+    @Test
+    fun `test that getCompletedTransfersByHandles queries the encrypted handles`() = runTest {
+        val entity = mock<CompletedTransferEntity>()
+        val completedTransfer = mock<CompletedTransfer>()
+        whenever(encryptData("1")).thenReturn("encrypted1")
+        whenever(encryptData("2")).thenReturn("encrypted2")
+        whenever(completedTransferDao.getCompletedTransfersByHandles(listOf("encrypted1", "encrypted2")))
+            .thenReturn(listOf(entity))
+        whenever(completedTransferModelMapper(entity)).thenReturn(completedTransfer)
+
+        assertThat(underTest.getCompletedTransfersByHandles(listOf(1L, 2L)))
+            .containsExactly(completedTransfer)
+    }
+
     @Test
     fun `test that getAllCompletedTransfers returns all completed transfers if the size parameter is null`() =
         runTest {
@@ -213,6 +286,20 @@ internal class MegaLocalRoomFacadeTest {
                 .isEqualTo(completedTransferEntities.size)
         }
 
+    @Test
+    fun `test that addCompletedTransfers inserts all the mapped transfers at once`() = runTest {
+        val completedTransfers = listOf<CompletedTransfer>(mock(), mock())
+        val entities = completedTransfers.map { transfer ->
+            mock<CompletedTransferEntity>().also {
+                whenever(completedTransferEntityMapper(transfer)).thenReturn(it)
+            }
+        }
+
+        underTest.addCompletedTransfers(completedTransfers)
+
+        verify(completedTransferDao).insertOrUpdateCompletedTransfers(entities)
+    }
+
     @Test
     fun `test that insertSdTransfer invokes correctly when call insertSdTransfer`() = runTest {
         val sdTransferEntity = mock<SdTransferEntity>()
@@ -583,4 +670,86 @@ internal class MegaLocalRoomFacadeTest {
 
         assertThat(actual).isEqualTo(expected)
     }
+
+    @Test
+    fun `test that getPlaybackInformation returns mapped playback information from dao`() =
+        runTest {
+            val mediaId = 1L
+            val entity = mock<PlaybackPositionEntity>()
+            val expected = mock<PlaybackInformation>()
+            whenever(playbackPositionDao.getPlaybackPosition(mediaId)) doReturn entity
+            whenever(playbackInformationMapper(entity)) doReturn expected
+
+            assertThat(underTest.getPlaybackInformation(mediaId)).isEqualTo(expected)
+        }
+
+    @Test
+    fun `test that applyPlaybackInformationChanges writes all the changes in a single dao call`() =
+        runTest {
+            val playbackInformation = mock<PlaybackInformation>()
+            val entity = mock<PlaybackPositionEntity>()
+            whenever(playbackPositionEntityMapper(eq(1L), eq(playbackInformation), any()))
+                .thenReturn(entity)
+
+            underTest.applyPlaybackInformationChanges(
+                updated = mapOf(1L to playbackInformation),
+                deletedMediaIds = setOf(2L),
+                maxEntries = 10,
+            )
+
+            verify(playbackPositionDao).applyPlaybackPositionChanges(
+                updated = listOf(entity),
+                deletedMediaIds = listOf(2L),
+                maxEntries = 10,
+            )
+        }
+
+    @Test
+    fun `test that applyPlaybackInformationChanges updates the entries one millisecond apart in order`() =
+        runTest {
+            val first = mock<PlaybackInformation>()
+            val second = mock<PlaybackInformation>()
+            val third = mock<PlaybackInformation>()
+
+            underTest.applyPlaybackInformationChanges(
+                updated = linkedMapOf(3L to first, 1L to second, 2L to third),
+                deletedMediaIds = emptySet(),
+                maxEntries = 10,
+            )
+
+            val timestamps = argumentCaptor<Long>()
+            verify(playbackPositionEntityMapper, times(3))
+                .invoke(any(), any(), timestamps.capture())
+            verify(playbackPositionEntityMapper).invoke(eq(3L), eq(first), eq(timestamps.firstValue))
+            verify(playbackPositionEntityMapper)
+                .invoke(eq(2L), eq(third), eq(timestamps.firstValue + 2))
+            assertThat(timestamps.allValues.zipWithNext { a, b -> b - a }).containsExactly(1L, 1L)
+        }
+
+    @Test
+    fun `test that insertSdCardMove returns the id of the inserted entity`() = runTest {
+        val sdCardMove = mock<SdCardMove>()
+        val entity = mock<SdCardMoveEntity>()
+        whenever(sdCardMoveEntityMapper(sdCardMove)) doReturn entity
+        whenever(sdCardMoveDao.insertSdCardMove(entity)) doReturn 5L
+
+        assertThat(underTest.insertSdCardMove(sdCardMove)).isEqualTo(5L)
+    }
+
+    @Test
+    fun `test that getAllSdCardMoves returns mapped moves from dao`() = runTest {
+        val entity = mock<SdCardMoveEntity>()
+        val expected = mock<SdCardMove>()
+        whenever(sdCardMoveDao.getAllSdCardMoves()) doReturn listOf(entity)
+        whenever(sdCardMoveModelMapper(entity)) doReturn expected
+
+        assertThat(underTest.getAllSdCardMoves()).containsExactly(expected)
+    }
+
+    @Test
+    fun `test that incrementSdCardMoveAttempts invokes the dao`() = runTest {
+        underTest.incrementSdCardMoveAttempts(5L)
+
+        verify(sdCardMoveDao).incrementSdCardMoveAttempts(5L)
+    }
 }
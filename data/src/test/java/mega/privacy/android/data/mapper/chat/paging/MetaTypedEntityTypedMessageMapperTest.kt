@@ -3,12 +3,14 @@ package mega.privacy.android.data.mapper.chat.paging
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.database.entity.chat.ChatGeolocationEntity
 import mega.privacy.android.data.database.entity.chat.ChatNodeEntity
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
 import mega.privacy.android.data.database.entity.chat.GiphyEntity
 import mega.privacy.android.data.database.entity.chat.MetaTypedMessageEntity
 import mega.privacy.android.data.database.entity.chat.RichPreviewEntity
 import mega.privacy.android.data.database.entity.chat.TypedMessageEntity
 import mega.privacy.android.domain.entity.chat.ChatMessageType
 import mega.privacy.android.domain.entity.chat.messages.TypedMessage
+import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
 import mega.privacy.android.domain.usecase.chat.message.CreateTypedMessageUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.TestInstance
@@ -31,7 +33,8 @@ class MetaTypedEntityTypedMessageMapperTest {
     internal fun setUp() {
         underTest = MetaTypedEntityTypedMessageMapper(
             createTypedMessageUseCases = mapOf(Pair(messageType, createTypedMessageUseCase)),
-            createInvalidMessageUseCase = mock()
+            createInvalidMessageUseCase = mock(),
+            chatReactionEntityMapper = ChatReactionEntityMapper(),
         )
     }
 
@@ -46,6 +49,15 @@ class MetaTypedEntityTypedMessageMapperTest {
         val expectedRichPreviewEntity = mock<RichPreviewEntity>()
         val expectedChatGeolocationEntity = mock<ChatGeolocationEntity>()
         val expectedGiphyEntity = mock<GiphyEntity>()
+        val reactionEntity = ChatReactionEntity(
+            chatId = 1L,
+            messageId = 2L,
+            reaction = "reaction",
+            count = 1,
+            userHandles = listOf(3L),
+            hasMe = false,
+        )
+        val expectedReactions = listOf(Reaction("reaction", 1, listOf(3L), false))
 
         val expectedTextMessage = "expectedTextMessage"
         val expectedTypedMessageEntity = mock<TypedMessageEntity> {
@@ -60,6 +72,7 @@ class MetaTypedEntityTypedMessageMapperTest {
             on { richPreviewEntity } doReturn expectedRichPreviewEntity
             on { geolocationEntity } doReturn expectedChatGeolocationEntity
             on { giphyEntity } doReturn expectedGiphyEntity
+            on { reactions } doReturn listOf(reactionEntity)
         }
         underTest(entity)
 
@@ -70,6 +83,7 @@ class MetaTypedEntityTypedMessageMapperTest {
                     && chatGifInfo == expectedGiphyEntity
                     && textMessage == expectedTextMessage
                     && isMine == isMineParam
+                    && reactions == expectedReactions
         })
     }
 }
\ No newline at end of file
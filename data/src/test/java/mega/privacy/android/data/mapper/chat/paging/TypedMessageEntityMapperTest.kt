@@ -132,7 +132,6 @@ class TypedMessageEntityMapperTest {
         assertThat(actual.changes).isEqualTo(expectedChanges)
         assertThat(actual.isMine).isEqualTo(expectedIsMine)
         assertThat(actual.textMessage).isEqualTo(expectedTextMessage)
-        assertThat(actual.reactions).isEqualTo(expectedReactions)
         assertThat(actual.exists).isEqualTo(expectedExists)
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package mega.privacy.android.data.mapper.transfer.sd
+
+import com.google.common.truth.Truth
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cryptography.EncryptData
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
+import mega.privacy.android.domain.entity.transfer.SdCardMove
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+import java.io.File
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SdCardMoveEntityMapperTest {
+    private lateinit var underTest: SdCardMoveEntityMapper
+
+    private val encryptData: EncryptData = mock()
+
+    @BeforeAll
+    fun setup() {
+        underTest = SdCardMoveEntityMapper(encryptData)
+    }
+
+    @BeforeEach
+    fun reset() {
+        reset(encryptData)
+    }
+
+    @Test
+    fun `test that mapper returns entity correctly when invoke function`() = runTest {
+        val sdCardMove = SdCardMove(
+            id = 3,
+            sourcePath = "/cache/file.jpg",
+            destinationUri = "content://tree",
+            subFolders = listOf("folder", "child"),
+            attempts = 2,
+        )
+        whenever(encryptData(sdCardMove.sourcePath)).thenReturn("encryptedSourcePath")
+        whenever(encryptData(sdCardMove.destinationUri)).thenReturn("encryptedDestinationUri")
+        whenever(encryptData("folder${File.separator}child")).thenReturn("encryptedSubFolders")
+        val expected = SdCardMoveEntity(
+            id = 3,
+            encryptedSourcePath = "encryptedSourcePath",
+            encryptedDestinationUri = "encryptedDestinationUri",
+            encryptedSubFolders = "encryptedSubFolders",
+            attempts = 2,
+        )
+        Truth.assertThat(underTest(sdCardMove)).isEqualTo(expected)
+    }
+
+    @Test
+    fun `test that a new move is mapped without id`() = runTest {
+        val sdCardMove = SdCardMove(
+            sourcePath = "/cache/file.jpg",
+            destinationUri = "content://tree",
+            subFolders = emptyList(),
+        )
+        Truth.assertThat(underTest(sdCardMove).id).isNull()
+    }
+}
@@ -0,0 +1,67 @@
+package mega.privacy.android.data.mapper.transfer.sd
+
+import com.google.common.truth.Truth
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.cryptography.DecryptData
+import mega.privacy.android.data.database.entity.SdCardMoveEntity
+import mega.privacy.android.domain.entity.transfer.SdCardMove
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+import java.io.File
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SdCardMoveModelMapperTest {
+    private lateinit var underTest: SdCardMoveModelMapper
+
+    private val decryptData: DecryptData = mock()
+
+    @BeforeAll
+    fun setup() {
+        underTest = SdCardMoveModelMapper(decryptData)
+    }
+
+    @BeforeEach
+    fun reset() {
+        reset(decryptData)
+    }
+
+    @Test
+    fun `test that mapper returns model correctly when invoke function`() = runTest {
+        val entity = SdCardMoveEntity(
+            id = 3,
+            encryptedSourcePath = "encryptedSourcePath",
+            encryptedDestinationUri = "encryptedDestinationUri",
+            encryptedSubFolders = "encryptedSubFolders",
+            attempts = 2,
+        )
+        whenever(decryptData(entity.encryptedSourcePath)).thenReturn("/cache/file.jpg")
+        whenever(decryptData(entity.encryptedDestinationUri)).thenReturn("content://tree")
+        whenever(decryptData(entity.encryptedSubFolders))
+            .thenReturn("folder${File.separator}child")
+        val expected = SdCardMove(
+            id = 3,
+            sourcePath = "/cache/file.jpg",
+            destinationUri = "content://tree",
+            subFolders = listOf("folder", "child"),
+            attempts = 2,
+        )
+        Truth.assertThat(underTest(entity)).isEqualTo(expected)
+    }
+
+    @Test
+    fun `test that empty sub folders are mapped to an empty list`() = runTest {
+        val entity = SdCardMoveEntity(
+            id = 3,
+            encryptedSourcePath = "encryptedSourcePath",
+            encryptedDestinationUri = "encryptedDestinationUri",
+            encryptedSubFolders = "encryptedSubFolders",
+        )
+        whenever(decryptData(entity.encryptedSubFolders)).thenReturn("")
+        Truth.assertThat(underTest(entity).subFolders).isEmpty()
+    }
+}
@@ -0,0 +1,66 @@
+package mega.privacy.android.data.preferences
+
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.intPreferencesKey
+import androidx.datastore.preferences.core.preferencesOf
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runCurrent
+import org.junit.jupiter.api.Test
+import java.io.IOException
+
+/**
+ * Test class for [PreferencesSnapshot]
+ */
+internal class PreferencesSnapshotTest {
+    private val key = intPreferencesKey("key")
+
+    @Test
+    fun `test that the loaded value is returned`() {
+        val scope = TestScope(UnconfinedTestDispatcher())
+        val underTest = PreferencesSnapshot(MutableStateFlow(preferencesOf(key to 1)), scope)
+
+        assertThat(underTest.isLoaded).isTrue()
+        assertThat(underTest[key]).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that the snapshot is updated when the data store changes`() {
+        val scope = TestScope(UnconfinedTestDispatcher())
+        val data = MutableStateFlow(preferencesOf(key to 1))
+        val underTest = PreferencesSnapshot(data, scope)
+
+        data.value = preferencesOf(key to 2)
+
+        assertThat(underTest[key]).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that null is returned without waiting until the data store emits`() {
+        val scope = TestScope()
+        val data = MutableSharedFlow<Preferences>(replay = 1)
+        val underTest = PreferencesSnapshot(data, scope)
+
+        assertThat(underTest.isLoaded).isFalse()
+        assertThat(underTest[key]).isNull()
+
+        data.tryEmit(preferencesOf(key to 3))
+        scope.runCurrent()
+
+        assertThat(underTest.isLoaded).isTrue()
+        assertThat(underTest[key]).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that empty preferences are used when the data store cannot be read`() {
+        val scope = TestScope(UnconfinedTestDispatcher())
+        val underTest = PreferencesSnapshot(flow { throw IOException() }, scope)
+
+        assertThat(underTest.isLoaded).isTrue()
+        assertThat(underTest[key]).isNull()
+    }
+}
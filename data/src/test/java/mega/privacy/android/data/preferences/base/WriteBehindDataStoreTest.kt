@@ -0,0 +1,176 @@
+package mega.privacy.android.data.preferences.base
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.core.intPreferencesKey
+import androidx.datastore.preferences.core.stringPreferencesKey
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.Test
+import java.io.IOException
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+
+/**
+ * Test class for [WriteBehindDataStore]
+ */
+internal class WriteBehindDataStoreTest {
+    private val intKey = intPreferencesKey("int")
+    private val stringKey = stringPreferencesKey("string")
+
+    @Test
+    fun `test that the updates done within the delay are written once`() = runTest {
+        val delegate = FakeDataStore()
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.edit { it[intKey] = 1 }
+        underTest.edit { it[stringKey] = "value" }
+        underTest.edit { it[intKey] = 2 }
+        advanceTimeBy(101)
+        runCurrent()
+
+        assertThat(delegate.writes).isEqualTo(1)
+        assertThat(delegate.data.first()[intKey]).isEqualTo(2)
+        assertThat(delegate.data.first()[stringKey]).isEqualTo("value")
+    }
+
+    @Test
+    fun `test that the pending updates are emitted before being written`() = runTest {
+        val delegate = FakeDataStore()
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.edit { it[intKey] = 1 }
+
+        assertThat(delegate.writes).isEqualTo(0)
+        assertThat(underTest.data.first()[intKey]).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that the updates are based on the pending value`() = runTest {
+        val delegate = FakeDataStore()
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        repeat(3) {
+            underTest.edit { it[intKey] = (it[intKey] ?: 0) + 1 }
+        }
+        advanceUntilIdle()
+
+        assertThat(delegate.data.first()[intKey]).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that flush writes the pending updates immediately`() = runTest {
+        val delegate = FakeDataStore()
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.edit { it[intKey] = 1 }
+        underTest.flush()
+
+        assertThat(delegate.writes).isEqualTo(1)
+        assertThat(delegate.data.first()[intKey]).isEqualTo(1)
+
+        advanceUntilIdle()
+        assertThat(delegate.writes).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that concurrent flushes never write an older value last`() = runTest {
+        val delegate = FakeDataStore(writeDuration = 50.milliseconds)
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.edit { it[intKey] = 1 }
+        val first = launch { underTest.flush() }
+        runCurrent()
+        underTest.edit { it[intKey] = 2 }
+        val second = launch { underTest.flush() }
+        runCurrent()
+        underTest.edit { it[intKey] = 3 }
+        underTest.flush()
+        first.join()
+        second.join()
+
+        assertThat(delegate.writtenValues.map { it[intKey] }).isEqualTo(listOf(1, 3))
+        assertThat(delegate.data.first()[intKey]).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that editAndFlush writes immediately`() = runTest {
+        val delegate = FakeDataStore()
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.editAndFlush { it[intKey] = 1 }
+
+        assertThat(delegate.writes).isEqualTo(1)
+        assertThat(delegate.data.first()[intKey]).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a failed write is retried with an increasing delay`() = runTest {
+        val delegate = FakeDataStore(failures = 2)
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.edit { it[intKey] = 1 }
+        advanceTimeBy(101)
+        runCurrent()
+        assertThat(delegate.data.first()[intKey]).isNull()
+
+        advanceTimeBy(200)
+        runCurrent()
+        assertThat(delegate.data.first()[intKey]).isNull()
+
+        advanceTimeBy(398)
+        runCurrent()
+        assertThat(delegate.data.first()[intKey]).isNull()
+
+        advanceTimeBy(2)
+        runCurrent()
+        assertThat(delegate.writes).isEqualTo(1)
+        assertThat(delegate.data.first()[intKey]).isEqualTo(1)
+        assertThat(underTest.data.first()[intKey]).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that updates without changes are not written`() = runTest {
+        val delegate = FakeDataStore()
+        val underTest = WriteBehindDataStore(delegate, backgroundScope, 100.milliseconds)
+
+        underTest.edit { it.remove(intKey) }
+        advanceUntilIdle()
+
+        assertThat(delegate.writes).isEqualTo(0)
+    }
+
+    private class FakeDataStore(
+        private var failures: Int = 0,
+        private val writeDuration: Duration = Duration.ZERO,
+    ) : DataStore<Preferences> {
+        private val state = MutableStateFlow(emptyPreferences())
+        val writtenValues = mutableListOf<Preferences>()
+        val writes: Int
+            get() = writtenValues.size
+
+        override val data: Flow<Preferences> = state
+
+        override suspend fun updateData(transform: suspend (t: Preferences) -> Preferences): Preferences {
+            if (failures > 0) {
+                failures--
+                throw IOException("Write failed")
+            }
+            delay(writeDuration)
+            return transform(state.value).also {
+                writtenValues.add(it)
+                state.value = it
+            }
+        }
+    }
+}
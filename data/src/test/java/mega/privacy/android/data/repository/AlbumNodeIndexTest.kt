@@ -0,0 +1,133 @@
+package mega.privacy.android.data.repository
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.FolderNode
+import mega.privacy.android.domain.entity.node.Node
+import mega.privacy.android.domain.entity.node.NodeChanges
+import mega.privacy.android.domain.entity.node.NodeId
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AlbumNodeIndexTest {
+    private lateinit var underTest: AlbumNodeIndex
+
+    private val fileNodeDelegate = mock<FileNode>()
+    private val folderNodeDelegate = mock<FolderNode>()
+
+    @BeforeEach
+    fun setUp() {
+        underTest = AlbumNodeIndex()
+    }
+
+    @Test
+    fun `test that the changed nodes are grouped by album`() {
+        underTest.setAlbumNodes(1L, nodeIds(1L, 2L, 3L))
+        underTest.setAlbumNodes(2L, nodeIds(3L, 4L))
+
+        val deltas = underTest.computeDeltas(
+            mapOf(
+                file(3L) to listOf(NodeChanges.Attributes),
+                file(1L) to listOf(NodeChanges.Name),
+                file(99L) to listOf(NodeChanges.Name),
+            )
+        )
+
+        assertThat(deltas).containsExactly(
+            1L, nodeIds(3L, 1L),
+            2L, nodeIds(3L),
+        )
+    }
+
+    @Test
+    fun `test that a sensitive folder change refreshes only the indexed albums`() {
+        underTest.setAlbumNodes(1L, nodeIds(1L))
+        underTest.setAlbumNodes(2L, emptyList())
+
+        val deltas = underTest.computeDeltas(
+            mapOf(folder(10L) to listOf(NodeChanges.Sensitive))
+        )
+
+        assertThat(deltas).containsExactly(1L, emptyList<NodeId>())
+    }
+
+    @Test
+    fun `test that a folder change other than sensitive does not refresh the albums`() {
+        underTest.setAlbumNodes(1L, nodeIds(1L))
+
+        val deltas = underTest.computeDeltas(mapOf(folder(10L) to listOf(NodeChanges.Name)))
+
+        assertThat(deltas).isEmpty()
+    }
+
+    @Test
+    fun `test that replacing the nodes of an album removes the previous ones`() {
+        underTest.setAlbumNodes(1L, nodeIds(1L, 2L))
+        underTest.setAlbumNodes(1L, nodeIds(2L, 3L))
+
+        assertThat(underTest.albumsOf(NodeId(1L))).isEmpty()
+        assertThat(underTest.albumsOf(NodeId(2L))).containsExactly(1L)
+        assertThat(underTest.albumsOf(NodeId(3L))).containsExactly(1L)
+    }
+
+    @Test
+    fun `test that removed albums are not refreshed`() {
+        underTest.setAlbumNodes(1L, nodeIds(1L))
+        underTest.setAlbumNodes(2L, nodeIds(1L))
+        underTest.removeAlbum(1L)
+
+        val deltas = underTest.computeDeltas(mapOf(file(1L) to listOf(NodeChanges.Name)))
+
+        assertThat(deltas.keys).containsExactly(2L)
+    }
+
+    @Test
+    fun `test that a large batch of updates is turned into the deltas of each album`() {
+        // Each node is in the album of its remainder, and half of the nodes are in album 0 too
+        (1L until ALBUMS).forEach { albumId ->
+            underTest.setAlbumNodes(albumId, (0L until NODES).filter { it % ALBUMS == albumId }.map(::NodeId))
+        }
+        underTest.setAlbumNodes(0L, (0L until NODES).filter { it % 2 == 0L }.map(::NodeId))
+        val changes = (0L until NODES).associate { file(it) to listOf(NodeChanges.Attributes) }
+
+        val deltas = underTest.computeDeltas(changes)
+
+        assertThat(deltas.keys).hasSize(ALBUMS.toInt())
+        assertThat(deltas.getValue(0L)).hasSize((NODES / 2).toInt())
+        (1L until ALBUMS).forEach { albumId ->
+            val expected = (0L until NODES).filter { it % ALBUMS == albumId }.map(::NodeId)
+            assertThat(deltas.getValue(albumId)).containsExactlyElementsIn(expected).inOrder()
+        }
+    }
+
+    @Test
+    fun `test that repeated updates of the same nodes produce a single delta per node`() {
+        underTest.setAlbumNodes(1L, (0L until NODES).map(::NodeId))
+        // Several node instances with the same id, as received from a bulk move
+        val changes = (0 until 3).flatMap { (0L until NODES).map(::file) }
+            .associateWith { listOf(NodeChanges.Parent) }
+
+        val deltas = underTest.computeDeltas(changes)
+
+        assertThat(deltas.getValue(1L)).hasSize(NODES.toInt())
+    }
+
+    private fun nodeIds(vararg ids: Long) = ids.map(::NodeId)
+
+    private fun file(id: Long): Node = TestFileNode(NodeId(id), fileNodeDelegate)
+
+    private fun folder(id: Long): Node = TestFolderNode(NodeId(id), folderNodeDelegate)
+
+    private class TestFileNode(override val id: NodeId, delegate: FileNode) : FileNode by delegate
+
+    private class TestFolderNode(override val id: NodeId, delegate: FolderNode) :
+        FolderNode by delegate
+
+    companion object {
+        private const val ALBUMS = 50L
+        private const val NODES = 100_000L
+    }
+}
@@ -178,6 +178,7 @@ class ChatRepositoryImplTest {
             giphyEntityMapper = mock(),
             chatGeolocationEntityMapper = mock(),
             chatNodeEntityListMapper = mock(),
+            chatReactionEntityMapper = mock(),
             reactionUpdateMapper = reactionUpdateMapper,
             chatRoomMessageUpdateMapper = chatRoomMessageUpdateMapper,
             chatPresenceConfigMapper = chatPresenceConfigMapper,
@@ -12,6 +12,7 @@ import mega.privacy.android.data.facade.AlbumStringResourceGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.PhotoMapper
 import mega.privacy.android.data.mapper.UserSetMapper
+import mega.privacy.android.data.mapper.handles.MegaHandleListMapper
 import mega.privacy.android.data.mapper.node.ImageNodeMapper
 import mega.privacy.android.data.model.GlobalUpdate.OnSetElementsUpdate
 import mega.privacy.android.data.model.GlobalUpdate.OnSetsUpdate
@@ -24,6 +25,7 @@ import mega.privacy.android.domain.repository.AlbumRepository
 import mega.privacy.android.domain.repository.NodeRepository
 import nz.mega.sdk.MegaApiJava
 import nz.mega.sdk.MegaError
+import nz.mega.sdk.MegaHandleList
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaRequest
 import nz.mega.sdk.MegaRequestListenerInterface
@@ -34,7 +36,10 @@ import nz.mega.sdk.MegaSetList
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import kotlin.test.assertEquals
@@ -50,6 +55,12 @@ class DefaultAlbumRepositoryTest {
     private val albumStringResourceGateway = mock<AlbumStringResourceGateway>()
     private val photoMapper = mock<PhotoMapper>()
     private val imageNodeMapper = mock<ImageNodeMapper>()
+    private val megaHandleListMapper = mock<MegaHandleListMapper> {
+        on { invoke(any()) }.thenAnswer { invocation ->
+            val handles = invocation.getArgument<List<Long>>(0)
+            mock<MegaHandleList> { on { size() }.thenReturn(handles.size.toLong()) }
+        }
+    }
 
     private val testName = "Album1"
 
@@ -106,10 +117,13 @@ class DefaultAlbumRepositoryTest {
             val testAlbumId = AlbumId(1L)
             val testPhotos = listOf(NodeId(1L), NodeId(2L))
 
-            whenever(megaApiGateway.createSetElement(any(), any(), any())).thenAnswer {
-                (it.arguments[2] as MegaRequestListenerInterface).onRequestFinish(
-                    mock(),
+            val elementList = mock<MegaSetElementList> {
+                on { size() }.thenReturn(testPhotos.size.toLong())
+            }
+            whenever(megaApiGateway.createSetElements(any(), any(), anyOrNull(), any())).thenAnswer {
+                (it.arguments[3] as MegaRequestListenerInterface).onRequestFinish(
                     mock(),
+                    mock { on { megaSetElementList }.thenReturn(elementList) },
                     mock {
                         on { errorCode }.thenReturn(MegaError.API_OK)
                     }
@@ -135,7 +149,7 @@ class DefaultAlbumRepositoryTest {
                 AlbumPhotoId(it, NodeId(1L), testAlbumId)
             }
 
-            whenever(megaApiGateway.removeSetElement(any(), any(), any())).thenAnswer {
+            whenever(megaApiGateway.removeSetElements(any(), any(), any())).thenAnswer {
                 (it.arguments[2] as MegaRequestListenerInterface).onRequestFinish(
                     mock(),
                     mock(),
@@ -449,6 +463,30 @@ class DefaultAlbumRepositoryTest {
         assertThat(success).isEqualTo(0)
     }
 
+    @Test
+    fun `test that adding many photos sends bulk requests`() = runTest {
+        val albumId = AlbumId(1L)
+        val photoIds = (1L..1_200L).map { NodeId(it) }
+        whenever(megaApiGateway.createSetElements(any(), any(), anyOrNull(), any())).thenAnswer {
+            val handleList = it.arguments[1] as MegaHandleList
+            val elementList = mock<MegaSetElementList> {
+                on { size() }.thenReturn(handleList.size())
+            }
+            (it.arguments[3] as MegaRequestListenerInterface).onRequestFinish(
+                mock(),
+                mock { on { megaSetElementList }.thenReturn(elementList) },
+                mock { on { errorCode }.thenReturn(MegaError.API_OK) },
+            )
+        }
+
+        underTest = createUnderTest(this)
+        val success = underTest.addBulkPhotosToAlbum(albumId, photoIds)
+
+        assertThat(success).isEqualTo(photoIds.size)
+        verify(megaApiGateway, times(3)).createSetElements(any(), any(), anyOrNull(), any())
+        verify(megaApiGateway, never()).createSetElement(any(), any(), any())
+    }
+
     @Test
     fun `test that save album to folder works properly`() = runTest {
         // given
@@ -587,7 +625,8 @@ class DefaultAlbumRepositoryTest {
         imageNodeMapper = imageNodeMapper,
         ioDispatcher = UnconfinedTestDispatcher(),
         appScope = coroutineScope,
-        megaLocalRoomGateway = mock()
+        megaLocalRoomGateway = mock(),
+        megaHandleListMapper = megaHandleListMapper,
     )
 
     private fun createUserSet(
@@ -34,7 +34,6 @@ import mega.privacy.android.domain.repository.MediaPlayerRepository
 import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaSearchFilter
-import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
@@ -44,8 +43,11 @@ import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.util.stream.Stream
@@ -75,8 +77,7 @@ class DefaultMediaPlayerRepositoryTest {
     private val expectedTotalDuration: Long = 200000
     private val expectedCurrentPosition: Long = 16000
 
-    @BeforeAll
-    fun initialise() {
+    private fun initialise() {
         underTest = DefaultMediaPlayerRepository(
             megaApi = megaApi,
             megaApiFolder = megaApiFolder,
@@ -113,6 +114,8 @@ class DefaultMediaPlayerRepositoryTest {
             typedVideoNodeMapper,
             megaLocalRoomGateway
         )
+        whenever(appPreferencesGateway.monitorString(any(), anyOrNull())).thenReturn(flowOf(null))
+        initialise()
     }
 
     @Test
@@ -153,81 +156,138 @@ class DefaultMediaPlayerRepositoryTest {
     }
 
     @Test
-    fun `test that updatePlayback information that there is no local data`() = runTest {
+    fun `test that getPlaybackInformation returns the pending update before it is saved`() =
+        runTest {
+            val expectedPlaybackInfo = createPlaybackInformation()
+
+            underTest.updatePlaybackInformation(expectedPlaybackInfo)
+            val actual = underTest.getPlaybackInformation(expectedMediaId)
+
+            assertThat(actual).isEqualTo(expectedPlaybackInfo)
+            verify(megaLocalRoomGateway, never()).getPlaybackInformation(any())
+        }
+
+    @Test
+    fun `test that getPlaybackInformation returns the stored playback information`() = runTest {
         val expectedPlaybackInfo = createPlaybackInformation()
+        whenever(megaLocalRoomGateway.getPlaybackInformation(expectedMediaId))
+            .thenReturn(expectedPlaybackInfo)
 
-        underTest.updatePlaybackInformation(expectedPlaybackInfo)
-        whenever(
-            appPreferencesGateway.monitorString(
-                anyOrNull(),
-                anyOrNull()
-            )
-        ).thenReturn(flowOf("{}"))
-        val actual = underTest.monitorPlaybackTimes().firstOrNull()
+        assertThat(underTest.getPlaybackInformation(expectedMediaId))
+            .isEqualTo(expectedPlaybackInfo)
+    }
+
+    @Test
+    fun `test that getPlaybackInformation returns null for a deleted item even if it is stored`() =
+        runTest {
+            whenever(megaLocalRoomGateway.getPlaybackInformation(expectedMediaId))
+                .thenReturn(createPlaybackInformation())
+
+            underTest.deletePlaybackInformation(expectedMediaId)
 
-        assertThat(actual?.get(expectedMediaId)?.mediaId).isEqualTo(expectedMediaId)
-        assertThat(actual?.get(expectedMediaId)?.totalDuration).isEqualTo(expectedTotalDuration)
-        assertThat(actual?.get(expectedMediaId)?.currentPosition).isEqualTo(expectedCurrentPosition)
+            assertThat(underTest.getPlaybackInformation(expectedMediaId)).isNull()
+        }
+
+    @Test
+    fun `test that savePlaybackTimes writes only the changed entries`() = runTest {
+        val firstPlaybackInfo = createPlaybackInformation()
+        val updatedPlaybackInfo = firstPlaybackInfo.copy(currentPosition = 20000)
+        val deletedMediaId: Long = 7654321
+
+        underTest.updatePlaybackInformation(firstPlaybackInfo)
+        underTest.updatePlaybackInformation(updatedPlaybackInfo)
+        underTest.deletePlaybackInformation(deletedMediaId)
+        underTest.savePlaybackTimes()
+
+        verify(megaLocalRoomGateway).applyPlaybackInformationChanges(
+            updated = eq(mapOf(expectedMediaId to updatedPlaybackInfo)),
+            deletedMediaIds = eq(setOf(deletedMediaId)),
+            maxEntries = any(),
+        )
     }
 
     @Test
-    fun `test that monitorPlaybackTimes`() = runTest {
-        val expectedPlaybackInfo = createPlaybackInformation()
+    fun `test that savePlaybackTimes does not write anything when nothing changed since the last save`() =
+        runTest {
+            underTest.updatePlaybackInformation(createPlaybackInformation())
+            underTest.savePlaybackTimes()
+            underTest.savePlaybackTimes()
 
-        whenever(
-            appPreferencesGateway.monitorString(
-                anyOrNull(),
-                anyOrNull()
-            )
-        ).thenReturn(
-            flowOf(
-                Gson().toJson(
-                    mapOf(
-                        Pair(
-                            expectedMediaId,
-                            expectedPlaybackInfo
-                        )
-                    )
-                )
-            )
+            verify(megaLocalRoomGateway, times(1))
+                .applyPlaybackInformationChanges(any(), any(), any())
+        }
+
+    @Test
+    fun `test that legacy playback times are moved to the local database`() = runTest {
+        val expectedPlaybackInfo = createPlaybackInformation()
+        whenever(appPreferencesGateway.monitorString(any(), anyOrNull())).thenReturn(
+            flowOf(Gson().toJson(mapOf(expectedMediaId to expectedPlaybackInfo)))
         )
-        val actual = underTest.monitorPlaybackTimes().firstOrNull()
 
-        assertThat(actual?.get(expectedMediaId)?.mediaId).isEqualTo(expectedMediaId)
-        assertThat(actual?.get(expectedMediaId)?.totalDuration).isEqualTo(expectedTotalDuration)
-        assertThat(actual?.get(expectedMediaId)?.currentPosition).isEqualTo(expectedCurrentPosition)
+        underTest.getPlaybackInformation(expectedMediaId)
+        underTest.getPlaybackInformation(expectedMediaId)
+
+        verify(megaLocalRoomGateway, times(1)).applyPlaybackInformationChanges(
+            updated = eq(mapOf(expectedMediaId to expectedPlaybackInfo)),
+            deletedMediaIds = eq(emptySet()),
+            maxEntries = any(),
+        )
+        verify(appPreferencesGateway).putString(any(), eq(""))
     }
 
     @Test
-    fun `test that deletePlaybackInformation that playbackInfoMap doesn't include deleted item even local data includes it`() =
+    fun `test that legacy playback times are kept and migrated again if the database write fails`() =
         runTest {
             val expectedPlaybackInfo = createPlaybackInformation()
-            val expectedDeleteMediaId: Long = 7654321
-            val expectedDeleteTotalDuration: Long = 300000
-            val expectedDeleteCurrentPosition: Long = 20000
-            val expectedDeletePlaybackInfo = PlaybackInformation(
-                expectedDeleteMediaId,
-                expectedDeleteTotalDuration,
-                expectedDeleteCurrentPosition
+            whenever(appPreferencesGateway.monitorString(any(), anyOrNull())).thenReturn(
+                flowOf(Gson().toJson(mapOf(expectedMediaId to expectedPlaybackInfo)))
             )
+            whenever(megaLocalRoomGateway.applyPlaybackInformationChanges(any(), any(), any()))
+                .thenThrow(RuntimeException())
+                .thenReturn(Unit)
 
-            val expectedPlaybackInfoMap = mapOf(
-                Pair(expectedMediaId, expectedPlaybackInfo),
-                Pair(expectedDeleteMediaId, expectedDeletePlaybackInfo)
-            )
+            underTest.getPlaybackInformation(expectedMediaId)
+            verify(appPreferencesGateway, never()).putString(any(), any())
 
-            underTest.updatePlaybackInformation(expectedPlaybackInfo)
-            underTest.updatePlaybackInformation(expectedDeletePlaybackInfo)
-            underTest.deletePlaybackInformation(expectedDeleteMediaId)
+            underTest.getPlaybackInformation(expectedMediaId)
+            verify(megaLocalRoomGateway, times(2))
+                .applyPlaybackInformationChanges(any(), any(), any())
+            verify(appPreferencesGateway).putString(any(), eq(""))
+        }
 
-            whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull())).thenReturn(
-                flowOf(
-                    Gson().toJson(expectedPlaybackInfoMap)
-                )
+    @Test
+    fun `test that unreadable legacy playback times are removed without being migrated`() =
+        runTest {
+            whenever(appPreferencesGateway.monitorString(any(), anyOrNull()))
+                .thenReturn(flowOf("{not json"))
+
+            underTest.getPlaybackInformation(expectedMediaId)
+            underTest.getPlaybackInformation(expectedMediaId)
+
+            verify(appPreferencesGateway, times(1)).monitorString(any(), anyOrNull())
+            verify(appPreferencesGateway).putString(any(), eq(""))
+            verify(megaLocalRoomGateway, never())
+                .applyPlaybackInformationChanges(any(), any(), any())
+        }
+
+    @Test
+    fun `test that monitorPlaybackTimes merges pending changes into the stored playback times`() =
+        runTest {
+            val storedPlaybackInfo = createPlaybackInformation()
+            val deletedPlaybackInfo = PlaybackInformation(7654321, 300000, 20000)
+            val pendingPlaybackInfo = PlaybackInformation(1111111, 100000, 30000)
+            whenever(megaLocalRoomGateway.monitorAllPlaybackInformation()).thenReturn(
+                flowOf(listOf(storedPlaybackInfo, deletedPlaybackInfo))
             )
+
+            underTest.updatePlaybackInformation(pendingPlaybackInfo)
+            underTest.deletePlaybackInformation(7654321)
             val actual = underTest.monitorPlaybackTimes().firstOrNull()
 
-            assertThat(actual?.containsKey(expectedDeleteMediaId)).isFalse()
+            assertThat(actual).containsExactly(
+                expectedMediaId, storedPlaybackInfo,
+                1111111L, pendingPlaybackInfo,
+            )
         }
 
     @ParameterizedTest(name = "when audio repeatMode is {0}, the result of monitorAudioRepeatMode is {1}")
@@ -33,6 +33,7 @@ import mega.privacy.android.domain.repository.NotificationsRepository
 import mega.privacy.android.domain.usecase.meeting.FetchNumberOfScheduledMeetingOccurrencesByChat
 import mega.privacy.android.domain.usecase.meeting.GetScheduledMeeting
 import nz.mega.sdk.MegaApiJava
+import nz.mega.sdk.MegaContactRequest
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaEvent
 import nz.mega.sdk.MegaIntegerList
@@ -245,6 +246,53 @@ class DefaultNotificationsRepositoryTest {
         }
     }
 
+    @Test
+    fun `test that users repeated across alerts are resolved once`() = runTest {
+        val emails = List(5) { "user$it@email" }
+        val userAlerts = List(500) { index ->
+            mock<MegaUserAlert> { on { email }.thenReturn(emails[index % emails.size]) }
+        }
+        whenever(megaApiGateway.getUserAlerts()).thenReturn(userAlerts)
+        whenever(megaApiGateway.getContact(any())).thenReturn(mock())
+        val pendingRequests = List(1_000) { index ->
+            mock<MegaContactRequest> { on { sourceEmail }.thenReturn("pending$index@email") }
+        } + mock<MegaContactRequest> { on { sourceEmail }.thenReturn(emails.first()) }
+        whenever(megaApiGateway.getIncomingContactRequests()).thenReturn(ArrayList(pendingRequests))
+
+        val alerts = underTest.getUserAlerts()
+
+        assertThat(alerts).hasSize(userAlerts.size)
+        assertThat(alerts.count { (it as ContactAlert).contact.hasPendingRequest })
+            .isEqualTo(userAlerts.size / emails.size)
+        verify(megaApiGateway, times(1)).getIncomingContactRequests()
+        emails.forEach {
+            verify(megaApiGateway, times(1)).getContact(it)
+            verify(megaLocalStorageGateway, times(1)).getContactByEmail(it)
+        }
+        verify(megaLocalStorageGateway, never()).getNonContactByHandle(any())
+    }
+
+    @Test
+    fun `test that the email of a user repeated across alerts is requested once`() = runTest {
+        whenever(megaApiGateway.getUserAlerts()).thenReturn(List(500) { mock() })
+        whenever(megaLocalStorageGateway.getNonContactByHandle(any())).thenReturn(null)
+        val request = mock<MegaRequest> { on { email }.thenReturn(email) }
+        val error = mock<MegaError> { on { errorCode }.thenReturn(MegaError.API_OK) }
+        whenever(megaApiGateway.getUserEmail(any(), any())).thenAnswer {
+            (it.arguments[1] as MegaRequestListenerInterface).onRequestFinish(
+                mock(),
+                request,
+                error
+            )
+        }
+
+        underTest.getUserAlerts()
+
+        verify(megaLocalStorageGateway, times(1)).getNonContactByHandle(userHandle)
+        verify(megaApiGateway, times(1)).getUserEmail(eq(userHandle), any())
+        verify(megaApiGateway, times(1)).getIncomingContactRequests()
+    }
+
     @Test
     fun `test that event is returned if found`() = runTest {
         val expectedEvent = NormalEvent(
@@ -1,17 +1,28 @@
 package mega.privacy.android.data.repository
 
 import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.recentactions.RecentActionBucketMapper
 import mega.privacy.android.data.mapper.recentactions.RecentActionsMapper
 import mega.privacy.android.domain.entity.RecentActionBucketUnTyped
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.FolderNode
+import mega.privacy.android.domain.entity.node.Node
+import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeUpdate
+import mega.privacy.android.domain.repository.NodeRepository
 import mega.privacy.android.domain.repository.RecentActionsRepository
 import nz.mega.sdk.MegaApiJava
 import nz.mega.sdk.MegaError
+import nz.mega.sdk.MegaNode
+import nz.mega.sdk.MegaNodeList
 import nz.mega.sdk.MegaRecentActionBucket
 import nz.mega.sdk.MegaRecentActionBucketList
 import nz.mega.sdk.MegaRequest
@@ -20,8 +31,11 @@ import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import kotlin.contracts.ExperimentalContracts
+import kotlin.random.Random
 
 @OptIn(ExperimentalCoroutinesApi::class)
 @ExperimentalContracts
@@ -34,12 +48,32 @@ class DefaultRecentActionsRepositoryTest {
 
     private val recentActionBucketMapper = mock<RecentActionBucketMapper>()
 
+    private val nodeRepository = mock<NodeRepository>()
+
+    private val nodeUpdates = MutableSharedFlow<NodeUpdate>()
+
+    /**
+     * Buckets returned by the SDK
+     */
+    private var sdkBuckets: List<MegaRecentActionBucket> = emptyList()
+
+    /**
+     * Version of the nodes of each bucket, increased when a node is updated, so a bucket mapped
+     * before the update is different from a bucket mapped after it
+     */
+    private val bucketVersions = mutableMapOf<Long, Int>()
+
+    private var mapperCalls = 0
+
     @Before
     fun setUp() {
+        whenever(nodeRepository.monitorNodeUpdates()).thenReturn(nodeUpdates)
         underTest = DefaultRecentActionsRepository(
             megaApiGateway = megaApiGateway,
             recentActionsMapper = recentActionsMapper,
             recentActionBucketMapper = recentActionBucketMapper,
+            nodeRepository = nodeRepository,
+            appScope = CoroutineScope(UnconfinedTestDispatcher()),
             ioDispatcher = UnconfinedTestDispatcher(),
         )
     }
@@ -50,7 +84,10 @@ class DefaultRecentActionsRepositoryTest {
         val bucketList = mock<MegaRecentActionBucketList> { on { size() }.thenReturn(4) }
         val request = mock<MegaRequest> { on { recentActions }.thenReturn(bucketList) }
         val error = mock<MegaError> { on { errorCode }.thenReturn(MegaError.API_OK) }
-        val list = (1..4).map { mock<MegaRecentActionBucket>() }
+        val emptyNodeList = mock<MegaNodeList> { on { size() }.thenReturn(0) }
+        val list = (1..4).map {
+            mock<MegaRecentActionBucket> { on { nodes }.thenReturn(emptyNodeList) }
+        }
         val recentActionBucket = RecentActionBucketUnTyped(
             isMedia = true,
             isUpdate = true,
@@ -70,12 +107,255 @@ class DefaultRecentActionsRepositoryTest {
         }
         whenever(megaApiGateway.copyBucketList(any())).thenReturn(mock())
         whenever(recentActionsMapper(any())).thenReturn(list)
-        whenever(
-            recentActionBucketMapper.invoke(
+        whenever(recentActionBucketMapper.invoke(any())).thenReturn(recentActionBucket)
+
+        assertThat(underTest.getRecentActions().size).isEqualTo(expected.size)
+    }
+
+    @Test
+    fun `test that the cached recent actions are returned without querying the sdk again`() =
+        runTest {
+            stubSdk(bucketCount = 10)
+
+            val first = underTest.getRecentActions()
+            val second = underTest.getRecentActions()
+
+            assertThat(second).isEqualTo(first)
+            assertThat(mapperCalls).isEqualTo(10)
+            verify(megaApiGateway, times(1)).getRecentActionsAsync(any(), any(), any())
+        }
+
+    @Test
+    fun `test that only the bucket containing an updated node is mapped again`() = runTest {
+        stubSdk(bucketCount = 10)
+        underTest.getRecentActions()
+
+        updateNode(handle = nodeHandle(bucket = 3, node = 1), NodeChanges.Name)
+        val actual = underTest.getRecentActions()
+
+        assertThat(actual).isEqualTo(expectedBuckets())
+        assertThat(mapperCalls).isEqualTo(11)
+        verify(megaApiGateway, times(2)).getRecentActionsAsync(any(), any(), any())
+    }
+
+    @Test
+    fun `test that an update of a node not in any bucket does not query the sdk`() = runTest {
+        stubSdk(bucketCount = 10)
+        underTest.getRecentActions()
+
+        nodeUpdates.emit(NodeUpdate(mapOf(fileNode(UNRELATED_HANDLE) to listOf(NodeChanges.Name))))
+        underTest.getRecentActions()
+
+        assertThat(mapperCalls).isEqualTo(10)
+        verify(megaApiGateway, times(1)).getRecentActionsAsync(any(), any(), any())
+    }
+
+    @Test
+    fun `test that a new node queries the sdk and maps only the new buckets`() = runTest {
+        stubSdk(bucketCount = 10)
+        underTest.getRecentActions()
+
+        sdkBuckets = listOf(createBucket(10)) + sdkBuckets
+        nodeUpdates.emit(
+            NodeUpdate(mapOf(fileNode(nodeHandle(bucket = 10, node = 0)) to listOf(NodeChanges.New)))
+        )
+        val actual = underTest.getRecentActions()
+
+        assertThat(actual).isEqualTo(expectedBuckets())
+        assertThat(actual.first().timestamp).isEqualTo(10L)
+        assertThat(mapperCalls).isEqualTo(11)
+    }
+
+    @Test
+    fun `test that clear cache queries the sdk and maps all the buckets again`() = runTest {
+        stubSdk(bucketCount = 10)
+        underTest.getRecentActions()
+
+        underTest.clearCache()
+        underTest.getRecentActions()
+
+        assertThat(mapperCalls).isEqualTo(20)
+        verify(megaApiGateway, times(2)).getRecentActionsAsync(any(), any(), any())
+    }
+
+    @Test
+    fun `test that node updates monitoring is restarted after a failure and the cache refreshed`() =
+        runTest {
+            whenever(nodeRepository.monitorNodeUpdates())
+                .thenReturn(flow { throw RuntimeException("monitoring failed") }, nodeUpdates)
+            stubSdk(bucketCount = 10)
+            underTest.getRecentActions()
+
+            underTest.getRecentActions()
+            underTest.getRecentActions()
+
+            verify(nodeRepository, times(2)).monitorNodeUpdates()
+            verify(megaApiGateway, times(2)).getRecentActionsAsync(any(), any(), any())
+        }
+
+    @Test
+    fun `test that replaying node updates keeps the cached buckets equal to a full mapping`() =
+        runTest {
+            stubSdk(bucketCount = REPLAY_BUCKETS)
+            underTest.getRecentActions()
+            val random = Random(42)
+            var expectedMapperCalls = REPLAY_BUCKETS
+
+            repeat(REPLAY_UPDATES) {
+                // Updates a few nodes of random buckets and a node not in any bucket
+                val touchedBuckets = (0 until random.nextInt(1, 4)).map {
+                    random.nextInt(REPLAY_BUCKETS)
+                }.toSet()
+                val changes = touchedBuckets.associate { bucket ->
+                    fileNode(nodeHandle(bucket, random.nextInt(NODES_PER_BUCKET))) as Node to
+                            listOf(NodeChanges.Attributes)
+                } + (fileNode(UNRELATED_HANDLE + it) to listOf(NodeChanges.Name))
+                touchedBuckets.forEach { bucket -> increaseVersion(bucket.toLong()) }
+                nodeUpdates.emit(NodeUpdate(changes))
+                expectedMapperCalls += touchedBuckets.size
+
+                assertThat(underTest.getRecentActions()).isEqualTo(expectedBuckets())
+            }
+
+            assertThat(mapperCalls).isEqualTo(expectedMapperCalls)
+        }
+
+    @Test
+    fun `test that an update of the parent folder of a bucket maps only that bucket again`() =
+        runTest {
+            stubSdk(bucketCount = 10)
+            underTest.getRecentActions()
+
+            updateFolder(bucket = 3, NodeChanges.Name)
+            val actual = underTest.getRecentActions()
+
+            assertThat(actual).isEqualTo(expectedBuckets())
+            assertThat(mapperCalls).isEqualTo(11)
+        }
+
+    @Test
+    fun `test that a sensitive change of a node not in any bucket maps all the buckets again`() =
+        runTest {
+            stubSdk(bucketCount = 10)
+            underTest.getRecentActions()
+
+            updateAncestor(handle = UNRELATED_HANDLE, NodeChanges.Sensitive)
+            val actual = underTest.getRecentActions()
+
+            assertThat(actual).isEqualTo(expectedBuckets())
+            assertThat(mapperCalls).isEqualTo(20)
+            verify(megaApiGateway, times(2)).getRecentActionsAsync(any(), any(), any())
+        }
+
+    @Test
+    fun `test that replaying folder and ancestor updates keeps the cached buckets equal to a full mapping`() =
+        runTest {
+            stubSdk(bucketCount = REPLAY_BUCKETS)
+            underTest.getRecentActions()
+            val random = Random(7)
+            val ancestorChanges =
+                listOf(NodeChanges.Sensitive, NodeChanges.Parent, NodeChanges.Attributes)
+            var expectedMapperCalls = REPLAY_BUCKETS
+
+            repeat(REPLAY_UPDATES) {
+                if (random.nextInt(10) == 0) {
+                    // A folder that is not the parent of any bucket may be an ancestor of all
+                    updateAncestor(UNRELATED_HANDLE + it, ancestorChanges.random(random))
+                    expectedMapperCalls += REPLAY_BUCKETS
+                } else {
+                    updateFolder(random.nextInt(REPLAY_BUCKETS), NodeChanges.Name)
+                    expectedMapperCalls++
+                }
+
+                assertThat(underTest.getRecentActions()).isEqualTo(expectedBuckets())
+            }
+
+            assertThat(mapperCalls).isEqualTo(expectedMapperCalls)
+        }
+
+    private suspend fun updateNode(handle: Long, change: NodeChanges) {
+        increaseVersion(handle / BUCKET_HANDLE_RANGE)
+        nodeUpdates.emit(NodeUpdate(mapOf(fileNode(handle) to listOf(change))))
+    }
+
+    private suspend fun updateFolder(bucket: Int, change: NodeChanges) {
+        increaseVersion(bucket.toLong())
+        nodeUpdates.emit(NodeUpdate(mapOf(folderNode(parentHandle(bucket)) to listOf(change))))
+    }
+
+    private suspend fun updateAncestor(handle: Long, change: NodeChanges) {
+        sdkBuckets.forEach { increaseVersion(it.timestamp) }
+        nodeUpdates.emit(NodeUpdate(mapOf(folderNode(handle) to listOf(change))))
+    }
+
+    private fun increaseVersion(bucket: Long) {
+        bucketVersions[bucket] = (bucketVersions[bucket] ?: 0) + 1
+    }
+
+    private suspend fun stubSdk(bucketCount: Int) {
+        sdkBuckets = (0 until bucketCount).map { createBucket(it) }
+        val request = mock<MegaRequest> { on { recentActions }.thenReturn(mock()) }
+        val error = mock<MegaError> { on { errorCode }.thenReturn(MegaError.API_OK) }
+        whenever(megaApiGateway.getRecentActionsAsync(any(), any(), any())).thenAnswer {
+            (it.arguments[2] as MegaRequestListenerInterface).onRequestFinish(
                 mock(),
+                request,
+                error
             )
-        ).thenReturn(recentActionBucket)
+        }
+        whenever(megaApiGateway.copyBucketList(any())).thenReturn(mock())
+        whenever(recentActionsMapper(any())).thenAnswer { sdkBuckets }
+        whenever(recentActionBucketMapper(any())).thenAnswer {
+            mapperCalls++
+            mapBucket(it.arguments[0] as MegaRecentActionBucket)
+        }
+    }
 
-        assertThat(underTest.getRecentActions().size).isEqualTo(expected.size)
+    /**
+     * Maps the buckets currently returned by the SDK, as the repository did before caching them
+     */
+    private fun expectedBuckets() = sdkBuckets.map { mapBucket(it) }
+
+    private fun mapBucket(bucket: MegaRecentActionBucket) = RecentActionBucketUnTyped(
+        timestamp = bucket.timestamp,
+        userEmail = "user${bucket.timestamp}-v${bucketVersions[bucket.timestamp] ?: 0}",
+        parentNodeId = NodeId(bucket.parentHandle),
+        isUpdate = false,
+        isMedia = false,
+        nodes = emptyList(),
+    )
+
+    private fun createBucket(index: Int): MegaRecentActionBucket {
+        val megaNodes = (0 until NODES_PER_BUCKET).map { node ->
+            mock<MegaNode> { on { handle }.thenReturn(nodeHandle(index, node)) }
+        }
+        val nodeList = mock<MegaNodeList> {
+            on { size() }.thenReturn(megaNodes.size)
+            on { get(any()) }.thenAnswer { megaNodes[it.arguments[0] as Int] }
+        }
+        return mock {
+            on { timestamp }.thenReturn(index.toLong())
+            on { userEmail }.thenReturn("user$index")
+            on { parentHandle }.thenReturn(parentHandle(index))
+            on { nodes }.thenReturn(nodeList)
+        }
+    }
+
+    private fun nodeHandle(bucket: Int, node: Int) = bucket * BUCKET_HANDLE_RANGE + node
+
+    private fun parentHandle(bucket: Int) = PARENT_HANDLE_OFFSET + bucket
+
+    private fun fileNode(handle: Long): FileNode = mock { on { id }.thenReturn(NodeId(handle)) }
+
+    private fun folderNode(handle: Long): FolderNode =
+        mock { on { id }.thenReturn(NodeId(handle)) }
+
+    companion object {
+        private const val BUCKET_HANDLE_RANGE = 1_000L
+        private const val NODES_PER_BUCKET = 5
+        private const val PARENT_HANDLE_OFFSET = 500_000_000L
+        private const val UNRELATED_HANDLE = 1_000_000_000L
+        private const val REPLAY_BUCKETS = 50
+        private const val REPLAY_UPDATES = 200
     }
 }
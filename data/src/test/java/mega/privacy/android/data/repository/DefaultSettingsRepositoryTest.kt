@@ -18,6 +18,7 @@ import mega.privacy.android.data.gateway.preferences.ChatPreferencesGateway
 import mega.privacy.android.data.gateway.preferences.FileManagementPreferencesGateway
 import mega.privacy.android.data.gateway.preferences.UIPreferencesGateway
 import mega.privacy.android.data.mapper.StartScreenMapper
+import mega.privacy.android.domain.entity.preference.StartScreen
 import mega.privacy.android.domain.exception.MegaException
 import nz.mega.sdk.MegaApiJava
 import nz.mega.sdk.MegaError
@@ -224,4 +225,22 @@ internal class DefaultSettingsRepositoryTest {
             underTest.setRaiseToHandSuggestionShown()
             verify(callsPreferencesGateway).setRaiseToHandSuggestionPreference()
         }
+
+    @Test
+    fun `test that the app preferences snapshot value is returned when getIntPreference is invoked`() {
+        whenever(appPreferencesGateway.getInt("key", 0)).thenReturn(3)
+        assertThat(underTest.getIntPreference("key", 0)).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that the default value is returned when getStringPreference is invoked with a blank key`() {
+        assertThat(underTest.getStringPreference(" ", "default")).isEqualTo("default")
+    }
+
+    @Test
+    fun `test that the mapped start screen is returned when getPreferredStartScreen is invoked`() {
+        whenever(uiPreferencesGateway.getPreferredStartScreen()).thenReturn(StartScreen.Chat.id)
+        whenever(startScreenMapper(StartScreen.Chat.id)).thenReturn(StartScreen.Chat)
+        assertThat(underTest.getPreferredStartScreen()).isEqualTo(StartScreen.Chat)
+    }
 }
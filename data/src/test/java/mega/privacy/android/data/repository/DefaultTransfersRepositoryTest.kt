@@ -12,6 +12,7 @@ import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.AppEventGateway
+import mega.privacy.android.data.gateway.CompletedTransferGateway
 import mega.privacy.android.data.gateway.DeviceGateway
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
@@ -64,7 +65,6 @@ import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
-import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import java.io.File
@@ -93,6 +93,7 @@ class DefaultTransfersRepositoryTest {
     private val megaNodeMapper = mock<MegaNodeMapper>()
     private val sdCardGateway = mock<SDCardGateway>()
     private val deviceGateway = mock<DeviceGateway>()
+    private val completedTransferGateway = mock<CompletedTransferGateway>()
 
     private val testScope = CoroutineScope(UnconfinedTestDispatcher())
 
@@ -124,6 +125,7 @@ class DefaultTransfersRepositoryTest {
             megaNodeMapper = megaNodeMapper,
             sdCardGateway = sdCardGateway,
             deviceGateway = deviceGateway,
+            completedTransferGateway = completedTransferGateway,
         )
     }
 
@@ -144,6 +146,7 @@ class DefaultTransfersRepositoryTest {
             megaNodeMapper,
             sdCardGateway,
             deviceGateway,
+            completedTransferGateway,
         )
     }
 
@@ -676,7 +679,7 @@ class DefaultTransfersRepositoryTest {
         }
 
     @Test
-    fun `test that addCompletedTransfer call local storage gateway addCompletedTransfer and app event gateway broadcastCompletedTransfer with the mapped transfer`() =
+    fun `test that addCompletedTransfer call completed transfer gateway add and app event gateway broadcastCompletedTransfer with the mapped transfer`() =
         runTest {
             val transfer = mock<Transfer>()
             val error = mock<MegaException>()
@@ -684,60 +687,23 @@ class DefaultTransfersRepositoryTest {
             val path = "path"
             whenever(completedTransferMapper(transfer, error, path)).thenReturn(expected)
             underTest.addCompletedTransfer(transfer, error, path)
-            verify(megaLocalRoomGateway).addCompletedTransfer(expected)
+            verify(completedTransferGateway).add(expected)
             verify(appEventGateway).broadcastCompletedTransfer(expected)
         }
 
     @Test
-    fun `test that addCompletedTransfer call correctly when call addCompletedTransfersIfNotExist`() =
+    fun `test that flushCompletedTransfers calls completed transfer gateway flush`() =
         runTest {
-            val transfer1 = CompletedTransfer(
-                id = 1,
-                fileName = "filename1",
-                type = 1,
-                state = 1,
-                size = "1Kb",
-                handle = 1L,
-                path = "filePath",
-                isOffline = false,
-                timestamp = 123L,
-                error = null,
-                originalPath = "originalFilePath",
-                parentHandle = 2L
-            )
-            val transfer2 = CompletedTransfer(
-                id = 1,
-                fileName = "filename2",
-                type = 1,
-                state = 1,
-                size = "1Kb",
-                handle = 1L,
-                path = "filePath",
-                isOffline = false,
-                timestamp = 123L,
-                error = null,
-                originalPath = "originalFilePath",
-                parentHandle = 2L
-            )
-            val existingTransfer1 = CompletedTransfer(
-                id = 3,
-                fileName = "filename1",
-                type = 1,
-                state = 1,
-                size = "1Kb",
-                handle = 1L,
-                path = "filePath",
-                isOffline = false,
-                timestamp = 123L,
-                error = null,
-                originalPath = "originalFilePath",
-                parentHandle = 2L
-            )
-            whenever(megaLocalRoomGateway.getAllCompletedTransfers())
-                .thenReturn(flowOf(listOf(existingTransfer1)))
-            underTest.addCompletedTransfersIfNotExist(listOf(transfer1, transfer2))
-            verify(megaLocalRoomGateway).addCompletedTransfer(transfer2.copy(id = null))
-            verify(megaLocalRoomGateway, times(0)).addCompletedTransfer(transfer1.copy(id = null))
+            underTest.flushCompletedTransfers()
+            verify(completedTransferGateway).flush()
+        }
+
+    @Test
+    fun `test that addCompletedTransfersIfNotExist calls completed transfer gateway addIfNotExist`() =
+        runTest {
+            val transfers = listOf(mock<CompletedTransfer>())
+            underTest.addCompletedTransfersIfNotExist(transfers)
+            verify(completedTransferGateway).addIfNotExist(transfers)
         }
 
     @Test
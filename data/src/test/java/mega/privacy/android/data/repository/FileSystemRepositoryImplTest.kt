@@ -22,6 +22,7 @@ import mega.privacy.android.data.gateway.FileAttributeGateway
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.data.gateway.MegaLocalStorageGateway
 import mega.privacy.android.data.gateway.SDCardGateway
+import mega.privacy.android.data.gateway.SdCardMoveGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -95,6 +96,7 @@ internal class FileSystemRepositoryImplTest {
     private val streamingGateway = mock<StreamingGateway>()
     private val deviceGateway = mock<DeviceGateway>()
     private val sdCardGateway = mock<SDCardGateway>()
+    private val sdCardMoveGateway = mock<SdCardMoveGateway>()
     private val fileAttributeGateway = mock<FileAttributeGateway>()
     private val mimeTypeMapper = mock<MimeTypeMapper>()
 
@@ -130,6 +132,7 @@ internal class FileSystemRepositoryImplTest {
             streamingGateway = streamingGateway,
             deviceGateway = deviceGateway,
             sdCardGateway = sdCardGateway,
+            sdCardMoveGateway = sdCardMoveGateway,
             fileAttributeGateway = fileAttributeGateway,
             sharingScope = TestScope(),
             mimeTypeMapper = mimeTypeMapper
@@ -156,6 +159,7 @@ internal class FileSystemRepositoryImplTest {
             streamingGateway,
             deviceGateway,
             sdCardGateway,
+            sdCardMoveGateway,
             fileAttributeGateway,
             mimeTypeMapper,
         )
@@ -446,6 +450,29 @@ internal class FileSystemRepositoryImplTest {
             whenever(sdCardGateway.isSDCardCachePath(any())).thenReturn(expected)
             assertThat(underTest.isSDCardCachePath("something")).isEqualTo(expected)
         }
+
+        @ParameterizedTest
+        @ValueSource(booleans = [true, false])
+        fun `test that moveFileToSd returns gateway value`(expected: Boolean) = runTest {
+            val file = File("file.txt")
+            val subFolders = listOf("folder")
+            whenever(sdCardMoveGateway.moveFile(file, "uri", subFolders)).thenReturn(expected)
+            assertThat(underTest.moveFileToSd(file, "uri", subFolders)).isEqualTo(expected)
+        }
+
+        @Test
+        fun `test that enqueueFileMoveToSd enqueues the move in the gateway`() = runTest {
+            val file = File("file.txt")
+            val subFolders = listOf("folder")
+            underTest.enqueueFileMoveToSd(file, "uri", subFolders)
+            verify(sdCardMoveGateway).enqueueMove(file, "uri", subFolders)
+        }
+
+        @Test
+        fun `test that resumePendingFileMovesToSd resumes the moves in the gateway`() = runTest {
+            underTest.resumePendingFileMovesToSd()
+            verify(sdCardMoveGateway).resumePendingMoves()
+        }
     }
 
     @Nested
@@ -51,6 +51,7 @@ import mega.privacy.android.domain.entity.offline.OtherOfflineNodeInformation
 import mega.privacy.android.domain.entity.shares.AccessPermission
 import mega.privacy.android.domain.exception.MegaException
 import mega.privacy.android.domain.exception.node.ForeignNodeException
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import mega.privacy.android.domain.repository.NodeRepository
 import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaChatMessage
@@ -174,6 +175,7 @@ class NodeRepositoryImplTest {
             nodeLabelIntMapper = nodeLabelIntMapper,
             cancelTokenProvider = cancelTokenProvider,
             megaSearchFilterMapper = megaSearchFilterMapper,
+            performanceTracer = PerformanceTracer(sinks = emptyList(), reportExecutor = { it.run() }),
         )
     }
 
@@ -1228,6 +1230,29 @@ class NodeRepositoryImplTest {
         assertThat(actual).isTrue()
     }
 
+    @Test
+    fun `test that getChildNodeNames returns the names of the children`() = runTest {
+        val parentNodeId = NodeId(1L)
+        val children = listOf("a.jpg", "b.jpg", "a.jpg").map { childName ->
+            mock<MegaNode> { on { name }.thenReturn(childName) }
+        }
+        val filter = mock<MegaSearchFilter>()
+        val token = mock<MegaCancelToken>()
+        whenever(megaApiGateway.createCancelToken()).thenReturn(token)
+        whenever(megaSearchFilterMapper(parentNodeId)).thenReturn(filter)
+        whenever(
+            megaApiGateway.getChildren(
+                filter,
+                sortOrderIntMapper(SortOrder.ORDER_NONE),
+                token
+            )
+        ).thenReturn(children)
+
+        val actual = underTest.getChildNodeNames(parentNodeId)
+
+        assertThat(actual).containsExactly("a.jpg", "b.jpg")
+    }
+
     @Test
     fun `test when addNodeTag is called then api gateway addNodeTag is called`() =
         runTest {
@@ -4,6 +4,10 @@ import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.SortOrderIntMapper
@@ -22,13 +26,18 @@ import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaSearchFilter
 import nz.mega.sdk.MegaShare
 import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
+import java.util.concurrent.atomic.AtomicInteger
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -66,6 +75,19 @@ class SearchRepositoryImplTest {
         )
     }
 
+    @BeforeEach
+    fun resetMocks() {
+        reset(
+            nodeMapper,
+            megaApiGateway,
+            cancelTokenProvider,
+            getLinksSortOrder,
+            sortOrderIntMapper,
+            getCloudSortOrder,
+            megsSearchFilterMapper,
+        )
+    }
+
     @Test
     fun `test that getSearchCategories returns list of search categories`() {
         val actual = underTest.getSearchCategories()
@@ -105,13 +127,14 @@ class SearchRepositoryImplTest {
                 megaCancelToken = megaCancelToken
             )
         ).thenReturn(emptyList())
-        val list = underTest.getChildren(
+        val pages = underTest.getChildrenInPages(
             nodeId = nodeId,
             searchCategory = SearchCategory.ALL,
             query = query,
-            order = SortOrder.ORDER_NONE
-        )
-        assertThat(list).isEmpty()
+            order = SortOrder.ORDER_NONE,
+            pageSize = PAGE_SIZE,
+        ).toList()
+        assertThat(pages).containsExactly(emptyList<TypedFileNode>())
     }
 
     @Test
@@ -142,12 +165,13 @@ class SearchRepositoryImplTest {
             )
         ).thenReturn(emptyList())
 
-        underTest.search(
+        underTest.searchInPages(
             nodeId = nodeID,
             searchCategory = SearchCategory.ALL,
             query = query,
-            order = order
-        )
+            order = order,
+            pageSize = PAGE_SIZE,
+        ).toList()
         verify(megaApiGateway).searchWithFilter(
             filter,
             sortOrderIntMapper(SortOrder.ORDER_NONE),
@@ -156,23 +180,23 @@ class SearchRepositoryImplTest {
     }
 
     @Test
-    fun `test that getInShares returns list of untyped nodes`() = runTest {
+    fun `test that getInSharesInPages returns list of untyped nodes`() = runTest {
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(megaApiGateway.getInShares(sortOrderIntMapper(SortOrder.ORDER_NONE))).thenReturn(
             listOf(megaNode)
         )
         whenever(nodeMapper(megaNode)).thenReturn(typedNode)
-        val actual = underTest.getInShares()
+        val actual = underTest.getInSharesInPages(PAGE_SIZE).first()
         assertThat(actual.first().id).isEqualTo(nodeId)
     }
 
     @Test
-    fun `test that getPublicLinks returns list of untyped nodes`() = runTest {
+    fun `test that getPublicLinksInPages returns list of untyped nodes`() = runTest {
         whenever(getLinksSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         whenever(megaApiGateway.getPublicLinks(sortOrderIntMapper(getLinksSortOrder())))
             .thenReturn(listOf(megaNode))
         whenever(nodeMapper(megaNode)).thenReturn(typedNode)
-        val actual = underTest.getPublicLinks()
+        val actual = underTest.getPublicLinksInPages(PAGE_SIZE).first()
         assertThat(actual.first().id).isEqualTo(nodeId)
     }
 
@@ -198,7 +222,7 @@ class SearchRepositoryImplTest {
     }
 
     @Test
-    fun `test that getOutShares returns list of untyped nodes`() = runTest {
+    fun `test that getOutSharesInPages returns list of untyped nodes`() = runTest {
         whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
         val share = mock<MegaShare> {
             on { nodeHandle } doReturn 123456L
@@ -210,7 +234,7 @@ class SearchRepositoryImplTest {
         whenever(megaApiGateway.getMegaNodeByHandle(megaNode.handle)).thenReturn(megaNode)
         whenever(megaNode.handle).thenReturn(123456L)
         whenever(nodeMapper(megaNode)).thenReturn(typedNode)
-        val actual = underTest.getOutShares()
+        val actual = underTest.getOutSharesInPages(PAGE_SIZE).first()
         assertThat(actual.first().id).isEqualTo(nodeId)
     }
 
@@ -221,7 +245,124 @@ class SearchRepositoryImplTest {
         assertThat(actual).isEqualTo(NodeId(-1L))
     }
 
+    @Test
+    fun `test that searchInPages emits all the results in pages fetching them once`() = runTest {
+        val mappedCount = stubLargeSearch()
+
+        val pages = underTest.searchInPages(
+            nodeId = nodeId,
+            query = "query",
+            order = SortOrder.ORDER_NONE,
+            pageSize = PAGE_SIZE,
+        ).toList()
+
+        assertThat(pages).hasSize(LARGE_RESULT_COUNT / PAGE_SIZE)
+        assertThat(pages.all { it.size == PAGE_SIZE }).isTrue()
+        assertThat(mappedCount.get()).isEqualTo(LARGE_RESULT_COUNT)
+        verify(megaApiGateway, times(1)).searchWithFilter(any(), any(), any())
+    }
+
+    @Test
+    fun `test that only the first page is mapped when only the first page is collected`() =
+        runTest {
+            val mappedCount = stubLargeSearch()
+
+            val firstPage = underTest.searchInPages(
+                nodeId = nodeId,
+                query = "query",
+                order = SortOrder.ORDER_NONE,
+                pageSize = PAGE_SIZE,
+            ).first()
+
+            assertThat(firstPage).hasSize(PAGE_SIZE)
+            assertThat(mappedCount.get()).isEqualTo(PAGE_SIZE)
+        }
+
+    @Test
+    fun `test that cancelling the collection stops mapping the remaining results`() = runTest {
+        val mappedCount = stubLargeSearch()
+        val collectedPages = AtomicInteger()
+
+        val job = launch {
+            underTest.searchInPages(
+                nodeId = nodeId,
+                query = "query",
+                order = SortOrder.ORDER_NONE,
+                pageSize = PAGE_SIZE,
+            ).collect {
+                if (collectedPages.incrementAndGet() == 3) cancel()
+            }
+        }
+        job.join()
+
+        assertThat(job.isCancelled).isTrue()
+        assertThat(collectedPages.get()).isEqualTo(3)
+        assertThat(mappedCount.get()).isEqualTo(3 * PAGE_SIZE)
+    }
+
+    @Test
+    fun `test that getChildrenInPages emits the last page with the remaining results`() =
+        runTest {
+            whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
+            whenever(megaApiGateway.getChildren(anyOrNull(), any(), any()))
+                .thenReturn(List(PAGE_SIZE + 1) { megaNode })
+            whenever(nodeMapper(megaNode)).thenReturn(typedNode)
+
+            val pages = underTest.getChildrenInPages(
+                nodeId = nodeId,
+                query = "",
+                order = SortOrder.ORDER_NONE,
+                pageSize = PAGE_SIZE,
+            ).toList()
+
+            assertThat(pages.map { it.size }).containsExactly(PAGE_SIZE, 1).inOrder()
+        }
+
+    @Test
+    fun `test that a single empty page is emitted when there are no results`() = runTest {
+        whenever(megaApiGateway.getPublicLinks(any<Int>())).thenReturn(emptyList())
+
+        val pages = underTest.getPublicLinksInPages(PAGE_SIZE).toList()
+
+        assertThat(pages).containsExactly(emptyList<TypedFileNode>())
+    }
+
+    @Test
+    fun `test that getOutSharesInPages returns each shared node once and looks it up lazily`() =
+        runTest {
+            val shares = (0 until SHARE_COUNT).map { index ->
+                mock<MegaShare> { on { nodeHandle } doReturn (index / 2).toLong() }
+            }
+            whenever(megaApiGateway.getOutgoingSharesNode(anyOrNull())).thenReturn(shares)
+            whenever(megaApiGateway.getMegaNodeByHandle(any())).thenReturn(megaNode)
+            whenever(nodeMapper(megaNode)).thenReturn(typedNode)
+
+            val firstPage = underTest.getOutSharesInPages(PAGE_SIZE).first()
+
+            assertThat(firstPage).hasSize(PAGE_SIZE)
+            verify(megaApiGateway, times(PAGE_SIZE)).getMegaNodeByHandle(any())
+            assertThat(underTest.getOutSharesInPages(PAGE_SIZE).toList().sumOf { it.size })
+                .isEqualTo(SHARE_COUNT / 2)
+        }
+
+    private suspend fun stubLargeSearch(): AtomicInteger {
+        val mappedCount = AtomicInteger()
+        whenever(cancelTokenProvider.getOrCreateCancelToken()).thenReturn(megaCancelToken)
+        whenever(megaApiGateway.searchWithFilter(anyOrNull(), any(), any()))
+            .thenReturn(List(LARGE_RESULT_COUNT) { megaNode })
+        whenever(nodeMapper(megaNode)).thenAnswer {
+            mappedCount.incrementAndGet()
+            typedNode
+        }
+        return mappedCount
+    }
+
     companion object {
         private val nodeId = NodeId(123456L)
+        private const val LARGE_RESULT_COUNT = 100_000
+        private const val PAGE_SIZE = 100
+
+        // Each node is shared twice
+        private const val SHARE_COUNT = 1_000
     }
-}
\ No newline at end of file
+}
@@ -8,7 +8,7 @@ import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.cache.Cache
-import mega.privacy.android.data.database.converter.TypedMessageEntityConverters
+import mega.privacy.android.data.database.entity.chat.ChatReactionEntity
 import mega.privacy.android.data.database.entity.chat.PendingMessageEntity
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
@@ -18,6 +18,7 @@ import mega.privacy.android.data.mapper.StringListMapper
 import mega.privacy.android.data.mapper.chat.ChatMessageMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageEntityMapper
 import mega.privacy.android.data.mapper.chat.messages.PendingMessageMapper
+import mega.privacy.android.data.mapper.chat.paging.ChatReactionEntityMapper
 import mega.privacy.android.data.mapper.chat.paging.TypedMessagePagingSourceMapper
 import mega.privacy.android.data.mapper.handles.HandleListMapper
 import mega.privacy.android.data.mapper.handles.MegaHandleListMapper
@@ -67,7 +68,7 @@ class ChatMessageRepositoryImplTest {
     private val chatStorageGateway = mock<ChatStorageGateway>()
     private val pendingMessageEntityMapper = mock<PendingMessageEntityMapper>()
     private val pendingMessageMapper = mock<PendingMessageMapper>()
-    private val typedMessageEntityConverters = mock<TypedMessageEntityConverters>()
+    private val chatReactionEntityMapper = mock<ChatReactionEntityMapper>()
     private val originalPathCache = mock<Cache<Map<NodeId, String>>>()
     private val originalPathForPendingMessageCache = mock<Cache<Map<Long, String>>>()
     private val typedMessagePagingSourceMapper = mock<TypedMessagePagingSourceMapper>()
@@ -91,7 +92,7 @@ class ChatMessageRepositoryImplTest {
             megaHandleListMapper = megaHandleListMapper,
             pendingMessageEntityMapper = pendingMessageEntityMapper,
             pendingMessageMapper = pendingMessageMapper,
-            typedMessageEntityConverters = typedMessageEntityConverters,
+            chatReactionEntityMapper = chatReactionEntityMapper,
             originalPathCache = originalPathCache,
             originalPathForPendingMessageCache = originalPathForPendingMessageCache,
             typedMessagePagingSourceMapper = typedMessagePagingSourceMapper,
@@ -109,7 +110,7 @@ class ChatMessageRepositoryImplTest {
             megaHandleListMapper,
             pendingMessageEntityMapper,
             pendingMessageMapper,
-            typedMessageEntityConverters,
+            chatReactionEntityMapper,
             originalPathCache,
         )
     }
@@ -427,28 +428,19 @@ class ChatMessageRepositoryImplTest {
     }
 
     @Test
-    fun `test that get reactions invokes and returns correctly`() = runTest {
-        val reactions = "reactions"
-        val reactionsList = emptyList<Reaction>()
-        whenever(chatStorageGateway.getMessageReactions(chatId, msgId)).thenReturn(reactions)
-        whenever(typedMessageEntityConverters.convertToMessageReactionList(reactions))
-            .thenReturn(reactionsList)
-        assertThat(underTest.getReactionsFromMessage(chatId, msgId)).isEqualTo(reactionsList)
-        verify(chatStorageGateway).getMessageReactions(chatId, msgId)
-        verify(typedMessageEntityConverters).convertToMessageReactionList(reactions)
+    fun `test that update reaction upserts the reaction entity`() = runTest {
+        val reaction = Reaction("reaction", 1, listOf(1L), false)
+        val entity = mock<ChatReactionEntity>()
+        whenever(chatReactionEntityMapper(chatId, msgId, reaction)).thenReturn(entity)
+        underTest.updateReactionInMessage(chatId, msgId, reaction)
+        verify(chatStorageGateway).upsertMessageReaction(entity)
     }
 
     @Test
-    fun `test that update reactions invokes correctly`() = runTest {
-        val reactions = listOf<Reaction>()
-        val reactionsString = "reactions"
-        whenever(typedMessageEntityConverters.convertFromMessageReactionList(reactions))
-            .thenReturn(reactionsString)
-        whenever(chatStorageGateway.updateMessageReactions(chatId, msgId, reactionsString))
-            .thenReturn(Unit)
-        underTest.updateReactionsInMessage(chatId, msgId, reactions)
-        verify(typedMessageEntityConverters).convertFromMessageReactionList(reactions)
-        verify(chatStorageGateway).updateMessageReactions(chatId, msgId, reactionsString)
+    fun `test that delete reaction invokes correctly`() = runTest {
+        val reaction = "reaction"
+        underTest.deleteReactionInMessage(chatId, msgId, reaction)
+        verify(chatStorageGateway).deleteMessageReaction(chatId, msgId, reaction)
     }
 
     @Test
@@ -0,0 +1,54 @@
+package mega.privacy.android.data.repository.monitoring
+
+import mega.privacy.android.domain.monitoring.OperationStats
+import mega.privacy.android.domain.repository.monitoring.PerformanceReporterRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.inOrder
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PerformanceReporterTraceSinkTest {
+
+    private val performanceReporterRepository = mock<PerformanceReporterRepository>()
+
+    private val underTest = PerformanceReporterTraceSink(performanceReporterRepository)
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(performanceReporterRepository)
+    }
+
+    @Test
+    fun `test that each operation is reported as a trace with its stats as metrics`() {
+        val stats = OperationStats(
+            operation = "operation",
+            count = 10,
+            errorCount = 1,
+            sampleCount = 5,
+            meanNanos = 2_000,
+            p50Nanos = 1_000,
+            p90Nanos = 3_000,
+            p99Nanos = 4_000,
+            maxNanos = 5_000,
+        )
+        val traceName = "hot_path_operation"
+
+        underTest.report(listOf(stats))
+
+        with(inOrder(performanceReporterRepository)) {
+            verify(performanceReporterRepository).startTrace(traceName)
+            verify(performanceReporterRepository).putMetric(traceName, "count", 10)
+            verify(performanceReporterRepository).putMetric(traceName, "errors", 1)
+            verify(performanceReporterRepository).putMetric(traceName, "samples", 5)
+            verify(performanceReporterRepository).putMetric(traceName, "mean_us", 2)
+            verify(performanceReporterRepository).putMetric(traceName, "p50_us", 1)
+            verify(performanceReporterRepository).putMetric(traceName, "p90_us", 3)
+            verify(performanceReporterRepository).putMetric(traceName, "p99_us", 4)
+            verify(performanceReporterRepository).putMetric(traceName, "max_us", 5)
+            verify(performanceReporterRepository).stopTrace(traceName)
+        }
+    }
+}
@@ -7,6 +7,7 @@ plugins {
     id("com.android.lint")
     id("kotlin-kapt")
     kotlin("plugin.serialization") version "1.9.21"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 lint {
@@ -14,6 +15,13 @@ lint {
     xmlOutput = file("build/reports/lint-results.xml")
 }
 
+// Benchmarks in src/jmh, run with ./gradlew :domain:jmh
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+}
+
 dependencies {
     lintChecks(project(":lint"))
     implementation(lib.coroutines.core)
@@ -0,0 +1,102 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.domain.entity.CameraUploadsRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.repository.CameraUploadsRepository
+import mega.privacy.android.domain.repository.NodeRepository
+import mega.privacy.android.domain.usecase.node.GetChildNodeNamesUseCase
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.lang.reflect.Proxy
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmark of [RenameCameraUploadsRecordsUseCase] with a burst of 50k files taken in the same
+ * second, all of them renamed to the same date and time name.
+ *
+ * It does not assert anything, RenameCameraUploadsRecordsUseCaseTest checks the names of the
+ * same burst.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class RenameCameraUploadsRecordsBenchmark {
+
+    private lateinit var records: List<CameraUploadsRecord>
+
+    private lateinit var underTest: RenameCameraUploadsRecordsUseCase
+
+    /**
+     * Creates the burst, and the use case with the first name of the burst already in the cloud
+     */
+    @Setup
+    fun setUp() {
+        records = (0 until BURST_RECORDS).map { createRecord(it) }
+        val formattedName = SimpleDateFormat("yyyy-MM-dd HH.mm.ss", Locale.getDefault())
+            .format(Date(BURST_TIMESTAMP)) + ".jpg"
+        underTest = RenameCameraUploadsRecordsUseCase(
+            getChildNodeNamesUseCase = GetChildNodeNamesUseCase(
+                nodeRepository = repositoryOf(NodeRepository::class.java) { method ->
+                    if (method == "getChildNodeNames") setOf(formattedName) else null
+                },
+            ),
+            areUploadFileNamesKeptUseCase = AreUploadFileNamesKeptUseCase(
+                cameraUploadsRepository = repositoryOf(CameraUploadsRepository::class.java) { method ->
+                    if (method == "areUploadFileNamesKept") false else null
+                },
+            ),
+            ioDispatcher = Dispatchers.Unconfined,
+        )
+    }
+
+    /**
+     * Renames the whole burst
+     */
+    @Benchmark
+    fun renameBurst(): List<CameraUploadsRecord> = runBlocking {
+        underTest(records, PRIMARY_UPLOAD_NODE_ID, SECONDARY_UPLOAD_NODE_ID)
+    }
+
+    // Only the methods called by the use case are answered, any other access fails
+    private fun <T> repositoryOf(type: Class<T>, answer: (String) -> Any?): T =
+        type.cast(
+            Proxy.newProxyInstance(type.classLoader, arrayOf(type)) { _, method, _ ->
+                answer(method.name) ?: throw UnsupportedOperationException(method.name)
+            }
+        )
+
+    private fun createRecord(index: Int) = CameraUploadsRecord(
+        mediaId = index.toLong(),
+        fileName = "burst.jpg",
+        filePath = "filepath$index",
+        timestamp = BURST_TIMESTAMP,
+        folderType = CameraUploadFolderType.Primary,
+        type = CameraUploadsRecordType.TYPE_PHOTO,
+        uploadStatus = CameraUploadsRecordUploadStatus.PENDING,
+        originalFingerprint = "originalFingerprint$index",
+        generatedFingerprint = null,
+        tempFilePath = "tempFilePath$index",
+        existsInTargetNode = null,
+        generatedFileName = null,
+    )
+
+    private companion object {
+        const val BURST_RECORDS = 50_000
+        const val BURST_TIMESTAMP = 1_696_294_469_000L
+        val PRIMARY_UPLOAD_NODE_ID = NodeId(1L)
+        val SECONDARY_UPLOAD_NODE_ID = NodeId(2L)
+    }
+}
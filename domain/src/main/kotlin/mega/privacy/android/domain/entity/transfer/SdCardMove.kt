@@ -0,0 +1,18 @@
+package mega.privacy.android.domain.entity.transfer
+
+/**
+ * Pending move of a downloaded file from the cache to its final destination on the sd card
+ *
+ * @property id Id of the pending move, 0 if it has not been saved yet
+ * @property sourcePath Path of the downloaded file in the cache
+ * @property destinationUri Uri of the destination folder selected by the user
+ * @property subFolders Sub folders of [destinationUri] where the file has to be moved
+ * @property attempts Number of failed attempts to move the file
+ */
+data class SdCardMove(
+    val id: Long = 0,
+    val sourcePath: String,
+    val destinationUri: String,
+    val subFolders: List<String>,
+    val attempts: Int = 0,
+)
@@ -0,0 +1,126 @@
+package mega.privacy.android.domain.monitoring
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+
+/**
+ * Lock free histogram of latencies in nanoseconds.
+ *
+ * Values are counted in logarithmic buckets, each power of two split in [SUB_BUCKETS] linear
+ * sub-buckets, so a percentile is at most 12.5% above the real value whatever the magnitude,
+ * using a fixed amount of memory.
+ */
+class LatencyHistogram {
+    private val buckets = AtomicLongArray(BUCKET_COUNT)
+    private val count = AtomicLong()
+    private val total = AtomicLong()
+    private val min = AtomicLong(Long.MAX_VALUE)
+    private val max = AtomicLong(Long.MIN_VALUE)
+
+    /**
+     * Records a latency. Negative values are recorded as 0.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    fun record(nanos: Long) {
+        val value = nanos.coerceAtLeast(0)
+        buckets.incrementAndGet(bucketIndex(value))
+        count.incrementAndGet()
+        total.addAndGet(value)
+        min.accumulateAndGet(value, ::minOf)
+        max.accumulateAndGet(value, ::maxOf)
+    }
+
+    /**
+     * Gets the current values of the histogram
+     */
+    fun snapshot(): Snapshot = Snapshot(
+        counts = LongArray(BUCKET_COUNT) { buckets.get(it) },
+        count = count.get(),
+        total = total.get(),
+        min = min.get(),
+        max = max.get(),
+    )
+
+    /**
+     * Gets the current values of the histogram and resets it. Values recorded concurrently are
+     * either in the returned snapshot or in the next one, although the count and the buckets
+     * of a snapshot may differ slightly while recording.
+     */
+    fun snapshotAndReset(): Snapshot = Snapshot(
+        counts = LongArray(BUCKET_COUNT) { buckets.getAndSet(it, 0) },
+        count = count.getAndSet(0),
+        total = total.getAndSet(0),
+        min = min.getAndSet(Long.MAX_VALUE),
+        max = max.getAndSet(Long.MIN_VALUE),
+    )
+
+    /**
+     * Values of a [LatencyHistogram] at a point in time
+     *
+     * @property count  number of recorded values
+     * @property total  sum of the recorded values
+     * @property min    minimum recorded value, or [Long.MAX_VALUE] if empty
+     * @property max    maximum recorded value, or [Long.MIN_VALUE] if empty
+     */
+    class Snapshot internal constructor(
+        private val counts: LongArray,
+        val count: Long,
+        val total: Long,
+        val min: Long,
+        val max: Long,
+    ) {
+        /**
+         * Mean of the recorded values, 0 if empty
+         */
+        val mean: Long
+            get() = if (count == 0L) 0 else total / count
+
+        /**
+         * Gets a percentile of the recorded values
+         *
+         * @param percentile between 0 and 100
+         * @return the upper bound of the bucket of the percentile, capped to the maximum value,
+         * or 0 if empty
+         */
+        fun percentile(percentile: Double): Long {
+            require(percentile in 0.0..100.0) { "percentile must be between 0 and 100" }
+            val bucketsCount = counts.sum()
+            if (bucketsCount == 0L) return 0
+            val rank = kotlin.math.ceil(percentile / 100 * bucketsCount).toLong().coerceAtLeast(1)
+            var accumulated = 0L
+            counts.forEachIndexed { index, bucketCount ->
+                accumulated += bucketCount
+                if (accumulated >= rank) return minOf(bucketUpperBound(index), max)
+            }
+            return max
+        }
+    }
+
+    companion object {
+        private const val SUB_BUCKET_BITS = 3
+
+        /**
+         * Number of linear sub-buckets in each power of two
+         */
+        const val SUB_BUCKETS = 1 shl SUB_BUCKET_BITS
+
+        // Values below SUB_BUCKETS have their own bucket, then SUB_BUCKETS per power of two
+        private const val BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS
+
+        internal fun bucketIndex(value: Long): Int {
+            if (value < SUB_BUCKETS) return value.toInt()
+            val shift = 63 - java.lang.Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS
+            val subBucket = (value ushr shift).toInt() - SUB_BUCKETS
+            return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket
+        }
+
+        internal fun bucketUpperBound(index: Int): Long {
+            if (index < SUB_BUCKETS) return index.toLong()
+            val shift = (index - SUB_BUCKETS) / SUB_BUCKETS
+            val subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS
+            val lowerBound = (SUB_BUCKETS + subBucket).toLong() shl shift
+            return lowerBound + (1L shl shift) - 1
+        }
+    }
+}
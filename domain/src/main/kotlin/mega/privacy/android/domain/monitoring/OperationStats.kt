@@ -0,0 +1,26 @@
+package mega.privacy.android.domain.monitoring
+
+/**
+ * Statistics of a traced operation since the previous report
+ *
+ * @property operation      name of the operation
+ * @property count          number of calls
+ * @property errorCount     number of calls that threw
+ * @property sampleCount    number of calls whose latency was measured
+ * @property meanNanos      mean latency of the sampled calls
+ * @property p50Nanos       median latency of the sampled calls
+ * @property p90Nanos       90th percentile latency of the sampled calls
+ * @property p99Nanos       99th percentile latency of the sampled calls
+ * @property maxNanos       maximum latency of the sampled calls
+ */
+data class OperationStats(
+    val operation: String,
+    val count: Long,
+    val errorCount: Long,
+    val sampleCount: Long,
+    val meanNanos: Long,
+    val p50Nanos: Long,
+    val p90Nanos: Long,
+    val p99Nanos: Long,
+    val maxNanos: Long,
+)
@@ -0,0 +1,178 @@
+package mega.privacy.android.domain.monitoring
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.coroutines.cancellation.CancellationException
+
+/**
+ * Collects the number of calls, errors and a [LatencyHistogram] of each traced operation, and
+ * reports them to the sinks once every [reportIntervalNanos].
+ *
+ * Calls are traced through [trace] once the tracer is enabled. Until then, [trace] only calls
+ * the block, so the instrumented code costs a volatile read.
+ *
+ * @property sinks                  backends receiving the reports
+ * @property reportExecutor         runs the sinks, so the traced call triggering a report does
+ *                                  not wait for them
+ * @property sampler                decides which calls are measured
+ * @property reportIntervalNanos    minimum time between two reports
+ * @property clock                  monotonic time in nanoseconds
+ */
+class PerformanceTracer(
+    private val sinks: List<TraceSink>,
+    private val reportExecutor: Executor,
+    private val sampler: TraceSampler = TraceSampler.Always,
+    private val reportIntervalNanos: Long = DEFAULT_REPORT_INTERVAL_NANOS,
+    private val clock: () -> Long = System::nanoTime,
+) {
+    private class Operation {
+        val calls = AtomicLong()
+        val errors = AtomicLong()
+        val histogram = LatencyHistogram()
+    }
+
+    private val operations = ConcurrentHashMap<String, Operation>()
+    private val lastReport = AtomicLong(clock())
+
+    @Volatile
+    private var enabled = false
+
+    /**
+     * True if the calls are traced
+     */
+    val isEnabled: Boolean
+        get() = enabled
+
+    /**
+     * Enables or disables the tracing. The statistics collected so far are discarded when
+     * disabled, as when performance reporting is disabled.
+     *
+     * @param enabled
+     */
+    fun setEnabled(enabled: Boolean) {
+        this.enabled = enabled
+        if (!enabled) operations.clear()
+    }
+
+    /**
+     * Traces a call of an operation. A cancelled call is not counted as an error.
+     *
+     * @param operation name of the operation, stable between calls
+     * @param block     the call
+     * @return the result of the block
+     */
+    inline fun <T> trace(operation: String, block: () -> T): T {
+        if (!isEnabled) return block()
+        val start = begin(operation)
+        var isError = true
+        try {
+            return block().also { isError = false }
+        } catch (e: CancellationException) {
+            isError = false
+            throw e
+        } finally {
+            end(operation, start, isError)
+        }
+    }
+
+    /**
+     * Starts a call of an operation
+     *
+     * @param operation name of the operation
+     * @return the start time to pass to [end], or [NOT_SAMPLED]
+     */
+    fun begin(operation: String): Long {
+        val callIndex = operationOf(operation).calls.getAndIncrement()
+        return if (sampler.shouldSample(operation, callIndex)) clock() else NOT_SAMPLED
+    }
+
+    /**
+     * Ends a call of an operation, reporting the collected statistics if the report interval
+     * elapsed
+     *
+     * @param operation name of the operation
+     * @param start     value returned by [begin]
+     * @param isError   true if the call threw
+     */
+    fun end(operation: String, start: Long, isError: Boolean) {
+        val current = operationOf(operation)
+        if (isError) current.errors.incrementAndGet()
+        if (start == NOT_SAMPLED) return
+        val now = clock()
+        current.histogram.record(now - start)
+        val last = lastReport.get()
+        if (now - last >= reportIntervalNanos && lastReport.compareAndSet(last, now)) {
+            report()
+        }
+    }
+
+    /**
+     * Gets the statistics collected since the previous report, without resetting them
+     */
+    fun snapshot(): List<OperationStats> =
+        operations.map { (name, operation) ->
+            toStats(
+                name = name,
+                calls = operation.calls.get(),
+                errors = operation.errors.get(),
+                histogram = operation.histogram.snapshot(),
+            )
+        }.sortedBy { it.operation }
+
+    /**
+     * Reports the statistics collected since the previous report to the sinks and resets them.
+     * Operations without calls are not reported. The sinks are called on the [reportExecutor].
+     *
+     * @return the reported statistics
+     */
+    fun report(): List<OperationStats> {
+        val stats = operations.mapNotNull { (name, operation) ->
+            val calls = operation.calls.getAndSet(0)
+            if (calls == 0L) return@mapNotNull null
+            toStats(
+                name = name,
+                calls = calls,
+                errors = operation.errors.getAndSet(0),
+                histogram = operation.histogram.snapshotAndReset(),
+            )
+        }.sortedBy { it.operation }
+        if (stats.isNotEmpty()) {
+            reportExecutor.execute { sinks.forEach { it.report(stats) } }
+        }
+        return stats
+    }
+
+    private fun operationOf(name: String) =
+        operations[name] ?: operations.getOrPut(name) { Operation() }
+
+    private fun toStats(
+        name: String,
+        calls: Long,
+        errors: Long,
+        histogram: LatencyHistogram.Snapshot,
+    ) = OperationStats(
+        operation = name,
+        count = calls,
+        errorCount = errors,
+        sampleCount = histogram.count,
+        meanNanos = histogram.mean,
+        p50Nanos = histogram.percentile(50.0),
+        p90Nanos = histogram.percentile(90.0),
+        p99Nanos = histogram.percentile(99.0),
+        maxNanos = if (histogram.count == 0L) 0 else histogram.max,
+    )
+
+    companion object {
+        /**
+         * Value returned by [begin] when the call is not measured
+         */
+        const val NOT_SAMPLED = Long.MIN_VALUE
+
+        /**
+         * Default minimum time between two reports
+         */
+        val DEFAULT_REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5)
+    }
+}
@@ -0,0 +1,32 @@
+package mega.privacy.android.domain.monitoring
+
+/**
+ * Decides which calls of a traced operation have their latency measured. Calls not sampled are
+ * still counted.
+ */
+fun interface TraceSampler {
+
+    /**
+     * @param operation name of the operation
+     * @param callIndex index of the call of the operation, starting at 0
+     * @return true if the latency of the call has to be measured
+     */
+    fun shouldSample(operation: String, callIndex: Long): Boolean
+
+    companion object {
+        /**
+         * Measures all the calls
+         */
+        val Always = TraceSampler { _, _ -> true }
+
+        /**
+         * Measures one call of every [n] of each operation, starting with the first one
+         *
+         * @param n
+         */
+        fun everyNth(n: Int): TraceSampler {
+            require(n > 0) { "n must be positive" }
+            return if (n == 1) Always else TraceSampler { _, callIndex -> callIndex % n == 0L }
+        }
+    }
+}
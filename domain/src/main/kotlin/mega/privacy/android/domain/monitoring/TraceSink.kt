@@ -0,0 +1,15 @@
+package mega.privacy.android.domain.monitoring
+
+/**
+ * Backend receiving the statistics collected by a [PerformanceTracer]
+ */
+fun interface TraceSink {
+
+    /**
+     * Reports the statistics of the operations called since the previous report. Called on the
+     * report executor of the [PerformanceTracer], off the traced call that triggers the report.
+     *
+     * @param stats statistics of each operation
+     */
+    fun report(stats: List<OperationStats>)
+}
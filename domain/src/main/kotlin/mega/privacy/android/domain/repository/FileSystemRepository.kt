@@ -303,6 +303,21 @@ interface FileSystemRepository {
      */
     suspend fun moveFileToSd(file: File, destinationUri: String, subFolders: List<String>): Boolean
 
+    /**
+     * Queues the move of a [file] to a [destinationUri] on the sd. The move is saved, so it is
+     * resumed by [resumePendingFileMovesToSd] if the app is killed before it is done
+     *
+     * @param file the file to be moved
+     * @param destinationUri the target uri where the file will be moved (excluding the name of the file itself)
+     * @param subFolders the sub folders of [destinationUri] where the file will be moved
+     */
+    suspend fun enqueueFileMoveToSd(file: File, destinationUri: String, subFolders: List<String>)
+
+    /**
+     * Queues again the moves to the sd that were not finished
+     */
+    suspend fun resumePendingFileMovesToSd()
+
     /**
      * Create new image uri
      *
@@ -268,6 +268,14 @@ interface MediaPlayerRepository {
      */
     suspend fun updatePlaybackInformation(playbackInformation: PlaybackInformation)
 
+    /**
+     * Get the playback information of a media item
+     *
+     * @param mediaId the media id of the media item
+     * @return [PlaybackInformation] or null if there is no playback history
+     */
+    suspend fun getPlaybackInformation(mediaId: Long): PlaybackInformation?
+
     /**
      * Monitor playback times
      *
@@ -203,6 +203,19 @@ interface NodeRepository {
         parentOfflineInformationId: Long?,
     ): Long
 
+    /**
+     * Save offline node information of a branch in a single transaction, each node being the
+     * parent of the next one. Nodes already saved are kept.
+     *
+     * @param branch [OfflineNodeInformation] from the top ancestor to the deepest node
+     * @param parentOfflineInformationId the id of the top ancestor's parent offline information
+     * @return the id of the deepest node's offline information
+     */
+    suspend fun saveOfflineNodeInformationBranch(
+        branch: List<OfflineNodeInformation>,
+        parentOfflineInformationId: Long?,
+    ): Long
+
     /**
      * Convert Base 64 string to handle
      */
@@ -437,6 +450,14 @@ interface NodeRepository {
      */
     suspend fun getChildNode(parentNodeId: NodeId?, name: String?): UnTypedNode?
 
+    /**
+     * Get the names of the children of a node, to check many names with a single query
+     *
+     * @param parentNodeId
+     * @return the names of the children, empty if the node doesn't exist
+     */
+    suspend fun getChildNodeNames(parentNodeId: NodeId): Set<String>
+
     /**
      * Sets the original fingerprint of a [Node]
      *
@@ -611,9 +632,11 @@ interface NodeRepository {
     suspend fun getOfflineNodeById(id: Int): OfflineNodeInformation?
 
     /**
-     * Remove offline Node by ID
+     * Remove offline Node by ID with all its descendants, and its ancestors left without children
+     *
+     * @return number of removed offline nodes
      */
-    suspend fun removeOfflineNodeById(id: Int)
+    suspend fun removeOfflineNodeSubtree(id: Int): Int
 
     /**
      * Set label for node
@@ -17,4 +17,9 @@ interface RecentActionsRepository {
      * @return a list of recent actions.
      */
     suspend fun getRecentActions(): List<RecentActionBucketUnTyped>
+
+    /**
+     * Clears the cached recent actions
+     */
+    fun clearCache()
 }
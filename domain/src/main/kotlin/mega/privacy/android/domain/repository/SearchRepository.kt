@@ -1,5 +1,6 @@
 package mega.privacy.android.domain.repository
 
+import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.UnTypedNode
@@ -22,15 +23,19 @@ interface SearchRepository {
     fun getSearchCategories(): List<SearchCategory>
 
     /**
-     * Search node and return list of [UnTypedNode]
+     * Search node and return the [UnTypedNode] in pages, mapped lazily as they are collected.
+     * Cancelling the collection stops the mapping of the remaining pages.
+     *
      * @param nodeId [NodeId] place where needed to be searched
      * @param searchCategory Search Category for search
      * @param query string to be search
      * @param order oder in which result should be there
      * @param modificationDate modified date filter if set [DateFilterOption]
      * @param creationDate added date filter if set [DateFilterOption]
+     * @param pageSize maximum number of nodes of each page
+     * @return the pages of results, or a single empty page if there are none
      */
-    suspend fun search(
+    fun searchInPages(
         nodeId: NodeId?,
         query: String,
         order: SortOrder,
@@ -38,18 +43,23 @@ interface SearchRepository {
         searchCategory: SearchCategory = SearchCategory.ALL,
         modificationDate: DateFilterOption? = null,
         creationDate: DateFilterOption? = null,
-    ): List<UnTypedNode>
+        pageSize: Int,
+    ): Flow<List<UnTypedNode>>
 
     /**
-     * Get children of a node and return list of [UnTypedNode]
+     * Get children of a node and return the [UnTypedNode] in pages, mapped lazily as they are
+     * collected. Cancelling the collection stops the mapping of the remaining pages.
+     *
      * @param nodeId [NodeId] place where needed to be searched
      * @param query string to be search
      * @param searchCategory Search Category for search
      * @param order oder in which result should be there
      * @param modificationDate modified date filter if set [DateFilterOption]
      * @param creationDate added date filter if set [DateFilterOption]
+     * @param pageSize maximum number of nodes of each page
+     * @return the pages of results, or a single empty page if there are none
      */
-    suspend fun getChildren(
+    fun getChildrenInPages(
         nodeId: NodeId?,
         query: String,
         order: SortOrder,
@@ -57,22 +67,25 @@ interface SearchRepository {
         searchCategory: SearchCategory = SearchCategory.ALL,
         modificationDate: DateFilterOption? = null,
         creationDate: DateFilterOption? = null,
-    ): List<UnTypedNode>
+        pageSize: Int,
+    ): Flow<List<UnTypedNode>>
 
     /**
-     * get incoming shares node list
+     * get incoming shares node list in pages of [pageSize] nodes, mapped lazily as they are
+     * collected
      */
-    suspend fun getInShares(): List<UnTypedNode>
+    fun getInSharesInPages(pageSize: Int): Flow<List<UnTypedNode>>
 
     /**
-     * get outgoing shares node list
+     * get outgoing shares node list in pages of [pageSize] nodes, mapped lazily as they are
+     * collected
      */
-    suspend fun getOutShares(): List<UnTypedNode>
+    fun getOutSharesInPages(pageSize: Int): Flow<List<UnTypedNode>>
 
     /**
-     * get links node list
+     * get links node list in pages of [pageSize] nodes, mapped lazily as they are collected
      */
-    suspend fun getPublicLinks(): List<UnTypedNode>
+    fun getPublicLinksInPages(pageSize: Int): Flow<List<UnTypedNode>>
 
     /**
      * get root node id
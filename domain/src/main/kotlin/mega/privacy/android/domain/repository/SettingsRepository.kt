@@ -374,6 +374,60 @@ interface SettingsRepository {
      */
     fun monitorBooleanPreference(key: String?, defaultValue: Boolean): Flow<Boolean>
 
+    /**
+     * Get string preference without suspending
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getStringPreference(key: String?, defaultValue: String?): String?
+
+    /**
+     * Get string set preference without suspending
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getStringSetPreference(key: String?, defaultValue: MutableSet<String>?): MutableSet<String>?
+
+    /**
+     * Get int preference without suspending
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getIntPreference(key: String?, defaultValue: Int): Int
+
+    /**
+     * Get long preference without suspending
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getLongPreference(key: String?, defaultValue: Long): Long
+
+    /**
+     * Get float preference without suspending
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getFloatPreference(key: String?, defaultValue: Float): Float
+
+    /**
+     * Get boolean preference without suspending
+     *
+     * @param key
+     * @param defaultValue
+     * @return current preference
+     */
+    fun getBooleanPreference(key: String?, defaultValue: Boolean): Boolean
+
     /**
      * Get last contact permission dismissed time
      */
@@ -393,6 +447,13 @@ interface SettingsRepository {
      */
     fun monitorPreferredStartScreen(): Flow<StartScreen?>
 
+    /**
+     * Get preferred start screen without suspending
+     *
+     * @return start screen preference
+     */
+    fun getPreferredStartScreen(): StartScreen?
+
     /**
      * Set preferred start screen
      *
@@ -243,6 +243,12 @@ interface TransferRepository {
         transferPath: String? = null,
     )
 
+    /**
+     * Saves right away the completed transfers added with [addCompletedTransfer] that are still
+     * pending to be saved
+     */
+    suspend fun flushCompletedTransfers()
+
     /**
      * Add completed transfers if not exist
      *
@@ -371,22 +371,22 @@ interface ChatMessageRepository {
     suspend fun getMessageIdsByType(chatId: Long, type: ChatMessageType): List<Long>
 
     /**
-     * Get message
+     * Update a reaction of a stored message.
      *
      * @param chatId Chat ID
      * @param msgId Message ID
-     * @return Message reactions
+     * @param reaction Updated [Reaction]
      */
-    suspend fun getReactionsFromMessage(chatId: Long, msgId: Long): List<Reaction>
+    suspend fun updateReactionInMessage(chatId: Long, msgId: Long, reaction: Reaction)
 
     /**
-     * Update message reactions.
+     * Delete a reaction of a stored message.
      *
      * @param chatId Chat ID
      * @param msgId Message ID
-     * @param reactions Updated reactions
+     * @param reaction Reaction to delete
      */
-    suspend fun updateReactionsInMessage(chatId: Long, msgId: Long, reactions: List<Reaction>)
+    suspend fun deleteReactionInMessage(chatId: Long, msgId: Long, reaction: String)
 
     /**
      * Deletes an existing message
@@ -0,0 +1,20 @@
+package mega.privacy.android.domain.usecase
+
+
+/**
+ * Get the current value of a preference without suspending
+ *
+ * @param T preference type
+ */
+fun interface GetCurrentPreference<T> {
+
+
+    /**
+     * Invoke
+     *
+     * @param key name of the preference
+     * @param default value to return if none set
+     * @return current value of the preference
+     */
+    operator fun invoke(key: String?, default: T): T
+}
@@ -0,0 +1,66 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+/**
+ * Allocates the names of the files uploaded by Camera Uploads to a folder.
+ *
+ * A name is given as is if it is free, otherwise with the first index suffix that is free,
+ * as `name_1.extension`, `name_2.extension`... A name is free if it is neither in the folder
+ * nor given to another file of the same run.
+ *
+ * The next index to check is kept by name, so allocating n files with the same name takes
+ * linear time instead of probing all the previous indexes for each file.
+ *
+ * Not thread safe.
+ *
+ * @param existingNames names of the children of the folder
+ */
+internal class CameraUploadsFileNameAllocator(private val existingNames: Set<String>) {
+    private val usedNames = HashSet<String>()
+    private val nextIndexes = HashMap<String, Int>()
+
+    /**
+     * Marks a name as given to a file that is not renamed
+     *
+     * @param name
+     */
+    fun markAsUsed(name: String) {
+        usedNames.add(name)
+    }
+
+    /**
+     * Allocates a free name for a file
+     *
+     * @param fileName the name the file should have
+     * @return [fileName], or [fileName] with an index suffix if it is not free
+     */
+    fun allocate(fileName: String): String {
+        var index = nextIndexes[fileName] ?: 0
+        var candidate = getFileNameWithIndex(fileName, index)
+        while (candidate in usedNames || candidate in existingNames) {
+            candidate = getFileNameWithIndex(fileName, ++index)
+        }
+        // Names with a lower index are taken, and no name is ever freed during a run
+        nextIndexes[fileName] = index + 1
+        usedNames.add(candidate)
+        return candidate
+    }
+
+    companion object {
+        /**
+         * Get the file name with an index in suffix, in case the name is already used
+         *
+         * @param fileName
+         * @param index to append to the fileName
+         * @return the file name with the [index] in suffix.
+         *         Result format will be fileName_index.extension
+         */
+        fun getFileNameWithIndex(fileName: String, index: Int): String {
+            if (index == 0)
+                return fileName
+
+            val name = fileName.substringBeforeLast(".", "")
+            val extension = fileName.substringAfterLast(".", "")
+            return "${name}_$index.$extension"
+        }
+    }
+}
@@ -7,7 +7,8 @@ import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.qualifier.IoDispatcher
-import mega.privacy.android.domain.usecase.node.GetChildNodeUseCase
+import mega.privacy.android.domain.usecase.node.GetChildNodeNamesUseCase
+import java.text.DateFormat
 import java.text.SimpleDateFormat
 import java.util.Date
 import java.util.Locale
@@ -21,7 +22,7 @@ import javax.inject.Inject
  * A suffix will be added if the name already exists in the cloud
  */
 class RenameCameraUploadsRecordsUseCase @Inject constructor(
-    private val getChildNodeUseCase: GetChildNodeUseCase,
+    private val getChildNodeNamesUseCase: GetChildNodeNamesUseCase,
     private val areUploadFileNamesKeptUseCase: AreUploadFileNamesKeptUseCase,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher
 ) {
@@ -33,6 +34,9 @@ class RenameCameraUploadsRecordsUseCase @Inject constructor(
     /**
      * Invoke
      *
+     * The names of the children of each target folder are fetched once, the first time a file
+     * of that folder has to be renamed.
+     *
      * @param recordList the list of files renamed
      * @param primaryUploadNodeId primary cloud folder
      * @param secondaryUploadNodeId secondary cloud folder
@@ -43,34 +47,43 @@ class RenameCameraUploadsRecordsUseCase @Inject constructor(
         secondaryUploadNodeId: NodeId,
     ): List<CameraUploadsRecord> = withContext(ioDispatcher) {
         val keepName = areUploadFileNamesKeptUseCase()
-        return@withContext buildList renamedRecordList@{
-            recordList.map { record ->
-                if (record.existsInTargetNode == true) {
-                    add(record)
-                } else {
-                    ensureActive()
-                    val parentNodeId = when (record.folderType) {
-                        CameraUploadFolderType.Primary -> primaryUploadNodeId
-                        CameraUploadFolderType.Secondary -> secondaryUploadNodeId
-                    }
+        val dateFormat = if (keepName) null else SimpleDateFormat(
+            DATE_AND_TIME_PATTERN,
+            Locale.getDefault()
+        )
+        val childNodeNames = HashMap<NodeId, Set<String>>()
+        val allocators = HashMap<CameraUploadFolderType, CameraUploadsFileNameAllocator>()
+        // Names already given to the records kept as they are, until their folder is needed
+        val keptNames = HashMap<CameraUploadFolderType, MutableList<String>>()
 
-                    val originalFileName = getFileName(record, keepName)
-                    var generatedFileName = originalFileName
-                    var photoIndex = 0
-                    while (
-                        fileNameAlreadyExists(
-                            generatedFileName,
-                            parentNodeId,
-                            record.folderType,
-                            this@renamedRecordList
-                        )
-                    ) {
-                        ensureActive()
-                        generatedFileName = getFileNameWithIndex(originalFileName, photoIndex++)
+        suspend fun allocatorOf(folderType: CameraUploadFolderType) =
+            allocators[folderType] ?: run {
+                val parentNodeId = when (folderType) {
+                    CameraUploadFolderType.Primary -> primaryUploadNodeId
+                    CameraUploadFolderType.Secondary -> secondaryUploadNodeId
+                }
+                val existingNames = childNodeNames[parentNodeId]
+                    ?: getChildNodeNamesUseCase(parentNodeId).also {
+                        childNodeNames[parentNodeId] = it
                     }
+                CameraUploadsFileNameAllocator(existingNames).also { allocator ->
+                    keptNames.remove(folderType)?.forEach { allocator.markAsUsed(it) }
+                    allocators[folderType] = allocator
+                }
+            }
 
-                    add(record.copy(generatedFileName = generatedFileName))
+        return@withContext recordList.map { record ->
+            if (record.existsInTargetNode == true) {
+                record.generatedFileName?.let { name ->
+                    allocators[record.folderType]?.markAsUsed(name)
+                        ?: keptNames.getOrPut(record.folderType) { mutableListOf() }.add(name)
                 }
+                record
+            } else {
+                ensureActive()
+                val generatedFileName = allocatorOf(record.folderType)
+                    .allocate(getFileName(record, dateFormat))
+                record.copy(generatedFileName = generatedFileName)
             }
         }
     }
@@ -79,81 +92,19 @@ class RenameCameraUploadsRecordsUseCase @Inject constructor(
      * Get the file name depending of the user setting to keep the original name
      *
      * @param record
-     * @param keepName true if the user setting is to keep original name
+     * @param dateFormat format of the name, null if the user setting is to keep original name
      * @return the file name, null if cannot be generated
      *         If the name is kept, the name will be the same as the original name
      *         If the name is not kept, the name will be equal of `yyyy-MM-dd HH.mm.ss`,
      *         corresponding to the time the file was last modified
      */
-    private fun getFileName(record: CameraUploadsRecord, keepName: Boolean): String {
-        return if (keepName) {
+    private fun getFileName(record: CameraUploadsRecord, dateFormat: DateFormat?): String {
+        return if (dateFormat == null) {
             record.fileName
         } else {
-            val sdf = SimpleDateFormat(DATE_AND_TIME_PATTERN, Locale.getDefault())
-            val newFileName = sdf.format(Date(record.timestamp))
+            val newFileName = dateFormat.format(Date(record.timestamp))
             val extension = record.fileName.substringAfterLast(".", "")
             "$newFileName.$extension"
         }
     }
-
-    /**
-     * Get the file name with an index in suffix, in case the name is already used
-     *
-     * @param fileName
-     * @param index to append to the fileName
-     * @return the file name with the [index] in suffix.
-     *         Result format will be fileName_index.extension
-     */
-    private fun getFileNameWithIndex(fileName: String, index: Int): String {
-        if (index == 0)
-            return fileName
-
-        val name = fileName.substringBeforeLast(".", "")
-        val extension = fileName.substringAfterLast(".", "")
-        return "${name}_$index.$extension"
-    }
-
-    /**
-     * Check if the [fileName] is already used or will be used for one of the node
-     *
-     * @param fileName
-     * @param parentNodeId
-     * @param folderType
-     * @param recordList
-     * @return true if the [fileName] is already used
-     */
-    private suspend fun fileNameAlreadyExists(
-        fileName: String,
-        parentNodeId: NodeId,
-        folderType: CameraUploadFolderType,
-        recordList: List<CameraUploadsRecord>
-    ): Boolean =
-        fileNameExistsInCloud(fileName, parentNodeId)
-                || fileNameExistsInList(fileName, recordList, folderType)
-
-    /**
-     * Check if the [fileName] is already used for one of the node in the target folder on the Cloud drive
-     *
-     * @param fileName
-     * @param parentNodeId
-     * @return true if the [fileName] is already used in the cloud folder
-     */
-    private suspend fun fileNameExistsInCloud(fileName: String, parentNodeId: NodeId): Boolean =
-        getChildNodeUseCase(parentNodeId, fileName) != null
-
-    /**
-     * Check if the [fileName] is already used for one of the future node in the list that is being processed
-     *
-     * @param fileName
-     * @param recordList
-     * @param folderType
-     * @return true if the [fileName] is already used in the current list
-     */
-    private fun fileNameExistsInList(
-        fileName: String,
-        recordList: List<CameraUploadsRecord>,
-        folderType: CameraUploadFolderType
-    ): Boolean =
-        recordList
-            .any { it.folderType == folderType && it.generatedFileName == fileName }
 }
@@ -1,8 +1,15 @@
 package mega.privacy.android.domain.usecase.chat.message.paging
 
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import mega.privacy.android.domain.entity.chat.ChatMessage
 import mega.privacy.android.domain.entity.chat.messages.reactions.Reaction
 import mega.privacy.android.domain.entity.chat.messages.request.CreateTypedMessageRequest
+import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.usecase.chat.message.GetExistsInMessageUseCase
 import mega.privacy.android.domain.usecase.chat.message.reactions.GetReactionsUseCase
 import mega.privacy.android.domain.usecase.node.DoesNodeExistUseCase
@@ -10,6 +17,9 @@ import javax.inject.Inject
 
 /**
  * Create save message request use case
+ *
+ * The messages of the page are enriched concurrently, with a limited number of lookups at
+ * the same time, and the existence of the nodes of my messages is checked once per node.
  */
 class CreateSaveMessageRequestUseCase @Inject constructor(
     private val getReactionsUseCase: GetReactionsUseCase,
@@ -28,39 +38,55 @@ class CreateSaveMessageRequestUseCase @Inject constructor(
         chatId: Long,
         chatMessages: List<ChatMessage>,
         currentUserHandle: Long,
-    ): List<CreateTypedMessageRequest> {
+    ): List<CreateTypedMessageRequest> = coroutineScope {
+        val semaphore = Semaphore(MAX_CONCURRENT_LOOKUPS)
 
-        return chatMessages
+        val nodesExist = chatMessages
+            .filter { it.userHandle == currentUserHandle }
+            .mapNotNullTo(mutableSetOf()) { it.nodeList.firstOrNull()?.id }
+            .associateWith { nodeId ->
+                async { semaphore.withPermit { doesNodeExistUseCase(nodeId) } }
+            }
+
+        chatMessages
             .map { chatMessage ->
-                val isMine = chatMessage.userHandle == currentUserHandle
-                val reactions = chatMessage.getReactions(
-                    chatId = chatId,
-                    currentUserHandle = currentUserHandle
-                )
-                val exists = chatMessage.doNodesExist(
-                    isMine = isMine,
-                    chatId = chatId
-                )
+                async {
+                    val isMine = chatMessage.userHandle == currentUserHandle
+                    val reactions = chatMessage.getReactions(
+                        chatId = chatId,
+                        currentUserHandle = currentUserHandle,
+                        semaphore = semaphore,
+                    )
+                    val exists = chatMessage.doNodesExist(
+                        isMine = isMine,
+                        chatId = chatId,
+                        semaphore = semaphore,
+                        nodesExist = nodesExist,
+                    )
 
-                CreateTypedMessageRequest(
-                    chatMessage = chatMessage,
-                    chatId = chatId,
-                    isMine = isMine,
-                    reactions = reactions,
-                    exists = exists
-                )
-            }
+                    CreateTypedMessageRequest(
+                        chatMessage = chatMessage,
+                        chatId = chatId,
+                        isMine = isMine,
+                        reactions = reactions,
+                        exists = exists
+                    )
+                }
+            }.awaitAll()
     }
 
     private suspend fun ChatMessage.getReactions(
         chatId: Long,
         currentUserHandle: Long,
+        semaphore: Semaphore,
     ): List<Reaction> = if (hasConfirmedReactions) {
-        this@CreateSaveMessageRequestUseCase.getReactionsUseCase(
-            chatId,
-            messageId,
-            currentUserHandle
-        )
+        semaphore.withPermit {
+            this@CreateSaveMessageRequestUseCase.getReactionsUseCase(
+                chatId,
+                messageId,
+                currentUserHandle
+            )
+        }
     } else {
         emptyList()
     }
@@ -68,11 +94,19 @@ class CreateSaveMessageRequestUseCase @Inject constructor(
     private suspend fun ChatMessage.doNodesExist(
         isMine: Boolean,
         chatId: Long,
+        semaphore: Semaphore,
+        nodesExist: Map<NodeId, Deferred<Boolean>>,
     ) = nodeList.firstOrNull()?.let {
         if (isMine) {
-            this@CreateSaveMessageRequestUseCase.doesNodeExistUseCase(it.id)
+            nodesExist.getValue(it.id).await()
         } else {
-            this@CreateSaveMessageRequestUseCase.getExistsInMessageUseCase(chatId, messageId)
+            semaphore.withPermit {
+                this@CreateSaveMessageRequestUseCase.getExistsInMessageUseCase(chatId, messageId)
+            }
         }
     } ?: true
-}
\ No newline at end of file
+
+    companion object {
+        private const val MAX_CONCURRENT_LOOKUPS = 8
+    }
+}
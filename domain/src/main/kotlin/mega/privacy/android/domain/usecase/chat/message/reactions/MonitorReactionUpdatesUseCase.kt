@@ -19,12 +19,14 @@ class MonitorReactionUpdatesUseCase @Inject constructor(
     suspend operator fun invoke(chatId: Long) {
         chatRepository.monitorReactionUpdates(chatId).collect { reactionUpdate ->
             with(reactionUpdate) {
-                with(chatMessageRepository.getReactionsFromMessage(chatId, msgId).toMutableList()) {
-                    removeIf { it.reaction == reaction }
-                    if (hasReaction()) {
-                        add(createReaction(chatId))
-                    }
-                    chatMessageRepository.updateReactionsInMessage(chatId, msgId, this)
+                if (hasReaction()) {
+                    chatMessageRepository.updateReactionInMessage(
+                        chatId,
+                        msgId,
+                        createReaction(chatId)
+                    )
+                } else {
+                    chatMessageRepository.deleteReactionInMessage(chatId, msgId, reaction)
                 }
             }
         }
@@ -6,6 +6,7 @@ import mega.privacy.android.domain.repository.AlbumRepository
 import mega.privacy.android.domain.repository.BillingRepository
 import mega.privacy.android.domain.repository.PhotosRepository
 import mega.privacy.android.domain.repository.PushesRepository
+import mega.privacy.android.domain.repository.RecentActionsRepository
 import mega.privacy.android.domain.repository.SettingsRepository
 import mega.privacy.android.domain.repository.TransferRepository
 import mega.privacy.android.domain.repository.security.LoginRepository
@@ -32,6 +33,7 @@ class LocalLogoutAppUseCase @Inject constructor(
     private val albumRepository: AlbumRepository,
     private val clearPsaUseCase: ClearPsaUseCase,
     private val settingsRepository: SettingsRepository,
+    private val recentActionsRepository: RecentActionsRepository,
 ) {
 
     /**
@@ -51,6 +53,7 @@ class LocalLogoutAppUseCase @Inject constructor(
         billingRepository.clearCache()
         albumRepository.clearCache()
         photosRepository.clearCache()
+        recentActionsRepository.clearCache()
         settingsRepository.resetSetting()
         loginRepository.broadcastLogout()
         stopCameraUploadsUseCase(CameraUploadsRestartMode.StopAndDisable)
@@ -0,0 +1,22 @@
+package mega.privacy.android.domain.usecase.mediaplayer.videoplayer
+
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
+import mega.privacy.android.domain.repository.MediaPlayerRepository
+import javax.inject.Inject
+
+/**
+ * The use case for getting the playback information of a media item
+ */
+class GetPlaybackInformationUseCase @Inject constructor(
+    private val mediaPlayerRepository: MediaPlayerRepository,
+) {
+
+    /**
+     * Get playback information
+     *
+     * @param mediaId the media id of the media item
+     * @return [PlaybackInformation] or null if there is no playback history
+     */
+    suspend operator fun invoke(mediaId: Long): PlaybackInformation? =
+        mediaPlayerRepository.getPlaybackInformation(mediaId)
+}
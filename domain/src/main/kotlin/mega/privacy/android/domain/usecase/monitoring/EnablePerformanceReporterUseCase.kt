@@ -1,18 +1,25 @@
 package mega.privacy.android.domain.usecase.monitoring
 
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import mega.privacy.android.domain.repository.monitoring.PerformanceReporterRepository
 import javax.inject.Inject
 
 /**
  * EnablePerformanceReporterUseCase
+ *
+ * Also enables the [PerformanceTracer] of the hot paths when enabled. When disabled, the tracer
+ * is disabled without reporting what it collected.
  */
 class EnablePerformanceReporterUseCase @Inject constructor(
     private val performanceReporterRepository: PerformanceReporterRepository,
+    private val performanceTracer: PerformanceTracer,
 ) {
     /**
      *
      * @param enabled [Boolean]
      */
-    operator fun invoke(enabled: Boolean) =
+    operator fun invoke(enabled: Boolean) {
         performanceReporterRepository.setEnabled(enabled)
+        performanceTracer.setEnabled(enabled)
+    }
 }
@@ -0,0 +1,21 @@
+package mega.privacy.android.domain.usecase.node
+
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.repository.NodeRepository
+import javax.inject.Inject
+
+/**
+ * Get the names of the children of a node
+ */
+class GetChildNodeNamesUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+) {
+    /**
+     * Invoke
+     *
+     * @param parentNodeId
+     * @return the names of the children, empty if the node doesn't exist
+     */
+    suspend operator fun invoke(parentNodeId: NodeId) =
+        nodeRepository.getChildNodeNames(parentNodeId)
+}
@@ -4,7 +4,6 @@ import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.withContext
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.offline.BackupsOfflineNodeInformation
-import mega.privacy.android.domain.entity.offline.OfflineNodeInformation
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.repository.FileSystemRepository
 import mega.privacy.android.domain.repository.NodeRepository
@@ -28,18 +27,8 @@ class RemoveOfflineNodeUseCase @Inject constructor(
      */
     suspend operator fun invoke(nodeId: NodeId) = withContext(ioDispatcher) {
         nodeRepository.getOfflineNodeInformation(nodeId)?.let {
-            if (it.isFolder) {
-                val childNodes = nodeRepository.getOfflineNodeByParentId(it.id)
-                childNodes?.let { childNode ->
-                    deleteChildrenInDb(childNode)
-                }
-            }
-            //remove red arrow from current item
-            val parentId = it.parentId
-            nodeRepository.removeOfflineNodeById(it.id)
-            if (parentId != -1) {
-                updateParentOfflineStatus(parentId)
-            }
+            // removes its descendants and the red arrow from the ancestors left without children
+            nodeRepository.removeOfflineNodeSubtree(it.id)
             val path = when (it) {
                 is BackupsOfflineNodeInformation -> fileRepository.getOfflineBackupsPath()
                 else -> fileRepository.getOfflinePath()
@@ -51,31 +40,4 @@ class RemoveOfflineNodeUseCase @Inject constructor(
     private suspend fun deleteFileFromPath(path: String) {
         fileRepository.deleteFolderAndItsFiles(path)
     }
-
-    private suspend fun deleteChildrenInDb(offlineInfoChildren: List<OfflineNodeInformation>?) {
-        var offlineChild: OfflineNodeInformation
-        offlineInfoChildren?.forEach {
-            offlineChild = it
-            val children = nodeRepository.getOfflineNodeByParentId(offlineChild.id)
-            if (offlineInfoChildren.isNotEmpty()) {
-                deleteChildrenInDb(children)
-            }
-            nodeRepository.removeOfflineNodeById(offlineChild.id)
-        }
-    }
-
-    private suspend fun updateParentOfflineStatus(parentId: Int) {
-        val siblings = nodeRepository.getOfflineNodeByParentId(parentId)
-        siblings?.let {
-            if (it.isNotEmpty()) {
-                return
-            }
-            val parentNode = nodeRepository.getOfflineNodeById(parentId)
-            parentNode?.let { offlineInfo ->
-                val grandParentId = offlineInfo.parentId
-                nodeRepository.removeOfflineNodeById(parentId)
-                updateParentOfflineStatus(grandParentId)
-            }
-        }
-    }
-}
\ No newline at end of file
+}
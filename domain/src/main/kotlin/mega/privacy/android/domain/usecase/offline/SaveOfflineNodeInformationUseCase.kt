@@ -26,8 +26,8 @@ class SaveOfflineNodeInformationUseCase @Inject constructor(
         val driveRootNode = nodeRepository.getRootNode()?.id ?: NodeId(-1L)
         nodeRepository.getNodeById(nodeId)?.let { node ->
             //we need to save parents before the node itself
-            saveNodeAndItsParentsRecursively(
-                currentNode = node,
+            saveNodeAndItsParents(
+                node = node,
                 driveRootNodeId = driveRootNode,
                 backupRootNodeId = backupRootNodeId,
             )
@@ -35,39 +35,37 @@ class SaveOfflineNodeInformationUseCase @Inject constructor(
     }
 
     /**
-     * Save offline information of all node's parents (not already saved) and then the node itself.
-     * As offline information in the database has a reference to it's parent id, we need to save in that way
+     * Save offline information of all node's parents (not already saved) and then the node itself,
+     * in a single transaction. As offline information in the database has a reference to it's
+     * parent id, the branch is saved from the top ancestor down to the node.
      * Root drive node and backup root parent are not saved.
-     * @param currentNode the [NodeId] of the node we want to save
+     * @param node the [Node] we want to save
      * @param driveRootNodeId this node won't be saved as its children appear as root nodes in offline
      * @param backupRootNodeId this node needs to be saved, but not its parent ("Vault")
      */
-    private suspend fun saveNodeAndItsParentsRecursively(
-        currentNode: Node,
-        driveRootNodeId: NodeId,
-        backupRootNodeId: NodeId,
-    ): Long? {
-        if (currentNode.id == driveRootNodeId) return null
-        val offlineNodeInformation = nodeRepository.getOfflineNodeInformation(currentNode.id)
-        return offlineNodeInformation?.id?.toLong() ?: nodeRepository.saveOfflineNodeInformation(
-            getOfflineNodeInformationUseCase(currentNode),
-            getParentOfflineInfoId(currentNode, backupRootNodeId, driveRootNodeId)
-        )
-    }
-
-    private suspend fun getParentOfflineInfoId(
+    private suspend fun saveNodeAndItsParents(
         node: Node,
-        backupRootNodeId: NodeId,
         driveRootNodeId: NodeId,
+        backupRootNodeId: NodeId,
     ): Long? {
-        return if (node.id == backupRootNodeId) null else {
-            nodeRepository.getNodeById(node.parentId)?.let {
-                saveNodeAndItsParentsRecursively(
-                    currentNode = it,
-                    driveRootNodeId = driveRootNodeId,
-                    backupRootNodeId = backupRootNodeId,
-                )
+        val branch = ArrayDeque<Node>()
+        var savedParentId: Long? = null
+        var currentNode: Node? = node
+        while (currentNode != null && currentNode.id != driveRootNodeId) {
+            val savedId = nodeRepository.getOfflineNodeInformation(currentNode.id)?.id
+            if (savedId != null) {
+                savedParentId = savedId.toLong()
+                break
+            }
+            branch.addFirst(currentNode)
+            currentNode = if (currentNode.id == backupRootNodeId) null else {
+                nodeRepository.getNodeById(currentNode.parentId)
             }
         }
+        if (branch.isEmpty()) return savedParentId
+        return nodeRepository.saveOfflineNodeInformationBranch(
+            branch.map { getOfflineNodeInformationUseCase(it) },
+            savedParentId
+        )
     }
 }
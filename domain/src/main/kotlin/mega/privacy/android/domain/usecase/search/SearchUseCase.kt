@@ -1,5 +1,7 @@
 package mega.privacy.android.domain.usecase.search
 
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
 import mega.privacy.android.domain.entity.node.Node
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
@@ -33,32 +35,39 @@ class SearchUseCase @Inject constructor(
      * @param modificationDate modified date filter if set [DateFilterOption]
      * @param creationDate added date filter if set [DateFilterOption]
      *
-     * @return list of search results or empty TypedNode
+     * @param pageSize number of results mapped at a time
+     *
+     * @return flow of the pages of search results, each one emitted as soon as it is mapped, so
+     * the first results can be shown without waiting for the rest. The search is complete when
+     * the flow completes. Cancelling the collection, for instance when the query changes, stops
+     * the mapping of the remaining results.
      */
-    suspend operator fun invoke(
+    operator fun invoke(
         query: String,
         parentHandle: NodeId,
         nodeSourceType: NodeSourceType,
         searchCategory: SearchCategory = SearchCategory.ALL,
         modificationDate: DateFilterOption? = null,
         creationDate: DateFilterOption? = null,
-    ): List<TypedNode> {
+        pageSize: Int = DEFAULT_PAGE_SIZE,
+    ): Flow<List<TypedNode>> = flow {
         val invalidNodeHandle = searchRepository.getInvalidHandle()
         val searchTarget = getSearchTarget(nodeSourceType)
 
-        val searchList = when {
-            query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.INCOMING_SHARE -> searchRepository.getInShares()
-            query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.OUTGOING_SHARE -> searchRepository.getOutShares()
-            query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.LINKS_SHARE -> searchRepository.getPublicLinks()
-            query.isEmpty() && searchCategory == SearchCategory.ALL && modificationDate == null && creationDate == null -> searchRepository.getChildren(
+        val pages = when {
+            query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.INCOMING_SHARE -> searchRepository.getInSharesInPages(pageSize)
+            query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.OUTGOING_SHARE -> searchRepository.getOutSharesInPages(pageSize)
+            query.isEmpty() && parentHandle == invalidNodeHandle && searchTarget == SearchTarget.LINKS_SHARE -> searchRepository.getPublicLinksInPages(pageSize)
+            query.isEmpty() && searchCategory == SearchCategory.ALL && modificationDate == null && creationDate == null -> searchRepository.getChildrenInPages(
                 nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
                 searchCategory = searchCategory,
                 query = query,
                 searchTarget = searchTarget,
                 order = getCloudSortOrder(),
+                pageSize = pageSize,
             )
 
-            else -> searchRepository.search(
+            else -> searchRepository.searchInPages(
                 nodeId = getSearchParentNode(nodeSourceType, parentHandle, invalidNodeHandle),
                 searchCategory = searchCategory,
                 query = query,
@@ -66,9 +75,12 @@ class SearchUseCase @Inject constructor(
                 order = getCloudSortOrder(),
                 modificationDate = modificationDate,
                 creationDate = creationDate,
+                pageSize = pageSize,
             )
         }
-        return addNodesTypeUseCase(searchList)
+        pages.collect { page ->
+            emit(addNodesTypeUseCase(page))
+        }
     }
 
     private fun getSearchTarget(nodeSourceType: NodeSourceType) = when (nodeSourceType) {
@@ -99,4 +111,11 @@ class SearchUseCase @Inject constructor(
     } else {
         parentHandle
     }
+
+    companion object {
+        /**
+         * Number of results mapped at a time, enough to fill the first screen
+         */
+        const val DEFAULT_PAGE_SIZE = 100
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package mega.privacy.android.domain.usecase.setting
+
+import mega.privacy.android.domain.entity.preference.StartScreen
+import mega.privacy.android.domain.repository.SettingsRepository
+import javax.inject.Inject
+
+/**
+ * Use case to get the preferred start screen without suspending, for callers that cannot
+ * monitor it
+ */
+class GetPreferredStartScreenUseCase @Inject constructor(
+    private val settingsRepository: SettingsRepository,
+) {
+
+    /**
+     * Invoke
+     * @return the preferred start screen, [StartScreen.Home] if none is set
+     */
+    operator fun invoke() = settingsRepository.getPreferredStartScreen() ?: StartScreen.Home
+}
@@ -7,6 +7,7 @@ import mega.privacy.android.domain.entity.transfer.isBackgroundTransfer
 import mega.privacy.android.domain.entity.transfer.isVoiceClip
 import mega.privacy.android.domain.exception.BusinessAccountExpiredMegaException
 import mega.privacy.android.domain.exception.QuotaExceededMegaException
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import mega.privacy.android.domain.repository.TransferRepository
 import mega.privacy.android.domain.usecase.business.BroadcastBusinessAccountExpiredUseCase
 import mega.privacy.android.domain.usecase.camerauploads.BroadcastStorageOverQuotaUseCase
@@ -29,13 +30,17 @@ class HandleTransferEventUseCase @Inject internal constructor(
     private val handleAvailableOfflineEventUseCase: HandleAvailableOfflineEventUseCase,
     private val handleSDCardEventUseCase: HandleSDCardEventUseCase,
     private val getTransferDestinationUriUseCase: GetTransferDestinationUriUseCase,
+    private val performanceTracer: PerformanceTracer,
 ) {
 
     /**
      * Invoke.
      * @param event the [TransferEvent] that has been received.
      */
-    suspend operator fun invoke(event: TransferEvent) {
+    suspend operator fun invoke(event: TransferEvent) =
+        performanceTracer.trace(TRACE_HANDLE_TRANSFER_EVENT) { handleEvent(event) }
+
+    private suspend fun handleEvent(event: TransferEvent) {
         if (event.transfer.isVoiceClip() || event.transfer.isBackgroundTransfer() || event.transfer.isStreamingTransfer) {
             return
         }
@@ -89,4 +94,8 @@ class HandleTransferEventUseCase @Inject internal constructor(
             }
         }
     }
-}
\ No newline at end of file
+
+    companion object {
+        internal const val TRACE_HANDLE_TRANSFER_EVENT = "handle_transfer_event"
+    }
+}
@@ -0,0 +1,18 @@
+package mega.privacy.android.domain.usecase.transfers.completed
+
+import mega.privacy.android.domain.repository.TransferRepository
+import javax.inject.Inject
+
+/**
+ * Saves right away the completed transfers that are still pending to be saved
+ */
+class FlushCompletedTransfersUseCase @Inject constructor(
+    private val transferRepository: TransferRepository,
+) {
+
+    /**
+     * Invoke.
+     */
+    suspend operator fun invoke() =
+        transferRepository.flushCompletedTransfers()
+}
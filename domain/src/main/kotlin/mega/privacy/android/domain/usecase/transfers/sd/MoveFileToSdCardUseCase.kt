@@ -6,7 +6,7 @@ import java.io.File
 import javax.inject.Inject
 
 /**
- * Moves a file to a destination path in the sd card. User must have set downloads destination on sd for this to work
+ * Queues the move of a file to a destination path in the sd card. User must have set downloads destination on sd for this to work
  */
 class MoveFileToSdCardUseCase @Inject constructor(
     private val fileSystemRepository: FileSystemRepository,
@@ -18,6 +18,6 @@ class MoveFileToSdCardUseCase @Inject constructor(
     suspend operator fun invoke(file: File, destinationUri: String, subFolders: List<String>) {
         val destination = destinationUri.takeUnless { it.startsWith(File.separator) }
             ?: settingsRepository.getDownloadToSdCardUri()
-        fileSystemRepository.moveFileToSd(file, destination ?: destinationUri, subFolders)
+        fileSystemRepository.enqueueFileMoveToSd(file, destination ?: destinationUri, subFolders)
     }
-}
\ No newline at end of file
+}
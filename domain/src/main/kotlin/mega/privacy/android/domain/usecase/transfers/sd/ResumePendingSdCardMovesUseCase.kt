@@ -0,0 +1,17 @@
+package mega.privacy.android.domain.usecase.transfers.sd
+
+import mega.privacy.android.domain.repository.FileSystemRepository
+import javax.inject.Inject
+
+/**
+ * Resumes the moves of downloaded files to the sd card that were not finished, for instance
+ * because the app was killed
+ */
+class ResumePendingSdCardMovesUseCase @Inject constructor(
+    private val fileSystemRepository: FileSystemRepository,
+) {
+    /**
+     * invoke
+     */
+    suspend operator fun invoke() = fileSystemRepository.resumePendingFileMovesToSd()
+}
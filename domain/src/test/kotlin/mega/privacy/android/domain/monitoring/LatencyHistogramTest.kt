@@ -0,0 +1,144 @@
+package mega.privacy.android.domain.monitoring
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+class LatencyHistogramTest {
+
+    @Test
+    fun `test that the bucket of a value is at most an eighth above it`() {
+        val random = Random(42)
+        val values = (0L..1_000L) + List(100_000) { random.nextLong(0, Long.MAX_VALUE) } +
+                listOf(Long.MAX_VALUE)
+
+        values.forEach { value ->
+            val upperBound = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value))
+            assertThat(upperBound).isAtLeast(value)
+            assertThat(upperBound - value).isAtMost(value / LatencyHistogram.SUB_BUCKETS)
+        }
+    }
+
+    @Test
+    fun `test that the buckets are contiguous`() {
+        var expectedLowerBound = 0L
+        var index = 0
+        while (expectedLowerBound >= 0) {
+            assertThat(LatencyHistogram.bucketIndex(expectedLowerBound)).isEqualTo(index)
+            expectedLowerBound = LatencyHistogram.bucketUpperBound(index) + 1
+            index++
+        }
+    }
+
+    @Test
+    fun `test that the percentiles of uniform values are within the bucket precision`() {
+        val underTest = LatencyHistogram()
+        (1L..10_000L).shuffled(Random(42)).forEach { underTest.record(it) }
+
+        val snapshot = underTest.snapshot()
+
+        assertThat(snapshot.count).isEqualTo(10_000)
+        assertThat(snapshot.min).isEqualTo(1)
+        assertThat(snapshot.max).isEqualTo(10_000)
+        assertThat(snapshot.mean).isEqualTo(5_000)
+        assertThat(snapshot.percentile(50.0)).isIn(5_000L..5_625L)
+        assertThat(snapshot.percentile(90.0)).isIn(9_000L..10_000L)
+        assertThat(snapshot.percentile(99.0)).isIn(9_900L..10_000L)
+        assertThat(snapshot.percentile(100.0)).isEqualTo(10_000)
+        assertThat(snapshot.percentile(0.0)).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a long tail is reflected in the high percentiles only`() {
+        val underTest = LatencyHistogram()
+        repeat(990) { underTest.record(TimeUnit.MICROSECONDS.toNanos(100)) }
+        repeat(10) { underTest.record(TimeUnit.MILLISECONDS.toNanos(50)) }
+
+        val snapshot = underTest.snapshot()
+
+        assertThat(snapshot.percentile(50.0)).isIn(100_000L..112_500L)
+        assertThat(snapshot.percentile(99.0)).isIn(100_000L..112_500L)
+        assertThat(snapshot.percentile(99.9)).isEqualTo(50_000_000L)
+    }
+
+    @Test
+    fun `test that an empty histogram returns 0`() {
+        val snapshot = LatencyHistogram().snapshot()
+
+        assertThat(snapshot.count).isEqualTo(0)
+        assertThat(snapshot.mean).isEqualTo(0)
+        assertThat(snapshot.percentile(99.0)).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that negative values are recorded as 0`() {
+        val underTest = LatencyHistogram()
+        underTest.record(-5)
+
+        val snapshot = underTest.snapshot()
+
+        assertThat(snapshot.min).isEqualTo(0)
+        assertThat(snapshot.percentile(50.0)).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that snapshot and reset empties the histogram`() {
+        val underTest = LatencyHistogram()
+        (1L..100L).forEach { underTest.record(it) }
+
+        val first = underTest.snapshotAndReset()
+        underTest.record(7)
+        val second = underTest.snapshot()
+
+        assertThat(first.count).isEqualTo(100)
+        assertThat(second.count).isEqualTo(1)
+        assertThat(second.min).isEqualTo(7)
+        assertThat(second.max).isEqualTo(7)
+        assertThat(second.percentile(50.0)).isEqualTo(7)
+    }
+
+    @ParameterizedTest(name = "percentile {0}")
+    @ValueSource(doubles = [-1.0, 100.1])
+    fun `test that a percentile out of range throws`(percentile: Double) {
+        val snapshot = LatencyHistogram().snapshot()
+
+        val result = runCatching { snapshot.percentile(percentile) }
+
+        assertThat(result.exceptionOrNull()).isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+    @Test
+    fun `test that concurrent records are all counted`() {
+        val underTest = LatencyHistogram()
+        val executor = Executors.newFixedThreadPool(THREADS)
+        val start = CountDownLatch(1)
+        val done = CountDownLatch(THREADS)
+        repeat(THREADS) { thread ->
+            executor.execute {
+                start.await()
+                (1L..RECORDS_PER_THREAD).forEach { underTest.record(it * (thread + 1)) }
+                done.countDown()
+            }
+        }
+
+        start.countDown()
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue()
+        executor.shutdown()
+
+        val snapshot = underTest.snapshot()
+        assertThat(snapshot.count).isEqualTo(THREADS * RECORDS_PER_THREAD)
+        assertThat(snapshot.min).isEqualTo(1)
+        assertThat(snapshot.max).isEqualTo(THREADS * RECORDS_PER_THREAD)
+        assertThat(snapshot.percentile(100.0)).isEqualTo(snapshot.max)
+    }
+
+    companion object {
+        private const val THREADS = 8
+        private const val RECORDS_PER_THREAD = 100_000L
+    }
+}
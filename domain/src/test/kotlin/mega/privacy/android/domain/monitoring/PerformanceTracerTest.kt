@@ -0,0 +1,211 @@
+package mega.privacy.android.domain.monitoring
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.util.concurrent.Executor
+import kotlin.coroutines.cancellation.CancellationException
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PerformanceTracerTest {
+
+    private var now = 0L
+
+    private val reports = mutableListOf<List<OperationStats>>()
+
+    private val sink = TraceSink { reports.add(it) }
+
+    private val pendingReports = mutableListOf<Runnable>()
+
+    private val reportExecutor = Executor { pendingReports.add(it) }
+
+    private lateinit var tracer: PerformanceTracer
+
+    @BeforeEach
+    fun setUp() {
+        now = 0L
+        reports.clear()
+        pendingReports.clear()
+    }
+
+    @Test
+    fun `test that the block is called but not traced while the tracer is disabled`() {
+        val tracer = create()
+
+        val actual = tracer.trace(OPERATION) { 42 }
+
+        assertThat(actual).isEqualTo(42)
+        assertThat(tracer.isEnabled).isFalse()
+        assertThat(tracer.snapshot()).isEmpty()
+    }
+
+    @Test
+    fun `test that the calls and their latency are recorded`() {
+        val tracer = install()
+
+        repeat(10) { index -> call(OPERATION, latency = (index + 1) * 1_000L) }
+
+        val stats = tracer.snapshot().single()
+        assertThat(stats.operation).isEqualTo(OPERATION)
+        assertThat(stats.count).isEqualTo(10)
+        assertThat(stats.sampleCount).isEqualTo(10)
+        assertThat(stats.errorCount).isEqualTo(0)
+        assertThat(stats.meanNanos).isEqualTo(5_500)
+        assertThat(stats.maxNanos).isEqualTo(10_000)
+        assertThat(stats.p50Nanos).isIn(5_000L..5_625L)
+    }
+
+    @Test
+    fun `test that the operations are recorded separately`() {
+        val tracer = install()
+
+        call(OPERATION, latency = 10)
+        call(OTHER_OPERATION, latency = 20)
+        call(OTHER_OPERATION, latency = 20)
+
+        assertThat(tracer.snapshot().map { it.operation to it.count })
+            .containsExactly(OPERATION to 1L, OTHER_OPERATION to 2L)
+    }
+
+    @Test
+    fun `test that a call that throws is counted as an error and rethrown`() {
+        val tracer = install()
+        val exception = IllegalStateException()
+
+        val result = runCatching {
+            tracer.trace<Unit>(OPERATION) {
+                now += 100
+                throw exception
+            }
+        }
+
+        assertThat(result.exceptionOrNull()).isSameInstanceAs(exception)
+        val stats = tracer.snapshot().single()
+        assertThat(stats.count).isEqualTo(1)
+        assertThat(stats.errorCount).isEqualTo(1)
+        assertThat(stats.maxNanos).isEqualTo(100)
+    }
+
+    @Test
+    fun `test that a cancelled call is rethrown without being counted as an error`() {
+        val tracer = install()
+        val exception = CancellationException()
+
+        val result = runCatching {
+            tracer.trace<Unit>(OPERATION) { throw exception }
+        }
+
+        assertThat(result.exceptionOrNull()).isSameInstanceAs(exception)
+        val stats = tracer.snapshot().single()
+        assertThat(stats.count).isEqualTo(1)
+        assertThat(stats.errorCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that only the sampled calls are measured but all are counted`() {
+        val tracer = install(sampler = TraceSampler.everyNth(4))
+
+        repeat(100) { call(OPERATION, latency = 10) }
+
+        val stats = tracer.snapshot().single()
+        assertThat(stats.count).isEqualTo(100)
+        assertThat(stats.sampleCount).isEqualTo(25)
+    }
+
+    @Test
+    fun `test that every nth sampler samples the first call of each n`() {
+        val underTest = TraceSampler.everyNth(3)
+
+        val sampled = (0L until 9L).filter { underTest.shouldSample(OPERATION, it) }
+
+        assertThat(sampled).containsExactly(0L, 3L, 6L).inOrder()
+    }
+
+    @Test
+    fun `test that report sends the stats to the sinks and resets them`() {
+        val tracer = install()
+        call(OPERATION, latency = 10)
+
+        val reported = tracer.report()
+        call(OTHER_OPERATION, latency = 10)
+        runPendingReports()
+
+        assertThat(reports).containsExactly(reported)
+        assertThat(reported.single().operation).isEqualTo(OPERATION)
+        assertThat(tracer.report().map { it.operation }).containsExactly(OTHER_OPERATION)
+    }
+
+    @Test
+    fun `test that nothing is reported without calls`() {
+        val tracer = install()
+
+        assertThat(tracer.report()).isEmpty()
+        assertThat(pendingReports).isEmpty()
+    }
+
+    @Test
+    fun `test that the stats are reported once the interval elapses`() {
+        install()
+
+        call(OPERATION, latency = REPORT_INTERVAL - 1)
+        assertThat(pendingReports).isEmpty()
+
+        call(OPERATION, latency = 1)
+        assertThat(pendingReports).hasSize(1)
+        runPendingReports()
+        assertThat(reports.single().single().count).isEqualTo(2)
+
+        call(OPERATION, latency = 1)
+        assertThat(pendingReports).isEmpty()
+    }
+
+    @Test
+    fun `test that the sinks are not called by the traced call triggering the report`() {
+        install()
+
+        call(OPERATION, latency = REPORT_INTERVAL)
+
+        assertThat(pendingReports).hasSize(1)
+        assertThat(reports).isEmpty()
+    }
+
+    @Test
+    fun `test that disabling the tracer discards the pending stats and stops tracing`() {
+        val tracer = install()
+        call(OPERATION, latency = 10)
+
+        tracer.setEnabled(false)
+        call(OPERATION, latency = 10)
+
+        assertThat(tracer.isEnabled).isFalse()
+        assertThat(tracer.report()).isEmpty()
+        assertThat(pendingReports).isEmpty()
+    }
+
+    private fun create(sampler: TraceSampler = TraceSampler.Always) =
+        PerformanceTracer(
+            sinks = listOf(sink),
+            reportExecutor = reportExecutor,
+            sampler = sampler,
+            reportIntervalNanos = REPORT_INTERVAL,
+            clock = { now },
+        ).also { tracer = it }
+
+    private fun install(sampler: TraceSampler = TraceSampler.Always) =
+        create(sampler).apply { setEnabled(true) }
+
+    private fun call(operation: String, latency: Long) =
+        tracer.trace(operation) { now += latency }
+
+    private fun runPendingReports() {
+        pendingReports.toList().forEach { it.run() }
+        pendingReports.clear()
+    }
+
+    companion object {
+        private const val OPERATION = "operation"
+        private const val OTHER_OPERATION = "other_operation"
+        private const val REPORT_INTERVAL = 1_000_000L
+    }
+}
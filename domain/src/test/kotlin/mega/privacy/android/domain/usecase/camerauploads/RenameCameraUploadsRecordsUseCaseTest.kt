@@ -8,10 +8,8 @@ import mega.privacy.android.domain.entity.CameraUploadsRecordType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecord
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadsRecordUploadStatus
-import mega.privacy.android.domain.entity.node.FileNode
 import mega.privacy.android.domain.entity.node.NodeId
-import mega.privacy.android.domain.usecase.node.GetChildNodeUseCase
-import org.junit.jupiter.api.Assertions.*
+import mega.privacy.android.domain.usecase.node.GetChildNodeNamesUseCase
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -21,11 +19,15 @@ import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 import java.text.SimpleDateFormat
 import java.util.Date
 import java.util.Locale
 import java.util.stream.Stream
+import kotlin.random.Random
 
 @ExperimentalCoroutinesApi
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -33,7 +35,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
 
     private lateinit var underTest: RenameCameraUploadsRecordsUseCase
 
-    private val getChildNodeUseCase = mock<GetChildNodeUseCase>()
+    private val getChildNodeNamesUseCase = mock<GetChildNodeNamesUseCase>()
     private val areUploadFileNamesKeptUseCase = mock<AreUploadFileNamesKeptUseCase>()
     private val ioDispatcher = UnconfinedTestDispatcher()
     private fun getRecordList(folderType: CameraUploadFolderType): List<CameraUploadsRecord> =
@@ -83,13 +85,13 @@ class RenameCameraUploadsRecordsUseCaseTest {
             ),
         )
 
-    private val primaryUploadNodeId = mock<NodeId>()
-    private val secondaryUploadNodeId = mock<NodeId>()
+    private val primaryUploadNodeId = NodeId(1L)
+    private val secondaryUploadNodeId = NodeId(2L)
 
     @BeforeAll
     fun setUp() {
         underTest = RenameCameraUploadsRecordsUseCase(
-            getChildNodeUseCase,
+            getChildNodeNamesUseCase,
             areUploadFileNamesKeptUseCase,
             ioDispatcher,
         )
@@ -98,7 +100,7 @@ class RenameCameraUploadsRecordsUseCaseTest {
     @BeforeEach
     fun resetMock() {
         reset(
-            getChildNodeUseCase,
+            getChildNodeNamesUseCase,
             areUploadFileNamesKeptUseCase,
         )
     }
@@ -129,8 +131,8 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[0].fileName))
-            .thenReturn(null)
+        whenever(getChildNodeNamesUseCase(uploadNodeId))
+            .thenReturn(emptySet())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -152,10 +154,8 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[0].fileName))
-            .thenReturn(null)
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[1].fileName))
-            .thenReturn(null)
+        whenever(getChildNodeNamesUseCase(uploadNodeId))
+            .thenReturn(emptySet())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -179,8 +179,8 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[0].fileName))
-            .thenReturn(mock<FileNode>())
+        whenever(getChildNodeNamesUseCase(uploadNodeId))
+            .thenReturn(setOf(recordList[0].fileName))
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -210,8 +210,8 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, formattedName))
-            .thenReturn(null)
+        whenever(getChildNodeNamesUseCase(uploadNodeId))
+            .thenReturn(emptySet())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -238,8 +238,8 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, recordList[1].fileName))
-            .thenReturn(null)
+        whenever(getChildNodeNamesUseCase(uploadNodeId))
+            .thenReturn(emptySet())
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -270,8 +270,8 @@ class RenameCameraUploadsRecordsUseCaseTest {
             CameraUploadFolderType.Primary -> primaryUploadNodeId
             CameraUploadFolderType.Secondary -> secondaryUploadNodeId
         }
-        whenever(getChildNodeUseCase(uploadNodeId, formattedName))
-            .thenReturn(mock<FileNode>())
+        whenever(getChildNodeNamesUseCase(uploadNodeId))
+            .thenReturn(setOf(formattedName))
 
         val renamedList = underTest(recordList, primaryUploadNodeId, secondaryUploadNodeId)
 
@@ -283,9 +283,234 @@ class RenameCameraUploadsRecordsUseCaseTest {
         assertThat(actual).isEqualTo(expected)
     }
 
+    @Test
+    fun `test that the names of a folder are not fetched if all the files exist in the target node`() =
+        runTest {
+            whenever(areUploadFileNamesKeptUseCase()).thenReturn(true)
+
+            underTest(getRecordAlreadyExistInTargetNode, primaryUploadNodeId, secondaryUploadNodeId)
+
+            verifyNoInteractions(getChildNodeNamesUseCase)
+        }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("provideGoldenScenarios")
+    fun `test that the generated names are the same as probing each name`(
+        scenario: GoldenScenario,
+    ) = runTest {
+        whenever(areUploadFileNamesKeptUseCase()).thenReturn(scenario.keepName)
+        whenever(getChildNodeNamesUseCase(primaryUploadNodeId))
+            .thenReturn(scenario.primaryCloudNames)
+        whenever(getChildNodeNamesUseCase(secondaryUploadNodeId))
+            .thenReturn(scenario.secondaryCloudNames)
+
+        val actual = underTest(scenario.records, primaryUploadNodeId, secondaryUploadNodeId)
+
+        val expected = renameByProbing(scenario)
+        assertThat(actual).containsExactlyElementsIn(expected).inOrder()
+    }
+
+    @Test
+    fun `test that a large burst of files taken in the same second gets consecutive suffixes`() =
+        runTest {
+            val records = (0 until BURST_RECORDS).map {
+                createRecord(index = it, fileName = "burst.jpg", timestamp = BURST_TIMESTAMP)
+            }
+            val formattedName = formatName(BURST_TIMESTAMP, "jpg")
+            whenever(areUploadFileNamesKeptUseCase()).thenReturn(false)
+            whenever(getChildNodeNamesUseCase(primaryUploadNodeId))
+                .thenReturn(setOf(formattedName))
+
+            val actual = underTest(records, primaryUploadNodeId, secondaryUploadNodeId)
+
+            val name = formattedName.substringBeforeLast(".")
+            assertThat(actual.map { it.generatedFileName })
+                .containsExactlyElementsIn((1..BURST_RECORDS).map { "${name}_$it.jpg" })
+                .inOrder()
+            verify(getChildNodeNamesUseCase, times(1)).invoke(primaryUploadNodeId)
+        }
+
+    /**
+     * Renames the records probing each candidate name against the cloud names and the records
+     * renamed before, one by one, as the names were generated before the allocator
+     */
+    private fun renameByProbing(scenario: GoldenScenario): List<CameraUploadsRecord> =
+        buildList {
+            scenario.records.forEach { record ->
+                if (record.existsInTargetNode == true) {
+                    add(record)
+                    return@forEach
+                }
+                val cloudNames = when (record.folderType) {
+                    CameraUploadFolderType.Primary -> scenario.primaryCloudNames
+                    CameraUploadFolderType.Secondary -> scenario.secondaryCloudNames
+                }
+                val originalFileName = if (scenario.keepName) {
+                    record.fileName
+                } else {
+                    formatName(record.timestamp, record.fileName.substringAfterLast(".", ""))
+                }
+                var generatedFileName = originalFileName
+                var photoIndex = 0
+                while (
+                    generatedFileName in cloudNames || any {
+                        it.folderType == record.folderType && it.generatedFileName == generatedFileName
+                    }
+                ) {
+                    generatedFileName = if (photoIndex == 0) {
+                        photoIndex++
+                        originalFileName
+                    } else {
+                        val name = originalFileName.substringBeforeLast(".", "")
+                        val extension = originalFileName.substringAfterLast(".", "")
+                        "${name}_${photoIndex++}.$extension"
+                    }
+                }
+                add(record.copy(generatedFileName = generatedFileName))
+            }
+        }
+
+    private fun formatName(timestamp: Long, extension: String): String {
+        val sdf = SimpleDateFormat("yyyy-MM-dd HH.mm.ss", Locale.getDefault())
+        return "${sdf.format(Date(timestamp))}.$extension"
+    }
+
+    private fun createRecord(
+        index: Int,
+        fileName: String,
+        timestamp: Long = BURST_TIMESTAMP,
+        folderType: CameraUploadFolderType = CameraUploadFolderType.Primary,
+        existsInTargetNode: Boolean? = null,
+        generatedFileName: String? = null,
+    ) = CameraUploadsRecord(
+        mediaId = index.toLong(),
+        fileName = fileName,
+        filePath = "filepath$index",
+        timestamp = timestamp,
+        folderType = folderType,
+        type = CameraUploadsRecordType.TYPE_PHOTO,
+        uploadStatus = CameraUploadsRecordUploadStatus.PENDING,
+        originalFingerprint = "originalFingerprint$index",
+        generatedFingerprint = null,
+        tempFilePath = "tempFilePath$index",
+        existsInTargetNode = existsInTargetNode,
+        generatedFileName = generatedFileName,
+    )
+
+    private fun provideGoldenScenarios(): Stream<Arguments> {
+        val burstName = formatName(BURST_TIMESTAMP, "jpg").substringBeforeLast(".")
+        val burst = GoldenScenario(
+            name = "burst of photos of the same second",
+            keepName = false,
+            records = (0 until 500).map {
+                createRecord(it, "IMG_$it.jpg", timestamp = BURST_TIMESTAMP + it % 3)
+            },
+            primaryCloudNames = setOf("$burstName.jpg", "${burstName}_2.jpg", "${burstName}_5.jpg"),
+        )
+        val duplicates = GoldenScenario(
+            name = "duplicated kept names",
+            keepName = true,
+            records = (0 until 500).map {
+                createRecord(it, DUPLICATED_NAMES[it % DUPLICATED_NAMES.size])
+            },
+            primaryCloudNames = setOf("IMG_0001.jpg", "IMG_0001_2.jpg", "noextension", "_1."),
+        )
+        val keptRecords = GoldenScenario(
+            name = "files existing in the target node",
+            keepName = true,
+            records = (0 until 500).map {
+                if (it % 4 == 0) {
+                    createRecord(
+                        index = it,
+                        fileName = "IMG_0001.jpg",
+                        existsInTargetNode = true,
+                        generatedFileName = if (it % 8 == 0) "IMG_0001_${it / 4}.jpg" else null,
+                    )
+                } else {
+                    createRecord(it, "IMG_0001.jpg")
+                }
+            },
+        )
+        val folderTypes = GoldenScenario(
+            name = "primary and secondary folders",
+            keepName = false,
+            records = (0 until 500).map {
+                createRecord(
+                    index = it,
+                    fileName = if (it % 2 == 0) "photo.jpg" else "video.mp4",
+                    folderType = if (it % 3 == 0) {
+                        CameraUploadFolderType.Secondary
+                    } else {
+                        CameraUploadFolderType.Primary
+                    },
+                )
+            },
+            secondaryCloudNames = setOf("$burstName.jpg", "${burstName}_1.mp4"),
+        )
+        val random = Random(42)
+        val randomRecords = (0 until 2_000).map {
+            val isKept = random.nextInt(10) == 0
+            createRecord(
+                index = it,
+                fileName = DUPLICATED_NAMES.random(random),
+                timestamp = BURST_TIMESTAMP + random.nextLong(5) * 1_000,
+                folderType = CameraUploadFolderType.entries.random(random),
+                existsInTargetNode = isKept.takeIf { random.nextBoolean() },
+                generatedFileName = if (isKept) "IMG_0001_${random.nextInt(20)}.jpg" else null,
+            )
+        }
+        val randomNames = DUPLICATED_NAMES.flatMap { name ->
+            listOf(name) + (1..10).map { CameraUploadsFileNameAllocator.getFileNameWithIndex(name, it) }
+        }
+        return Stream.of(
+            burst,
+            duplicates,
+            keptRecords,
+            folderTypes,
+            GoldenScenario(
+                name = "random names kept",
+                keepName = true,
+                records = randomRecords,
+                primaryCloudNames = randomNames.filter { random.nextBoolean() }.toSet(),
+                secondaryCloudNames = randomNames.filter { random.nextBoolean() }.toSet(),
+            ),
+            GoldenScenario(
+                name = "random names formatted",
+                keepName = false,
+                records = randomRecords,
+                primaryCloudNames = setOf("$burstName.jpg", "${burstName}_1.jpg"),
+            ),
+        ).map { Arguments.of(it) }
+    }
+
+    /**
+     * Records to rename, with the names of the children of each target folder
+     */
+    data class GoldenScenario(
+        val name: String,
+        val keepName: Boolean,
+        val records: List<CameraUploadsRecord>,
+        val primaryCloudNames: Set<String> = emptySet(),
+        val secondaryCloudNames: Set<String> = emptySet(),
+    ) {
+        override fun toString() = name
+    }
+
     private fun provideFolderTypeParameters(): Stream<Arguments> =
         Stream.of(
             Arguments.of(CameraUploadFolderType.Primary),
             Arguments.of(CameraUploadFolderType.Secondary),
         )
+
+    companion object {
+        private const val BURST_TIMESTAMP = 1_696_294_469_000L
+        private const val BURST_RECORDS = 50_000
+        private val DUPLICATED_NAMES = listOf(
+            "IMG_0001.jpg",
+            "IMG_0001_1.jpg",
+            "video.mp4",
+            "noextension",
+            "archive.tar.gz",
+        )
+    }
 }
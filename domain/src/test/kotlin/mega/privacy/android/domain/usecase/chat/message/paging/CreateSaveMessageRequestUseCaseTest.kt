@@ -15,10 +15,14 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
+import org.mockito.kotlin.any
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyNoInteractions
+import org.mockito.kotlin.verifyNoMoreInteractions
 import org.mockito.kotlin.whenever
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -144,6 +148,39 @@ class CreateSaveMessageRequestUseCaseTest {
         assertThat(actual.map { it.exists }).containsExactly(exists)
     }
 
+    @Test
+    fun `test that a page of messages checks each node once and each message content once`() =
+        runTest {
+            val otherHandle = 789L
+            val nodeIds = List(4) { NodeId(it.toLong()) }
+            val messages = List(PAGE_SIZE) { index ->
+                val node = mock<Node> { on { id } doReturn nodeIds[index % nodeIds.size] }
+                mock<ChatMessage> {
+                    on { messageId } doReturn index.toLong()
+                    on { userHandle } doReturn if (index % 2 == 0) myHandle else otherHandle
+                    on { nodeList } doReturn listOf(node)
+                    on { hasConfirmedReactions } doReturn (index % 4 == 0)
+                }
+            }
+            nodeIds.forEach { whenever(doesNodeExistUseCase(it)).thenReturn(true) }
+            whenever(getExistsInMessageUseCase(any(), any())).thenReturn(true)
+            whenever(getReactionsUseCase(any(), any(), any())).thenReturn(emptyList())
+
+            val actual = underTest(
+                chatId = chatId,
+                chatMessages = messages,
+                currentUserHandle = myHandle,
+            )
+
+            assertThat(actual.map { it.chatMessage }).containsExactlyElementsIn(messages).inOrder()
+            // My messages share 2 distinct nodes
+            verify(doesNodeExistUseCase).invoke(nodeIds[0])
+            verify(doesNodeExistUseCase).invoke(nodeIds[2])
+            verifyNoMoreInteractions(doesNodeExistUseCase)
+            verify(getExistsInMessageUseCase, times(PAGE_SIZE / 2)).invoke(any(), any())
+            verify(getReactionsUseCase, times(PAGE_SIZE / 4)).invoke(any(), any(), any())
+        }
+
     @Test
     internal fun `test that an empty list completes successfully`() = runTest {
         val actual = underTest(
@@ -154,4 +191,8 @@ class CreateSaveMessageRequestUseCaseTest {
 
         assertThat(actual).isEmpty()
     }
-}
\ No newline at end of file
+
+    companion object {
+        private const val PAGE_SIZE = 32
+    }
+}
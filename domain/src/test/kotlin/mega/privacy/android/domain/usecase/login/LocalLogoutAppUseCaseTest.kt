@@ -9,6 +9,7 @@ import mega.privacy.android.domain.repository.AlbumRepository
 import mega.privacy.android.domain.repository.BillingRepository
 import mega.privacy.android.domain.repository.PhotosRepository
 import mega.privacy.android.domain.repository.PushesRepository
+import mega.privacy.android.domain.repository.RecentActionsRepository
 import mega.privacy.android.domain.repository.SettingsRepository
 import mega.privacy.android.domain.repository.TransferRepository
 import mega.privacy.android.domain.repository.security.LoginRepository
@@ -41,6 +42,7 @@ class LocalLogoutAppUseCaseTest {
     private val albumRepository = mock<AlbumRepository>()
     private val clearPsaUseCase = mock<ClearPsaUseCase>()
     private val settingsRepository = mock<SettingsRepository>()
+    private val recentActionsRepository = mock<RecentActionsRepository>()
     private val clearCameraUploadsRecordUseCase = mock<ClearCameraUploadsRecordUseCase>()
 
     @BeforeAll
@@ -58,6 +60,7 @@ class LocalLogoutAppUseCaseTest {
             clearPsaUseCase = clearPsaUseCase,
             settingsRepository = settingsRepository,
             clearCameraUploadsRecordUseCase = clearCameraUploadsRecordUseCase,
+            recentActionsRepository = recentActionsRepository,
         )
     }
 
@@ -73,6 +76,7 @@ class LocalLogoutAppUseCaseTest {
             stopAudioService,
             clearPsaUseCase,
             clearCameraUploadsRecordUseCase,
+            recentActionsRepository,
         )
     }
 
@@ -89,6 +93,7 @@ class LocalLogoutAppUseCaseTest {
         verify(accountRepository).resetAccountInfo()
         verify(pushesRepository).clearPushToken()
         verify(billingRepository).clearCache()
+        verify(recentActionsRepository).clearCache()
         verify(loginRepository).broadcastLogout()
         verify(stopCameraUploadsUseCase).invoke(CameraUploadsRestartMode.StopAndDisable)
         verify(stopAudioService).invoke()
@@ -0,0 +1,48 @@
+package mega.privacy.android.domain.usecase.mediaplayer
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
+import mega.privacy.android.domain.repository.MediaPlayerRepository
+import mega.privacy.android.domain.usecase.mediaplayer.videoplayer.GetPlaybackInformationUseCase
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetPlaybackInformationUseCaseTest {
+    private lateinit var underTest: GetPlaybackInformationUseCase
+    private val mediaPlayerRepository = mock<MediaPlayerRepository>()
+    private val testMediaId = 1L
+
+    @BeforeAll
+    fun setUp() {
+        underTest = GetPlaybackInformationUseCase(mediaPlayerRepository = mediaPlayerRepository)
+    }
+
+    @BeforeEach
+    fun resetMock() {
+        reset(mediaPlayerRepository)
+    }
+
+    @Test
+    fun `test that the playback information returned by the repository is returned`() =
+        runTest {
+            val expected = PlaybackInformation(testMediaId, 200000, 16000)
+            whenever(mediaPlayerRepository.getPlaybackInformation(testMediaId)).thenReturn(expected)
+
+            assertThat(underTest(testMediaId)).isEqualTo(expected)
+        }
+
+    @Test
+    fun `test that null is returned when there is no playback information`() =
+        runTest {
+            whenever(mediaPlayerRepository.getPlaybackInformation(testMediaId)).thenReturn(null)
+
+            assertThat(underTest(testMediaId)).isNull()
+        }
+}
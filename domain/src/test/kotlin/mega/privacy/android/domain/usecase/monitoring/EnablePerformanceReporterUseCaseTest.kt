@@ -0,0 +1,87 @@
+package mega.privacy.android.domain.usecase.monitoring
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.monitoring.OperationStats
+import mega.privacy.android.domain.monitoring.PerformanceTracer
+import mega.privacy.android.domain.monitoring.TraceSink
+import mega.privacy.android.domain.repository.monitoring.PerformanceReporterRepository
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+
+/**
+ * Test class for [EnablePerformanceReporterUseCase]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EnablePerformanceReporterUseCaseTest {
+
+    private lateinit var underTest: EnablePerformanceReporterUseCase
+
+    private val performanceReporterRepository = mock<PerformanceReporterRepository>()
+
+    private val reports = mutableListOf<List<OperationStats>>()
+
+    private val sink = TraceSink { reports.add(it) }
+
+    private lateinit var performanceTracer: PerformanceTracer
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(performanceReporterRepository)
+        reports.clear()
+        performanceTracer = PerformanceTracer(
+            sinks = listOf(sink),
+            reportExecutor = { it.run() },
+        )
+        underTest = EnablePerformanceReporterUseCase(
+            performanceReporterRepository = performanceReporterRepository,
+            performanceTracer = performanceTracer,
+        )
+    }
+
+    @Test
+    fun `test that the reporter and the tracer are enabled when enabled`() {
+        underTest(true)
+
+        verify(performanceReporterRepository).setEnabled(true)
+        assertThat(performanceTracer.isEnabled).isTrue()
+    }
+
+    @Test
+    fun `test that the reporter and the tracer are disabled when disabled`() {
+        underTest(true)
+
+        underTest(false)
+
+        verify(performanceReporterRepository).setEnabled(false)
+        assertThat(performanceTracer.isEnabled).isFalse()
+    }
+
+    @Test
+    fun `test that the traces collected before disabling are not reported`() {
+        underTest(true)
+        performanceTracer.trace(OPERATION) {}
+
+        underTest(false)
+
+        assertThat(performanceTracer.report()).isEmpty()
+        assertThat(reports).isEmpty()
+    }
+
+    @Test
+    fun `test that traced calls are reported to the trace sinks while enabled`() {
+        underTest(true)
+        performanceTracer.trace(OPERATION) {}
+
+        performanceTracer.report()
+
+        assertThat(reports.single().single().operation).isEqualTo(OPERATION)
+    }
+
+    companion object {
+        private const val OPERATION = "operation"
+    }
+}
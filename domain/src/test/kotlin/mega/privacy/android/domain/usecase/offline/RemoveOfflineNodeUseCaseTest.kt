@@ -11,9 +11,12 @@ import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 import java.io.File
 
@@ -45,12 +48,20 @@ class RemoveOfflineNodeUseCaseTest {
             stubPaths()
             underTest(nodeId = nodeId1)
             verify(fileRepository).deleteFolderAndItsFiles("${fileRepository.getOfflinePath()}${File.separator}$fileName")
-            verify(nodeRepository).removeOfflineNodeById(nodeId1.longValue.toInt())
-            verify(nodeRepository).removeOfflineNodeById(nodeId2.longValue.toInt())
-            verify(nodeRepository).removeOfflineNodeById(nodeId3.longValue.toInt())
-            verify(nodeRepository).removeOfflineNodeById(nodeId4.longValue.toInt())
+            verify(nodeRepository).removeOfflineNodeSubtree(nodeId1.longValue.toInt())
+            verify(nodeRepository, never()).getOfflineNodeByParentId(any())
         }
 
+    @Test
+    fun `test that nothing is removed when the node is not available offline`() = runTest {
+        whenever(nodeRepository.getOfflineNodeInformation(nodeId1)).thenReturn(null)
+
+        underTest(nodeId = nodeId1)
+
+        verify(nodeRepository, never()).removeOfflineNodeSubtree(any())
+        verifyNoInteractions(fileRepository)
+    }
+
     private fun stubPaths() = runTest {
         whenever(fileRepository.getOfflinePath()).thenReturn(offlinePath)
         val offlineRootFolderNodeInformation1: OtherOfflineNodeInformation = mock {
@@ -13,8 +13,8 @@ import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
-import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.stub
@@ -59,22 +59,10 @@ internal class SaveOfflineNodeInformationUseCaseTest {
         )
         nodeRepository.stub {
             onBlocking {
-                saveOfflineNodeInformation(
-                    eq(nodeOfflineInformation),
-                    anyOrNull()
-                )
+                saveOfflineNodeInformationBranch(any(), anyOrNull())
             }.thenReturn(
                 nodeOfflineInformationId
             )
-
-            onBlocking {
-                saveOfflineNodeInformation(
-                    eq(parentOfflineInformation),
-                    anyOrNull()
-                )
-            }.thenReturn(
-                nodeParentOfflineInformationId
-            )
         }
     }
 
@@ -85,7 +73,7 @@ internal class SaveOfflineNodeInformationUseCaseTest {
         whenever(nodeRepository.getOfflineNodeInformation(nodeId)).thenReturn(mock<OtherOfflineNodeInformation>())
 
         underTest(nodeId)
-        verify(nodeRepository, times(0)).saveOfflineNodeInformation(anyOrNull(), anyOrNull())
+        verify(nodeRepository, times(0)).saveOfflineNodeInformationBranch(any(), anyOrNull())
     }
 
     @Test
@@ -96,7 +84,10 @@ internal class SaveOfflineNodeInformationUseCaseTest {
         whenever(nodeRepository.getOfflineNodeInformation(nodeId)).thenReturn(null)
 
         underTest(nodeId)
-        verify(nodeRepository).saveOfflineNodeInformation(nodeOfflineInformation, null)
+        verify(nodeRepository).saveOfflineNodeInformationBranch(
+            listOf(nodeOfflineInformation),
+            null
+        )
     }
 
     @Test
@@ -108,16 +99,32 @@ internal class SaveOfflineNodeInformationUseCaseTest {
         whenever(nodeRepository.getOfflineNodeInformation(nodeId)).thenReturn(null)
 
         underTest(nodeId)
-        verify(nodeRepository).saveOfflineNodeInformation(
-            nodeOfflineInformation,
-            nodeParentOfflineInformationId
-        )
-        verify(nodeRepository).saveOfflineNodeInformation(
-            parentOfflineInformation,
+        verify(nodeRepository).saveOfflineNodeInformationBranch(
+            listOf(parentOfflineInformation, nodeOfflineInformation),
             null
         )
     }
 
+    @Test
+    fun `test that the branch is saved under the closest ancestor already saved`() = runTest {
+        stubDriveNodeWithParent()
+        stubNodeOfflineInfo()
+        stubParentOfflineInfo()
+        val parentParent = mock<FolderNode> {
+            on { id }.thenReturn(parentParentId)
+        }
+
+        whenever(nodeRepository.getOfflineNodeInformation(nodeId)).thenReturn(null)
+        whenever(nodeRepository.getNodeById(parentParentId)).thenReturn(parentParent)
+
+        underTest(nodeId)
+        verify(nodeRepository).saveOfflineNodeInformationBranch(
+            listOf(parentOfflineInformation, nodeOfflineInformation),
+            nodeParentParentOfflineInformationId
+        )
+        verify(nodeRepository, times(0)).saveOfflineNodeInformation(anyOrNull(), anyOrNull())
+    }
+
     @Test
     fun `test that node is saved without parent when the parent is drive root node`() = runTest {
         stubDriveNodeWithParent()
@@ -128,8 +135,10 @@ internal class SaveOfflineNodeInformationUseCaseTest {
         whenever(nodeRepository.getRootNode()).thenReturn(parent)
 
         underTest(nodeId)
-        verify(nodeRepository).saveOfflineNodeInformation(nodeOfflineInformation, null)
-        verify(nodeRepository, times(0)).saveOfflineNodeInformation(parentOfflineInformation, null)
+        verify(nodeRepository).saveOfflineNodeInformationBranch(
+            listOf(nodeOfflineInformation),
+            null
+        )
     }
 
     @Test
@@ -142,12 +151,8 @@ internal class SaveOfflineNodeInformationUseCaseTest {
         whenever(monitorBackupFolder()).thenReturn(flowOf(Result.success(backupId)))
 
         underTest(nodeId)
-        verify(nodeRepository).saveOfflineNodeInformation(
-            nodeOfflineInformation,
-            nodeParentOfflineInformationId
-        )
-        verify(nodeRepository).saveOfflineNodeInformation(
-            parentOfflineInformation,
+        verify(nodeRepository).saveOfflineNodeInformationBranch(
+            listOf(parentOfflineInformation, nodeOfflineInformation),
             null
         )
     }
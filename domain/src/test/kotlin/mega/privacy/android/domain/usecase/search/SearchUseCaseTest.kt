@@ -1,23 +1,44 @@
 package mega.privacy.android.domain.usecase.search
 
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.SortOrder
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.NodeSourceType
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.entity.node.UnTypedNode
 import mega.privacy.android.domain.entity.search.SearchCategory
 import mega.privacy.android.domain.entity.search.SearchTarget
 import mega.privacy.android.domain.repository.SearchRepository
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
 import mega.privacy.android.domain.usecase.node.AddNodesTypeUseCase
 import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
 class SearchUseCaseTest {
 
     private val getCloudSortOrder: GetCloudSortOrder = mock()
-    private val searchRepository: SearchRepository = mock()
+    private val searchRepository: SearchRepository = mock {
+        on { getInSharesInPages(any()) } doReturn flowOf(emptyList())
+        on { getOutSharesInPages(any()) } doReturn flowOf(emptyList())
+        on { getPublicLinksInPages(any()) } doReturn flowOf(emptyList())
+        on {
+            getChildrenInPages(anyOrNull(), any(), any(), any(), any(), anyOrNull(), anyOrNull(), any())
+        } doReturn flowOf(emptyList())
+        on {
+            searchInPages(anyOrNull(), any(), any(), any(), any(), anyOrNull(), anyOrNull(), any())
+        } doReturn flowOf(emptyList())
+    }
     private val addNodesTypeUseCase: AddNodesTypeUseCase = mock()
     private val underTest = SearchUseCase(getCloudSortOrder, searchRepository, addNodesTypeUseCase)
 
@@ -25,24 +46,24 @@ class SearchUseCaseTest {
     fun `test that getInShares is called when query is empty and parentHandle is invalid and searchTarget is INCOMING_SHARE`() =
         runTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
-            underTest("", NodeId(-1), NodeSourceType.INCOMING_SHARES, SearchCategory.ALL)
-            verify(searchRepository).getInShares()
+            underTest("", NodeId(-1), NodeSourceType.INCOMING_SHARES, SearchCategory.ALL).toList()
+            verify(searchRepository).getInSharesInPages(SearchUseCase.DEFAULT_PAGE_SIZE)
         }
 
     @Test
     fun `test that getOutShares is called when query is empty and parentHandle is invalid and searchTarget is OUTGOING_SHARE`() =
         runTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
-            underTest("", NodeId(-1), NodeSourceType.OUTGOING_SHARES, SearchCategory.ALL)
-            verify(searchRepository).getOutShares()
+            underTest("", NodeId(-1), NodeSourceType.OUTGOING_SHARES, SearchCategory.ALL).toList()
+            verify(searchRepository).getOutSharesInPages(SearchUseCase.DEFAULT_PAGE_SIZE)
         }
 
     @Test
     fun `test that getPublicLinks is called when query is empty and parentHandle is invalid and searchTarget is LINKS_SHARE`() =
         runTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
-            underTest("", NodeId(-1), NodeSourceType.LINKS, SearchCategory.ALL)
-            verify(searchRepository).getPublicLinks()
+            underTest("", NodeId(-1), NodeSourceType.LINKS, SearchCategory.ALL).toList()
+            verify(searchRepository).getPublicLinksInPages(SearchUseCase.DEFAULT_PAGE_SIZE)
         }
 
     @Test
@@ -51,15 +72,16 @@ class SearchUseCaseTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             whenever(searchRepository.getRootNodeId()).thenReturn(NodeId(-1))
-            underTest("", NodeId(-1), NodeSourceType.CLOUD_DRIVE, SearchCategory.ALL)
-            verify(searchRepository).getChildren(
+            underTest("", NodeId(-1), NodeSourceType.CLOUD_DRIVE, SearchCategory.ALL).toList()
+            verify(searchRepository).getChildrenInPages(
                 nodeId = NodeId(-1),
                 searchCategory = SearchCategory.ALL,
                 query = "",
                 searchTarget = SearchTarget.ROOT_NODES,
                 order = getCloudSortOrder(),
                 modificationDate = null,
-                creationDate = null
+                creationDate = null,
+                pageSize = SearchUseCase.DEFAULT_PAGE_SIZE,
             )
         }
 
@@ -69,15 +91,16 @@ class SearchUseCaseTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             whenever(searchRepository.getBackUpNodeId()).thenReturn(NodeId(-1))
-            underTest("", NodeId(-1), NodeSourceType.BACKUPS, SearchCategory.ALL)
-            verify(searchRepository).getChildren(
+            underTest("", NodeId(-1), NodeSourceType.BACKUPS, SearchCategory.ALL).toList()
+            verify(searchRepository).getChildrenInPages(
                 nodeId = NodeId(-1),
                 searchCategory = SearchCategory.ALL,
                 query = "",
                 searchTarget = SearchTarget.ROOT_NODES,
                 order = getCloudSortOrder(),
                 modificationDate = null,
-                creationDate = null
+                creationDate = null,
+                pageSize = SearchUseCase.DEFAULT_PAGE_SIZE,
             )
         }
 
@@ -87,15 +110,16 @@ class SearchUseCaseTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             whenever(searchRepository.getRubbishNodeId()).thenReturn(NodeId(-1))
-            underTest("", NodeId(-1), NodeSourceType.RUBBISH_BIN, SearchCategory.ALL)
-            verify(searchRepository).getChildren(
+            underTest("", NodeId(-1), NodeSourceType.RUBBISH_BIN, SearchCategory.ALL).toList()
+            verify(searchRepository).getChildrenInPages(
                 nodeId = NodeId(-1),
                 searchCategory = SearchCategory.ALL,
                 query = "",
                 searchTarget = SearchTarget.ROOT_NODES,
                 order = getCloudSortOrder(),
                 modificationDate = null,
-                creationDate = null
+                creationDate = null,
+                pageSize = SearchUseCase.DEFAULT_PAGE_SIZE,
             )
         }
 
@@ -105,15 +129,16 @@ class SearchUseCaseTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             whenever(searchRepository.getRubbishNodeId()).thenReturn(NodeId(-1))
-            underTest("", NodeId(123456), NodeSourceType.RUBBISH_BIN, SearchCategory.ALL)
-            verify(searchRepository).getChildren(
+            underTest("", NodeId(123456), NodeSourceType.RUBBISH_BIN, SearchCategory.ALL).toList()
+            verify(searchRepository).getChildrenInPages(
                 nodeId = NodeId(123456),
                 searchCategory = SearchCategory.ALL,
                 query = "",
                 searchTarget = SearchTarget.ROOT_NODES,
                 order = getCloudSortOrder(),
                 modificationDate = null,
-                creationDate = null
+                creationDate = null,
+                pageSize = SearchUseCase.DEFAULT_PAGE_SIZE,
             )
         }
 
@@ -123,17 +148,58 @@ class SearchUseCaseTest {
             whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             whenever(searchRepository.getRubbishNodeId()).thenReturn(NodeId(-1))
-            underTest("test", NodeId(123456), NodeSourceType.RUBBISH_BIN, SearchCategory.ALL)
-            verify(searchRepository).search(
+            underTest("test", NodeId(123456), NodeSourceType.RUBBISH_BIN, SearchCategory.ALL).toList()
+            verify(searchRepository).searchInPages(
                 nodeId = NodeId(123456),
                 searchCategory = SearchCategory.ALL,
                 query = "test",
                 searchTarget = SearchTarget.ROOT_NODES,
                 order = getCloudSortOrder(),
                 modificationDate = null,
-                creationDate = null
+                creationDate = null,
+                pageSize = SearchUseCase.DEFAULT_PAGE_SIZE,
             )
         }
     }
 
-}
\ No newline at end of file
+
+    @Test
+    fun `test that each page of results is emitted on its own`() = runTest {
+        val firstPage = listOf(mock<UnTypedNode>(), mock<UnTypedNode>())
+        val secondPage = listOf(mock<UnTypedNode>())
+        val typedFirstPage = listOf(mock<TypedNode>(), mock<TypedNode>())
+        val typedSecondPage = listOf(mock<TypedNode>())
+        whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+        whenever(searchRepository.getInSharesInPages(2)).thenReturn(flowOf(firstPage, secondPage))
+        whenever(addNodesTypeUseCase(firstPage)).thenReturn(typedFirstPage)
+        whenever(addNodesTypeUseCase(secondPage)).thenReturn(typedSecondPage)
+
+        val actual = underTest(
+            query = "",
+            parentHandle = NodeId(-1),
+            nodeSourceType = NodeSourceType.INCOMING_SHARES,
+            pageSize = 2,
+        ).toList()
+
+        assertThat(actual).containsExactly(typedFirstPage, typedSecondPage).inOrder()
+    }
+
+    @Test
+    fun `test that the remaining pages are not mapped when the collection is cancelled`() =
+        runTest {
+            val pages = List(10) { listOf(mock<UnTypedNode>()) }
+            whenever(searchRepository.getInvalidHandle()).thenReturn(NodeId(-1))
+            whenever(searchRepository.getInSharesInPages(1)).thenReturn(pages.asFlow())
+            whenever(addNodesTypeUseCase(any())).thenReturn(listOf(mock<TypedNode>()))
+
+            val actual = underTest(
+                query = "",
+                parentHandle = NodeId(-1),
+                nodeSourceType = NodeSourceType.INCOMING_SHARES,
+                pageSize = 1,
+            ).first()
+
+            assertThat(actual).hasSize(1)
+            verify(addNodesTypeUseCase, times(1)).invoke(any())
+        }
+}
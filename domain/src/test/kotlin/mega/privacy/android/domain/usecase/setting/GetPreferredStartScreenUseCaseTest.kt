@@ -0,0 +1,43 @@
+package mega.privacy.android.domain.usecase.setting
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.preference.StartScreen
+import mega.privacy.android.domain.repository.SettingsRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetPreferredStartScreenUseCaseTest {
+    private lateinit var underTest: GetPreferredStartScreenUseCase
+
+    private val settingsRepository = mock<SettingsRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = GetPreferredStartScreenUseCase(settingsRepository = settingsRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(
+            settingsRepository,
+        )
+    }
+
+    @Test
+    fun `test that the repository value is returned`() {
+        whenever(settingsRepository.getPreferredStartScreen()).thenReturn(StartScreen.Photos)
+        assertThat(underTest()).isEqualTo(StartScreen.Photos)
+    }
+
+    @Test
+    fun `test that home is returned if no start screen is set`() {
+        whenever(settingsRepository.getPreferredStartScreen()).thenReturn(null)
+        assertThat(underTest()).isEqualTo(StartScreen.Home)
+    }
+}
@@ -8,6 +8,7 @@ import mega.privacy.android.domain.entity.transfer.TransferEvent
 import mega.privacy.android.domain.entity.transfer.TransferType
 import mega.privacy.android.domain.exception.BusinessAccountExpiredMegaException
 import mega.privacy.android.domain.exception.QuotaExceededMegaException
+import mega.privacy.android.domain.monitoring.PerformanceTracer
 import mega.privacy.android.domain.repository.TransferRepository
 import mega.privacy.android.domain.usecase.business.BroadcastBusinessAccountExpiredUseCase
 import mega.privacy.android.domain.usecase.camerauploads.BroadcastStorageOverQuotaUseCase
@@ -54,6 +55,7 @@ class HandleTransferEventUseCaseTest {
             handleAvailableOfflineEventUseCase = handleAvailableOfflineEventUseCase,
             handleSDCardEventUseCase = handleSDCardEventUseCase,
             getTransferDestinationUriUseCase = getTransferDestinationUriUseCase,
+            performanceTracer = PerformanceTracer(sinks = emptyList(), reportExecutor = { it.run() }),
         )
     }
 
@@ -1,8 +1,6 @@
 package mega.privacy.android.domain.usecase.transfers.sd
 
-import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
-import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.transfer.DestinationUriAndSubFolders
 import mega.privacy.android.domain.entity.transfer.Transfer
@@ -32,8 +30,6 @@ class HandleSDCardEventUseCaseTest {
     private val moveFileToSdCardUseCase = mock<MoveFileToSdCardUseCase>()
     private val fileSystemRepository = mock<FileSystemRepository>()
 
-    private val scope = CoroutineScope(UnconfinedTestDispatcher())
-
     @BeforeAll
     fun setUp() {
 
@@ -42,7 +38,6 @@ class HandleSDCardEventUseCaseTest {
             deleteSdTransferByTagUseCase,
             moveFileToSdCardUseCase,
             fileSystemRepository,
-            scope,
         )
     }
 
@@ -8,7 +8,6 @@ import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
-import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.verify
@@ -40,12 +39,21 @@ class MoveFileToSdCardUseCaseTest {
     }
 
     @Test
-    fun `test that file is moved to destination `() = runTest {
+    fun `test that file move to destination is enqueued`() = runTest {
         val file = mock<File>()
         val destination = "content:destination/root/"
         val subFolders = listOf("subfolder1", "subfolder2")
-        whenever(fileSystemRepository.moveFileToSd(any(), any(), any())).thenReturn(true)
         underTest(file, destination, subFolders)
-        verify(fileSystemRepository).moveFileToSd(file, destination, subFolders)
+        verify(fileSystemRepository).enqueueFileMoveToSd(file, destination, subFolders)
+    }
+
+    @Test
+    fun `test that sd card download uri is used when destination is a path`() = runTest {
+        val file = mock<File>()
+        val destination = "/storage/sd/Download"
+        val sdCardUri = "content:destination/root/"
+        whenever(settingsRepository.getDownloadToSdCardUri()).thenReturn(sdCardUri)
+        underTest(file, destination, emptyList())
+        verify(fileSystemRepository).enqueueFileMoveToSd(file, sdCardUri, emptyList())
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package mega.privacy.android.domain.usecase.transfers.sd
+
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.repository.FileSystemRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ResumePendingSdCardMovesUseCaseTest {
+    private lateinit var underTest: ResumePendingSdCardMovesUseCase
+
+    private val fileSystemRepository = mock<FileSystemRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = ResumePendingSdCardMovesUseCase(fileSystemRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(fileSystemRepository)
+    }
+
+    @Test
+    fun `test that pending file moves to the sd card are resumed`() = runTest {
+        underTest()
+        verify(fileSystemRepository).resumePendingFileMovesToSd()
+    }
+}
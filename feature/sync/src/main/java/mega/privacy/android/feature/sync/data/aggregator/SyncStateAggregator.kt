@@ -0,0 +1,162 @@
+package mega.privacy.android.feature.sync.data.aggregator
+
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
+import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
+import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
+import mega.privacy.android.feature.sync.domain.entity.FolderPair
+import mega.privacy.android.feature.sync.domain.entity.StalledIssue
+import nz.mega.sdk.MegaSync
+import nz.mega.sdk.MegaSyncStall
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Keeps the last known folder pairs and stalled issues, and applies [SyncStateChanges] to them.
+ *
+ * Only the folder pairs included in the changes are reloaded, the rest keep the same instances.
+ * The remote folder names are cached by handle and only resolved again when the state of their
+ * folder pair changes, when their node is updated or on a full refresh. Stalled issues are only
+ * mapped when they were not in the previous list.
+ */
+@Singleton
+internal class SyncStateAggregator @Inject constructor(
+    private val syncGateway: SyncGateway,
+    private val syncStatsCacheGateway: SyncStatsCacheGateway,
+    private val megaApiGateway: MegaApiGateway,
+    private val folderPairMapper: FolderPairMapper,
+    private val stalledIssuesMapper: StalledIssuesMapper,
+) {
+    private val folderPairsMutex = Mutex()
+    private val folderPairs = LinkedHashMap<Long, FolderPair>()
+    private val remoteFolderNames = HashMap<Long, String>()
+
+    /**
+     * Handles of the remote folders of the known folder pairs
+     */
+    @Volatile
+    var remoteFolderHandles: Set<Long> = emptySet()
+        private set
+
+    private val stalledIssuesMutex = Mutex()
+    private var stalledIssuesByKey = emptyMap<StalledIssueKey, StalledIssue>()
+
+    /**
+     * Reloads all the folder pairs
+     *
+     * @return All the folder pairs
+     */
+    suspend fun getFolderPairs(): List<FolderPair> = folderPairsMutex.withLock {
+        remoteFolderNames.clear()
+        reloadFolderPairs(refreshNameIds = emptySet())
+    }
+
+    /**
+     * Applies the changes to the folder pairs
+     *
+     * @param changes [SyncStateChanges]
+     * @return All the folder pairs, or null if none of them changed
+     */
+    suspend fun updateFolderPairs(changes: SyncStateChanges): List<FolderPair>? {
+        if (changes.isFullRefresh) return getFolderPairs()
+
+        return folderPairsMutex.withLock {
+            val refreshNameIds = changes.changedFolderPairIds + folderPairs.values
+                .filter { it.remoteFolder.id in changes.updatedNodeHandles }
+                .map { it.id }
+            if (changes.isGlobalStateChanged) {
+                val previous = folderPairs.values.toList()
+                return@withLock reloadFolderPairs(refreshNameIds).takeIf { it != previous }
+            }
+
+            var hasChanged = false
+            (refreshNameIds + changes.updatedStatsFolderPairIds).forEach { id ->
+                val updated = syncGateway.getFolderPair(id)?.let {
+                    mapFolderPair(it, refreshName = id in refreshNameIds)
+                }
+                val previous = folderPairs[id]
+                if (updated != previous) {
+                    if (updated == null) folderPairs.remove(id) else folderPairs[id] = updated
+                    hasChanged = true
+                }
+            }
+            if (hasChanged) {
+                remoteFolderHandles = folderPairs.values.mapTo(HashSet()) { it.remoteFolder.id }
+                folderPairs.values.toList()
+            } else {
+                null
+            }
+        }
+    }
+
+    /**
+     * Gets the current stalled issues, mapping only the ones that were not known yet
+     *
+     * @return The stalled issues
+     */
+    suspend fun getStalledIssues(): List<StalledIssue> = stalledIssuesMutex.withLock {
+        val stalledIssuesList = syncGateway.getSyncStalledIssues()
+        if (stalledIssuesList == null) {
+            stalledIssuesByKey = emptyMap()
+            return@withLock emptyList()
+        }
+
+        val previous = stalledIssuesByKey
+        val current = HashMap<StalledIssueKey, StalledIssue>()
+        val stalledIssues = (0 until stalledIssuesList.size()).map { index ->
+            val stalledIssue = stalledIssuesList.get(index)
+            val key = stalledIssue.toKey()
+            val mapped = previous[key] ?: current[key] ?: stalledIssuesMapper(stalledIssue)
+            current[key] = mapped
+            mapped
+        }
+        stalledIssuesByKey = current
+        stalledIssues
+    }
+
+    private suspend fun reloadFolderPairs(refreshNameIds: Set<Long>): List<FolderPair> {
+        val model = syncGateway.getFolderPairs()
+        val reloaded = (0 until model.size()).map { index ->
+            val sync = model.get(index)
+            mapFolderPair(sync, refreshName = sync.backupId in refreshNameIds)
+        }
+        folderPairs.clear()
+        reloaded.associateByTo(folderPairs) { it.id }
+        remoteFolderHandles = reloaded.mapTo(HashSet()) { it.remoteFolder.id }
+        return reloaded
+    }
+
+    private suspend fun mapFolderPair(model: MegaSync, refreshName: Boolean): FolderPair {
+        val megaHandle = model.megaHandle
+        val cachedName = if (refreshName) null else remoteFolderNames[megaHandle]
+        val megaFolderName = cachedName
+            ?: (megaApiGateway.getMegaNodeByHandle(megaHandle)?.name ?: "").also {
+                remoteFolderNames[megaHandle] = it
+            }
+        return folderPairMapper(
+            model,
+            megaFolderName,
+            syncStatsCacheGateway.getSyncStatsById(model.backupId),
+        )
+    }
+
+    private fun MegaSyncStall.toKey() = StalledIssueKey(
+        reason = reason(),
+        conflictName = reasonDebugString(),
+        nodeNames = (0 until pathCount(true).toInt()).map { path(true, it) },
+        localPaths = (0 until pathCount(false).toInt()).map { path(false, it) },
+    )
+
+    /**
+     * Identifies a stalled issue by the values shown to the user, without mapping it completely
+     */
+    private data class StalledIssueKey(
+        val reason: MegaSyncStall.SyncStallReason,
+        val conflictName: String?,
+        val nodeNames: List<String>,
+        val localPaths: List<String>,
+    )
+}
@@ -0,0 +1,95 @@
+package mega.privacy.android.feature.sync.data.aggregator
+
+import mega.privacy.android.feature.sync.data.model.MegaSyncListenerEvent
+
+/**
+ * Sync changes received during a refresh window
+ *
+ * @property isFullRefresh True if all the folder pairs have to be reloaded
+ * @property isGlobalStateChanged True if the state of all the folder pairs has to be reloaded,
+ * keeping the cached remote folder names
+ * @property changedFolderPairIds Ids of the folder pairs whose state changed or that were deleted
+ * @property updatedStatsFolderPairIds Ids of the folder pairs whose stats were updated
+ * @property updatedNodeHandles Handles of the updated nodes which are remote folders of a pair
+ */
+internal data class SyncStateChanges(
+    val isFullRefresh: Boolean = false,
+    val isGlobalStateChanged: Boolean = false,
+    val changedFolderPairIds: Set<Long> = emptySet(),
+    val updatedStatsFolderPairIds: Set<Long> = emptySet(),
+    val updatedNodeHandles: Set<Long> = emptySet(),
+)
+
+/**
+ * Accumulates [MegaSyncListenerEvent]s until they are drained as a single [SyncStateChanges],
+ * so repeated events for the same folder pair are conflated.
+ */
+internal class SyncStateChangesAccumulator {
+    private var hasChanges = false
+    private var isFullRefresh = false
+    private var isGlobalStateChanged = false
+    private val changedFolderPairIds = HashSet<Long>()
+    private val updatedStatsFolderPairIds = HashSet<Long>()
+    private val updatedNodeHandles = HashSet<Long>()
+
+    /**
+     * Records an event
+     *
+     * @param event [MegaSyncListenerEvent]
+     */
+    @Synchronized
+    fun record(event: MegaSyncListenerEvent) {
+        hasChanges = true
+        when (event) {
+            is MegaSyncListenerEvent.OnSyncStatsUpdated ->
+                updatedStatsFolderPairIds.add(event.syncStats.backupId)
+
+            is MegaSyncListenerEvent.OnSyncStateChanged ->
+                changedFolderPairIds.add(event.sync.backupId)
+
+            is MegaSyncListenerEvent.OnSyncDeleted ->
+                changedFolderPairIds.add(event.sync.backupId)
+
+            MegaSyncListenerEvent.OnRefreshSyncState -> isFullRefresh = true
+
+            MegaSyncListenerEvent.OnGlobalSyncStateChanged -> isGlobalStateChanged = true
+        }
+    }
+
+    /**
+     * Records updated nodes which are remote folders of a pair
+     *
+     * @param handles Handles of the updated nodes
+     */
+    @Synchronized
+    fun recordUpdatedNodes(handles: Collection<Long>) {
+        if (handles.isEmpty()) return
+        hasChanges = true
+        updatedNodeHandles.addAll(handles)
+    }
+
+    /**
+     * Returns the changes recorded since the last call and resets the accumulator
+     *
+     * @return [SyncStateChanges], or null if nothing was recorded
+     */
+    @Synchronized
+    fun drain(): SyncStateChanges? {
+        if (!hasChanges) return null
+
+        val changes = SyncStateChanges(
+            isFullRefresh = isFullRefresh,
+            isGlobalStateChanged = isGlobalStateChanged,
+            changedFolderPairIds = changedFolderPairIds.toSet(),
+            updatedStatsFolderPairIds = updatedStatsFolderPairIds.toSet(),
+            updatedNodeHandles = updatedNodeHandles.toSet(),
+        )
+        hasChanges = false
+        isFullRefresh = false
+        isGlobalStateChanged = false
+        changedFolderPairIds.clear()
+        updatedStatsFolderPairIds.clear()
+        updatedNodeHandles.clear()
+        return changes
+    }
+}
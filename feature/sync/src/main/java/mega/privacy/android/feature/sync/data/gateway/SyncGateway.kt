@@ -39,6 +39,14 @@ internal interface SyncGateway {
      */
     suspend fun getFolderPairs(): MegaSyncList
 
+    /**
+     * Returns the folder pair with the given id
+     *
+     * @param folderPairId - id of the folder pair
+     * @return MegaSync, or null if there is no folder pair with that id
+     */
+    suspend fun getFolderPair(folderPairId: Long): MegaSync?
+
     /**
      * Remove folder pair (a sync)
      *
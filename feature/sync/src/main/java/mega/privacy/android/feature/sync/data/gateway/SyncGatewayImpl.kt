@@ -89,6 +89,9 @@ internal class SyncGatewayImpl @Inject constructor(
     override suspend fun getFolderPairs(): MegaSyncList =
         megaApi.syncs
 
+    override suspend fun getFolderPair(folderPairId: Long): MegaSync? =
+        megaApi.getSyncByBackupId(folderPairId)
+
     override suspend fun removeFolderPair(folderPairId: Long) {
         megaApi.removeSync(folderPairId)
     }
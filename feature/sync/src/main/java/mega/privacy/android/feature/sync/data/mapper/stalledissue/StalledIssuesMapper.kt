@@ -13,19 +13,22 @@ internal class StalledIssuesMapper @Inject constructor(
     operator fun invoke(stalledIssues: MegaSyncStallList): List<StalledIssue> {
         val issuesCount = stalledIssues.size()
         return (0 until issuesCount).map { index ->
-            val stalledIssueSdkObject = stalledIssues.get(index)
-            val nodes = getNodes(stalledIssueSdkObject)
-            val localPaths: List<String> = getLocalPaths(stalledIssueSdkObject)
-            StalledIssue(
-                nodeIds = nodes.map { it.nodeId },
-                localPaths = localPaths,
-                issueType = stalledIssueTypeMapper(stalledIssueSdkObject.reason()),
-                conflictName = stalledIssueSdkObject.reasonDebugString(),
-                nodeNames = nodes.map { it.nodeName },
-            )
+            invoke(stalledIssues.get(index))
         }
     }
 
+    operator fun invoke(stalledIssueSdkObject: MegaSyncStall): StalledIssue {
+        val nodes = getNodes(stalledIssueSdkObject)
+        val localPaths: List<String> = getLocalPaths(stalledIssueSdkObject)
+        return StalledIssue(
+            nodeIds = nodes.map { it.nodeId },
+            localPaths = localPaths,
+            issueType = stalledIssueTypeMapper(stalledIssueSdkObject.reason()),
+            conflictName = stalledIssueSdkObject.reasonDebugString(),
+            nodeNames = nodes.map { it.nodeName },
+        )
+    }
+
     private fun getNodes(stalledIssueSdkObject: MegaSyncStall): List<NodeInfo> {
         val nodesCount = stalledIssueSdkObject.pathCount(true).toInt()
         return (0 until nodesCount).map { index ->
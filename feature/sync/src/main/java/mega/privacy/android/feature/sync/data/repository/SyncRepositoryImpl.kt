@@ -2,12 +2,17 @@ package mega.privacy.android.feature.sync.data.repository
 
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.distinctUntilChanged
 import kotlinx.coroutines.flow.filter
+import kotlinx.coroutines.flow.filterIsInstance
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.onStart
@@ -20,24 +25,23 @@ import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.exception.MegaSyncException
 import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
+import mega.privacy.android.feature.sync.data.aggregator.SyncStateAggregator
+import mega.privacy.android.feature.sync.data.aggregator.SyncStateChangesAccumulator
 import mega.privacy.android.feature.sync.data.gateway.SyncGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
-import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
-import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
 import mega.privacy.android.feature.sync.data.model.MegaSyncListenerEvent
 import mega.privacy.android.feature.sync.domain.entity.FolderPair
 import mega.privacy.android.feature.sync.domain.entity.StalledIssue
 import mega.privacy.android.feature.sync.domain.repository.SyncRepository
 import nz.mega.sdk.MegaError
-import nz.mega.sdk.MegaSyncList
 import javax.inject.Inject
+import kotlin.time.Duration.Companion.milliseconds
 
 internal class SyncRepositoryImpl @Inject constructor(
     private val syncGateway: SyncGateway,
     private val syncStatsCacheGateway: SyncStatsCacheGateway,
     private val megaApiGateway: MegaApiGateway,
-    private val folderPairMapper: FolderPairMapper,
-    private val stalledIssuesMapper: StalledIssuesMapper,
+    private val syncStateAggregator: SyncStateAggregator,
     private val syncErrorMapper: SyncErrorMapper,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
     @ApplicationScope private val appScope: CoroutineScope,
@@ -45,6 +49,8 @@ internal class SyncRepositoryImpl @Inject constructor(
 
     private val _refreshShow = MutableSharedFlow<Unit>()
 
+    private val syncStateChangesAccumulator = SyncStateChangesAccumulator()
+
     override suspend fun setupFolderPair(
         name: String?,
         localPath: String,
@@ -62,23 +68,9 @@ internal class SyncRepositoryImpl @Inject constructor(
     }
 
     override suspend fun getFolderPairs(): List<FolderPair> = withContext(ioDispatcher) {
-        mapToDomain(syncGateway.getFolderPairs())
+        syncStateAggregator.getFolderPairs()
     }
 
-    private suspend fun mapToDomain(model: MegaSyncList): List<FolderPair> =
-        (0 until model.size())
-            .map { index ->
-                val folderPairModel = model.get(index)
-                val megaFolderName =
-                    megaApiGateway.getMegaNodeByHandle(folderPairModel.megaHandle)?.name ?: ""
-                val syncStats = syncStatsCacheGateway.getSyncStatsById(folderPairModel.backupId)
-                folderPairMapper(
-                    folderPairModel,
-                    megaFolderName,
-                    syncStats
-                )
-            }
-
     override suspend fun removeFolderPair(folderPairId: Long) = withContext(ioDispatcher) {
         syncGateway.removeFolderPair(folderPairId)
     }
@@ -103,14 +95,39 @@ internal class SyncRepositoryImpl @Inject constructor(
     }
     override val syncChanges: Flow<MegaSyncListenerEvent> = _syncChanges
 
+    /**
+     * Sync changes conflated per folder pair, emitted at most once per refresh window.
+     * The SDK sends stats updates many times per second while scanning.
+     */
+    private val _syncStateChanges by lazy {
+        merge(
+            _syncChanges.onEach { syncStateChangesAccumulator.record(it) },
+            megaApiGateway.globalUpdates
+                .filterIsInstance<GlobalUpdate.OnNodesUpdate>()
+                .mapNotNull { update ->
+                    val remoteFolderHandles = syncStateAggregator.remoteFolderHandles
+                    update.nodeList?.map { it.handle }?.filter { it in remoteFolderHandles }
+                        ?.takeIf { it.isNotEmpty() }
+                }
+                .onEach { syncStateChangesAccumulator.recordUpdatedNodes(it) },
+        ).conflate()
+            .mapNotNull {
+                delay(SYNC_STATE_REFRESH_WINDOW)
+                syncStateChangesAccumulator.drain()
+            }
+            .flowOn(ioDispatcher)
+            .shareIn(appScope, SharingStarted.Eagerly)
+    }
+
     override suspend fun getSyncStalledIssues(): List<StalledIssue> = withContext(ioDispatcher) {
-        syncGateway.getSyncStalledIssues()?.let { stalledIssuesMapper(it) }.orEmpty()
+        syncStateAggregator.getStalledIssues()
     }
 
     private val _syncStalledIssues by lazy {
-        _syncChanges
+        _syncStateChanges
             .map { getSyncStalledIssues() }
             .onStart { emit(getSyncStalledIssues()) }
+            .distinctUntilChanged()
             .flowOn(ioDispatcher)
             .shareIn(appScope, SharingStarted.Eagerly, replay = 1)
     }
@@ -118,9 +135,10 @@ internal class SyncRepositoryImpl @Inject constructor(
     override fun monitorStalledIssues() = _syncStalledIssues
 
     private val _folderPair by lazy {
-        _syncChanges
-            .map { getFolderPairs() }
+        _syncStateChanges
+            .mapNotNull { syncStateAggregator.updateFolderPairs(it) }
             .onStart { emit(getFolderPairs()) }
+            .distinctUntilChanged()
             .flowOn(ioDispatcher)
             .shareIn(appScope, SharingStarted.Eagerly, replay = 1)
     }
@@ -150,4 +168,8 @@ internal class SyncRepositoryImpl @Inject constructor(
             )
         }
     }
-}
\ No newline at end of file
+
+    companion object {
+        private val SYNC_STATE_REFRESH_WINDOW = 300.milliseconds
+    }
+}
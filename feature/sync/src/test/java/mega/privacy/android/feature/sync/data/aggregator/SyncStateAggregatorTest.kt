@@ -0,0 +1,262 @@
+package mega.privacy.android.feature.sync.data.aggregator
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncGateway
+import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
+import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
+import mega.privacy.android.feature.sync.data.mapper.stalledissue.StalledIssuesMapper
+import mega.privacy.android.feature.sync.domain.entity.FolderPair
+import mega.privacy.android.feature.sync.domain.entity.RemoteFolder
+import mega.privacy.android.feature.sync.domain.entity.StallIssueType
+import mega.privacy.android.feature.sync.domain.entity.StalledIssue
+import mega.privacy.android.feature.sync.domain.entity.SyncStatus
+import nz.mega.sdk.MegaNode
+import nz.mega.sdk.MegaSync
+import nz.mega.sdk.MegaSyncList
+import nz.mega.sdk.MegaSyncStall
+import nz.mega.sdk.MegaSyncStallList
+import nz.mega.sdk.MegaSyncStats
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+internal class SyncStateAggregatorTest {
+
+    private lateinit var underTest: SyncStateAggregator
+    private val syncGateway: SyncGateway = mock()
+    private val syncStatsCacheGateway: SyncStatsCacheGateway = mock()
+    private val megaApiGateway: MegaApiGateway = mock()
+    private val folderPairMapper: FolderPairMapper = mock()
+    private val stalledIssuesMapper: StalledIssuesMapper = mock()
+
+    private val firstSync = createSync(backupId = 1L, megaHandle = 10L)
+    private val secondSync = createSync(backupId = 2L, megaHandle = 20L)
+
+    @BeforeEach
+    fun setUp() = runTest {
+        reset(syncGateway, syncStatsCacheGateway, megaApiGateway, folderPairMapper, stalledIssuesMapper)
+        underTest = SyncStateAggregator(
+            syncGateway = syncGateway,
+            syncStatsCacheGateway = syncStatsCacheGateway,
+            megaApiGateway = megaApiGateway,
+            folderPairMapper = folderPairMapper,
+            stalledIssuesMapper = stalledIssuesMapper,
+        )
+        val syncList = mock<MegaSyncList> {
+            on { size() } doReturn 2
+            on { get(0) } doReturn firstSync
+            on { get(1) } doReturn secondSync
+        }
+        whenever(syncGateway.getFolderPairs()).thenReturn(syncList)
+        whenever(syncGateway.getFolderPair(1L)).thenReturn(firstSync)
+        whenever(syncGateway.getFolderPair(2L)).thenReturn(secondSync)
+        val firstNode = mock<MegaNode> { on { name } doReturn "first" }
+        val secondNode = mock<MegaNode> { on { name } doReturn "second" }
+        whenever(megaApiGateway.getMegaNodeByHandle(10L)).thenReturn(firstNode)
+        whenever(megaApiGateway.getMegaNodeByHandle(20L)).thenReturn(secondNode)
+        whenever(folderPairMapper(any(), any(), anyOrNull())).thenAnswer {
+            val sync = it.getArgument<MegaSync>(0)
+            val stats = it.getArgument<MegaSyncStats?>(2)
+            createFolderPair(
+                id = sync.backupId,
+                name = it.getArgument(1),
+                status = if (stats == null) SyncStatus.SYNCED else SyncStatus.SYNCING,
+            )
+        }
+    }
+
+    @Test
+    fun `test that getFolderPairs maps all the folder pairs`() = runTest {
+        assertThat(underTest.getFolderPairs()).containsExactly(
+            createFolderPair(id = 1L, name = "first"),
+            createFolderPair(id = 2L, name = "second"),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that updateFolderPairs returns null if nothing changed`() = runTest {
+        underTest.getFolderPairs()
+
+        val actual = underTest.updateFolderPairs(
+            SyncStateChanges(updatedStatsFolderPairIds = setOf(1L))
+        )
+
+        assertThat(actual).isNull()
+    }
+
+    @Test
+    fun `test that updateFolderPairs only reloads the changed folder pair and reuses the folder name`() =
+        runTest {
+            val initial = underTest.getFolderPairs()
+            whenever(syncStatsCacheGateway.getSyncStatsById(2L)).thenReturn(mock())
+
+            val actual = underTest.updateFolderPairs(
+                SyncStateChanges(updatedStatsFolderPairIds = setOf(2L))
+            )
+
+            assertThat(actual).containsExactly(
+                initial[0],
+                createFolderPair(id = 2L, name = "second", status = SyncStatus.SYNCING),
+            ).inOrder()
+            assertThat(actual?.get(0)).isSameInstanceAs(initial[0])
+            verify(syncGateway, times(0)).getFolderPair(1L)
+            verify(megaApiGateway, times(1)).getMegaNodeByHandle(20L)
+        }
+
+    @Test
+    fun `test that updateFolderPairs resolves the folder name again when the state changes`() =
+        runTest {
+            underTest.getFolderPairs()
+            val renamedNode = mock<MegaNode> { on { name } doReturn "renamed" }
+            whenever(megaApiGateway.getMegaNodeByHandle(10L)).thenReturn(renamedNode)
+
+            val actual = underTest.updateFolderPairs(
+                SyncStateChanges(changedFolderPairIds = setOf(1L))
+            )
+
+            assertThat(actual?.first()).isEqualTo(createFolderPair(id = 1L, name = "renamed"))
+        }
+
+    @Test
+    fun `test that updateFolderPairs resolves the folder name again when its node is updated`() =
+        runTest {
+            underTest.getFolderPairs()
+            val renamedNode = mock<MegaNode> { on { name } doReturn "renamed" }
+            whenever(megaApiGateway.getMegaNodeByHandle(20L)).thenReturn(renamedNode)
+
+            val actual = underTest.updateFolderPairs(
+                SyncStateChanges(updatedNodeHandles = setOf(20L))
+            )
+
+            assertThat(actual).containsExactly(
+                createFolderPair(id = 1L, name = "first"),
+                createFolderPair(id = 2L, name = "renamed"),
+            ).inOrder()
+            verify(megaApiGateway, times(1)).getMegaNodeByHandle(10L)
+        }
+
+    @Test
+    fun `test that updateFolderPairs reloads the state of all the folder pairs on a global state change`() =
+        runTest {
+            underTest.getFolderPairs()
+            whenever(syncStatsCacheGateway.getSyncStatsById(1L)).thenReturn(mock())
+            whenever(syncStatsCacheGateway.getSyncStatsById(2L)).thenReturn(mock())
+
+            val actual = underTest.updateFolderPairs(
+                SyncStateChanges(isGlobalStateChanged = true)
+            )
+
+            assertThat(actual).containsExactly(
+                createFolderPair(id = 1L, name = "first", status = SyncStatus.SYNCING),
+                createFolderPair(id = 2L, name = "second", status = SyncStatus.SYNCING),
+            ).inOrder()
+            verify(megaApiGateway, times(1)).getMegaNodeByHandle(10L)
+            verify(megaApiGateway, times(1)).getMegaNodeByHandle(20L)
+        }
+
+    @Test
+    fun `test that remoteFolderHandles contains the remote folders of the folder pairs`() =
+        runTest {
+            underTest.getFolderPairs()
+
+            assertThat(underTest.remoteFolderHandles).containsExactly(10L, 20L)
+        }
+
+    @Test
+    fun `test that updateFolderPairs removes a deleted folder pair`() = runTest {
+        underTest.getFolderPairs()
+        whenever(syncGateway.getFolderPair(1L)).thenReturn(null)
+
+        val actual = underTest.updateFolderPairs(
+            SyncStateChanges(changedFolderPairIds = setOf(1L))
+        )
+
+        assertThat(actual).containsExactly(createFolderPair(id = 2L, name = "second"))
+    }
+
+    @Test
+    fun `test that getStalledIssues only maps new stalled issues`() = runTest {
+        val stall = createStall("/local/file")
+        val stalledIssue = createStalledIssue("/local/file")
+        whenever(stalledIssuesMapper(stall)).thenReturn(stalledIssue)
+        val stallList = mock<MegaSyncStallList> {
+            on { size() } doReturn 1
+            on { get(0) } doReturn stall
+        }
+        whenever(syncGateway.getSyncStalledIssues()).thenReturn(stallList)
+
+        assertThat(underTest.getStalledIssues()).containsExactly(stalledIssue)
+        assertThat(underTest.getStalledIssues()).containsExactly(stalledIssue)
+        verify(stalledIssuesMapper, times(1)).invoke(stall)
+    }
+
+    @Test
+    fun `test that getStalledIssues maps again a stalled issue whose conflict name changed`() =
+        runTest {
+            val stall = createStall("/local/file", conflictName = "first")
+            val changedStall = createStall("/local/file", conflictName = "second")
+            whenever(stalledIssuesMapper(any<MegaSyncStall>())).thenReturn(
+                createStalledIssue("/local/file")
+            )
+            val stallList = mock<MegaSyncStallList> { on { size() } doReturn 1 }
+            whenever(stallList.get(0)).thenReturn(stall, changedStall)
+            whenever(syncGateway.getSyncStalledIssues()).thenReturn(stallList)
+
+            underTest.getStalledIssues()
+            underTest.getStalledIssues()
+
+            verify(stalledIssuesMapper).invoke(stall)
+            verify(stalledIssuesMapper).invoke(changedStall)
+        }
+
+    @Test
+    fun `test that getStalledIssues returns an empty list if the sync is not stalled`() = runTest {
+        whenever(syncGateway.getSyncStalledIssues()).thenReturn(null)
+
+        assertThat(underTest.getStalledIssues()).isEmpty()
+    }
+
+    private fun createSync(backupId: Long, megaHandle: Long) = mock<MegaSync> {
+        on { it.backupId } doReturn backupId
+        on { it.megaHandle } doReturn megaHandle
+    }
+
+    private fun createFolderPair(
+        id: Long,
+        name: String,
+        status: SyncStatus = SyncStatus.SYNCED,
+    ) = FolderPair(
+        id = id,
+        pairName = "",
+        localFolderPath = "",
+        remoteFolder = RemoteFolder(id * 10, name),
+        syncStatus = status,
+    )
+
+    private fun createStall(localPath: String, conflictName: String = "") = mock<MegaSyncStall> {
+        on { reason() } doReturn MegaSyncStall.SyncStallReason.FileIssue
+        on { reasonDebugString() } doReturn conflictName
+        on { pathCount(true) } doReturn 0L
+        on { pathCount(false) } doReturn 1L
+        on { path(false, 0) } doReturn localPath
+    }
+
+    private fun createStalledIssue(localPath: String) = StalledIssue(
+        nodeIds = emptyList(),
+        localPaths = listOf(localPath),
+        issueType = StallIssueType.FileIssue,
+        conflictName = "",
+        nodeNames = emptyList(),
+    )
+}
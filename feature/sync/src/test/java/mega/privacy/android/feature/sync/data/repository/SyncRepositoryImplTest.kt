@@ -14,6 +14,7 @@ import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.sync.SyncError
 import mega.privacy.android.domain.exception.MegaException
 import mega.privacy.android.domain.exception.MegaSyncException
+import mega.privacy.android.feature.sync.data.aggregator.SyncStateAggregator
 import mega.privacy.android.feature.sync.data.gateway.SyncGateway
 import mega.privacy.android.feature.sync.data.gateway.SyncStatsCacheGateway
 import mega.privacy.android.feature.sync.data.mapper.FolderPairMapper
@@ -46,6 +47,13 @@ class SyncRepositoryImplTest {
     private val stalledIssuesMapper: StalledIssuesMapper = StalledIssuesMapper(
         StalledIssueTypeMapper()
     )
+    private val syncStateAggregator = SyncStateAggregator(
+        syncGateway = syncGateway,
+        syncStatsCacheGateway = syncStatsCacheGateway,
+        megaApiGateway = megaApiGateway,
+        folderPairMapper = folderPairMapper,
+        stalledIssuesMapper = stalledIssuesMapper,
+    )
     private val syncErrorMapper: SyncErrorMapper = mock()
 
     private val fakeGlobalUpdatesFlow = MutableSharedFlow<GlobalUpdate>()
@@ -63,8 +71,7 @@ class SyncRepositoryImplTest {
             syncGateway = syncGateway,
             syncStatsCacheGateway = syncStatsCacheGateway,
             megaApiGateway = megaApiGateway,
-            folderPairMapper = folderPairMapper,
-            stalledIssuesMapper = stalledIssuesMapper,
+            syncStateAggregator = syncStateAggregator,
             ioDispatcher = unconfinedTestDispatcher,
             syncErrorMapper = syncErrorMapper,
             appScope = testScope,
@@ -1,12 +1,30 @@
 plugins {
     alias(convention.plugins.mega.android.library)
+    id("de.mannodermaus.android-junit5")
 }
 
 android {
     namespace = "com.jeremyliao.liveeventbus"
+
+    defaultConfig {
+        // Lets the micro benchmarks run on the debuggable test build and on emulators
+        testInstrumentationRunnerArguments["androidx.benchmark.suppressErrors"] =
+            "DEBUGGABLE,EMULATOR"
+    }
 }
 
 dependencies {
     implementation(androidx.bundles.lifecycle)
     implementation(androidx.java.core)
+
+    testImplementation(platform(testlib.junit5.bom))
+    testImplementation(testlib.bundles.junit5.api)
+    testRuntimeOnly(testlib.junit.jupiter.engine)
+    testImplementation(testlib.truth)
+    testImplementation(testlib.junit)
+    testImplementation(testlib.roboelectric)
+
+    androidTestImplementation(testlib.junit.test.ktx)
+    androidTestImplementation(testlib.runner)
+    androidTestImplementation(testlib.benchmark.junit4)
 }
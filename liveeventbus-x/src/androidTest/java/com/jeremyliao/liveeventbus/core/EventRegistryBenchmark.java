@@ -0,0 +1,101 @@
+package com.jeremyliao.liveeventbus.core;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Micro benchmark comparing the lookups of {@link EventRegistry} with the synchronized map
+ * that LiveEventBusCore.with() used, as every post from a producer looks up its key first.
+ * <p>
+ * Each iteration looks up the keys from {@link #PRODUCERS} threads at once. It does not assert
+ * anything.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventRegistryBenchmark {
+
+    private static final int PRODUCERS = 8;
+    private static final int KEYS = 32;
+    private static final int EVENTS_PER_PRODUCER = 10_000;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final String[] keys = new String[KEYS];
+    private final ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+
+    public EventRegistryBenchmark() {
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "event_key_" + i;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        producers.shutdownNow();
+    }
+
+    @Test
+    public void lookupsWithRegistry() throws InterruptedException {
+        EventRegistry<Object> registry = new EventRegistry<>(key -> new Object());
+        measureProduce(registry::get);
+    }
+
+    @Test
+    public void lookupsWithSynchronizedMap() throws InterruptedException {
+        SynchronizedRegistry registry = new SynchronizedRegistry(key -> new Object());
+        measureProduce(registry::get);
+    }
+
+    private void measureProduce(final Function<String, Object> lookup) throws InterruptedException {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            produce(lookup);
+        }
+    }
+
+    private void produce(final Function<String, Object> lookup) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int offset = p;
+            producers.execute(() -> {
+                for (int i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                    lookup.apply(keys[(i + offset) % KEYS]);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+
+    /**
+     * The previous lookup of LiveEventBusCore.with()
+     */
+    private static class SynchronizedRegistry {
+        private final Map<String, Object> values = new HashMap<>();
+        private final Function<String, Object> factory;
+
+        SynchronizedRegistry(Function<String, Object> factory) {
+            this.factory = factory;
+        }
+
+        synchronized Object get(String key) {
+            if (!values.containsKey(key)) {
+                values.put(key, factory.apply(key));
+            }
+            return values.get(key);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import androidx.annotation.NonNull;
 import com.jeremyliao.liveeventbus.logger.Logger;
 import com.jeremyliao.liveeventbus.utils.AppUtils;
 
+import java.util.concurrent.Executor;
+
 /**
  * Created by liaohailiang on 2019-08-28.
  */
@@ -70,4 +72,17 @@ public class Config {
         LiveEventBusCore.get().enableLogger(enable);
         return this;
     }
+
+    /**
+     * set the executor where the keys configured with backgroundDelivery call their
+     * observeForever observers. If not set, a single background thread is used.
+     * The executor must run the tasks in order to keep the order of the messages.
+     *
+     * @param executor Executor
+     * @return Config
+     */
+    public Config backgroundExecutor(@NonNull Executor executor) {
+        LiveEventBusCore.get().setBackgroundExecutor(executor);
+        return this;
+    }
 }
@@ -0,0 +1,56 @@
+package com.jeremyliao.liveeventbus.core;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Lock free registry of the values of the bus by key.
+ * Looking up an existing key does not lock, new values are created only once per key.
+ *
+ * @param <V> type of the values
+ */
+final class EventRegistry<V> {
+
+    private final ConcurrentHashMap<String, V> values = new ConcurrentHashMap<>();
+    private final Function<String, V> factory;
+
+    EventRegistry(@NonNull Function<String, V> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets the value of a key, creating it if it does not exist yet
+     *
+     * @param key String
+     * @return the value of the key
+     */
+    @NonNull
+    V get(@NonNull String key) {
+        V value = values.get(key);
+        return value != null ? value : values.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * Gets the value of a key without creating it
+     *
+     * @param key String
+     * @return the value of the key, or null if it does not exist
+     */
+    @Nullable
+    V peek(@NonNull String key) {
+        return values.get(key);
+    }
+
+    void remove(@NonNull String key) {
+        values.remove(key);
+    }
+
+    @NonNull
+    Set<String> keys() {
+        return values.keySet();
+    }
+}
@@ -31,6 +31,12 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 
 /**
@@ -53,7 +59,7 @@ public final class LiveEventBusCore {
     /**
      * 存放LiveEvent
      */
-    private final Map<String, LiveEvent<Object>> bus;
+    private final EventRegistry<LiveEvent<Object>> bus;
 
     /**
      * 可配置的项
@@ -62,7 +68,8 @@ public final class LiveEventBusCore {
     private boolean lifecycleObserverAlwaysActive;
     private boolean autoClear;
     private LoggerManager logger;
-    private final Map<String, ObservableConfig> observableConfigs;
+    private final EventRegistry<ObservableConfig> observableConfigs;
+    private volatile Executor backgroundExecutor;
 
     /**
      * 跨进程通信
@@ -76,8 +83,8 @@ public final class LiveEventBusCore {
     final InnerConsole console = new InnerConsole();
 
     private LiveEventBusCore() {
-        bus = new HashMap<>();
-        observableConfigs = new HashMap<>();
+        bus = new EventRegistry<>(key -> new LiveEvent<>(key));
+        observableConfigs = new EventRegistry<>(key -> new ObservableConfig());
         lifecycleObserverAlwaysActive = true;
         autoClear = false;
         logger = new LoggerManager(new DefaultLogger());
@@ -85,10 +92,7 @@ public final class LiveEventBusCore {
         registerReceiver();
     }
 
-    public synchronized <T> Observable<T> with(String key, Class<T> type) {
-        if (!bus.containsKey(key)) {
-            bus.put(key, new LiveEvent<>(key));
-        }
+    public <T> Observable<T> with(String key, Class<T> type) {
         return (Observable<T>) bus.get(key);
     }
 
@@ -104,9 +108,6 @@ public final class LiveEventBusCore {
     }
 
     public ObservableConfig config(String key) {
-        if (!observableConfigs.containsKey(key)) {
-            observableConfigs.put(key, new ObservableConfig());
-        }
         return observableConfigs.get(key);
     }
 
@@ -144,6 +145,51 @@ public final class LiveEventBusCore {
         this.autoClear = autoClear;
     }
 
+    void setBackgroundExecutor(@NonNull Executor executor) {
+        this.backgroundExecutor = executor;
+    }
+
+    /**
+     * 后台分发消息的线程，默认为一个单独的后台线程
+     */
+    @NonNull
+    private Executor getBackgroundExecutor() {
+        Executor executor = backgroundExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = backgroundExecutor;
+                if (executor == null) {
+                    executor = createBackgroundExecutor();
+                    backgroundExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService createBackgroundExecutor() {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, "LiveEventBus-background");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private boolean isBackgroundDelivery(@NonNull String key) {
+        ObservableConfig config = observableConfigs.peek(key);
+        return config != null && config.backgroundDelivery;
+    }
+
+    private boolean isMergeStickyValues(@NonNull String key) {
+        ObservableConfig config = observableConfigs.peek(key);
+        return config != null && config.mergeStickyValues;
+    }
+
+    private static final Object NOT_SET = new Object();
+
     private class LiveEvent<T> implements Observable<T> {
 
         @NonNull
@@ -152,6 +198,26 @@ public final class LiveEventBusCore {
         private final Map<Observer, ObserverWrapper<T>> observerMap = new HashMap<>();
         private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
+        /**
+         * 后台分发的观察者，只在后台线程修改
+         */
+        private final CopyOnWriteArrayList<ObserverWrapper<T>> backgroundObservers = new CopyOnWriteArrayList<>();
+        private Object backgroundValue = NOT_SET;
+
+        /**
+         * 等待在主线程设置的合并消息
+         */
+        private final AtomicReference<Object> pendingValue = new AtomicReference<>(NOT_SET);
+        private final Runnable setPendingValueTask = new Runnable() {
+            @Override
+            public void run() {
+                Object value = pendingValue.getAndSet(NOT_SET);
+                if (value != NOT_SET) {
+                    postInternal((T) value);
+                }
+            }
+        };
+
         LiveEvent(@NonNull String key) {
             this.key = key;
             this.liveData = new LifecycleLiveData<>(key);
@@ -164,10 +230,18 @@ public final class LiveEventBusCore {
          */
         @Override
         public void post(T value) {
+            if (isBackgroundDelivery(key)) {
+                deliverInBackground(value);
+            }
             if (ThreadUtils.isMainThread()) {
+                pendingValue.set(NOT_SET);
                 postInternal(value);
+            } else if (isMergeStickyValues(key)) {
+                if (pendingValue.getAndSet(value) == NOT_SET) {
+                    mainHandler.post(setPendingValueTask);
+                }
             } else {
-                mainHandler.post(new PostValueTask(value));
+                mainHandler.post(new PostValueTask(value, false));
             }
         }
 
@@ -199,7 +273,7 @@ public final class LiveEventBusCore {
          */
         @Override
         public void postDelay(T value, long delay) {
-            mainHandler.postDelayed(new PostValueTask(value), delay);
+            mainHandler.postDelayed(new PostValueTask(value, true), delay);
         }
 
         /**
@@ -223,7 +297,7 @@ public final class LiveEventBusCore {
          */
         @Override
         public void postOrderly(T value) {
-            mainHandler.post(new PostValueTask(value));
+            mainHandler.post(new PostValueTask(value, true));
         }
 
         /**
@@ -311,7 +385,9 @@ public final class LiveEventBusCore {
          */
         @Override
         public void observeForever(@NonNull final Observer<T> observer) {
-            if (ThreadUtils.isMainThread()) {
+            if (isBackgroundDelivery(key)) {
+                observeInBackground(observer, false);
+            } else if (ThreadUtils.isMainThread()) {
                 observeForeverInternal(observer);
             } else {
                 mainHandler.post(new Runnable() {
@@ -331,7 +407,9 @@ public final class LiveEventBusCore {
          */
         @Override
         public void observeStickyForever(@NonNull final Observer<T> observer) {
-            if (ThreadUtils.isMainThread()) {
+            if (isBackgroundDelivery(key)) {
+                observeInBackground(observer, true);
+            } else if (ThreadUtils.isMainThread()) {
                 observeStickyForeverInternal(observer);
             } else {
                 mainHandler.post(new Runnable() {
@@ -350,7 +428,9 @@ public final class LiveEventBusCore {
          */
         @Override
         public void removeObserver(@NonNull final Observer<T> observer) {
-            if (ThreadUtils.isMainThread()) {
+            if (isBackgroundDelivery(key)) {
+                removeObserverInBackground(observer);
+            } else if (ThreadUtils.isMainThread()) {
                 removeObserverInternal(observer);
             } else {
                 mainHandler.post(new Runnable() {
@@ -364,14 +444,78 @@ public final class LiveEventBusCore {
 
         @MainThread
         private void postInternal(T value) {
-            logger.log(Level.INFO, "post: " + value + " with key: " + key);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "post: " + value + " with key: " + key);
+            }
             liveData.setValue(value);
         }
 
+        /**
+         * 在后台线程按发送顺序分发消息给observeForever注册的观察者
+         *
+         * @param value 发送的消息
+         */
+        private void deliverInBackground(final T value) {
+            getBackgroundExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    backgroundValue = value;
+                    for (ObserverWrapper<T> observerWrapper : backgroundObservers) {
+                        observerWrapper.onChanged(value);
+                    }
+                }
+            });
+        }
+
+        private void observeInBackground(@NonNull final Observer<T> observer, final boolean sticky) {
+            getBackgroundExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    ObserverWrapper<T> observerWrapper = new ObserverWrapper<>(observer);
+                    backgroundObservers.add(observerWrapper);
+                    if (logger.isEnable()) {
+                        logger.log(Level.INFO, "observe background observer: " + observerWrapper
+                                + "(" + observer + ")" + " sticky: " + sticky + " with key: " + key);
+                    }
+                    if (sticky && backgroundValue != NOT_SET) {
+                        observerWrapper.onChanged((T) backgroundValue);
+                    }
+                }
+            });
+        }
+
+        private void removeObserverInBackground(@NonNull final Observer<T> observer) {
+            getBackgroundExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (ObserverWrapper<T> observerWrapper : backgroundObservers) {
+                        if (observerWrapper.observer == observer) {
+                            backgroundObservers.remove(observerWrapper);
+                        }
+                    }
+                    if (autoClear(key) && backgroundObservers.isEmpty()) {
+                        mainHandler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (!liveData.hasObservers() && backgroundObservers.isEmpty()) {
+                                    LiveEventBusCore.get().bus.remove(key);
+                                }
+                            }
+                        });
+                    }
+                    if (logger.isEnable()) {
+                        logger.log(Level.INFO, "background observer removed: " + observer);
+                    }
+                }
+            });
+        }
+
         @MainThread
         private void broadcastInternal(T value, boolean foreground, boolean onlyInApp) {
-            logger.log(Level.INFO, "broadcast: " + value + " foreground: " + foreground +
-                    " with key: " + key);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "broadcast: " + value + " foreground: " + foreground +
+                        " with key: " + key);
+            }
             Application application = AppUtils.getApp();
             if (application == null) {
                 logger.log(Level.WARNING, "application is null, you can try setContext() when config");
@@ -400,16 +544,20 @@ public final class LiveEventBusCore {
             ObserverWrapper<T> observerWrapper = new ObserverWrapper<>(observer);
             observerWrapper.preventNextEvent = liveData.getVersion() > ExternalLiveData.START_VERSION;
             liveData.observe(owner, observerWrapper);
-            logger.log(Level.INFO, "observe observer: " + observerWrapper + "(" + observer + ")"
-                    + " on owner: " + owner + " with key: " + key);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "observe observer: " + observerWrapper + "(" + observer + ")"
+                        + " on owner: " + owner + " with key: " + key);
+            }
         }
 
         @MainThread
         private void observeStickyInternal(@NonNull LifecycleOwner owner, @NonNull Observer<T> observer) {
             ObserverWrapper<T> observerWrapper = new ObserverWrapper<>(observer);
             liveData.observe(owner, observerWrapper);
-            logger.log(Level.INFO, "observe sticky observer: " + observerWrapper + "(" + observer + ")"
-                    + " on owner: " + owner + " with key: " + key);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "observe sticky observer: " + observerWrapper + "(" + observer + ")"
+                        + " on owner: " + owner + " with key: " + key);
+            }
         }
 
         @MainThread
@@ -418,8 +566,10 @@ public final class LiveEventBusCore {
             observerWrapper.preventNextEvent = liveData.getVersion() > ExternalLiveData.START_VERSION;
             observerMap.put(observer, observerWrapper);
             liveData.observeForever(observerWrapper);
-            logger.log(Level.INFO, "observe forever observer: " + observerWrapper + "(" + observer + ")"
-                    + " with key: " + key);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "observe forever observer: " + observerWrapper + "(" + observer + ")"
+                        + " with key: " + key);
+            }
         }
 
         @MainThread
@@ -427,8 +577,10 @@ public final class LiveEventBusCore {
             ObserverWrapper<T> observerWrapper = new ObserverWrapper<>(observer);
             observerMap.put(observer, observerWrapper);
             liveData.observeForever(observerWrapper);
-            logger.log(Level.INFO, "observe sticky forever observer: " + observerWrapper + "(" + observer + ")"
-                    + " with key: " + key);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "observe sticky forever observer: " + observerWrapper + "(" + observer + ")"
+                        + " with key: " + key);
+            }
         }
 
         @MainThread
@@ -458,42 +610,45 @@ public final class LiveEventBusCore {
             @Override
             public void removeObserver(@NonNull Observer<? super T> observer) {
                 super.removeObserver(observer);
-                if (autoClear() && !liveData.hasObservers()) {
+                if (autoClear(key) && !liveData.hasObservers() && backgroundObservers.isEmpty()) {
                     LiveEventBusCore.get().bus.remove(key);
                 }
-                logger.log(Level.INFO, "observer removed: " + observer);
+                if (logger.isEnable()) {
+                    logger.log(Level.INFO, "observer removed: " + observer);
+                }
             }
 
             private boolean lifecycleObserverAlwaysActive() {
-                if (observableConfigs.containsKey(key)) {
-                    ObservableConfig config = observableConfigs.get(key);
-                    if (config.lifecycleObserverAlwaysActive != null) {
-                        return config.lifecycleObserverAlwaysActive;
-                    }
+                ObservableConfig config = observableConfigs.peek(key);
+                if (config != null && config.lifecycleObserverAlwaysActive != null) {
+                    return config.lifecycleObserverAlwaysActive;
                 }
                 return lifecycleObserverAlwaysActive;
             }
+        }
 
-            private boolean autoClear() {
-                if (observableConfigs.containsKey(key)) {
-                    ObservableConfig config = observableConfigs.get(key);
-                    if (config.autoClear != null) {
-                        return config.autoClear;
-                    }
-                }
-                return autoClear;
+        private boolean autoClear(@NonNull String key) {
+            ObservableConfig config = observableConfigs.peek(key);
+            if (config != null && config.autoClear != null) {
+                return config.autoClear;
             }
+            return autoClear;
         }
 
         private class PostValueTask implements Runnable {
             private Object newValue;
+            private boolean deliverInBackground;
 
-            public PostValueTask(@NonNull Object newValue) {
+            public PostValueTask(@NonNull Object newValue, boolean deliverInBackground) {
                 this.newValue = newValue;
+                this.deliverInBackground = deliverInBackground;
             }
 
             @Override
             public void run() {
+                if (deliverInBackground && isBackgroundDelivery(key)) {
+                    deliverInBackground((T) newValue);
+                }
                 postInternal((T) newValue);
             }
         }
@@ -511,6 +666,9 @@ public final class LiveEventBusCore {
             public void run() {
                 if (owner != null) {
                     if (owner.getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+                        if (isBackgroundDelivery(key)) {
+                            deliverInBackground((T) newValue);
+                        }
                         postInternal((T) newValue);
                     }
                 }
@@ -534,13 +692,19 @@ public final class LiveEventBusCore {
                 preventNextEvent = false;
                 return;
             }
-            logger.log(Level.INFO, "message received: " + t);
+            if (logger.isEnable()) {
+                logger.log(Level.INFO, "message received: " + t);
+            }
             try {
                 observer.onChanged(t);
             } catch (ClassCastException e) {
-                logger.log(Level.WARNING, "class cast error on message received: " + t, e);
+                if (logger.isEnable()) {
+                    logger.log(Level.WARNING, "class cast error on message received: " + t, e);
+                }
             } catch (Exception e) {
-                logger.log(Level.WARNING, "error on message received: " + t, e);
+                if (logger.isEnable()) {
+                    logger.log(Level.WARNING, "error on message received: " + t, e);
+                }
             }
         }
     }
@@ -569,9 +733,13 @@ public final class LiveEventBusCore {
 
         String getBusInfo() {
             StringBuilder sb = new StringBuilder();
-            for (String key : bus.keySet()) {
+            for (String key : bus.keys()) {
+                LiveEvent<Object> event = bus.peek(key);
+                if (event == null) {
+                    continue;
+                }
                 sb.append("Event name: " + key).append("\n");
-                ExternalLiveData liveData = bus.get(key).liveData;
+                ExternalLiveData liveData = event.liveData;
                 sb.append("\tversion: " + liveData.getVersion()).append("\n");
                 sb.append("\thasActiveObservers: " + liveData.hasActiveObservers()).append("\n");
                 sb.append("\thasObservers: " + liveData.hasObservers()).append("\n");
@@ -7,6 +7,8 @@ public class ObservableConfig {
 
     Boolean lifecycleObserverAlwaysActive = null;
     Boolean autoClear = null;
+    volatile boolean backgroundDelivery = false;
+    volatile boolean mergeStickyValues = false;
 
     /**
      * lifecycleObserverAlwaysActive
@@ -31,4 +33,31 @@ public class ObservableConfig {
         autoClear = clear;
         return this;
     }
+
+    /**
+     * deliver the messages to the observers registered with observeForever or
+     * observeStickyForever on the background executor of the bus, instead of the main thread.
+     * Lifecycle observers are always called on the main thread.
+     * Call it before registering any observer of the key.
+     *
+     * @param background boolean
+     * @return ObservableConfig
+     */
+    public ObservableConfig backgroundDelivery(boolean background) {
+        backgroundDelivery = background;
+        return this;
+    }
+
+    /**
+     * merge the messages posted from background threads that are still waiting to be delivered
+     * on the main thread, so only the latest one is delivered, as LiveData.postValue does.
+     * Only for keys whose messages are states, where the latest one is the sticky value.
+     *
+     * @param merge boolean
+     * @return ObservableConfig
+     */
+    public ObservableConfig mergeStickyValues(boolean merge) {
+        mergeStickyValues = merge;
+        return this;
+    }
 }
@@ -0,0 +1,200 @@
+package com.jeremyliao.liveeventbus.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.Observer;
+
+import com.jeremyliao.liveeventbus.LiveEventBus;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(RobolectricTestRunner.class)
+public class LiveEventBusCoreTest {
+
+    private static final String BACKGROUND_THREAD = "test-background";
+    private static final AtomicInteger keyCount = new AtomicInteger();
+
+    private ExecutorService backgroundExecutor;
+
+    @Before
+    public void setUp() {
+        backgroundExecutor = Executors.newSingleThreadExecutor(
+                runnable -> new Thread(runnable, BACKGROUND_THREAD));
+        LiveEventBus.config().backgroundExecutor(backgroundExecutor);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        backgroundExecutor.shutdown();
+        backgroundExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testThatForeverObserversAreCalledOnTheBackgroundExecutorInOrder() throws Exception {
+        String key = newKey();
+        LiveEventBus.config(key).backgroundDelivery(true);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        LiveEventBus.<Integer>get(key).observeForever(value -> {
+            threads.add(Thread.currentThread().getName());
+            values.add(value);
+        });
+
+        LiveEventBus.<Integer>get(key).post(1);
+        LiveEventBus.<Integer>get(key).post(2);
+        LiveEventBus.<Integer>get(key).post(3);
+        awaitBackgroundExecutor();
+
+        assertThat(values).containsExactly(1, 2, 3).inOrder();
+        assertThat(threads).containsExactly(BACKGROUND_THREAD, BACKGROUND_THREAD, BACKGROUND_THREAD);
+    }
+
+    @Test
+    public void testThatLifecycleObserversAreStillCalledOnTheMainThread() throws Exception {
+        String key = newKey();
+        LiveEventBus.config(key).backgroundDelivery(true);
+        List<Integer> backgroundValues = Collections.synchronizedList(new ArrayList<>());
+        List<Boolean> mainThread = new ArrayList<>();
+        List<Integer> mainValues = new ArrayList<>();
+        LiveEventBus.<Integer>get(key).observeForever(backgroundValues::add);
+        LiveEventBus.<Integer>get(key).observe(new ResumedLifecycleOwner(), value -> {
+            mainThread.add(Looper.myLooper() == Looper.getMainLooper());
+            mainValues.add(value);
+        });
+
+        LiveEventBus.<Integer>get(key).post(1);
+        awaitBackgroundExecutor();
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertThat(backgroundValues).containsExactly(1);
+        assertThat(mainValues).containsExactly(1);
+        assertThat(mainThread).containsExactly(true);
+    }
+
+    @Test
+    public void testThatStickyForeverObserversReceiveTheLatestBackgroundValue() throws Exception {
+        String key = newKey();
+        LiveEventBus.config(key).backgroundDelivery(true);
+        List<Integer> stickyValues = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+
+        LiveEventBus.<Integer>get(key).post(1);
+        LiveEventBus.<Integer>get(key).post(2);
+        LiveEventBus.<Integer>get(key).observeStickyForever(stickyValues::add);
+        LiveEventBus.<Integer>get(key).observeForever(values::add);
+        awaitBackgroundExecutor();
+
+        assertThat(stickyValues).containsExactly(2);
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void testThatRemovedBackgroundObserversAreNotCalled() throws Exception {
+        String key = newKey();
+        LiveEventBus.config(key).backgroundDelivery(true);
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        Observer<Integer> observer = values::add;
+        LiveEventBus.<Integer>get(key).observeForever(observer);
+
+        LiveEventBus.<Integer>get(key).post(1);
+        LiveEventBus.<Integer>get(key).removeObserver(observer);
+        LiveEventBus.<Integer>get(key).post(2);
+        awaitBackgroundExecutor();
+
+        assertThat(values).containsExactly(1);
+    }
+
+    @Test
+    public void testThatValuesPostedFromBackgroundThreadsAreMergedWhenEnabled() throws Exception {
+        String key = newKey();
+        LiveEventBus.config(key).mergeStickyValues(true);
+        List<Integer> values = new ArrayList<>();
+        LiveEventBus.<Integer>get(key).observeForever(values::add);
+
+        postFromBackgroundThread(key, 1, 2, 3);
+        shadowOf(Looper.getMainLooper()).idle();
+        postFromBackgroundThread(key, 4);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertThat(values).containsExactly(3, 4).inOrder();
+    }
+
+    @Test
+    public void testThatValuesPostedFromBackgroundThreadsAreNotMergedByDefault() throws Exception {
+        String key = newKey();
+        List<Integer> values = new ArrayList<>();
+        LiveEventBus.<Integer>get(key).observeForever(values::add);
+
+        postFromBackgroundThread(key, 1, 2, 3);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertThat(values).containsExactly(1, 2, 3).inOrder();
+    }
+
+    @Test
+    public void testThatAValuePostedOnTheMainThreadReplacesTheMergedValue() throws Exception {
+        String key = newKey();
+        LiveEventBus.config(key).mergeStickyValues(true);
+        List<Integer> values = new ArrayList<>();
+        LiveEventBus.<Integer>get(key).observeForever(values::add);
+
+        postFromBackgroundThread(key, 1);
+        LiveEventBus.<Integer>get(key).post(2);
+        shadowOf(Looper.getMainLooper()).idle();
+
+        assertThat(values).containsExactly(2);
+    }
+
+    private static String newKey() {
+        return "key_" + keyCount.incrementAndGet();
+    }
+
+    private void awaitBackgroundExecutor() throws Exception {
+        backgroundExecutor.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void postFromBackgroundThread(String key, Integer... values)
+            throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            for (Integer value : values) {
+                LiveEventBus.<Integer>get(key).post(value);
+            }
+        });
+        thread.start();
+        thread.join();
+    }
+
+    private static class ResumedLifecycleOwner implements LifecycleOwner {
+        private final LifecycleRegistry registry = LifecycleRegistry.createUnsafe(this);
+
+        ResumedLifecycleOwner() {
+            registry.setCurrentState(Lifecycle.State.RESUMED);
+        }
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+}